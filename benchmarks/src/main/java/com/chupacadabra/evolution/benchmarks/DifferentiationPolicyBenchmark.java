@@ -0,0 +1,204 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.chupacadabra.evolution.BestDifferentiationPolicy;
+import com.chupacadabra.evolution.CurrentToBestDifferentiationPolicy;
+import com.chupacadabra.evolution.CurrentToRandomDifferentiationPolicy;
+import com.chupacadabra.evolution.DifferentialEvolutionState;
+import com.chupacadabra.evolution.DifferentiationPolicy;
+import com.chupacadabra.evolution.DirectionalDifferentiationPolicy;
+import com.chupacadabra.evolution.JavaUtilRandomSource;
+import com.chupacadabra.evolution.MultinomialDifferentiationPolicy;
+import com.chupacadabra.evolution.PoolStorage;
+import com.chupacadabra.evolution.RandomDifferentiationPolicy;
+import com.chupacadabra.evolution.RandomSource;
+import com.chupacadabra.evolution.pool.WritableCandidatePool;
+
+/**
+ * Differentiation policy benchmark: one trial vector per invocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DifferentiationPolicyBenchmark {
+
+    /**
+     * The policies under test.
+     */
+    public enum Policy {
+
+        /**
+         * {@link BestDifferentiationPolicy}.
+         */
+        BEST,
+
+        /**
+         * {@link RandomDifferentiationPolicy}.
+         */
+        RANDOM,
+
+        /**
+         * {@link CurrentToBestDifferentiationPolicy}.
+         */
+        CURRENT_TO_BEST,
+
+        /**
+         * {@link CurrentToRandomDifferentiationPolicy}.
+         */
+        CURRENT_TO_RANDOM,
+
+        /**
+         * {@link DirectionalDifferentiationPolicy}.
+         */
+        DIRECTIONAL,
+
+        /**
+         * {@link MultinomialDifferentiationPolicy}.
+         */
+        MULTINOMIAL;
+
+        /**
+         * Create the policy.
+         * 
+         * @return The policy.
+         */
+        DifferentiationPolicy create() {
+            switch (this) {
+                case BEST:
+                    return new BestDifferentiationPolicy();
+                case RANDOM:
+                    return new RandomDifferentiationPolicy();
+                case CURRENT_TO_BEST:
+                    return new CurrentToBestDifferentiationPolicy();
+                case CURRENT_TO_RANDOM:
+                    return new CurrentToRandomDifferentiationPolicy();
+                case DIRECTIONAL:
+                    return new DirectionalDifferentiationPolicy();
+                case MULTINOMIAL:
+                    return new MultinomialDifferentiationPolicy();
+                default:
+                    throw new IllegalArgumentException("policy");
+            }
+        }
+
+    }
+
+    /**
+     * The policy.
+     */
+    @Param
+    public Policy policy;
+
+    /**
+     * The pool storage.
+     */
+    @Param
+    public PoolStorage storage;
+
+    /**
+     * The pool size.
+     */
+    @Param({ "128" })
+    public int poolSize;
+
+    /**
+     * The dimension.
+     */
+    @Param({ "10", "100", "1000" })
+    public int dimension;
+
+    /**
+     * The differentiation policy.
+     */
+    private DifferentiationPolicy differentiationPolicy;
+
+    /**
+     * The source of randomness.
+     */
+    private RandomSource randomSource;
+
+    /**
+     * The pool.
+     */
+    private WritableCandidatePool pool;
+
+    /**
+     * The state.
+     */
+    private DifferentialEvolutionState state;
+
+    /**
+     * The trial buffer.
+     */
+    private double[] trial;
+
+    /**
+     * The next parent index.
+     */
+    private int parentIndex;
+
+    /**
+     * Set up.
+     */
+    @Setup
+    public void setUp() {
+        differentiationPolicy = policy.create();
+        randomSource = new JavaUtilRandomSource(1);
+        pool = Fixtures.pool(storage, poolSize, dimension, randomSource);
+        state = Fixtures.state(pool, dimension);
+        trial = new double[dimension];
+    }
+
+    /**
+     * Benchmark differentiation into a reused trial vector.
+     * 
+     * @return The trial vector.
+     */
+    @Benchmark
+    public double[] differentiate() {
+        parentIndex = (parentIndex + 1) % poolSize;
+        differentiationPolicy.differentiate(state, randomSource, parentIndex, pool, trial);
+
+        return trial;
+    }
+
+}
@@ -0,0 +1,153 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.chupacadabra.evolution.Candidate;
+import com.chupacadabra.evolution.DifferentialEvolutionProblem;
+import com.chupacadabra.evolution.DifferentialEvolutionState;
+import com.chupacadabra.evolution.NOrthotopeRandomParametersFunction;
+import com.chupacadabra.evolution.PoolStorage;
+import com.chupacadabra.evolution.RandomSource;
+import com.chupacadabra.evolution.SimpleDifferentialEvolutionProblem;
+import com.chupacadabra.evolution.pool.ArrayCandidatePool;
+import com.chupacadabra.evolution.pool.FlatCandidatePool;
+import com.chupacadabra.evolution.pool.WritableCandidatePool;
+import com.chupacadabra.evolution.util.TimeLength;
+
+/**
+ * Shared benchmark fixtures.
+ * <p>
+ * This class is stateless and cannot be instantiated.
+ */
+final class Fixtures {
+
+    /**
+     * Create a sphere problem of the specified dimension on (-5, 5).
+     * 
+     * @param dimension The dimension.
+     * @return The problem.
+     */
+    static DifferentialEvolutionProblem sphere(final int dimension) {
+        NOrthotopeRandomParametersFunction parameterFunction = new NOrthotopeRandomParametersFunction(dimension);
+        for (int index = 0; index < dimension; index++) {
+            parameterFunction.setParameterRange(index, -5, 5);
+        }
+
+        SimpleDifferentialEvolutionProblem problem = new SimpleDifferentialEvolutionProblem();
+        problem.setDimension(dimension);
+        problem.setRandomParametersFunction(parameterFunction);
+        problem.setFitnessFunction((double[] p) -> {
+            double sum = 0;
+            for (double x : p) {
+                sum += x * x;
+            }
+
+            return sum;
+        });
+
+        return problem;
+    }
+
+    /**
+     * Create a pool of random sphere candidates.
+     * 
+     * @param storage The pool storage.
+     * @param size The pool size.
+     * @param dimension The dimension.
+     * @param randomSource The source of randomness to use.
+     * @return The pool.
+     */
+    static WritableCandidatePool pool(final PoolStorage storage, final int size, final int dimension, final RandomSource randomSource) {
+        WritableCandidatePool pool;
+        switch (storage) {
+            case CANDIDATES:
+                pool = new ArrayCandidatePool(size);
+                break;
+            case FLAT:
+                pool = new FlatCandidatePool(size, dimension);
+                break;
+            default:
+                throw new IllegalArgumentException("storage");
+        }
+
+        for (int index = 0; index < size; index++) {
+            double[] parameters = new double[dimension];
+            double fitness = 0;
+            for (int jindex = 0; jindex < dimension; jindex++) {
+                parameters[jindex] = (10 * randomSource.nextDouble()) - 5;
+                fitness += parameters[jindex] * parameters[jindex];
+            }
+
+            pool.setCandidate(index, Candidate.feasible(parameters, fitness));
+        }
+
+        return pool;
+    }
+
+    /**
+     * Create a fixed optimizer state over the specified pool.
+     * 
+     * @param pool The pool.
+     * @param dimension The dimension.
+     * @return The state.
+     */
+    static DifferentialEvolutionState state(final WritableCandidatePool pool, final int dimension) {
+        return new DifferentialEvolutionState() {
+
+            @Override
+            public int getDimension() {
+                return dimension;
+            }
+
+            @Override
+            public Candidate getBestCandidate() {
+                return pool.getBestCandidate();
+            }
+
+            @Override
+            public int getGeneration() {
+                return 1;
+            }
+
+            @Override
+            public int getMaximumGeneration() {
+                return 1;
+            }
+
+            @Override
+            public TimeLength getTimeTaken() {
+                return new TimeLength(0, TimeUnit.NANOSECONDS);
+            }
+
+        };
+    }
+
+    /**
+     * 
+     */
+    private Fixtures() {
+    }
+}
@@ -0,0 +1,161 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.benchmarks;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.chupacadabra.evolution.DifferentialEvolutionOptimizer;
+import com.chupacadabra.evolution.DifferentialEvolutionProblem;
+import com.chupacadabra.evolution.DifferentialEvolutionSettings;
+import com.chupacadabra.evolution.ForkJoinDifferentialEvolutionOptimizer;
+import com.chupacadabra.evolution.ForkJoinDifferentialEvolutionOptimizerConfiguration;
+import com.chupacadabra.evolution.PoolReplacement;
+import com.chupacadabra.evolution.SerialDifferentialEvolutionOptimizer;
+import com.chupacadabra.evolution.SplittableRandomSource;
+
+/**
+ * Whole-optimizer benchmark: a fixed number of generations on the sphere
+ * function, serial vs. fork-join, across pool sizes, dimensions and core
+ * counts.
+ * <p>
+ * A parallelism of zero denotes the serial optimizer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OptimizerBenchmark {
+
+    /**
+     * Generations per optimization.
+     */
+    private static final int GENERATIONS = 20;
+
+    /**
+     * The pool size.
+     */
+    @Param({ "32", "128", "512" })
+    public int poolSize;
+
+    /**
+     * The dimension.
+     */
+    @Param({ "10", "100" })
+    public int dimension;
+
+    /**
+     * The fork-join parallelism; or zero for the serial optimizer.
+     */
+    @Param({ "0", "1", "2", "4", "8" })
+    public int parallelism;
+
+    /**
+     * The replacement policy.
+     */
+    @Param({ "IMMEDIATELY", "AFTER" })
+    public PoolReplacement poolReplacement;
+
+    /**
+     * The problem.
+     */
+    private DifferentialEvolutionProblem problem;
+
+    /**
+     * The fork-join pool, if any.
+     */
+    private ForkJoinPool forkJoinPool;
+
+    /**
+     * The optimizer.
+     */
+    private DifferentialEvolutionOptimizer optimizer;
+
+    /**
+     * Set up.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        problem = Fixtures.sphere(dimension);
+
+        if (parallelism == 0) {
+            optimizer = new SerialDifferentialEvolutionOptimizer();
+        } else {
+            forkJoinPool = new ForkJoinPool(parallelism);
+            optimizer = new ForkJoinDifferentialEvolutionOptimizer(forkJoinPool, new ForkJoinDifferentialEvolutionOptimizerConfiguration());
+        }
+    }
+
+    /**
+     * Tear down.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (forkJoinPool != null) {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    /**
+     * Benchmark the optimizer.
+     * 
+     * @return The best fitness.
+     */
+    @Benchmark
+    public double optimize() {
+        return optimizer.optimize(problem, createSettings()).getBestCandidate().getFitness();
+    }
+
+    /**
+     * Create fresh settings.
+     * 
+     * @return The settings.
+     */
+    private DifferentialEvolutionSettings createSettings() {
+        DifferentialEvolutionSettings settings = new DifferentialEvolutionSettings();
+        settings.setCandidatePoolSize(poolSize);
+        settings.setMaximumGeneration(GENERATIONS);
+        settings.setPoolReplacement(poolReplacement);
+        settings.setRandomSource(new SplittableRandomSource(1));
+
+        return settings;
+    }
+
+}
@@ -0,0 +1,207 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.chupacadabra.evolution.DifferentialEvolutionSettings;
+import com.chupacadabra.evolution.JavaUtilRandomSource;
+import com.chupacadabra.evolution.PoolReplacement;
+import com.chupacadabra.evolution.PoolStorage;
+import com.chupacadabra.evolution.engine.LockType;
+import com.chupacadabra.evolution.engine.PoolLock;
+import com.chupacadabra.evolution.engine.PoolType;
+import com.chupacadabra.evolution.pool.WritableCandidatePool;
+
+/**
+ * Pool lock benchmark under immediate replacement.
+ * <p>
+ * Readers read a candidate the way differentiation does, while writers
+ * replace candidates the way selection does, on the one shared lock.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PoolLockBenchmark {
+
+    /**
+     * The pool locks under test.
+     */
+    public enum Strategy {
+
+        /**
+         * {@link PoolLock#noOp(DifferentialEvolutionSettings)}; unsafe, but a
+         * useful baseline.
+         */
+        NO_OP,
+
+        /**
+         * {@link PoolLock#reentrant(DifferentialEvolutionSettings)}.
+         */
+        REENTRANT,
+
+        /**
+         * {@link PoolLock#stamped(DifferentialEvolutionSettings)}.
+         */
+        STAMPED,
+
+        /**
+         * {@link PoolLock#optimistic(DifferentialEvolutionSettings)}.
+         */
+        OPTIMISTIC;
+
+        /**
+         * Create the lock.
+         * 
+         * @param settings The settings.
+         * @return The lock.
+         */
+        PoolLock create(final DifferentialEvolutionSettings settings) {
+            switch (this) {
+                case NO_OP:
+                    return PoolLock.noOp(settings);
+                case REENTRANT:
+                    return PoolLock.reentrant(settings);
+                case STAMPED:
+                    return PoolLock.stamped(settings);
+                case OPTIMISTIC:
+                    return PoolLock.optimistic(settings);
+                default:
+                    throw new IllegalArgumentException("strategy");
+            }
+        }
+
+    }
+
+    /**
+     * The pool size.
+     */
+    private static final int POOL_SIZE = 128;
+
+    /**
+     * The dimension.
+     */
+    private static final int DIMENSION = 10;
+
+    /**
+     * The strategy.
+     */
+    @Param
+    public Strategy strategy;
+
+    /**
+     * The lock.
+     */
+    private PoolLock poolLock;
+
+    /**
+     * The pool.
+     */
+    private WritableCandidatePool pool;
+
+    /**
+     * Set up.
+     */
+    @Setup
+    public void setUp() {
+        DifferentialEvolutionSettings settings = new DifferentialEvolutionSettings();
+        settings.setPoolReplacement(PoolReplacement.IMMEDIATELY);
+
+        poolLock = strategy.create(settings);
+        pool = Fixtures.pool(PoolStorage.CANDIDATES, POOL_SIZE, DIMENSION, new JavaUtilRandomSource(1));
+    }
+
+    /**
+     * Read a candidate.
+     * 
+     * @param cursor The per-thread cursor.
+     * @return The fitness read.
+     */
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(3)
+    public double read(final Cursor cursor) {
+        int index = cursor.next();
+        return poolLock.read(PoolType.CURRENT, () -> pool.getFitness(index));
+    }
+
+    /**
+     * Replace a candidate with itself.
+     * 
+     * @param cursor The per-thread cursor.
+     */
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(1)
+    public void write(final Cursor cursor) {
+        int index = cursor.next();
+        poolLock.lock(PoolType.NEXT, LockType.WRITE);
+        try {
+            pool.setCandidate(index, pool.getCandidate(index));
+        } finally {
+            poolLock.unlock(PoolType.NEXT, LockType.WRITE);
+        }
+    }
+
+    /**
+     * Per-thread pool index cursor.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        /**
+         * The current index.
+         */
+        private int index;
+
+        /**
+         * Get the next index.
+         * 
+         * @return The index.
+         */
+        int next() {
+            index = (index + 1) % POOL_SIZE;
+            return index;
+        }
+
+    }
+
+}
@@ -0,0 +1,208 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.chupacadabra.evolution.CounterRandomSource;
+import com.chupacadabra.evolution.JavaUtilRandomSource;
+import com.chupacadabra.evolution.RandomSource;
+import com.chupacadabra.evolution.SplittableRandomSource;
+import com.chupacadabra.evolution.threadsafe.Threadsafe;
+
+/**
+ * Random source benchmark, with and without the threadsafe wrappers.
+ * <p>
+ * One source is shared by every benchmark thread, so run this with
+ * <code>-t</code> to see how each source behaves under contention.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+public class RandomSourceBenchmark {
+
+    /**
+     * The sources under test.
+     */
+    public enum Source {
+
+        /**
+         * {@link JavaUtilRandomSource}.
+         */
+        JAVA_UTIL,
+
+        /**
+         * {@link SplittableRandomSource}.
+         */
+        SPLITTABLE,
+
+        /**
+         * {@link CounterRandomSource}.
+         */
+        COUNTER;
+
+        /**
+         * Create the source.
+         * 
+         * @return The source.
+         */
+        RandomSource create() {
+            switch (this) {
+                case JAVA_UTIL:
+                    return new JavaUtilRandomSource(1);
+                case SPLITTABLE:
+                    return new SplittableRandomSource(1);
+                case COUNTER:
+                    return new CounterRandomSource(1);
+                default:
+                    throw new IllegalArgumentException("source");
+            }
+        }
+
+    }
+
+    /**
+     * The threadsafe wrappers under test.
+     */
+    public enum Wrapper {
+
+        /**
+         * No wrapper.
+         */
+        NONE,
+
+        /**
+         * {@link Threadsafe#synchronization()}.
+         */
+        SYNCHRONIZED,
+
+        /**
+         * {@link Threadsafe#locking()}.
+         */
+        LOCKED;
+
+        /**
+         * Wrap the specified source.
+         * 
+         * @param randomSource The source.
+         * @return The wrapped source.
+         */
+        RandomSource wrap(final RandomSource randomSource) {
+            switch (this) {
+                case NONE:
+                    return randomSource;
+                case SYNCHRONIZED:
+                    return Threadsafe.synchronization().threadsafe(randomSource);
+                case LOCKED:
+                    return Threadsafe.locking().threadsafe(randomSource);
+                default:
+                    throw new IllegalArgumentException("wrapper");
+            }
+        }
+
+    }
+
+    /**
+     * The source.
+     */
+    @Param
+    public Source source;
+
+    /**
+     * The wrapper.
+     */
+    @Param
+    public Wrapper wrapper;
+
+    /**
+     * The random source.
+     */
+    private RandomSource randomSource;
+
+    /**
+     * Set up.
+     */
+    @Setup
+    public void setUp() {
+        randomSource = wrapper.wrap(source.create());
+    }
+
+    /**
+     * Draw a uniform double.
+     * 
+     * @return The draw.
+     */
+    @Benchmark
+    public double nextDouble() {
+        return randomSource.nextDouble();
+    }
+
+    /**
+     * Draw a bounded int.
+     * 
+     * @return The draw.
+     */
+    @Benchmark
+    public int nextInt() {
+        return randomSource.nextInt(128);
+    }
+
+    /**
+     * Draw a Gaussian.
+     * 
+     * @return The draw.
+     */
+    @Benchmark
+    public double nextGaussian() {
+        return randomSource.nextGaussian();
+    }
+
+    /**
+     * Open a per-child substream and draw from it, as the engine does.
+     * 
+     * @return The draw.
+     */
+    @Benchmark
+    public double substream() {
+        return randomSource.substream(1, 2, 3).nextDouble();
+    }
+
+}
@@ -0,0 +1,181 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.chupacadabra.evolution.BinomialRecombinationPolicy;
+import com.chupacadabra.evolution.CrossoverPolicy;
+import com.chupacadabra.evolution.DifferentialEvolutionState;
+import com.chupacadabra.evolution.ExponentialRecombinationPolicy;
+import com.chupacadabra.evolution.FixedCrossoverPolicy;
+import com.chupacadabra.evolution.JavaUtilRandomSource;
+import com.chupacadabra.evolution.PoolStorage;
+import com.chupacadabra.evolution.RandomSource;
+import com.chupacadabra.evolution.RecombinationPolicy;
+import com.chupacadabra.evolution.SkippingBinomialRecombinationPolicy;
+
+/**
+ * Recombination policy benchmark: one child per invocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecombinationPolicyBenchmark {
+
+    /**
+     * The policies under test.
+     */
+    public enum Policy {
+
+        /**
+         * {@link BinomialRecombinationPolicy}.
+         */
+        BINOMIAL,
+
+        /**
+         * {@link SkippingBinomialRecombinationPolicy}.
+         */
+        SKIPPING_BINOMIAL,
+
+        /**
+         * {@link ExponentialRecombinationPolicy}.
+         */
+        EXPONENTIAL;
+
+        /**
+         * Create the policy.
+         * 
+         * @param crossoverPolicy The crossover policy.
+         * @return The policy.
+         */
+        RecombinationPolicy create(final CrossoverPolicy crossoverPolicy) {
+            switch (this) {
+                case BINOMIAL:
+                    return new BinomialRecombinationPolicy(crossoverPolicy);
+                case SKIPPING_BINOMIAL:
+                    return new SkippingBinomialRecombinationPolicy(crossoverPolicy);
+                case EXPONENTIAL:
+                    return new ExponentialRecombinationPolicy(crossoverPolicy);
+                default:
+                    throw new IllegalArgumentException("policy");
+            }
+        }
+
+    }
+
+    /**
+     * The policy.
+     */
+    @Param
+    public Policy policy;
+
+    /**
+     * The crossover.
+     */
+    @Param({ "0.01", "0.5", "0.9" })
+    public double crossover;
+
+    /**
+     * The dimension.
+     */
+    @Param({ "10", "1000", "10000" })
+    public int dimension;
+
+    /**
+     * The recombination policy.
+     */
+    private RecombinationPolicy recombinationPolicy;
+
+    /**
+     * The source of randomness.
+     */
+    private RandomSource randomSource;
+
+    /**
+     * The state.
+     */
+    private DifferentialEvolutionState state;
+
+    /**
+     * The parent.
+     */
+    private double[] parent;
+
+    /**
+     * The trial.
+     */
+    private double[] trial;
+
+    /**
+     * The child buffer.
+     */
+    private double[] child;
+
+    /**
+     * Set up.
+     */
+    @Setup
+    public void setUp() {
+        recombinationPolicy = policy.create(new FixedCrossoverPolicy(crossover));
+        randomSource = new JavaUtilRandomSource(1);
+        state = Fixtures.state(Fixtures.pool(PoolStorage.CANDIDATES, 1, dimension, randomSource), dimension);
+        parent = new double[dimension];
+        trial = new double[dimension];
+        child = new double[dimension];
+
+        for (int index = 0; index < dimension; index++) {
+            parent[index] = randomSource.nextDouble();
+            trial[index] = randomSource.nextDouble();
+        }
+    }
+
+    /**
+     * Benchmark recombination into a reused child vector.
+     * 
+     * @return The child vector.
+     */
+    @Benchmark
+    public double[] recombine() {
+        recombinationPolicy.recombine(state, randomSource, parent, trial, child);
+
+        return child;
+    }
+
+}
@@ -0,0 +1,150 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2015 Fran Lattanzio
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.chupacadabra.evolution;
+
+import com.chupacadabra.evolution.checkpoint.Checkpoint;
+import com.chupacadabra.evolution.engine.BatchInitialization;
+import com.chupacadabra.evolution.engine.BatchIteration;
+import com.chupacadabra.evolution.engine.ChildGeneration;
+import com.chupacadabra.evolution.engine.DifferentialEvolutionEngine;
+import com.chupacadabra.evolution.engine.Initialization;
+import com.chupacadabra.evolution.engine.Iteration;
+import com.chupacadabra.evolution.engine.PoolLock;
+import com.chupacadabra.evolution.engine.PoolLockCreation;
+import com.chupacadabra.evolution.engine.SerialChildGeneration;
+
+/**
+ * A differential evolution optimizer that measures fitness in batches.
+ * <p>
+ * Rather than measuring each child as soon as it is generated, this optimizer
+ * generates every child of a chunk of the pool and measures them all with a
+ * single call to the problem's
+ * {@linkplain DifferentialEvolutionProblem#getBatchFitnessFunction() batch
+ * fitness function}. By default, a chunk is the entire pool, <i>i.e.</i> every
+ * child of a generation is measured at once. The initial pool is measured in
+ * the same fashion.
+ * <p>
+ * With {@linkplain PoolReplacement#IMMEDIATELY immediate} pool replacement,
+ * replaced candidates only become visible to the next chunk; use smaller
+ * chunks to trade batch size for faster propagation.
+ * <p>
+ * All work is performed in the invoking thread. Instances of this class are
+ * safe for use by multiple threads.
+ */
+public final class BatchDifferentialEvolutionOptimizer implements SteppableDifferentialEvolutionOptimizer {
+
+    /**
+     * Batch size that covers the entire pool.
+     */
+    private static final int ENTIRE_POOL = Integer.MAX_VALUE;
+
+    /**
+     * The maximum number of parents per chunk.
+     */
+    private final int batchSize;
+
+    /**
+     * Constructor.
+     * <p>
+     * Every child of a generation will be measured at once.
+     */
+    public BatchDifferentialEvolutionOptimizer() {
+        this(ENTIRE_POOL);
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param batchSize The maximum number of parents per chunk. Each chunk
+     *        yields up to <code>batchSize</code> times the
+     *        {@linkplain DifferentialEvolutionSettings#getChildrenPerCandidate()
+     *        number of children} candidates per call.
+     * @throws IllegalArgumentException If <code>batchSize</code> is not
+     *         strictly positive.
+     */
+    public BatchDifferentialEvolutionOptimizer(final int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.DifferentialEvolutionOptimizer#optimize(com.chupacadabra.evolution.DifferentialEvolutionProblem,
+     *      com.chupacadabra.evolution.DifferentialEvolutionSettings)
+     */
+    @Override
+    public DifferentialEvolutionResult optimize(final DifferentialEvolutionProblem problem, final DifferentialEvolutionSettings settings) {
+        DifferentialEvolutionEngine engine = createEngine();
+
+        // get results.
+        DifferentialEvolutionResult result = engine.getResult(problem, settings);
+
+        return result;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.DifferentialEvolutionOptimizer#resume(com.chupacadabra.evolution.checkpoint.Checkpoint,
+     *      com.chupacadabra.evolution.DifferentialEvolutionProblem, com.chupacadabra.evolution.DifferentialEvolutionSettings)
+     */
+    @Override
+    public DifferentialEvolutionResult resume(final Checkpoint checkpoint, final DifferentialEvolutionProblem problem, final DifferentialEvolutionSettings settings) {
+        DifferentialEvolutionEngine engine = createEngine();
+
+        // pick up where we left off.
+        DifferentialEvolutionResult result = engine.resume(checkpoint, problem, settings);
+
+        return result;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.SteppableDifferentialEvolutionOptimizer#generations(com.chupacadabra.evolution.DifferentialEvolutionProblem,
+     *      com.chupacadabra.evolution.DifferentialEvolutionSettings)
+     */
+    @Override
+    public GenerationIterator generations(final DifferentialEvolutionProblem problem, final DifferentialEvolutionSettings settings) {
+        DifferentialEvolutionEngine engine = createEngine();
+
+        // each generation runs right here.
+        return engine.getGenerations(problem, settings, Runnable::run);
+    }
+
+    /**
+     * Create an engine.
+     * 
+     * @return The engine.
+     */
+    private DifferentialEvolutionEngine createEngine() {
+        // build up an engine.
+        PoolLockCreation lockCreation = PoolLock::noOp;
+        Initialization initialization = new BatchInitialization(batchSize);
+        Iteration iteration = new BatchIteration(batchSize);
+        ChildGeneration childGeneration = new SerialChildGeneration();
+        DifferentialEvolutionEngine engine = new DifferentialEvolutionEngine(lockCreation, initialization, iteration, childGeneration);
+
+        return engine;
+    }
+
+}
@@ -0,0 +1,51 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2015 Fran Lattanzio
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.chupacadabra.evolution;
+
+/**
+ * Batch fitness measure function.
+ * <p>
+ * A batch fitness function measures the fitness of several parameter vectors
+ * in a single call. This allows implementations to vectorize the computation,
+ * or to amortize any setup costs, across an entire batch.
+ * <p>
+ * The batch optimizer hands every child generated in a generation (or in a
+ * chunk of it) to this function at once.
+ */
+@FunctionalInterface
+public interface BatchFitnessFunction {
+
+    /**
+     * Get the fitness of each of the specified parameters.
+     * <p>
+     * The returned array must have the same length as <code>parameters</code>;
+     * the i<sup>th</sup> element is the fitness of the i<sup>th</sup> parameter
+     * vector.
+     * 
+     * @param parameters The parameters.
+     * @return The fitness of each parameter vector.
+     */
+    public double[] getFitness(double[][] parameters);
+
+}
@@ -56,6 +56,11 @@ public final class BestDifferentiationPolicy implements DifferentiationPolicy {
      */
     private final WeightPolicy weightPolicy;
 
+    /**
+     * Per-thread buffers for the indices of the randomly selected candidates.
+     */
+    private final IndexBuffers selected;
+
     /**
      * Default constructor.
      * <p>
@@ -78,6 +83,7 @@ public final class BestDifferentiationPolicy implements DifferentiationPolicy {
      */
     public BestDifferentiationPolicy(final int count, final WeightPolicy weightPolicy) {
         this.count = count;
+        this.selected = new IndexBuffers(2 * count);
         this.weightPolicy = weightPolicy;
     }
 
@@ -87,23 +93,39 @@ public final class BestDifferentiationPolicy implements DifferentiationPolicy {
      */
     @Override
     public double[] differentiate(final DifferentialEvolutionState state, final RandomSource randomSource, final int parentIndex, final CandidatePool pool) {
+        double[] trial = new double[state.getDimension()];
+        differentiate(state, randomSource, parentIndex, pool, trial);
+
+        return trial;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.DifferentiationPolicy#differentiate(com.chupacadabra.evolution.DifferentialEvolutionState,
+     *      com.chupacadabra.evolution.RandomSource, int,
+     *      com.chupacadabra.evolution.pool.CandidatePool, double[])
+     */
+    @Override
+    public void differentiate(final DifferentialEvolutionState state, final RandomSource randomSource, final int parentIndex, final CandidatePool pool,
+            final double[] trial) {
         // the trial vector starts at the current best candidate.
         int bestIndex = pool.getBestCandidateIndex();
-        Candidate best = pool.getCandidate(bestIndex);
-        double[] trial = best.getParameters();
+        pool.copyParameters(bestIndex, trial);
 
         // select the desired number of random candidates, excluding the parent
         // and best candidate.
         int total = 2 * count;
-        Candidate[] candidates = pool.selectCandidates(randomSource, total, parentIndex, bestIndex);
-
-        // grab a weight.
-        double f = weightPolicy.getWeight(state, randomSource);
+        int[] candidates = selected.acquire();
+        try {
+            pool.sampleIndices(randomSource, total, candidates, parentIndex, bestIndex);
 
-        // sum up the parameters.
-        PairwiseWeightedParameterSum.computeInPlace(f, trial, 0, candidates);
+            // grab a weight.
+            double f = weightPolicy.getWeight(state, randomSource);
 
-        return trial;
+            // sum up the parameters.
+            PairwiseWeightedParameterSum.computeInPlace(f, trial, 0, pool, candidates);
+        } finally {
+            selected.release(candidates);
+        }
     }
 
 }
@@ -67,6 +67,19 @@ public final class BinomialRecombinationPolicy implements RecombinationPolicy {
      */
     @Override
     public double[] recombine(final DifferentialEvolutionState state, final RandomSource randomSource, final double[] parent, final double[] trial) {
+        double[] child = new double[state.getDimension()];
+        recombine(state, randomSource, parent, trial, child);
+
+        return child;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.RecombinationPolicy#recombine(com.chupacadabra.evolution.DifferentialEvolutionState,
+     *      com.chupacadabra.evolution.RandomSource, double[], double[], double[])
+     */
+    @Override
+    public void recombine(final DifferentialEvolutionState state, final RandomSource randomSource, final double[] parent, final double[] trial,
+            final double[] child) {
         // create an index that we'll always change.
         int dimension = state.getDimension();
         int j = randomSource.nextInt(dimension);
@@ -75,13 +88,10 @@ public final class BinomialRecombinationPolicy implements RecombinationPolicy {
         double cr = crossoverPolicy.getCrossover(state, randomSource);
 
         // do the core binomial recombination algorithm!
-        double[] child = new double[dimension];
         for (int index = 0; index < dimension; index++) {
             double r = randomSource.nextDouble();
             child[index] = ((r < cr) || (index == j)) ? trial[index] : parent[index];
         }
-
-        return child;
     }
 
 }
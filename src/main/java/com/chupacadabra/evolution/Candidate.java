@@ -121,6 +121,28 @@ public final class Candidate implements Serializable {
         return parameters.clone();
     }
 
+    /**
+     * Get the index<sup>th</sup> parameter.
+     * <p>
+     * Unlike {@link #getParameters()}, this does not clone the parameter
+     * vector.
+     * 
+     * @param index The parameter index.
+     * @return The parameter.
+     */
+    public double getParameter(final int index) {
+        return parameters[index];
+    }
+
+    /**
+     * Copy the parameters into the specified vector.
+     * 
+     * @param destination The vector into which to copy the parameters.
+     */
+    public void copyParameters(final double[] destination) {
+        System.arraycopy(parameters, 0, destination, 0, parameters.length);
+    }
+
     /**
      * Get the parameters without making a clone.
      * <p>
@@ -0,0 +1,290 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution;
+
+/**
+ * A counter-based random source, for reproducible parallel optimization.
+ * <p>
+ * Every {@linkplain #substream(int, int, int) substream} is a pure function of
+ * the seed and its coordinates (the generation, pool index and stream number):
+ * the n<sup>th</sup> value of a substream is obtained by hashing its key
+ * together with the counter n, in the manner of the SplitMix64 generator that
+ * underlies {@link java.util.SplittableRandom}. Consequently, the children of a
+ * candidate see exactly the same random numbers no matter which thread builds
+ * them, or when. With {@linkplain PoolReplacement#AFTER inter-generational}
+ * pool replacement, the parallel optimizers then produce bit-identical results
+ * to the serial optimizer for a given seed. (With immediate replacement, the
+ * candidates visible to differentiation still depend on scheduling.)
+ * <p>
+ * Draws made directly on this source, rather than on a substream, come from a
+ * single shared stream and are not reproducible across threads.
+ * <p>
+ * Instances of this class are safe for use by multiple threads; substreams are
+ * not, and are meant to be confined to the thread doing the unit of work.
+ */
+public final class CounterRandomSource implements RandomSource {
+
+    /**
+     * The golden ratio increment used by SplitMix64.
+     */
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /**
+     * The seed.
+     */
+    private final long seed;
+
+    /**
+     * The shared stream for direct draws.
+     */
+    private final Stream sharedStream;
+
+    /**
+     * Constructor.
+     * <p>
+     * The seed is taken from the system clock; use
+     * {@link #CounterRandomSource(long)} for reproducible results.
+     */
+    public CounterRandomSource() {
+        this(mix(System.nanoTime()));
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param seed The seed.
+     */
+    public CounterRandomSource(final long seed) {
+        this.seed = seed;
+        this.sharedStream = new Stream(key(seed, 0, -1, -1));
+    }
+
+    /**
+     * Get the seed.
+     * 
+     * @return The seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.RandomSource#substream(int, int, int)
+     */
+    @Override
+    public RandomSource substream(final int generation, final int index, final int stream) {
+        return new Stream(key(seed, generation, index, stream));
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.RandomSource#substream(int, int, int,
+     *      com.chupacadabra.evolution.RandomSource)
+     */
+    @Override
+    public RandomSource substream(final int generation, final int index, final int stream, final RandomSource reusable) {
+        if (!(reusable instanceof Stream)) {
+            return substream(generation, index, stream);
+        }
+
+        // re-key the old substream; it is then as good as new.
+        Stream substream = (Stream) reusable;
+        substream.reset(key(seed, generation, index, stream));
+
+        return substream;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.RandomSource#nextInt(int)
+     */
+    @Override
+    public int nextInt(final int n) {
+        synchronized (sharedStream) {
+            return sharedStream.nextInt(n);
+        }
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.RandomSource#nextBoolean()
+     */
+    @Override
+    public boolean nextBoolean() {
+        synchronized (sharedStream) {
+            return sharedStream.nextBoolean();
+        }
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.RandomSource#nextDouble()
+     */
+    @Override
+    public double nextDouble() {
+        synchronized (sharedStream) {
+            return sharedStream.nextDouble();
+        }
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.RandomSource#nextGaussian()
+     */
+    @Override
+    public double nextGaussian() {
+        synchronized (sharedStream) {
+            return sharedStream.nextGaussian();
+        }
+    }
+
+    /**
+     * Compute the key of the specified substream.
+     * 
+     * @param seed The seed.
+     * @param generation The generation.
+     * @param index The pool index.
+     * @param stream The stream number.
+     * @return The key.
+     */
+    private static long key(final long seed, final int generation, final int index, final int stream) {
+        long key = mix(seed + GOLDEN_GAMMA);
+        key = mix(key + (generation * GOLDEN_GAMMA));
+        key = mix(key + (index * GOLDEN_GAMMA));
+        key = mix(key + (stream * GOLDEN_GAMMA));
+
+        return key;
+    }
+
+    /**
+     * The SplitMix64 finalizer.
+     * 
+     * @param z The value to mix.
+     * @return The mixed value.
+     */
+    private static long mix(final long z) {
+        long x = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        x = (x ^ (x >>> 27)) * 0x94D049BB133111EBL;
+
+        return x ^ (x >>> 31);
+    }
+
+    /**
+     * A single substream.
+     */
+    private static final class Stream implements RandomSource {
+
+        /**
+         * The key.
+         */
+        private long key;
+
+        /**
+         * The counter.
+         */
+        private long counter;
+
+        /**
+         * The Gaussians.
+         */
+        private final PolarGaussian gaussian;
+
+        /**
+         * Constructor.
+         * 
+         * @param key The key.
+         */
+        private Stream(final long key) {
+            this.key = key;
+            this.gaussian = new PolarGaussian();
+        }
+
+        /**
+         * Start this stream afresh with the specified key.
+         * 
+         * @param key The key.
+         */
+        private void reset(final long key) {
+            this.key = key;
+            this.counter = 0;
+            gaussian.reset();
+        }
+
+        /**
+         * Get the next 64 random bits.
+         * 
+         * @return The bits.
+         */
+        private long nextLong() {
+            counter += 1;
+
+            return mix(key + (counter * GOLDEN_GAMMA));
+        }
+
+        /**
+         * @see com.chupacadabra.evolution.RandomSource#nextInt(int)
+         */
+        @Override
+        public int nextInt(final int n) {
+            if (n <= 0) {
+                throw new IllegalArgumentException("n must be positive");
+            }
+
+            // take the top 31 bits, rejecting values from the biased tail.
+            int m = n - 1;
+            int r = (int) (nextLong() >>> 33);
+            if ((n & m) == 0) {
+                // power of two.
+                return r & m;
+            }
+
+            for (int u = r; u + m - (r = u % n) < 0; u = (int) (nextLong() >>> 33)) {
+                // try again.
+            }
+
+            return r;
+        }
+
+        /**
+         * @see com.chupacadabra.evolution.RandomSource#nextBoolean()
+         */
+        @Override
+        public boolean nextBoolean() {
+            return (nextLong() < 0);
+        }
+
+        /**
+         * @see com.chupacadabra.evolution.RandomSource#nextDouble()
+         */
+        @Override
+        public double nextDouble() {
+            return (nextLong() >>> 11) * 0x1.0p-53;
+        }
+
+        /**
+         * @see com.chupacadabra.evolution.RandomSource#nextGaussian()
+         */
+        @Override
+        public double nextGaussian() {
+            return gaussian.next(this);
+        }
+
+    }
+
+}
@@ -68,6 +68,11 @@ public final class CurrentToBestDifferentiationPolicy implements Differentiation
      */
     private WeightPolicy randomWeightPolicy;
 
+    /**
+     * Per-thread buffers for the indices of the randomly selected candidates.
+     */
+    private final IndexBuffers selected;
+
     /**
      * Constructor.
      */
@@ -84,6 +89,7 @@ public final class CurrentToBestDifferentiationPolicy implements Differentiation
      */
     public CurrentToBestDifferentiationPolicy(final int count, final WeightPolicy currentToBestWeightPolicy, final WeightPolicy randomWeightPolicy) {
         this.count = count;
+        this.selected = new IndexBuffers(count * 2);
         this.currentToBestWeightPolicy = currentToBestWeightPolicy;
         this.randomWeightPolicy = randomWeightPolicy;
     }
@@ -95,29 +101,44 @@ public final class CurrentToBestDifferentiationPolicy implements Differentiation
      */
     @Override
     public double[] differentiate(final DifferentialEvolutionState state, final RandomSource randomSource, final int parentIndex, final CandidatePool pool) {
-        // grab the candidates.
+        double[] trial = new double[state.getDimension()];
+        differentiate(state, randomSource, parentIndex, pool, trial);
+
+        return trial;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.DifferentiationPolicy#differentiate(com.chupacadabra.evolution.DifferentialEvolutionState,
+     *      com.chupacadabra.evolution.RandomSource, int,
+     *      com.chupacadabra.evolution.pool.CandidatePool, double[])
+     */
+    @Override
+    public void differentiate(final DifferentialEvolutionState state, final RandomSource randomSource, final int parentIndex, final CandidatePool pool,
+            final double[] trial) {
+        // grab the best candidate.
         int bestIndex = pool.getBestCandidateIndex();
-        Candidate parent = pool.getCandidate(parentIndex);
-        Candidate bestCandidate = pool.getBestCandidate();
 
         // generate weights.
         double k = currentToBestWeightPolicy.getWeight(state, randomSource);
         double f = randomWeightPolicy.getWeight(state, randomSource);
 
-        // assemble child vector.
-        double[] child = parent.getParameters();
+        // assemble trial vector.
+        pool.copyParameters(parentIndex, trial);
 
         // first, do best differentiation.
-        PairwiseWeightedParameterSum.computeInPlace(f, child, 0, bestCandidate, parent);
+        PairwiseWeightedParameterSum.computeInPlace(f, trial, 0, pool, bestIndex, parentIndex);
 
         // now, select random candidates.
         int randomCount = count * 2;
-        Candidate[] random = pool.selectCandidates(randomSource, randomCount, parentIndex, bestIndex);
-
-        // and apply for differentiation for random candidates.
-        PairwiseWeightedParameterSum.computeInPlace(k, child, 0, random);
-
-        return child;
+        int[] random = selected.acquire();
+        try {
+            pool.sampleIndices(randomSource, randomCount, random, parentIndex, bestIndex);
+
+            // and apply for differentiation for random candidates.
+            PairwiseWeightedParameterSum.computeInPlace(k, trial, 0, pool, random);
+        } finally {
+            selected.release(random);
+        }
     }
 
 }
@@ -67,6 +67,11 @@ public final class CurrentToRandomDifferentiationPolicy implements Differentiati
      */
     private final WeightPolicy randomWeightPolicy;
 
+    /**
+     * Per-thread buffers for the indices of the randomly selected candidates.
+     */
+    private final IndexBuffers selected;
+
     /**
      * Constructor.
      */
@@ -83,6 +88,7 @@ public final class CurrentToRandomDifferentiationPolicy implements Differentiati
      */
     public CurrentToRandomDifferentiationPolicy(final int count, final WeightPolicy currentToBestWeightPolicy, final WeightPolicy randomWeightPolicy) {
         this.count = count;
+        this.selected = new IndexBuffers((count * 2) + 1);
         this.currentToBestWeightPolicy = currentToBestWeightPolicy;
         this.randomWeightPolicy = randomWeightPolicy;
     }
@@ -94,24 +100,39 @@ public final class CurrentToRandomDifferentiationPolicy implements Differentiati
      */
     @Override
     public double[] differentiate(final DifferentialEvolutionState state, final RandomSource randomSource, final int parentIndex, final CandidatePool pool) {
-        Candidate parent = pool.getCandidate(parentIndex);
+        double[] trial = new double[state.getDimension()];
+        differentiate(state, randomSource, parentIndex, pool, trial);
 
+        return trial;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.DifferentiationPolicy#differentiate(com.chupacadabra.evolution.DifferentialEvolutionState,
+     *      com.chupacadabra.evolution.RandomSource, int,
+     *      com.chupacadabra.evolution.pool.CandidatePool, double[])
+     */
+    @Override
+    public void differentiate(final DifferentialEvolutionState state, final RandomSource randomSource, final int parentIndex, final CandidatePool pool,
+            final double[] trial) {
         // create weights.
         double k = currentToBestWeightPolicy.getWeight(state, randomSource);
         double f = randomWeightPolicy.getWeight(state, randomSource);
 
-        // assemble child vector.
-        double[] child = parent.getParameters();
+        // assemble trial vector.
+        pool.copyParameters(parentIndex, trial);
 
         // select random candidates.
         int randomCount = (count * 2) + 1;
-        Candidate[] random = pool.selectCandidates(randomSource, randomCount, parentIndex);
-
-        // and now just do two level of differentiation.
-        PairwiseWeightedParameterSum.computeInPlace(f, child, 0, random[0], parent);
-        PairwiseWeightedParameterSum.computeInPlace(k, child, 1, random);
-
-        return child;
+        int[] random = selected.acquire();
+        try {
+            pool.sampleIndices(randomSource, randomCount, random, parentIndex);
+
+            // and now just do two level of differentiation.
+            PairwiseWeightedParameterSum.computeInPlace(f, trial, 0, pool, random[0], parentIndex);
+            PairwiseWeightedParameterSum.computeInPlace(k, trial, 1, pool, random);
+        } finally {
+            selected.release(random);
+        }
     }
 
 }
@@ -0,0 +1,213 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The pending result of an asynchronous optimization.
+ * <p>
+ * Cancelling this future (or completing it by any other means) stops the
+ * optimization cooperatively: the optimizer notices as soon as it next accepts
+ * a candidate, abandons the rest of the generation, and then returns without
+ * producing a result. While the optimization is in progress, the best
+ * candidate so far can be {@linkplain #getBestCandidate() inspected}.
+ * <p>
+ * Instances of this class are safe for use by multiple threads.
+ * 
+ * @see DifferentialEvolutionOptimizer#optimizeAsync(DifferentialEvolutionProblem,
+ *      DifferentialEvolutionSettings, Executor)
+ */
+public final class DifferentialEvolutionFuture extends CompletableFuture<DifferentialEvolutionResult> {
+
+    /**
+     * Executor that drives each optimization from a new daemon thread.
+     */
+    static final Executor DRIVER = optimization -> {
+        Thread thread = new Thread(optimization, "differential-evolution");
+        thread.setDaemon(true);
+        thread.start();
+    };
+
+    /**
+     * The most recently observed optimization state; or <code>null</code>.
+     */
+    private volatile DifferentialEvolutionState state;
+
+    /**
+     * The best candidate seen at the end of any generation; or
+     * <code>null</code>.
+     */
+    private final AtomicReference<Candidate> observedBestCandidate;
+
+    /**
+     * Constructor.
+     */
+    DifferentialEvolutionFuture() {
+        observedBestCandidate = new AtomicReference<Candidate>();
+    }
+
+    /**
+     * Start optimizing the specified problem on the executor.
+     * 
+     * @param optimizer The optimizer.
+     * @param problem The problem.
+     * @param settings The settings.
+     * @param executor The executor.
+     * @return The future result.
+     */
+    static DifferentialEvolutionFuture start(final DifferentialEvolutionOptimizer optimizer, final DifferentialEvolutionProblem problem,
+            final DifferentialEvolutionSettings settings, final Executor executor) {
+        DifferentialEvolutionFuture future = new DifferentialEvolutionFuture();
+        DifferentialEvolutionProblem observedProblem = new ObservedDifferentialEvolutionProblem(problem,
+                Arrays.<TerminationCriterion> asList(future.new Observer(), future.new Canceller()));
+
+        Runnable optimization = () -> {
+            if (future.isDone()) {
+                // cancelled before we even got going.
+                return;
+            }
+
+            try {
+                future.complete(optimizer.optimize(observedProblem, settings));
+            } catch (final Throwable t) {
+                future.completeExceptionally(t);
+            }
+        };
+
+        try {
+            executor.execute(optimization);
+        } catch (final RuntimeException re) {
+            // e.g. the executor has been shut down.
+            future.completeExceptionally(re);
+        }
+
+        return future;
+    }
+
+    /**
+     * Observe the state of the optimization at the end of a generation.
+     * 
+     * @param state The state.
+     * @return <code>true</code> if the optimization should stop, because this
+     *         future has been cancelled or otherwise completed.
+     */
+    private boolean observe(final DifferentialEvolutionState state) {
+        this.state = state;
+        observedBestCandidate.accumulateAndGet(state.getBestCandidate(), DifferentialEvolutionFuture::better);
+
+        return isDone();
+    }
+
+    /**
+     * Termination criterion through which the optimization is observed at the
+     * end of each generation.
+     * <p>
+     * Several islands may share this future, so the best candidate of each
+     * is kept as it goes by.
+     */
+    private final class Observer implements TerminationCriterion {
+
+        /**
+         * @see com.chupacadabra.evolution.TerminationCriterion#isMet(com.chupacadabra.evolution.DifferentialEvolutionState)
+         */
+        @Override
+        public boolean isMet(final DifferentialEvolutionState state) {
+            return observe(state);
+        }
+
+    }
+
+    /**
+     * Termination criterion through which the optimization notices, as each
+     * candidate is accepted, that this future has been completed.
+     * <p>
+     * This runs for every candidate, so it does nothing but look.
+     */
+    private final class Canceller implements TerminationCriterion {
+
+        /**
+         * @see com.chupacadabra.evolution.TerminationCriterion#isMet(com.chupacadabra.evolution.DifferentialEvolutionState)
+         */
+        @Override
+        public boolean isMet(final DifferentialEvolutionState state) {
+            return isDone();
+        }
+
+        /**
+         * @see com.chupacadabra.evolution.TerminationCriterion#isCheckedPerCandidate()
+         */
+        @Override
+        public boolean isCheckedPerCandidate() {
+            return true;
+        }
+
+    }
+
+    /**
+     * Get the best candidate found so far.
+     * <p>
+     * This is read on demand from the most recently observed optimization,
+     * without disturbing it, so it may lag slightly behind the optimizer
+     * itself. Once the optimization has
+     * completed normally, prefer the best candidate of the
+     * {@linkplain DifferentialEvolutionResult result}.
+     * 
+     * @return The best candidate; or <code>null</code> if there is no feasible
+     *         candidate yet.
+     */
+    public Candidate getBestCandidate() {
+        DifferentialEvolutionState current = state;
+        Candidate best = observedBestCandidate.get();
+        if (current == null) {
+            return best;
+        }
+
+        return better(best, current.getBestCandidate());
+    }
+
+    /**
+     * Get the better of two candidates, either of which may be
+     * <code>null</code>.
+     * 
+     * @param candidate1 The first candidate.
+     * @param candidate2 The second candidate.
+     * @return The better candidate.
+     */
+    private static Candidate better(final Candidate candidate1, final Candidate candidate2) {
+        if (candidate1 == null) {
+            return candidate2;
+        }
+
+        if (candidate2 == null) {
+            return candidate1;
+        }
+
+        return (candidate2.getFitness() < candidate1.getFitness()) ? candidate2 : candidate1;
+    }
+
+}
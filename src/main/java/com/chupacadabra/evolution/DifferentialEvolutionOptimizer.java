@@ -23,6 +23,11 @@
  */
 package com.chupacadabra.evolution;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import com.chupacadabra.evolution.checkpoint.Checkpoint;
+
 /**
  * The main optimizer interface.
  */
@@ -47,4 +52,64 @@ public interface DifferentialEvolutionOptimizer {
         return optimize(problem, new DifferentialEvolutionSettings());
     }
 
+    /**
+     * Resume optimizing the specified problem from a checkpoint.
+     * <p>
+     * The problem and settings should be those of the optimization that was
+     * checkpointed; the pool, generation and time taken are restored from the
+     * checkpoint, as is the random source if it is a
+     * {@linkplain CounterRandomSource counter-based} one. The default
+     * implementation does not support resumption.
+     * 
+     * @param checkpoint The checkpoint.
+     * @param problem The problem.
+     * @param settings The settings.
+     * @return The result.
+     * @throws IllegalArgumentException If the checkpoint does not match the
+     *         dimension of the problem or the pool size of the settings.
+     * @throws UnsupportedOperationException If this optimizer cannot resume
+     *         from a checkpoint.
+     */
+    public default DifferentialEvolutionResult resume(final Checkpoint checkpoint, final DifferentialEvolutionProblem problem,
+            final DifferentialEvolutionSettings settings) {
+        throw new UnsupportedOperationException("resume");
+    }
+
+    /**
+     * Start optimizing the specified problem on the specified executor,
+     * returning immediately.
+     * <p>
+     * The returned future may be {@linkplain DifferentialEvolutionFuture#cancel(boolean)
+     * cancelled}, which stops the optimization part way through the current
+     * generation, and exposes the {@linkplain DifferentialEvolutionFuture#getBestCandidate()
+     * best candidate so far}. Any exception thrown by the optimization
+     * completes the future exceptionally.
+     * 
+     * @param problem The problem.
+     * @param settings The settings.
+     * @param executor The executor on which to run the optimization.
+     * @return The future result.
+     */
+    public default DifferentialEvolutionFuture optimizeAsync(final DifferentialEvolutionProblem problem, final DifferentialEvolutionSettings settings,
+            final Executor executor) {
+        return DifferentialEvolutionFuture.start(this, problem, settings, executor);
+    }
+
+    /**
+     * Start optimizing the specified problem, returning immediately.
+     * <p>
+     * The optimization is driven from a new daemon thread of its own, which
+     * spends most of its time waiting on the optimizer; so it never takes a
+     * worker away from the {@linkplain ForkJoinPool#commonPool() common pool}
+     * or from the pool in which the optimizer does its work.
+     * 
+     * @param problem The problem.
+     * @param settings The settings.
+     * @return The future result.
+     * @see #optimizeAsync(DifferentialEvolutionProblem, DifferentialEvolutionSettings, Executor)
+     */
+    public default DifferentialEvolutionFuture optimizeAsync(final DifferentialEvolutionProblem problem, final DifferentialEvolutionSettings settings) {
+        return optimizeAsync(problem, settings, DifferentialEvolutionFuture.DRIVER);
+    }
+
 }
@@ -52,6 +52,19 @@ public interface DifferentialEvolutionProblem {
      */
     public FitnessFunction getFitnessFunction();
 
+    /**
+     * Get the batch fitness function.
+     * <p>
+     * This is only used by optimizers that measure several candidates at once.
+     * The default implementation measures each candidate in turn using the
+     * {@linkplain #getFitnessFunction() fitness function}.
+     * 
+     * @return The batch fitness function.
+     */
+    public default BatchFitnessFunction getBatchFitnessFunction() {
+        return new SequentialBatchFitnessFunction(getFitnessFunction());
+    }
+
     /**
      * Get the feasibility function.
      * <p>
@@ -76,6 +89,19 @@ public interface DifferentialEvolutionProblem {
         return ZeroViolationFunction.getInstance();
     }
 
+    /**
+     * Get the seed population.
+     * <p>
+     * The pool is initialized from these seeds before falling back on the
+     * {@linkplain #getRandomParametersFunction() random parameter function}.
+     * The default implementation returns an empty population.
+     * 
+     * @return The seed population.
+     */
+    public default SeedPopulation getSeedPopulation() {
+        return new SeedPopulation();
+    }
+
     /**
      * Get the termination criteria.
      * <p>
@@ -0,0 +1,139 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.chupacadabra.evolution.checkpoint.Checkpoint;
+import com.chupacadabra.evolution.engine.SessionEngine;
+
+/**
+ * A steppable, ask/tell differential evolution session.
+ * <p>
+ * Unlike an {@linkplain DifferentialEvolutionOptimizer optimizer}, a session
+ * does not measure fitness itself, nor does it own the call loop. Instead, the
+ * caller {@linkplain #ask(int) asks} for trial vectors, measures them however
+ * it likes (<i>e.g.</i> in an external batch system), and then
+ * {@linkplain #tell(Collection) tells} the session the results. Trials are
+ * generated by the configured differentiation and recombination policies and
+ * results are fed through the configured selection and diversity policies,
+ * exactly as the optimizers do. The problem's fitness, feasibility and
+ * violation functions are not used, except that the feasibility function still
+ * screens the initial pool.
+ * <p>
+ * The pool advances one generation at a time: once every trial of a generation
+ * has been told, the session checks the termination criteria and moves on to
+ * the next generation. Hence {@link #ask(int)} may return fewer trials than
+ * requested - or none at all - while results of the current generation are
+ * outstanding. Criteria that are
+ * {@linkplain TerminationCriterion#isCheckedPerCandidate() checked per
+ * candidate} are checked as each told result is selected, and can end the
+ * session part way through a generation; any outstanding trials are then
+ * discarded. An exception thrown along the way, <i>e.g.</i> by a policy or a
+ * listener, is handled according to the
+ * {@linkplain DifferentialEvolutionSettings#getExceptionBehavior() exception
+ * behavior} of the settings.
+ * <p>
+ * Sessions are not safe for use by multiple threads.
+ */
+public interface DifferentialEvolutionSession extends DifferentialEvolutionState {
+
+    /**
+     * Open a session for the specified problem.
+     * 
+     * @param problem The problem.
+     * @param settings The settings.
+     * @return A new session.
+     */
+    public static DifferentialEvolutionSession open(final DifferentialEvolutionProblem problem, final DifferentialEvolutionSettings settings) {
+        return new SessionEngine(problem, settings);
+    }
+
+    /**
+     * Open a session for the specified problem using default settings.
+     * 
+     * @param problem The problem.
+     * @return A new session.
+     */
+    public static DifferentialEvolutionSession open(final DifferentialEvolutionProblem problem) {
+        return open(problem, new DifferentialEvolutionSettings());
+    }
+
+    /**
+     * Resume a session for the specified problem from a checkpoint.
+     * <p>
+     * Checkpoints are taken between generations, just as for the optimizers,
+     * according to the {@linkplain DifferentialEvolutionSettings#getCheckpointer()
+     * checkpointer} of the settings. The problem and settings should be those
+     * of the session that was checkpointed.
+     * 
+     * @param checkpoint The checkpoint.
+     * @param problem The problem.
+     * @param settings The settings.
+     * @return A new session.
+     * @throws IllegalArgumentException If the checkpoint does not match the
+     *         dimension of the problem or the pool size of the settings.
+     */
+    public static DifferentialEvolutionSession resume(final Checkpoint checkpoint, final DifferentialEvolutionProblem problem,
+            final DifferentialEvolutionSettings settings) {
+        return new SessionEngine(checkpoint, problem, settings);
+    }
+
+    /**
+     * Ask for trials to measure.
+     * 
+     * @param count The maximum number of trials.
+     * @return Up to <code>count</code> trials; empty if the session has
+     *         terminated or if every trial of the current generation is
+     *         outstanding.
+     */
+    public List<Trial> ask(int count);
+
+    /**
+     * Tell the session the results of previously asked trials.
+     * 
+     * @param results The results, in any order.
+     * @throws IllegalArgumentException If a result refers to a trial that is
+     *         not outstanding in this session.
+     */
+    public void tell(Collection<TrialResult> results);
+
+    /**
+     * Has this session terminated?
+     * 
+     * @return <code>true</code> if terminated; and <code>false</code>
+     *         otherwise.
+     */
+    public boolean isTerminated();
+
+    /**
+     * Get the result of this session.
+     * 
+     * @return The result.
+     * @throws IllegalStateException If the session has not yet terminated.
+     */
+    public DifferentialEvolutionResult getResult();
+
+}
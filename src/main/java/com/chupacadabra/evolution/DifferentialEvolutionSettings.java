@@ -25,6 +25,10 @@ package com.chupacadabra.evolution;
 
 import java.io.Serializable;
 
+import com.chupacadabra.evolution.checkpoint.Checkpointer;
+import com.chupacadabra.evolution.listener.GenerationListener;
+import com.chupacadabra.evolution.metrics.Metrics;
+
 /**
  * Settings and policies for the differential evolution optimizer.
  * <p>
@@ -102,16 +106,41 @@ public final class DifferentialEvolutionSettings implements Serializable {
      */
     private PoolReplacement poolReplacement;
 
+    /**
+     * Pool storage.
+     */
+    private PoolStorage poolStorage;
+
     /**
      * Fairness policy when locking the candidate pools.
      */
     private LockFairness poolLockFairness;
 
+    /**
+     * How to lock the candidate pools.
+     */
+    private PoolLocking poolLocking;
+
     /**
      * Exception behavior.
      */
     private ExceptionBehavior exceptionBehavior;
 
+    /**
+     * Metrics hook.
+     */
+    private Metrics metrics;
+
+    /**
+     * Checkpointing hook.
+     */
+    private Checkpointer checkpointer;
+
+    /**
+     * Generation listener.
+     */
+    private GenerationListener generationListener;
+
     /**
      * Constructor.
      */
@@ -132,17 +161,56 @@ public final class DifferentialEvolutionSettings implements Serializable {
         // this generally results in faster convergence.
         poolReplacement = PoolReplacement.IMMEDIATELY;
 
+        // one object per candidate; simplest and cheapest for small pools.
+        poolStorage = PoolStorage.CANDIDATES;
+
         // any exceptions will terminate the optimization and be throw to the
         // invoker.
         exceptionBehavior = ExceptionBehavior.PROPOGATE;
 
+        // metrics are opt-in.
+        metrics = Metrics.noOp();
+
+        // and so is checkpointing.
+        checkpointer = Checkpointer.noOp();
+
+        // nobody is listening unless asked.
+        generationListener = GenerationListener.noOp();
+
         // use unfair locking because it should be faster.
         poolLockFairness = LockFairness.UNFAIR;
+        poolLocking = PoolLocking.READ_WRITE;
 
         // use the only implementation we know of.
         randomSource = new JavaUtilRandomSource();
     }
 
+    /**
+     * Copy constructor.
+     * <p>
+     * The policies and random source are shared with the original, not copied.
+     * 
+     * @param settings The settings to copy.
+     */
+    public DifferentialEvolutionSettings(final DifferentialEvolutionSettings settings) {
+        maximumGeneration = settings.maximumGeneration;
+        candidatePoolSize = settings.candidatePoolSize;
+        childrenPerCandidate = settings.childrenPerCandidate;
+        randomSource = settings.randomSource;
+        differentiationPolicy = settings.differentiationPolicy;
+        recombinationPolicy = settings.recombinationPolicy;
+        selectionPolicy = settings.selectionPolicy;
+        diversityPolicy = settings.diversityPolicy;
+        poolReplacement = settings.poolReplacement;
+        poolStorage = settings.poolStorage;
+        poolLockFairness = settings.poolLockFairness;
+        poolLocking = settings.poolLocking;
+        exceptionBehavior = settings.exceptionBehavior;
+        metrics = settings.metrics;
+        checkpointer = settings.checkpointer;
+        generationListener = settings.generationListener;
+    }
+
     /**
      * Get the maximum generation.
      * 
@@ -341,6 +409,37 @@ public final class DifferentialEvolutionSettings implements Serializable {
         this.poolReplacement = poolReplacement;
     }
 
+    /**
+     * Get the pool storage layout.
+     * 
+     * @return The pool storage.
+     */
+    public PoolStorage getPoolStorage() {
+        return poolStorage;
+    }
+
+    /**
+     * Set the pool storage layout.
+     * 
+     * @param poolStorage The value.
+     * @throws NullPointerException If <code>poolStorage</code> is
+     *         <code>null</code>.
+     * @throws IllegalArgumentException If <code>poolStorage</code> is not
+     *         {@link PoolStorage#CANDIDATES} and the pool locking is
+     *         {@link PoolLocking#ATOMIC}, which has its own storage.
+     */
+    public void setPoolStorage(final PoolStorage poolStorage) {
+        if (poolStorage == null) {
+            throw new NullPointerException("poolStorage");
+        }
+
+        if ((poolStorage != PoolStorage.CANDIDATES) && (poolLocking == PoolLocking.ATOMIC)) {
+            throw new IllegalArgumentException("poolStorage must be CANDIDATES when poolLocking is ATOMIC");
+        }
+
+        this.poolStorage = poolStorage;
+    }
+
     /**
      * Get the exception behavior.
      * 
@@ -387,4 +486,107 @@ public final class DifferentialEvolutionSettings implements Serializable {
         this.poolLockFairness = poolLockFairness;
     }
 
+    /**
+     * Get the pool locking scheme.
+     * 
+     * @return The pool locking scheme.
+     */
+    public PoolLocking getPoolLocking() {
+        return poolLocking;
+    }
+
+    /**
+     * Set the pool locking scheme.
+     * 
+     * @param poolLocking The value.
+     * @throws NullPointerException If <code>poolLocking</code> is
+     *         <code>null</code>.
+     * @throws IllegalArgumentException If <code>poolLocking</code> is
+     *         {@link PoolLocking#ATOMIC}, which has its own storage, and the
+     *         pool storage is not {@link PoolStorage#CANDIDATES}.
+     */
+    public void setPoolLocking(final PoolLocking poolLocking) {
+        if (poolLocking == null) {
+            throw new NullPointerException("poolLocking");
+        }
+
+        if ((poolLocking == PoolLocking.ATOMIC) && (poolStorage != PoolStorage.CANDIDATES)) {
+            throw new IllegalArgumentException("poolLocking cannot be ATOMIC unless poolStorage is CANDIDATES");
+        }
+
+        this.poolLocking = poolLocking;
+    }
+
+    /**
+     * Get the metrics hook.
+     * 
+     * @return The metrics.
+     */
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Set the metrics hook.
+     * 
+     * @param metrics The value.
+     * @throws NullPointerException If <code>metrics</code> is
+     *         <code>null</code>.
+     */
+    public void setMetrics(final Metrics metrics) {
+        if (metrics == null) {
+            throw new NullPointerException("metrics");
+        }
+
+        this.metrics = metrics;
+    }
+
+    /**
+     * Get the checkpointing hook.
+     * 
+     * @return The checkpointer.
+     */
+    public Checkpointer getCheckpointer() {
+        return checkpointer;
+    }
+
+    /**
+     * Set the checkpointing hook.
+     * 
+     * @param checkpointer The value.
+     * @throws NullPointerException If <code>checkpointer</code> is
+     *         <code>null</code>.
+     */
+    public void setCheckpointer(final Checkpointer checkpointer) {
+        if (checkpointer == null) {
+            throw new NullPointerException("checkpointer");
+        }
+
+        this.checkpointer = checkpointer;
+    }
+
+    /**
+     * Get the generation listener.
+     * 
+     * @return The generation listener.
+     */
+    public GenerationListener getGenerationListener() {
+        return generationListener;
+    }
+
+    /**
+     * Set the generation listener.
+     * 
+     * @param generationListener The value.
+     * @throws NullPointerException If <code>generationListener</code> is
+     *         <code>null</code>.
+     */
+    public void setGenerationListener(final GenerationListener generationListener) {
+        if (generationListener == null) {
+            throw new NullPointerException("generationListener");
+        }
+
+        this.generationListener = generationListener;
+    }
+
 }
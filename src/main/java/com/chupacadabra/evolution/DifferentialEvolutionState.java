@@ -44,6 +44,20 @@ public interface DifferentialEvolutionState {
      */
     public Candidate getBestCandidate();
 
+    /**
+     * Get the fitness of the current best candidate.
+     * <p>
+     * This is cheaper than getting the best candidate itself, which may have
+     * to be built. The default implementation does just that, though.
+     * 
+     * @return The best fitness; or {@link Double#POSITIVE_INFINITY} if there
+     *         is no feasible candidate yet.
+     */
+    public default double getBestFitness() {
+        Candidate bestCandidate = getBestCandidate();
+        return (bestCandidate == null) ? Double.POSITIVE_INFINITY : bestCandidate.getFitness();
+    }
+
     /**
      * Get the current generation.
      * 
@@ -60,4 +60,28 @@ public interface DifferentiationPolicy {
      */
     public double[] differentiate(DifferentialEvolutionState state, RandomSource randomSource, int parentIndex, CandidatePool pool);
 
+    /**
+     * Perform parameter differentiation, storing the result in the specified
+     * vector.
+     * <p>
+     * The optimizer calls this method with a scratch vector that it reuses
+     * across children, so that differentiation need not allocate.
+     * <p>
+     * The default implementation simply copies the result of
+     * {@link #differentiate(DifferentialEvolutionState, RandomSource, int, CandidatePool)}.
+     * Implementations should override this method to write into
+     * <code>trial</code> directly.
+     * 
+     * @param state The state.
+     * @param randomSource A source of randomness.
+     * @param parentIndex The index of the parent in the pool.
+     * @param pool The pool.
+     * @param trial The vector in which to store the trial parameters.
+     */
+    public default void differentiate(final DifferentialEvolutionState state, final RandomSource randomSource, final int parentIndex, final CandidatePool pool,
+            final double[] trial) {
+        double[] differentiated = differentiate(state, randomSource, parentIndex, pool);
+        System.arraycopy(differentiated, 0, trial, 0, trial.length);
+    }
+
 }
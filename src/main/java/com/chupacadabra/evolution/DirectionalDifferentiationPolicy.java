@@ -23,10 +23,7 @@
  */
 package com.chupacadabra.evolution;
 
-import java.util.Arrays;
-
 import com.chupacadabra.evolution.pool.CandidatePool;
-import com.chupacadabra.evolution.util.CandidateFitnessComparator;
 
 /**
  * The directional differentiation policy.
@@ -59,6 +56,11 @@ public final class DirectionalDifferentiationPolicy implements DifferentiationPo
      */
     private final WeightPolicy weightPolicy;
 
+    /**
+     * Per-thread buffers for the indices of the randomly selected candidates.
+     */
+    private final IndexBuffers selected;
+
     /**
      * Default constructor.
      * <p>
@@ -76,6 +78,7 @@ public final class DirectionalDifferentiationPolicy implements DifferentiationPo
      */
     public DirectionalDifferentiationPolicy(final int count, final WeightPolicy weightPolicy) {
         this.count = count;
+        this.selected = new IndexBuffers(count * 2);
         this.weightPolicy = weightPolicy;
     }
 
@@ -86,25 +89,65 @@ public final class DirectionalDifferentiationPolicy implements DifferentiationPo
      */
     @Override
     public double[] differentiate(final DifferentialEvolutionState state, final RandomSource randomSource, final int parentIndex, final CandidatePool pool) {
+        double[] trial = new double[state.getDimension()];
+        differentiate(state, randomSource, parentIndex, pool, trial);
+
+        return trial;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.DifferentiationPolicy#differentiate(com.chupacadabra.evolution.DifferentialEvolutionState,
+     *      com.chupacadabra.evolution.RandomSource, int,
+     *      com.chupacadabra.evolution.pool.CandidatePool, double[])
+     */
+    @Override
+    public void differentiate(final DifferentialEvolutionState state, final RandomSource randomSource, final int parentIndex, final CandidatePool pool,
+            final double[] trial) {
         // grab the desired number of random candidates, making sure exclude the
         // parent.
         int total = count * 2;
-        Candidate[] randomCandidates = pool.selectCandidates(randomSource, total, parentIndex);
+        int[] randomCandidates = selected.acquire();
+        try {
+            pool.sampleIndices(randomSource, total, randomCandidates, parentIndex);
 
-        // sort candidates based on fitness.
-        Arrays.sort(randomCandidates, new CandidateFitnessComparator());
+            // sort candidates based on fitness.
+            sortByFitness(randomCandidates, pool);
 
-        // the trial vector starts out as the best of the randomly selected
-        // candidate vectors.
-        double[] trial = randomCandidates[0].getParameters().clone();
+            // the trial vector starts out as the best of the randomly selected
+            // candidate vectors.
+            pool.copyParameters(randomCandidates[0], trial);
 
-        // grab weight and normalized based on pair count.
-        double f = weightPolicy.getWeight(state, randomSource) / (double) count;
+            // grab weight and normalized based on pair count.
+            double f = weightPolicy.getWeight(state, randomSource) / (double) count;
 
-        // do pairwise summing.
-        PairwiseWeightedParameterSum.computeInPlace(f, trial, 0, randomCandidates);
+            // do pairwise summing.
+            PairwiseWeightedParameterSum.computeInPlace(f, trial, 0, pool, randomCandidates);
+        } finally {
+            selected.release(randomCandidates);
+        }
+    }
 
-        return trial;
+    /**
+     * Sort the specified candidate indices by the fitness of the candidates.
+     * <p>
+     * The number of indices is small, so a simple insertion sort suffices.
+     * 
+     * @param indices The candidate indices.
+     * @param pool The pool.
+     */
+    private static void sortByFitness(final int[] indices, final CandidatePool pool) {
+        for (int index = 1; index < indices.length; index++) {
+            int candidate = indices[index];
+            double fitness = pool.getFitness(candidate);
+
+            int jindex = index - 1;
+            while ((jindex >= 0) && (pool.getFitness(indices[jindex]) > fitness)) {
+                indices[jindex + 1] = indices[jindex];
+                jindex -= 1;
+            }
+
+            indices[jindex + 1] = candidate;
+        }
     }
 
 }
@@ -25,6 +25,10 @@ package com.chupacadabra.evolution;
 
 /**
  * The exponential recombination policy.
+ * <p>
+ * The child takes a contiguous run of parameters from the trial, starting at a
+ * random index and wrapping around, whose length is one plus a geometrically
+ * distributed number of further crossovers.
  */
 public final class ExponentialRecombinationPolicy implements RecombinationPolicy {
 
@@ -62,26 +66,35 @@ public final class ExponentialRecombinationPolicy implements RecombinationPolicy
      */
     @Override
     public double[] recombine(final DifferentialEvolutionState state, final RandomSource randomSource, final double[] parent, final double[] trial) {
+        double[] child = new double[state.getDimension()];
+        recombine(state, randomSource, parent, trial, child);
+
+        return child;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.RecombinationPolicy#recombine(com.chupacadabra.evolution.DifferentialEvolutionState,
+     *      com.chupacadabra.evolution.RandomSource, double[], double[], double[])
+     */
+    @Override
+    public void recombine(final DifferentialEvolutionState state, final RandomSource randomSource, final double[] parent, final double[] trial,
+            final double[] child) {
         int dimension = state.getDimension();
         int j = randomSource.nextInt(dimension);
 
-        double[] child = parent.clone();
+        System.arraycopy(parent, 0, child, 0, dimension);
         double crossover = crossoverPolicy.getCrossover(state, randomSource);
 
-        // loop variables.
-        double r;
-        int l = 0;
-
-        do {
-            child[j] = trial[j];
+        // the run always takes at least one parameter, and then continues for
+        // as long as successive draws fall under the crossover. rather than
+        // loop over those draws, draw the geometric run length once.
+        int run = GeometricRun.length(randomSource, crossover);
+        int l = (run < dimension) ? (run + 1) : dimension;
 
-            // update the index variables.
-            j = (j + 1) % dimension;
-            l += 1;
-            r = randomSource.nextDouble();
-        } while ((r < crossover) && (l < dimension));
-
-        return child;
+        // copy the run, wrapping around the end of the vector if need be.
+        int head = Math.min(l, dimension - j);
+        System.arraycopy(trial, j, child, j, head);
+        System.arraycopy(trial, 0, child, 0, l - head);
     }
 
 }
@@ -47,7 +47,16 @@ public final class FitnessAchieved implements TerminationCriterion {
      */
     @Override
     public boolean isMet(final DifferentialEvolutionState state) {
-        return state.getBestCandidate().getFitness() <= fitness;
+        // infinite until there is a feasible candidate.
+        return state.getBestFitness() <= fitness;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.TerminationCriterion#isCheckedPerCandidate()
+     */
+    @Override
+    public boolean isCheckedPerCandidate() {
+        return true;
     }
 
 }
@@ -31,6 +31,10 @@ public interface FitnessFunction {
 
     /**
      * Get the fitness of the specified parameters.
+     * <p>
+     * The parameters may be a scratch vector that the optimizer reuses once
+     * this method returns, so implementations must neither modify nor retain
+     * it.
      * 
      * @param parameters The parameters.
      * @return The fitness.
@@ -24,8 +24,10 @@
 package com.chupacadabra.evolution;
 
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.RecursiveTask;
 
+import com.chupacadabra.evolution.checkpoint.Checkpoint;
 import com.chupacadabra.evolution.engine.ChildGeneration;
 import com.chupacadabra.evolution.engine.DifferentialEvolutionEngine;
 import com.chupacadabra.evolution.engine.ForkJoinChildGeneration;
@@ -43,7 +45,7 @@ import com.chupacadabra.evolution.engine.PoolLockCreation;
  * Instances of this class are safe for use by multiple threads and are also
  * safe for reentrant use.
  */
-public class ForkJoinDifferentialEvolutionOptimizer implements DifferentialEvolutionOptimizer {
+public class ForkJoinDifferentialEvolutionOptimizer implements SteppableDifferentialEvolutionOptimizer {
 
     /**
      * The fork-join pool to use.
@@ -82,20 +84,58 @@ public class ForkJoinDifferentialEvolutionOptimizer implements DifferentialEvolu
      */
     @Override
     public DifferentialEvolutionResult optimize(final DifferentialEvolutionProblem problem, final DifferentialEvolutionSettings settings) {
+        DifferentialEvolutionEngine engine = createEngine();
+
+        // and invoke core action to get us into the pool.
+        ForkJoinAction action = new ForkJoinAction(engine, null, problem, settings);
+        DifferentialEvolutionResult result = forkJoinPool.invoke(action);
+
+        return result;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.DifferentialEvolutionOptimizer#resume(com.chupacadabra.evolution.checkpoint.Checkpoint,
+     *      com.chupacadabra.evolution.DifferentialEvolutionProblem, com.chupacadabra.evolution.DifferentialEvolutionSettings)
+     */
+    @Override
+    public DifferentialEvolutionResult resume(final Checkpoint checkpoint, final DifferentialEvolutionProblem problem, final DifferentialEvolutionSettings settings) {
+        DifferentialEvolutionEngine engine = createEngine();
+
+        // and invoke core action to get us into the pool.
+        ForkJoinAction action = new ForkJoinAction(engine, checkpoint, problem, settings);
+        DifferentialEvolutionResult result = forkJoinPool.invoke(action);
+
+        return result;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.SteppableDifferentialEvolutionOptimizer#generations(com.chupacadabra.evolution.DifferentialEvolutionProblem,
+     *      com.chupacadabra.evolution.DifferentialEvolutionSettings)
+     */
+    @Override
+    public GenerationIterator generations(final DifferentialEvolutionProblem problem, final DifferentialEvolutionSettings settings) {
+        DifferentialEvolutionEngine engine = createEngine();
+
+        // each generation must run in the pool.
+        return engine.getGenerations(problem, settings, step -> forkJoinPool.invoke(ForkJoinTask.adapt(step)));
+    }
+
+    /**
+     * Create an engine.
+     * 
+     * @return The engine.
+     */
+    private DifferentialEvolutionEngine createEngine() {
         // assemble an engine.
-        PoolLockCreation lockCreation = PoolLock::reentrant;
+        PoolLockCreation lockCreation = PoolLock::parallel;
         Initialization initialization = new ForkJoinInitialization(configuration);
         Iteration iteration = new ForkJoinIteration(configuration);
-        ChildGeneration childGeneration = new ForkJoinChildGeneration(configuration);
+        ChildGeneration childGeneration = new ForkJoinChildGeneration();
 
         // build a suitable engine.
         DifferentialEvolutionEngine engine = new DifferentialEvolutionEngine(lockCreation, initialization, iteration, childGeneration);
 
-        // and invoke core action to get us into the pool.
-        ForkJoinAction action = new ForkJoinAction(engine, problem, settings);
-        DifferentialEvolutionResult result = forkJoinPool.invoke(action);
-
-        return result;
+        return engine;
     }
 
     /**
@@ -113,6 +153,11 @@ public class ForkJoinDifferentialEvolutionOptimizer implements DifferentialEvolu
          */
         private final DifferentialEvolutionEngine engine;
 
+        /**
+         * The checkpoint from which to resume; or <code>null</code>.
+         */
+        private final Checkpoint checkpoint;
+
         /**
          * The problem.
          */
@@ -127,12 +172,15 @@ public class ForkJoinDifferentialEvolutionOptimizer implements DifferentialEvolu
          * Constructor.
          * 
          * @param engine The engine.
+         * @param checkpoint The checkpoint from which to resume; or
+         *        <code>null</code> to start afresh.
          * @param problem The problem.
          * @param settings The settings.
          */
-        public ForkJoinAction(final DifferentialEvolutionEngine engine, final DifferentialEvolutionProblem problem,
+        public ForkJoinAction(final DifferentialEvolutionEngine engine, final Checkpoint checkpoint, final DifferentialEvolutionProblem problem,
                 final DifferentialEvolutionSettings settings) {
             this.engine = engine;
+            this.checkpoint = checkpoint;
             this.problem = problem;
             this.settings = settings;
         }
@@ -142,6 +190,10 @@ public class ForkJoinDifferentialEvolutionOptimizer implements DifferentialEvolu
          */
         @Override
         protected DifferentialEvolutionResult compute() {
+            if (checkpoint != null) {
+                return engine.resume(checkpoint, problem, settings);
+            }
+
             DifferentialEvolutionResult result = engine.getResult(problem, settings);
 
             return result;
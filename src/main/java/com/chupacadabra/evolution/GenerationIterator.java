@@ -0,0 +1,108 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.chupacadabra.evolution.listener.GenerationSnapshot;
+
+/**
+ * A pull-based view of an optimization, one generation at a time.
+ * <p>
+ * Each call to {@link #next()} runs one generation - the first runs the
+ * initialization of the pool - and returns a {@linkplain GenerationSnapshot
+ * snapshot} of it, so nothing is computed unless it is asked for. The
+ * iterator runs out once a termination criterion is met or the maximum
+ * generation is reached, exactly as the optimization would have stopped;
+ * but the caller is free to stop asking at any time, <i>e.g.</i> by
+ * short-circuiting the {@linkplain #stream() stream} of generations, and to
+ * interleave several optimizations on a scheduler of its own.
+ * <p>
+ * Any exception thrown while running a generation propagates out of
+ * {@link #next()}, whatever the exception behavior of the settings; the
+ * iterator then runs out, and its result records the exception.
+ * <p>
+ * Iterators should be {@linkplain #close() closed} once the caller is done
+ * with them, so that any work left in flight is settled. Iterators are not
+ * safe for use by multiple threads.
+ * 
+ * @see SteppableDifferentialEvolutionOptimizer#generations(DifferentialEvolutionProblem,
+ *      DifferentialEvolutionSettings)
+ */
+public interface GenerationIterator extends Iterator<GenerationSnapshot>, AutoCloseable {
+
+    /**
+     * Has the optimization terminated?
+     * <p>
+     * This checks the termination criteria, if need be, but never runs a
+     * generation.
+     * 
+     * @return <code>true</code> if terminated; and <code>false</code>
+     *         otherwise.
+     */
+    public default boolean isTerminated() {
+        return !hasNext();
+    }
+
+    /**
+     * Get the result so far.
+     * <p>
+     * If the optimization has yet to terminate, the termination reason of the
+     * result is <code>null</code>.
+     * 
+     * @return The result.
+     * @throws IllegalStateException If no generation has been run yet.
+     */
+    public DifferentialEvolutionResult getResult();
+
+    /**
+     * Stop iterating, waiting for any work left in flight.
+     * <p>
+     * Once closed, the iterator has run out. Closing an iterator more than
+     * once has no effect.
+     * 
+     * @see java.lang.AutoCloseable#close()
+     */
+    @Override
+    public void close();
+
+    /**
+     * Get the remaining generations as a sequential, lazy stream.
+     * <p>
+     * Closing the stream closes this iterator.
+     * 
+     * @return The stream.
+     */
+    public default Stream<GenerationSnapshot> stream() {
+        Spliterator<GenerationSnapshot> spliterator = Spliterators.spliteratorUnknownSize(this,
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+
+        return StreamSupport.stream(spliterator, false).onClose(this::close);
+    }
+
+}
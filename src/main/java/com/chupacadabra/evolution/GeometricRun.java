@@ -0,0 +1,70 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution;
+
+/**
+ * Geometric run length utility class.
+ * <p>
+ * This class is stateless - and hence safe for use by multiple threads - and
+ * cannot be instantiated.
+ */
+final class GeometricRun {
+
+    /**
+     * Draw the length of a run of independent events of the specified
+     * probability, <i>i.e.</i> the number of times in a row that
+     * <code>randomSource.nextDouble() &lt; probability</code> would hold.
+     * <p>
+     * The length is geometrically distributed, and is drawn by inversion from
+     * a single uniform variate rather than by repeated trials.
+     * 
+     * @param randomSource The source of randomness to use.
+     * @param probability The probability of each event.
+     * @return The run length; {@link Integer#MAX_VALUE} if the events are
+     *         certain.
+     */
+    static int length(final RandomSource randomSource, final double probability) {
+        if (probability <= 0) {
+            return 0;
+        }
+
+        if (probability >= 1) {
+            return Integer.MAX_VALUE;
+        }
+
+        // use 1 - u so that we never take the logarithm of zero.
+        double u = 1.0d - randomSource.nextDouble();
+        double length = Math.floor(Math.log(u) / Math.log(probability));
+
+        // the cast saturates at the maximum int.
+        return (int)length;
+    }
+
+    /**
+     * Constructor.
+     */
+    private GeometricRun() {
+    }
+
+}
@@ -0,0 +1,116 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution;
+
+/**
+ * Per-thread buffers for the indices of the candidates selected by a
+ * differentiation policy.
+ * <p>
+ * Each thread gets one buffer, which is reused across children so that
+ * selecting candidates does not allocate. A buffer is acquired for the whole of
+ * a differentiation, including any calls out to weight policies; should one of
+ * those differentiate again on the same thread, it is handed a private buffer
+ * instead, much as the engine hands out
+ * {@linkplain com.chupacadabra.evolution.engine.ChildBuffers child buffers}.
+ */
+final class IndexBuffers {
+
+    /**
+     * The length of each buffer.
+     */
+    private final int length;
+
+    /**
+     * The buffer of each thread.
+     */
+    private final ThreadLocal<Slot> slots;
+
+    /**
+     * Constructor.
+     * 
+     * @param length The length of each buffer.
+     */
+    IndexBuffers(final int length) {
+        this.length = length;
+        this.slots = ThreadLocal.withInitial(() -> new Slot(new int[length]));
+    }
+
+    /**
+     * Acquire a buffer for the current thread.
+     * 
+     * @return The buffer, which must be {@linkplain #release(int[]) released}
+     *         once finished with.
+     */
+    int[] acquire() {
+        Slot slot = slots.get();
+        if (slot.acquired) {
+            // the buffer of this thread is already in use further up the
+            // stack.
+            return new int[length];
+        }
+
+        slot.acquired = true;
+
+        return slot.buffer;
+    }
+
+    /**
+     * Release a buffer.
+     * 
+     * @param buffer The buffer.
+     */
+    void release(final int[] buffer) {
+        Slot slot = slots.get();
+        if (slot.buffer == buffer) {
+            slot.acquired = false;
+        }
+    }
+
+    /**
+     * The buffer of a single thread.
+     */
+    private static final class Slot {
+
+        /**
+         * The buffer.
+         */
+        private final int[] buffer;
+
+        /**
+         * Is the buffer currently in use?
+         */
+        private boolean acquired;
+
+        /**
+         * Constructor.
+         * 
+         * @param buffer The buffer.
+         */
+        private Slot(final int[] buffer) {
+            this.buffer = buffer;
+        }
+
+    }
+
+}
@@ -0,0 +1,272 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+
+import com.chupacadabra.evolution.checkpoint.Checkpointer;
+import com.chupacadabra.evolution.engine.Archipelago;
+import com.chupacadabra.evolution.engine.ChildGeneration;
+import com.chupacadabra.evolution.engine.DifferentialEvolutionEngine;
+import com.chupacadabra.evolution.engine.Initialization;
+import com.chupacadabra.evolution.engine.Iteration;
+import com.chupacadabra.evolution.engine.PoolLock;
+import com.chupacadabra.evolution.engine.PoolLockCreation;
+import com.chupacadabra.evolution.engine.SerialChildGeneration;
+import com.chupacadabra.evolution.engine.SerialInitialization;
+import com.chupacadabra.evolution.engine.SerialIteration;
+import com.chupacadabra.evolution.listener.GenerationListener;
+import com.chupacadabra.evolution.util.TimeLength;
+
+/**
+ * An island model differential evolution optimizer.
+ * <p>
+ * This optimizer runs several independent, serial optimizations - the islands -
+ * in parallel on a {@linkplain ForkJoinPool fork-join pool}. Each island has
+ * its own pool of {@linkplain DifferentialEvolutionSettings#getCandidatePoolSize()
+ * candidates}, so there is no locking within an island. Every so often, each
+ * island sends its best candidates to its neighbours, as determined by the
+ * {@linkplain MigrationTopology migration topology}, where they replace the
+ * worst candidates. Migration never blocks: an island simply takes whatever its
+ * neighbours published most recently. Besides scaling well, this tends to make
+ * the optimization more robust on multimodal problems.
+ * <p>
+ * Each island terminates on its own. The result is that of the island with the
+ * best candidate, along with the total time taken. Each island reports to the
+ * {@linkplain com.chupacadabra.evolution.metrics.Metrics#forIsland(int)
+ * metrics of its own}.
+ * <p>
+ * Island <code>i</code> draws from the
+ * {@linkplain RandomSource#substream(int, int, int) random substream}
+ * <code>(-1, i, 0)</code> of the configured random source, so that the islands
+ * do not all explore in lockstep. All of the problem and policy functions must
+ * be safe for use by multiple threads.
+ * <p>
+ * Instances of this class are safe for use by multiple threads.
+ */
+public final class IslandDifferentialEvolutionOptimizer implements DifferentialEvolutionOptimizer {
+
+    /**
+     * The generation coordinate of the random substreams used by the islands.
+     */
+    private static final int ISLAND_GENERATION = -1;
+
+    /**
+     * The fork-join pool to use.
+     */
+    private final ForkJoinPool forkJoinPool;
+
+    /**
+     * Island specific configuration.
+     */
+    private final IslandDifferentialEvolutionOptimizerConfiguration configuration;
+
+    /**
+     * Constructor.
+     * <p>
+     * This optimizer will use the {@linkplain ForkJoinPool#commonPool() common
+     * pool} and the default configuration.
+     */
+    public IslandDifferentialEvolutionOptimizer() {
+        this(ForkJoinPool.commonPool(), new IslandDifferentialEvolutionOptimizerConfiguration());
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param forkJoinPool The fork-join pool.
+     * @param configuration The configuration.
+     */
+    public IslandDifferentialEvolutionOptimizer(final ForkJoinPool forkJoinPool, final IslandDifferentialEvolutionOptimizerConfiguration configuration) {
+        this.forkJoinPool = forkJoinPool;
+        this.configuration = configuration;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.DifferentialEvolutionOptimizer#optimize(com.chupacadabra.evolution.DifferentialEvolutionProblem,
+     *      com.chupacadabra.evolution.DifferentialEvolutionSettings)
+     */
+    @Override
+    public DifferentialEvolutionResult optimize(final DifferentialEvolutionProblem problem, final DifferentialEvolutionSettings settings) {
+        long startTimeInNanos = System.nanoTime();
+
+        int islandCount = configuration.getIslandCount();
+        Archipelago archipelago = new Archipelago(islandCount, configuration.getMigrationTopology(), configuration.getMigrationInterval(),
+                configuration.getMigrantCount());
+
+        // build an engine for each island.
+        List<IslandTask> islands = new ArrayList<IslandTask>(islandCount);
+        for (int island = 0; island < islandCount; island++) {
+            DifferentialEvolutionSettings islandSettings = new DifferentialEvolutionSettings(settings);
+            islandSettings.setRandomSource(settings.getRandomSource().substream(ISLAND_GENERATION, island, 0));
+            islandSettings.setMetrics(settings.getMetrics().forIsland(island));
+
+            // a checkpoint holds a single pool, so the islands can't be
+            // checkpointed.
+            islandSettings.setCheckpointer(Checkpointer.noOp());
+
+            // nor does a snapshot; and the islands don't keep in step, so
+            // there's no one generation to report.
+            islandSettings.setGenerationListener(GenerationListener.noOp());
+
+            PoolLockCreation lockCreation = PoolLock::noOp;
+            Initialization initialization = new SerialInitialization();
+            Iteration iteration = archipelago.createIteration(island, new SerialIteration());
+            ChildGeneration childGeneration = new SerialChildGeneration();
+            DifferentialEvolutionEngine engine = new DifferentialEvolutionEngine(lockCreation, initialization, iteration, childGeneration);
+
+            islands.add(new IslandTask(engine, problem, islandSettings));
+        }
+
+        // run them all in the pool.
+        List<DifferentialEvolutionResult> results = forkJoinPool.invoke(new ArchipelagoTask(islands));
+
+        // and report the best.
+        DifferentialEvolutionResult best = null;
+        for (DifferentialEvolutionResult result : results) {
+            if ((best == null) || isBetter(result.getBestCandidate(), best.getBestCandidate())) {
+                best = result;
+            }
+        }
+
+        SimpleDifferentialEvolutionResult result = new SimpleDifferentialEvolutionResult();
+        result.setBestCandidate(best.getBestCandidate());
+        result.setTerminationReason(best.getTerminationReason());
+        result.setTimeTaken(new TimeLength(System.nanoTime() - startTimeInNanos, TimeUnit.NANOSECONDS));
+
+        return result;
+    }
+
+    /**
+     * Is the first candidate better than the second?
+     * 
+     * @param candidate The first candidate; possibly <code>null</code>.
+     * @param other The second candidate; possibly <code>null</code>.
+     * @return <code>true</code> if so; and <code>false</code> otherwise.
+     */
+    private static boolean isBetter(final Candidate candidate, final Candidate other) {
+        if (candidate == null) {
+            return false;
+        }
+
+        return (other == null) || (candidate.getFitness() < other.getFitness());
+    }
+
+    /**
+     * Task that runs all the islands.
+     */
+    private static final class ArchipelagoTask extends RecursiveTask<List<DifferentialEvolutionResult>> {
+
+        /**
+         * Serial ID.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The islands.
+         */
+        private final List<IslandTask> islands;
+
+        /**
+         * Constructor.
+         * 
+         * @param islands The islands.
+         */
+        private ArchipelagoTask(final List<IslandTask> islands) {
+            this.islands = islands;
+        }
+
+        /**
+         * @see java.util.concurrent.RecursiveTask#compute()
+         */
+        @Override
+        protected List<DifferentialEvolutionResult> compute() {
+            ForkJoinTask.invokeAll(islands);
+
+            List<DifferentialEvolutionResult> results = new ArrayList<DifferentialEvolutionResult>(islands.size());
+            for (IslandTask island : islands) {
+                results.add(island.join());
+            }
+
+            return results;
+        }
+
+    }
+
+    /**
+     * Task that runs a single island.
+     */
+    private static final class IslandTask extends RecursiveTask<DifferentialEvolutionResult> {
+
+        /**
+         * Serial ID.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The engine to use.
+         */
+        private final DifferentialEvolutionEngine engine;
+
+        /**
+         * The problem.
+         */
+        private final DifferentialEvolutionProblem problem;
+
+        /**
+         * The settings of the island.
+         */
+        private final DifferentialEvolutionSettings settings;
+
+        /**
+         * Constructor.
+         * 
+         * @param engine The engine.
+         * @param problem The problem.
+         * @param settings The settings of the island.
+         */
+        private IslandTask(final DifferentialEvolutionEngine engine, final DifferentialEvolutionProblem problem, final DifferentialEvolutionSettings settings) {
+            this.engine = engine;
+            this.problem = problem;
+            this.settings = settings;
+        }
+
+        /**
+         * @see java.util.concurrent.RecursiveTask#compute()
+         */
+        @Override
+        protected DifferentialEvolutionResult compute() {
+            DifferentialEvolutionResult result = engine.getResult(problem, settings);
+
+            return result;
+        }
+
+    }
+
+}
@@ -0,0 +1,173 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution;
+
+/**
+ * Configuration specific to the island model optimizer.
+ * <p>
+ * The setter methods throws {@link NullPointerException NullPointerExceptions}
+ * if the the value is <code>null</code>.
+ */
+public final class IslandDifferentialEvolutionOptimizerConfiguration {
+
+    /**
+     * Default number of islands: {@value}
+     */
+    public static final int DEFAULT_ISLAND_COUNT = 4;
+
+    /**
+     * Default number of generations between migrations: {@value}
+     */
+    public static final int DEFAULT_MIGRATION_INTERVAL = 10;
+
+    /**
+     * Default number of migrants per island: {@value}
+     */
+    public static final int DEFAULT_MIGRANT_COUNT = 1;
+
+    /**
+     * The number of islands.
+     */
+    private int islandCount;
+
+    /**
+     * The number of generations between migrations.
+     */
+    private int migrationInterval;
+
+    /**
+     * The number of candidates each island sends per migration.
+     */
+    private int migrantCount;
+
+    /**
+     * The migration topology.
+     */
+    private MigrationTopology migrationTopology;
+
+    /**
+     * Constructor.
+     */
+    public IslandDifferentialEvolutionOptimizerConfiguration() {
+        islandCount = DEFAULT_ISLAND_COUNT;
+        migrationInterval = DEFAULT_MIGRATION_INTERVAL;
+        migrantCount = DEFAULT_MIGRANT_COUNT;
+        migrationTopology = MigrationTopology.RING;
+    }
+
+    /**
+     * Get the number of islands.
+     * 
+     * @return The number of islands.
+     */
+    public int getIslandCount() {
+        return islandCount;
+    }
+
+    /**
+     * Set the number of islands.
+     * 
+     * @param islandCount The value.
+     * @throws IllegalArgumentException If <code>islandCount</code> is not
+     *         strictly positive.
+     */
+    public void setIslandCount(final int islandCount) {
+        if (islandCount <= 0) {
+            throw new IllegalArgumentException("islandCount must be positive");
+        }
+
+        this.islandCount = islandCount;
+    }
+
+    /**
+     * Get the number of generations between migrations.
+     * 
+     * @return The migration interval.
+     */
+    public int getMigrationInterval() {
+        return migrationInterval;
+    }
+
+    /**
+     * Set the number of generations between migrations.
+     * 
+     * @param migrationInterval The value.
+     * @throws IllegalArgumentException If <code>migrationInterval</code> is not
+     *         strictly positive.
+     */
+    public void setMigrationInterval(final int migrationInterval) {
+        if (migrationInterval <= 0) {
+            throw new IllegalArgumentException("migrationInterval must be positive");
+        }
+
+        this.migrationInterval = migrationInterval;
+    }
+
+    /**
+     * Get the number of candidates each island sends per migration.
+     * 
+     * @return The migrant count.
+     */
+    public int getMigrantCount() {
+        return migrantCount;
+    }
+
+    /**
+     * Set the number of candidates each island sends per migration.
+     * 
+     * @param migrantCount The value.
+     * @throws IllegalArgumentException If <code>migrantCount</code> is not
+     *         strictly positive.
+     */
+    public void setMigrantCount(final int migrantCount) {
+        if (migrantCount <= 0) {
+            throw new IllegalArgumentException("migrantCount must be positive");
+        }
+
+        this.migrantCount = migrantCount;
+    }
+
+    /**
+     * Get the migration topology.
+     * 
+     * @return The topology.
+     */
+    public MigrationTopology getMigrationTopology() {
+        return migrationTopology;
+    }
+
+    /**
+     * Set the migration topology.
+     * 
+     * @param migrationTopology The value.
+     */
+    public void setMigrationTopology(final MigrationTopology migrationTopology) {
+        if (migrationTopology == null) {
+            throw new NullPointerException("migrationTopology");
+        }
+
+        this.migrationTopology = migrationTopology;
+    }
+
+}
@@ -49,7 +49,15 @@ public final class MaximumTime implements TerminationCriterion {
      */
     @Override
     public boolean isMet(final DifferentialEvolutionState state) {
-        return maximumTime.compareTo(state.getTimeTaken()) > 0;
+        return state.getTimeTaken().compareTo(maximumTime) >= 0;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.TerminationCriterion#isCheckedPerCandidate()
+     */
+    @Override
+    public boolean isCheckedPerCandidate() {
+        return true;
     }
 
 }
@@ -23,6 +23,8 @@
  */
 package com.chupacadabra.evolution;
 
+import java.lang.ref.WeakReference;
+
 import com.chupacadabra.evolution.pool.CandidatePool;
 
 /**
@@ -30,6 +32,19 @@ import com.chupacadabra.evolution.pool.CandidatePool;
  * <p>
  * The fitness measure function must return strictly positive values if this
  * policy is used.
+ * <p>
+ * The multinomial distribution is computed once per pool and generation and
+ * then shared by every child of that generation, so that drawing a candidate
+ * costs a binary search rather than a pass over the pool. With
+ * {@linkplain PoolReplacement#IMMEDIATELY immediate} pool replacement, this
+ * means candidates replaced during a generation only affect the distribution
+ * from the next generation on, and a distribution built while candidates are
+ * being replaced may mix old and new fitness values; either way, every
+ * candidate keeps a positive weight.
+ * <p>
+ * Only the most recent distribution is kept. One instance may serve several
+ * optimizations (or islands) at once, but they will then take turns to rebuild
+ * it; give each its own instance instead.
  */
 public final class MultinomialDifferentiationPolicy implements DifferentiationPolicy {
 
@@ -73,6 +88,17 @@ public final class MultinomialDifferentiationPolicy implements DifferentiationPo
      */
     private WeightPolicy randomWeightPolicy;
 
+    /**
+     * The distribution most recently built; or <code>null</code> if there is
+     * none yet.
+     */
+    private volatile Distribution distribution;
+
+    /**
+     * Per-thread buffers for the indices of the randomly selected candidates.
+     */
+    private final IndexBuffers selected;
+
     /**
      * Constructor.
      * <p>
@@ -95,6 +121,7 @@ public final class MultinomialDifferentiationPolicy implements DifferentiationPo
             final WeightPolicy randomWeightPolicy) {
         this.alpha = alpha;
         this.count = count;
+        this.selected = new IndexBuffers((count * 2) + 1);
         this.multinomialWeightPolicy = multinomialWeightPolicy;
         this.randomWeightPolicy = randomWeightPolicy;
     }
@@ -106,93 +133,182 @@ public final class MultinomialDifferentiationPolicy implements DifferentiationPo
      */
     @Override
     public double[] differentiate(final DifferentialEvolutionState state, final RandomSource randomSource, final int parentIndex, final CandidatePool pool) {
-        // grab our probabilities.
-        double[] probabilities = getProbabilities(pool);
+        double[] trial = new double[state.getDimension()];
+        differentiate(state, randomSource, parentIndex, pool, trial);
+
+        return trial;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.DifferentiationPolicy#differentiate(com.chupacadabra.evolution.DifferentialEvolutionState,
+     *      com.chupacadabra.evolution.RandomSource, int,
+     *      com.chupacadabra.evolution.pool.CandidatePool, double[])
+     */
+    @Override
+    public void differentiate(final DifferentialEvolutionState state, final RandomSource randomSource, final int parentIndex, final CandidatePool pool,
+            final double[] trial) {
+        // grab the distribution for this generation.
+        Distribution currentDistribution = getDistribution(state, pool);
 
         // and determine random index.
-        int randomIndex = getRandomIndexFromDistribution(probabilities, randomSource);
-        Candidate multinomialCandidate = pool.getCandidate(randomIndex);
+        int randomIndex = currentDistribution.getRandomIndex(randomSource);
 
         // select random candidates.
         int total = (count * 2) + 1;
-        Candidate[] random = pool.selectCandidates(randomSource, total, parentIndex, randomIndex);
-        Candidate parent = pool.getCandidate(parentIndex);
+        int[] random = selected.acquire();
+        try {
+            pool.sampleIndices(randomSource, total, random, parentIndex, randomIndex);
 
-        // grab weights.
-        double f = multinomialWeightPolicy.getWeight(state, randomSource);
-        double k = randomWeightPolicy.getWeight(state, randomSource);
+            // grab weights.
+            double f = multinomialWeightPolicy.getWeight(state, randomSource);
+            double k = randomWeightPolicy.getWeight(state, randomSource);
 
-        // assemble trial vector.
-        double[] trial = random[0].getParameters();
+            // assemble trial vector.
+            pool.copyParameters(random[0], trial);
 
-        PairwiseWeightedParameterSum.computeInPlace(f, trial, 0, parent, multinomialCandidate);
-        PairwiseWeightedParameterSum.computeInPlace(k, trial, 1, random);
+            PairwiseWeightedParameterSum.computeInPlace(f, trial, 0, pool, parentIndex, randomIndex);
+            PairwiseWeightedParameterSum.computeInPlace(k, trial, 1, pool, random);
+        } finally {
+            selected.release(random);
+        }
+    }
 
-        return trial;
+    /**
+     * Get the distribution for the specified pool in the current generation,
+     * computing it if need be.
+     * 
+     * @param state The state.
+     * @param pool The pool.
+     * @return The distribution.
+     */
+    private Distribution getDistribution(final DifferentialEvolutionState state, final CandidatePool pool) {
+        int generation = state.getGeneration();
+        Distribution currentDistribution = distribution;
+        if ((currentDistribution == null) || !currentDistribution.isFor(pool, generation)) {
+            // several threads may race to get here, but they will all compute
+            // much the same thing.
+            currentDistribution = new Distribution(pool, generation, getCumulativeWeights(pool));
+            distribution = currentDistribution;
+        }
+
+        return currentDistribution;
     }
 
     /**
-     * Create the probabilities from the specified pool.
+     * Create the cumulative (unnormalized) multinomial weights of the
+     * candidates of the specified pool.
      * 
      * @param pool The pool.
-     * @return The multinomial probabilities for each candidate.
+     * @return The cumulative weights of each candidate.
      */
-    private double[] getProbabilities(final CandidatePool pool) {
+    private double[] getCumulativeWeights(final CandidatePool pool) {
         int size = pool.getSize();
 
-        // find highest and lowest fitness values.
-        double lowest = pool.getCandidate(0).getFitness();
-        double highest = lowest;
+        // read the fitness values, finding the highest and lowest.
+        double[] fitnesses = new double[size];
+        double lowest = Double.POSITIVE_INFINITY;
+        double highest = Double.NEGATIVE_INFINITY;
 
-        for (int index = 1; index < size; index++) {
-            double fitness = pool.getCandidate(index).getFitness();
-            lowest = Math.min(lowest, fitness);
-            highest = Math.max(highest, fitness);
+        for (int index = 0; index < size; index++) {
+            fitnesses[index] = pool.getFitness(index);
+            lowest = Math.min(lowest, fitnesses[index]);
+            highest = Math.max(highest, fitnesses[index]);
         }
 
-        // assemble the probabilities.
-        double[] probabilities = new double[size];
+        // assemble the weights. If every candidate is equally fit, the
+        // distribution is uniform.
+        double range = highest - lowest;
+        double[] cumulativeWeights = new double[size];
         double sum = 0;
         for (int index = 0; index < size; index++) {
-            double fitness = pool.getCandidate(index).getFitness();
-            double value = Math.exp((-alpha * (fitness - lowest)) / (highest - lowest));
-            probabilities[index] = value;
-            sum += value;
-        }
+            double value = 1d;
+            if (range > 0) {
+                value = Math.exp((-alpha * (fitnesses[index] - lowest)) / range);
+            }
 
-        // determine scaling coefficient.
-        double k = 1d / sum;
-        for (int index = 0; index < size; index++) {
-            probabilities[index] *= k;
+            sum += value;
+            cumulativeWeights[index] = sum;
         }
 
-        return probabilities;
+        return cumulativeWeights;
     }
 
     /**
-     * Get a random index from the specified "distribution".
-     * 
-     * @param probabilities The probabilities.
-     * @param randomSource A source of randomness.
-     * @return A random index.
+     * A multinomial distribution over the candidates of a pool, for a single
+     * generation.
      */
-    private int getRandomIndexFromDistribution(final double[] probabilities, final RandomSource randomSource) {
-        // pick a uniform value.
-        double uniform = randomSource.nextDouble();
+    private static final class Distribution {
 
-        // and find lowest index with cumulative probability exceeding said
-        // value.
-        int size = probabilities.length;
-        double sum = 0;
-        for (int randomIndex = 0; randomIndex < size; randomIndex++) {
-            sum += probabilities[randomIndex];
-            if (sum >= uniform) {
-                return randomIndex;
+        /**
+         * The pool.
+         * <p>
+         * Only weakly held, so as not to keep the pool alive once its
+         * optimization has finished with it.
+         */
+        private final WeakReference<CandidatePool> pool;
+
+        /**
+         * The generation.
+         */
+        private final int generation;
+
+        /**
+         * The cumulative weights.
+         */
+        private final double[] cumulativeWeights;
+
+        /**
+         * Constructor.
+         * 
+         * @param pool The pool.
+         * @param generation The generation.
+         * @param cumulativeWeights The cumulative weights.
+         */
+        private Distribution(final CandidatePool pool, final int generation, final double[] cumulativeWeights) {
+            this.pool = new WeakReference<CandidatePool>(pool);
+            this.generation = generation;
+            this.cumulativeWeights = cumulativeWeights;
+        }
+
+        /**
+         * Is this the distribution for the specified pool and generation?
+         * 
+         * @param otherPool The pool.
+         * @param otherGeneration The generation.
+         * @return <code>true</code> if so; and <code>false</code> otherwise.
+         */
+        private boolean isFor(final CandidatePool otherPool, final int otherGeneration) {
+            return (pool.get() == otherPool) && (generation == otherGeneration);
+        }
+
+        /**
+         * Get a random index from this distribution.
+         * 
+         * @param randomSource A source of randomness.
+         * @return A random index.
+         */
+        private int getRandomIndex(final RandomSource randomSource) {
+            // pick a uniform value, scaled to the total weight.
+            int size = cumulativeWeights.length;
+            double uniform = randomSource.nextDouble() * cumulativeWeights[size - 1];
+
+            // and find lowest index with cumulative weight reaching said
+            // value.
+            int low = 0;
+            int high = size - 1;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (cumulativeWeights[middle] >= uniform) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
             }
+
+            // note that rounding can never push us past the last index.
+            return low;
         }
 
-        // very unlikely... but possible!
-        return size;
     }
 
 }
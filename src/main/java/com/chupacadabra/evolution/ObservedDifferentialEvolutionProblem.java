@@ -0,0 +1,129 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A problem that lets observers see the optimization state at every
+ * termination check, and stop the optimization.
+ * <p>
+ * Everything else is delegated to the underlying problem.
+ */
+final class ObservedDifferentialEvolutionProblem implements DifferentialEvolutionProblem {
+
+    /**
+     * The underlying problem.
+     */
+    private final DifferentialEvolutionProblem problem;
+
+    /**
+     * The observers, as termination criteria.
+     */
+    private final List<TerminationCriterion> observers;
+
+    /**
+     * Constructor.
+     * 
+     * @param problem The underlying problem.
+     * @param observers The observers; each should return <code>true</code> to
+     *        stop the optimization.
+     */
+    ObservedDifferentialEvolutionProblem(final DifferentialEvolutionProblem problem, final List<TerminationCriterion> observers) {
+        this.problem = problem;
+        this.observers = observers;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.DifferentialEvolutionProblem#getDimension()
+     */
+    @Override
+    public int getDimension() {
+        return problem.getDimension();
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.DifferentialEvolutionProblem#getRandomParametersFunction()
+     */
+    @Override
+    public RandomParametersFunction getRandomParametersFunction() {
+        return problem.getRandomParametersFunction();
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.DifferentialEvolutionProblem#getFitnessFunction()
+     */
+    @Override
+    public FitnessFunction getFitnessFunction() {
+        return problem.getFitnessFunction();
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.DifferentialEvolutionProblem#getBatchFitnessFunction()
+     */
+    @Override
+    public BatchFitnessFunction getBatchFitnessFunction() {
+        return problem.getBatchFitnessFunction();
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.DifferentialEvolutionProblem#getFeasibilityFunction()
+     */
+    @Override
+    public FeasibilityFunction getFeasibilityFunction() {
+        return problem.getFeasibilityFunction();
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.DifferentialEvolutionProblem#getViolationFunction()
+     */
+    @Override
+    public ViolationFunction getViolationFunction() {
+        return problem.getViolationFunction();
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.DifferentialEvolutionProblem#getSeedPopulation()
+     */
+    @Override
+    public SeedPopulation getSeedPopulation() {
+        return problem.getSeedPopulation();
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.DifferentialEvolutionProblem#getTerminationCriteria()
+     */
+    @Override
+    public List<TerminationCriterion> getTerminationCriteria() {
+        // the observers go first, so that they see every check.
+        List<TerminationCriterion> criteria = problem.getTerminationCriteria();
+        List<TerminationCriterion> observed = new ArrayList<TerminationCriterion>(observers.size() + criteria.size());
+        observed.addAll(observers);
+        observed.addAll(criteria);
+
+        return observed;
+    }
+
+}
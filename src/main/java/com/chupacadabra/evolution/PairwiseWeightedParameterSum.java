@@ -23,6 +23,8 @@
  */
 package com.chupacadabra.evolution;
 
+import com.chupacadabra.evolution.pool.CandidatePool;
+
 /**
  * Pairwise weighted parameter sum utility class.
  * <p>
@@ -35,24 +37,20 @@ final class PairwiseWeightedParameterSum {
      * Perform weighted pair-wise sum of the specified candidates.
      * <p>
      * As the name suggests, the sum is computed in-place and stored in the
-     * vector <code>trial</code>.
+     * vector <code>trial</code>. The candidate parameters are read directly
+     * from the pool, so no candidate vectors are copied.
      * 
      * @param f The weight.
      * @param trial The vector in which to store the results.
      * @param offset Array offset.
-     * @param candidates The candidates.
+     * @param pool The pool.
+     * @param indices The candidate indices.
      */
-    static void computeInPlace(final double f, final double[] trial, final int offset, final Candidate... candidates) {
-        int total = candidates.length;
-        int dimension = trial.length;
+    static void computeInPlace(final double f, final double[] trial, final int offset, final CandidatePool pool, final int... indices) {
+        int total = indices.length;
 
         for (int index = offset; index < total; index += 2) {
-            double[] x1 = candidates[index].getParametersReference();
-            double[] x2 = candidates[(index + 1)].getParametersReference();
-
-            for (int jindex = 0; jindex < dimension; jindex++) {
-                trial[jindex] += f * (x1[jindex] - x2[jindex]);
-            }
+            pool.addWeightedDifference(f, indices[index], indices[(index + 1)], trial);
         }
     }
 
@@ -0,0 +1,84 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution;
+
+/**
+ * Gaussians by the polar method, as per {@link java.util.Random#nextGaussian()}.
+ * <p>
+ * The method yields Gaussians in pairs, so the second of each pair is kept
+ * back for the next call.
+ * <p>
+ * Instances of this class are not safe for use by multiple threads.
+ */
+final class PolarGaussian {
+
+    /**
+     * The spare Gaussian from the last pair; or {@link Double#NaN}.
+     */
+    private double spareGaussian;
+
+    /**
+     * Constructor.
+     */
+    PolarGaussian() {
+        this.spareGaussian = Double.NaN;
+    }
+
+    /**
+     * Forget the spare Gaussian, if any.
+     */
+    void reset() {
+        spareGaussian = Double.NaN;
+    }
+
+    /**
+     * Get the next Gaussian.
+     * 
+     * @param randomSource The source of the uniform doubles.
+     * @return The next Gaussian.
+     */
+    double next(final RandomSource randomSource) {
+        if (!Double.isNaN(spareGaussian)) {
+            double gaussian = spareGaussian;
+            spareGaussian = Double.NaN;
+
+            return gaussian;
+        }
+
+        double v1;
+        double v2;
+        double s;
+        do {
+            v1 = 2 * randomSource.nextDouble() - 1;
+            v2 = 2 * randomSource.nextDouble() - 1;
+            s = v1 * v1 + v2 * v2;
+        } while ((s >= 1) || (s == 0));
+
+        double multiplier = StrictMath.sqrt(-2 * StrictMath.log(s) / s);
+        spareGaussian = v2 * multiplier;
+
+        return v1 * multiplier;
+    }
+
+}
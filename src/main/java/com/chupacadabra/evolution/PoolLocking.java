@@ -0,0 +1,71 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution;
+
+/**
+ * How the parallel optimizers lock the candidate pools when candidates are
+ * replaced {@linkplain PoolReplacement#IMMEDIATELY immediately}.
+ * <p>
+ * With {@linkplain PoolReplacement#AFTER inter-generational} replacement, the
+ * parallel optimizers need no locking at all, so this setting is ignored.
+ */
+public enum PoolLocking {
+
+    /**
+     * Use a {@linkplain java.util.concurrent.locks.ReentrantReadWriteLock
+     * reentrant read-write lock}, honouring the
+     * {@linkplain DifferentialEvolutionSettings#getPoolLockFairness() fairness}
+     * setting.
+     * <p>
+     * This is the default.
+     */
+    READ_WRITE,
+
+    /**
+     * Use the read and write views of a
+     * {@linkplain java.util.concurrent.locks.StampedLock stamped lock}.
+     */
+    STAMPED,
+
+    /**
+     * Use a {@linkplain java.util.concurrent.locks.StampedLock stamped lock},
+     * reading the pool under an optimistic stamp and only falling back to a
+     * read lock if a write intervened.
+     */
+    OPTIMISTIC,
+
+    /**
+     * Take no pool-wide lock at all, and instead store the candidates in an
+     * {@linkplain java.util.concurrent.atomic.AtomicReferenceArray atomic
+     * reference array}, so that each index is read and replaced atomically on
+     * its own.
+     * <p>
+     * Replacing one candidate then never blocks reads of the others. This
+     * storage holds candidates, so the
+     * {@linkplain DifferentialEvolutionSettings#getPoolStorage() pool storage}
+     * must be {@link PoolStorage#CANDIDATES}.
+     */
+    ATOMIC;
+
+}
@@ -0,0 +1,47 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2015 Fran Lattanzio
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.chupacadabra.evolution;
+
+/**
+ * Candidate pool storage layout.
+ */
+public enum PoolStorage {
+
+    /**
+     * Store each candidate as a separate object, with its own parameter vector.
+     * <p>
+     * This is the default layout.
+     */
+    CANDIDATES,
+
+    /**
+     * Store the parameters of every candidate in a single contiguous array,
+     * with parallel arrays for the fitness and violation measures.
+     * <p>
+     * This layout has better cache locality and places far less load on the
+     * garbage collector for large pools and dimensions.
+     */
+    FLAT;
+
+}
@@ -57,6 +57,11 @@ public final class RandomDifferentiationPolicy implements DifferentiationPolicy
      */
     private final WeightPolicy weightPolicy;
 
+    /**
+     * Per-thread buffers for the indices of the randomly selected candidates.
+     */
+    private final IndexBuffers selected;
+
     /**
      * Default constructor.
      * <p>
@@ -79,6 +84,7 @@ public final class RandomDifferentiationPolicy implements DifferentiationPolicy
      */
     public RandomDifferentiationPolicy(final int count, final WeightPolicy weightPolicy) {
         this.count = count;
+        this.selected = new IndexBuffers(2 * count + 1);
         this.weightPolicy = weightPolicy;
     }
 
@@ -89,16 +95,33 @@ public final class RandomDifferentiationPolicy implements DifferentiationPolicy
      */
     @Override
     public double[] differentiate(final DifferentialEvolutionState state, final RandomSource randomSource, final int parentIndex, final CandidatePool pool) {
+        double[] trial = new double[state.getDimension()];
+        differentiate(state, randomSource, parentIndex, pool, trial);
+
+        return trial;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.DifferentiationPolicy#differentiate(com.chupacadabra.evolution.DifferentialEvolutionState,
+     *      com.chupacadabra.evolution.RandomSource, int,
+     *      com.chupacadabra.evolution.pool.CandidatePool, double[])
+     */
+    @Override
+    public void differentiate(final DifferentialEvolutionState state, final RandomSource randomSource, final int parentIndex, final CandidatePool pool,
+            final double[] trial) {
         // we start from a randomly selected candidate that is not the parent.
         int total = 2 * count + 1;
-        Candidate[] candidates = pool.selectCandidates(randomSource, total, parentIndex);
-        double[] trial = candidates[0].getParameters();
-
-        // now just do the summing excluding the trial candidate obviously.
-        double f = weightPolicy.getWeight(state, randomSource);
-        PairwiseWeightedParameterSum.computeInPlace(f, trial, 1, candidates);
+        int[] candidates = selected.acquire();
+        try {
+            pool.sampleIndices(randomSource, total, candidates, parentIndex);
+            pool.copyParameters(candidates[0], trial);
 
-        return trial;
+            // now just do the summing excluding the trial candidate obviously.
+            double f = weightPolicy.getWeight(state, randomSource);
+            PairwiseWeightedParameterSum.computeInPlace(f, trial, 1, pool, candidates);
+        } finally {
+            selected.release(candidates);
+        }
     }
 
 }
@@ -32,6 +32,18 @@ import com.chupacadabra.evolution.util.MachineEpsilon;
  */
 public interface RandomSource {
 
+    /**
+     * The {@linkplain #substream(int, int, int) stream number} used for
+     * selection.
+     */
+    public static final int SELECTION_STREAM = -1;
+
+    /**
+     * The {@linkplain #substream(int, int, int) stream number} used for
+     * migration between islands.
+     */
+    public static final int MIGRATION_STREAM = -2;
+
     /**
      * Get the next psuedo-random integer, uniformly distributed in
      * <code>[0, n)</code>.
@@ -92,4 +104,50 @@ public interface RandomSource {
      */
     public double nextGaussian();
 
+    /**
+     * Get a source for the random draws of a single unit of work.
+     * <p>
+     * The optimizers identify each unit of work by the generation, the pool
+     * index, and a stream number: stream <code>j</code> of generation
+     * <code>g</code> is used to build the <code>j</code><sup>th</sup> child of
+     * the candidate at the index; and stream {@link #SELECTION_STREAM} for its
+     * selection. Stream {@link #MIGRATION_STREAM} is used for the migration of
+     * an island, with the island number in place of the pool index.
+     * Generation 0 is the initialization of the pool. A source whose
+     * substreams are pure functions of these coordinates makes the results of
+     * an optimization independent of the order in which the work is scheduled.
+     * <p>
+     * The default implementation simply returns this source.
+     * 
+     * @param generation The generation.
+     * @param index The pool index.
+     * @param stream The stream number.
+     * @return A random source for the specified unit of work.
+     */
+    public default RandomSource substream(final int generation, final int index, final int stream) {
+        return this;
+    }
+
+    /**
+     * Get a source for the random draws of a single unit of work, reusing the
+     * source of an earlier unit of work if possible.
+     * <p>
+     * This is the same as {@link #substream(int, int, int)}, except that a
+     * thread doing many units of work in turn can re-key a single substream
+     * for each rather than allocate a new one every time. The reusable source
+     * must have come from this source, and must be done with its earlier unit
+     * of work.
+     * <p>
+     * The default implementation ignores the reusable source.
+     * 
+     * @param generation The generation.
+     * @param index The pool index.
+     * @param stream The stream number.
+     * @param reusable The source to reuse; or <code>null</code>.
+     * @return A random source for the specified unit of work.
+     */
+    public default RandomSource substream(final int generation, final int index, final int stream, final RandomSource reusable) {
+        return substream(generation, index, stream);
+    }
+
 }
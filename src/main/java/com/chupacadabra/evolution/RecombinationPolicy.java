@@ -51,4 +51,30 @@ public interface RecombinationPolicy {
      */
     public double[] recombine(DifferentialEvolutionState state, RandomSource randomSource, double[] parent, double[] trial);
 
+    /**
+     * Recombine the specified trials vectors, storing the result in the
+     * specified vector.
+     * <p>
+     * The optimizer calls this method with a scratch vector that it reuses
+     * across children, so that recombination need not allocate. The vector
+     * <code>child</code> is never the same array as <code>parent</code> or
+     * <code>trial</code>.
+     * <p>
+     * The default implementation simply copies the result of
+     * {@link #recombine(DifferentialEvolutionState, RandomSource, double[], double[])}.
+     * Implementations should override this method to write into
+     * <code>child</code> directly.
+     * 
+     * @param state Current state.
+     * @param randomSource A source of randomness.
+     * @param parent Parent vector.
+     * @param trial The trial vector differentiated from the parent.
+     * @param child The vector in which to store the recombined parameters.
+     */
+    public default void recombine(final DifferentialEvolutionState state, final RandomSource randomSource, final double[] parent, final double[] trial,
+            final double[] child) {
+        double[] recombined = recombine(state, randomSource, parent, trial);
+        System.arraycopy(recombined, 0, child, 0, child.length);
+    }
+
 }
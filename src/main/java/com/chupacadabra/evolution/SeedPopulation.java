@@ -0,0 +1,160 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * An initial population with which to seed the candidate pool.
+ * <p>
+ * Each seed fills the pool index matching its position, in the order added;
+ * seeds beyond the pool size are ignored, and any indices left over are
+ * sampled at random as usual. A seed is either a ready-made
+ * {@linkplain #addCandidate(Candidate) candidate}, which goes straight into the
+ * pool without being measured again, or bare
+ * {@linkplain #addParameters(double[]) parameters}, which are measured during
+ * initialization. As with random sampling, bare parameters that are not
+ * feasible are replaced by a random sample.
+ * <p>
+ * To warm-start from a previous optimization, add the candidates of its final
+ * pool - or just their parameters, if the fitness function has since changed.
+ * <p>
+ * This class is not safe for use by multiple threads while it is being
+ * populated; once populated, it can be shared by any number of optimizations.
+ */
+public final class SeedPopulation {
+
+    /**
+     * The parameters of each seed.
+     */
+    private final List<double[]> parameters;
+
+    /**
+     * The candidate of each seed; or <code>null</code> for seeds that have yet
+     * to be measured.
+     */
+    private final List<Candidate> candidates;
+
+    /**
+     * Constructor.
+     * <p>
+     * The population starts out empty.
+     */
+    public SeedPopulation() {
+        this.parameters = new ArrayList<double[]>();
+        this.candidates = new ArrayList<Candidate>();
+    }
+
+    /**
+     * Add a seed that has yet to be measured.
+     * 
+     * @param parameters The parameters; these are copied.
+     * @throws NullPointerException If <code>parameters</code> is
+     *         <code>null</code>.
+     */
+    public void addParameters(final double[] parameters) {
+        if (parameters == null) {
+            throw new NullPointerException("parameters");
+        }
+
+        add(parameters.clone(), null);
+    }
+
+    /**
+     * Add a seed that has already been measured.
+     * 
+     * @param candidate The candidate; as candidates are immutable, this is not
+     *            copied.
+     * @throws NullPointerException If <code>candidate</code> is
+     *         <code>null</code>.
+     */
+    public void addCandidate(final Candidate candidate) {
+        if (candidate == null) {
+            throw new NullPointerException("candidate");
+        }
+
+        add(candidate.getParametersReference(), candidate);
+    }
+
+    /**
+     * Add several seeds that have already been measured.
+     * 
+     * @param candidates The candidates.
+     * @throws NullPointerException If any candidate is <code>null</code>.
+     */
+    public void addCandidates(final Collection<Candidate> candidates) {
+        for (Candidate candidate : candidates) {
+            addCandidate(candidate);
+        }
+    }
+
+    /**
+     * Add a seed.
+     * <p>
+     * The parameters must not be reachable from outside, so that a seed cannot
+     * change once it has been added: bare parameters are copied, and those of
+     * a candidate are already private to it.
+     * 
+     * @param parameters The parameters.
+     * @param candidate The candidate; or <code>null</code> if the seed has yet
+     *            to be measured.
+     */
+    private void add(final double[] parameters, final Candidate candidate) {
+        this.parameters.add(parameters);
+        this.candidates.add(candidate);
+    }
+
+    /**
+     * Get the number of seeds.
+     * 
+     * @return The size.
+     */
+    public int size() {
+        return parameters.size();
+    }
+
+    /**
+     * Get the parameters of the index<sup>th</sup> seed.
+     * 
+     * @param index The index.
+     * @return The parameters; the caller must not modify them.
+     */
+    public double[] getParameters(final int index) {
+        return parameters.get(index);
+    }
+
+    /**
+     * Get the candidate of the index<sup>th</sup> seed.
+     * 
+     * @param index The index.
+     * @return The candidate; or <code>null</code> if the seed has yet to be
+     *         measured.
+     */
+    public Candidate getCandidate(final int index) {
+        return candidates.get(index);
+    }
+
+}
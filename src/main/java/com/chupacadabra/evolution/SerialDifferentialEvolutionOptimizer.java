@@ -23,6 +23,7 @@
  */
 package com.chupacadabra.evolution;
 
+import com.chupacadabra.evolution.checkpoint.Checkpoint;
 import com.chupacadabra.evolution.engine.ChildGeneration;
 import com.chupacadabra.evolution.engine.DifferentialEvolutionEngine;
 import com.chupacadabra.evolution.engine.Initialization;
@@ -38,7 +39,7 @@ import com.chupacadabra.evolution.engine.SerialIteration;
  * <p>
  * Instances of this class are safe for use by multiple threads.
  */
-public final class SerialDifferentialEvolutionOptimizer implements DifferentialEvolutionOptimizer {
+public final class SerialDifferentialEvolutionOptimizer implements SteppableDifferentialEvolutionOptimizer {
 
     /**
      * @see com.chupacadabra.evolution.DifferentialEvolutionOptimizer#optimize(com.chupacadabra.evolution.DifferentialEvolutionProblem,
@@ -46,6 +47,46 @@ public final class SerialDifferentialEvolutionOptimizer implements DifferentialE
      */
     @Override
     public DifferentialEvolutionResult optimize(final DifferentialEvolutionProblem problem, final DifferentialEvolutionSettings settings) {
+        DifferentialEvolutionEngine engine = createEngine();
+
+        // get results.
+        DifferentialEvolutionResult result = engine.getResult(problem, settings);
+
+        return result;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.DifferentialEvolutionOptimizer#resume(com.chupacadabra.evolution.checkpoint.Checkpoint,
+     *      com.chupacadabra.evolution.DifferentialEvolutionProblem, com.chupacadabra.evolution.DifferentialEvolutionSettings)
+     */
+    @Override
+    public DifferentialEvolutionResult resume(final Checkpoint checkpoint, final DifferentialEvolutionProblem problem, final DifferentialEvolutionSettings settings) {
+        DifferentialEvolutionEngine engine = createEngine();
+
+        // pick up where we left off.
+        DifferentialEvolutionResult result = engine.resume(checkpoint, problem, settings);
+
+        return result;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.SteppableDifferentialEvolutionOptimizer#generations(com.chupacadabra.evolution.DifferentialEvolutionProblem,
+     *      com.chupacadabra.evolution.DifferentialEvolutionSettings)
+     */
+    @Override
+    public GenerationIterator generations(final DifferentialEvolutionProblem problem, final DifferentialEvolutionSettings settings) {
+        DifferentialEvolutionEngine engine = createEngine();
+
+        // each generation runs right here.
+        return engine.getGenerations(problem, settings, Runnable::run);
+    }
+
+    /**
+     * Create an engine.
+     * 
+     * @return The engine.
+     */
+    private DifferentialEvolutionEngine createEngine() {
         // build up an engine.
         PoolLockCreation lockCreation = PoolLock::noOp;
         Initialization initialization = new SerialInitialization();
@@ -53,10 +94,7 @@ public final class SerialDifferentialEvolutionOptimizer implements DifferentialE
         ChildGeneration childGeneration = new SerialChildGeneration();
         DifferentialEvolutionEngine engine = new DifferentialEvolutionEngine(lockCreation, initialization, iteration, childGeneration);
 
-        // get results.
-        DifferentialEvolutionResult result = engine.getResult(problem, settings);
-
-        return result;
+        return engine;
     }
 
 }
@@ -43,6 +43,11 @@ public class SimpleDifferentialEvolutionProblem implements DifferentialEvolution
      */
     private FitnessFunction fitnessFunction;
 
+    /**
+     * Batch fitness function; or <code>null</code>.
+     */
+    private BatchFitnessFunction batchFitnessFunction;
+
     /**
      * Feasibility function.
      */
@@ -53,6 +58,11 @@ public class SimpleDifferentialEvolutionProblem implements DifferentialEvolution
      */
     private ViolationFunction violationFunction;
 
+    /**
+     * The seed population.
+     */
+    private SeedPopulation seedPopulation;
+
     /**
      * Constructor.
      */
@@ -60,6 +70,7 @@ public class SimpleDifferentialEvolutionProblem implements DifferentialEvolution
         // use defaults.
         feasibilityFunction = AllFeasibilityFunction.getInstance();
         violationFunction = ZeroViolationFunction.getInstance();
+        seedPopulation = new SeedPopulation();
     }
 
     /**
@@ -113,6 +124,33 @@ public class SimpleDifferentialEvolutionProblem implements DifferentialEvolution
         this.fitnessFunction = fitnessFunction;
     }
 
+    /**
+     * Get the batch fitness function.
+     * <p>
+     * If no batch fitness function has been set, this returns one that
+     * measures each candidate in turn using the fitness function.
+     * 
+     * @return The batch fitness function.
+     */
+    @Override
+    public BatchFitnessFunction getBatchFitnessFunction() {
+        if (batchFitnessFunction == null) {
+            return DifferentialEvolutionProblem.super.getBatchFitnessFunction();
+        }
+
+        return batchFitnessFunction;
+    }
+
+    /**
+     * Set the batch fitness function.
+     * 
+     * @param batchFitnessFunction The batch fitness function; or
+     *        <code>null</code> to measure each candidate in turn.
+     */
+    public void setBatchFitnessFunction(final BatchFitnessFunction batchFitnessFunction) {
+        this.batchFitnessFunction = batchFitnessFunction;
+    }
+
     /**
      * @see com.chupacadabra.evolution.DifferentialEvolutionProblem#getFeasibilityFunction()
      */
@@ -147,4 +185,21 @@ public class SimpleDifferentialEvolutionProblem implements DifferentialEvolution
         this.violationFunction = violationFunction;
     }
 
+    /**
+     * @see com.chupacadabra.evolution.DifferentialEvolutionProblem#getSeedPopulation()
+     */
+    @Override
+    public SeedPopulation getSeedPopulation() {
+        return seedPopulation;
+    }
+
+    /**
+     * Set the seed population.
+     * 
+     * @param seedPopulation The seed population.
+     */
+    public void setSeedPopulation(final SeedPopulation seedPopulation) {
+        this.seedPopulation = seedPopulation;
+    }
+
 }
@@ -0,0 +1,113 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution;
+
+/**
+ * The binomial recombination policy, sampled by skipping.
+ * <p>
+ * This breeds children with exactly the same distribution as the
+ * {@linkplain BinomialRecombinationPolicy classic binomial recombination}, but
+ * rather than drawing a random number for every parameter, it draws the
+ * geometrically distributed gaps between the parameters taken from the trial.
+ * The random number cost therefore scales with the number of parameters that
+ * cross over rather than the dimension, which is much cheaper in high
+ * dimensions with a low crossover.
+ * <p>
+ * By default, we use a {@linkplain #DEFAULT_FIXED_CROSSOVER fixed crossover}.
+ */
+public final class SkippingBinomialRecombinationPolicy implements RecombinationPolicy {
+
+    /**
+     * Default fixed crossover: {@value}
+     */
+    public static final double DEFAULT_FIXED_CROSSOVER = BinomialRecombinationPolicy.DEFAULT_FIXED_CROSSOVER;
+
+    /**
+     * The crossover policy.
+     */
+    private final CrossoverPolicy crossoverPolicy;
+
+    /**
+     * Default constructor.
+     * <p>
+     * Uses the default fixed crossover.
+     */
+    public SkippingBinomialRecombinationPolicy() {
+        this(new FixedCrossoverPolicy(DEFAULT_FIXED_CROSSOVER));
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param crossoverPolicy The crossover policy to use.
+     */
+    public SkippingBinomialRecombinationPolicy(final CrossoverPolicy crossoverPolicy) {
+        this.crossoverPolicy = crossoverPolicy;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.RecombinationPolicy#recombine(com.chupacadabra.evolution.DifferentialEvolutionState,
+     *      com.chupacadabra.evolution.RandomSource, double[], double[])
+     */
+    @Override
+    public double[] recombine(final DifferentialEvolutionState state, final RandomSource randomSource, final double[] parent, final double[] trial) {
+        double[] child = new double[state.getDimension()];
+        recombine(state, randomSource, parent, trial, child);
+
+        return child;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.RecombinationPolicy#recombine(com.chupacadabra.evolution.DifferentialEvolutionState,
+     *      com.chupacadabra.evolution.RandomSource, double[], double[], double[])
+     */
+    @Override
+    public void recombine(final DifferentialEvolutionState state, final RandomSource randomSource, final double[] parent, final double[] trial,
+            final double[] child) {
+        // create an index that we'll always change.
+        int dimension = state.getDimension();
+        int j = randomSource.nextInt(dimension);
+
+        // get the crossover weight.
+        double cr = crossoverPolicy.getCrossover(state, randomSource);
+
+        System.arraycopy(parent, 0, child, 0, dimension);
+        child[j] = trial[j];
+
+        // skip over the runs of parameters that don't cross over.
+        int index = GeometricRun.length(randomSource, 1.0d - cr);
+        while (index < dimension) {
+            child[index] = trial[index];
+
+            // guard against overflow when the gap is huge.
+            int gap = GeometricRun.length(randomSource, 1.0d - cr);
+            if (gap >= (dimension - index)) {
+                break;
+            }
+
+            index += (gap + 1);
+        }
+    }
+
+}
@@ -0,0 +1,187 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution;
+
+import java.util.SplittableRandom;
+
+/**
+ * A random source that gives each thread its own independent stream.
+ * <p>
+ * The first time a thread draws from this source, it is handed a stream
+ * {@linkplain SplittableRandom#split() split} off a single root generator. From
+ * then on, the thread draws from its own stream without any locking or atomic
+ * updates, which avoids the contention of sharing one {@link java.util.Random}
+ * (or a {@linkplain com.chupacadabra.evolution.threadsafe.Threadsafe
+ * threadsafe} wrapper) across the workers of a parallel optimizer.
+ * <p>
+ * All streams derive from the seed, but which thread receives which stream
+ * depends on scheduling. Hence a seeded instance is only reproducible when used
+ * by a single thread.
+ * <p>
+ * Instances of this class are safe for use by multiple threads.
+ */
+public final class SplittableRandomSource implements RandomSource {
+
+    /**
+     * The root generator, from which each thread's stream is split.
+     */
+    private final SplittableRandom root;
+
+    /**
+     * The stream of each thread.
+     */
+    private final ThreadLocal<Stream> streams;
+
+    /**
+     * Constructor.
+     */
+    public SplittableRandomSource() {
+        this(new SplittableRandom());
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param seed The seed for the root generator.
+     */
+    public SplittableRandomSource(final long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param root The root generator.
+     */
+    private SplittableRandomSource(final SplittableRandom root) {
+        this.root = root;
+        this.streams = ThreadLocal.withInitial(this::split);
+    }
+
+    /**
+     * Split a new stream off the root generator.
+     * 
+     * @return A new stream.
+     */
+    private Stream split() {
+        // the root generator itself is not threadsafe.
+        synchronized (root) {
+            return new Stream(root.split());
+        }
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.RandomSource#nextInt(int)
+     */
+    @Override
+    public int nextInt(final int n) {
+        return streams.get().nextInt(n);
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.RandomSource#nextBoolean()
+     */
+    @Override
+    public boolean nextBoolean() {
+        return streams.get().nextBoolean();
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.RandomSource#nextDouble()
+     */
+    @Override
+    public double nextDouble() {
+        return streams.get().nextDouble();
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.RandomSource#nextGaussian()
+     */
+    @Override
+    public double nextGaussian() {
+        return streams.get().nextGaussian();
+    }
+
+    /**
+     * The stream of a single thread.
+     */
+    private static final class Stream implements RandomSource {
+
+        /**
+         * The underlying generator.
+         */
+        private final SplittableRandom random;
+
+        /**
+         * The Gaussians.
+         * <p>
+         * {@link SplittableRandom} doesn't provide Gaussians.
+         */
+        private final PolarGaussian gaussian;
+
+        /**
+         * Constructor.
+         * 
+         * @param random The underlying generator.
+         */
+        private Stream(final SplittableRandom random) {
+            this.random = random;
+            this.gaussian = new PolarGaussian();
+        }
+
+        /**
+         * @see com.chupacadabra.evolution.RandomSource#nextInt(int)
+         */
+        @Override
+        public int nextInt(final int n) {
+            return random.nextInt(n);
+        }
+
+        /**
+         * @see com.chupacadabra.evolution.RandomSource#nextBoolean()
+         */
+        @Override
+        public boolean nextBoolean() {
+            return random.nextBoolean();
+        }
+
+        /**
+         * @see com.chupacadabra.evolution.RandomSource#nextDouble()
+         */
+        @Override
+        public double nextDouble() {
+            return random.nextDouble();
+        }
+
+        /**
+         * @see com.chupacadabra.evolution.RandomSource#nextGaussian()
+         */
+        @Override
+        public double nextGaussian() {
+            return gaussian.next(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,180 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import com.chupacadabra.evolution.checkpoint.Checkpoint;
+import com.chupacadabra.evolution.engine.ChildGeneration;
+import com.chupacadabra.evolution.engine.DifferentialEvolutionEngine;
+import com.chupacadabra.evolution.engine.ExecutorInitialization;
+import com.chupacadabra.evolution.engine.Initialization;
+import com.chupacadabra.evolution.engine.Iteration;
+import com.chupacadabra.evolution.engine.PoolLock;
+import com.chupacadabra.evolution.engine.PoolLockCreation;
+import com.chupacadabra.evolution.engine.SerialChildGeneration;
+import com.chupacadabra.evolution.engine.SteadyStateIteration;
+
+/**
+ * An asynchronous, steady-state differential evolution optimizer.
+ * <p>
+ * The generational optimizers wait for every candidate of a generation before
+ * starting the next one, so a single slow fitness evaluation leaves the other
+ * workers idle. This optimizer has no such barrier: a fixed number of parents
+ * are kept in flight on an executor, and as soon as a child has competed with
+ * its parent, the next parent is started. A "generation" is then simply a
+ * number of completed parents equal to the pool size.
+ * <p>
+ * Since children replace their parents as soon as they win, this optimizer
+ * requires {@linkplain PoolReplacement#IMMEDIATELY immediate} pool replacement.
+ * All of the problem and policy functions must be safe for use by multiple
+ * threads.
+ * <p>
+ * Instances of this class are safe for use by multiple threads.
+ */
+public final class SteadyStateDifferentialEvolutionOptimizer implements SteppableDifferentialEvolutionOptimizer {
+
+    /**
+     * The executor to use.
+     */
+    private final Executor executor;
+
+    /**
+     * The maximum number of parents in flight.
+     */
+    private final int concurrency;
+
+    /**
+     * Constructor.
+     * <p>
+     * This optimizer will use the {@linkplain ForkJoinPool#commonPool() common
+     * pool}, keeping one parent in flight per worker. The optimization may
+     * itself run in the common pool: waiting for the parents is
+     * {@linkplain ForkJoinPool#managedBlock(java.util.concurrent.ForkJoinPool.ManagedBlocker)
+     * managed}, so the pool adds a spare worker rather than starve them.
+     */
+    public SteadyStateDifferentialEvolutionOptimizer() {
+        this(ForkJoinPool.commonPool(), ForkJoinPool.commonPool().getParallelism());
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param executor The executor.
+     * @param concurrency The maximum number of parents in flight. This should
+     *        usually match the number of threads of the executor.
+     * @throws IllegalArgumentException If <code>concurrency</code> is not
+     *         strictly positive.
+     */
+    public SteadyStateDifferentialEvolutionOptimizer(final Executor executor, final int concurrency) {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("concurrency must be positive");
+        }
+
+        this.executor = executor;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.DifferentialEvolutionOptimizer#optimize(com.chupacadabra.evolution.DifferentialEvolutionProblem,
+     *      com.chupacadabra.evolution.DifferentialEvolutionSettings)
+     */
+    @Override
+    public DifferentialEvolutionResult optimize(final DifferentialEvolutionProblem problem, final DifferentialEvolutionSettings settings) {
+        if (settings.getPoolReplacement() != PoolReplacement.IMMEDIATELY) {
+            throw new IllegalArgumentException("poolReplacement");
+        }
+
+        DifferentialEvolutionEngine engine = createEngine();
+
+        // get results.
+        DifferentialEvolutionResult result = engine.getResult(problem, settings);
+
+        return result;
+    }
+
+    /**
+     * Resume optimizing the specified problem from a checkpoint.
+     * <p>
+     * Parents that were still in flight when the checkpoint was taken are
+     * simply run again.
+     * 
+     * @see com.chupacadabra.evolution.DifferentialEvolutionOptimizer#resume(com.chupacadabra.evolution.checkpoint.Checkpoint,
+     *      com.chupacadabra.evolution.DifferentialEvolutionProblem, com.chupacadabra.evolution.DifferentialEvolutionSettings)
+     */
+    @Override
+    public DifferentialEvolutionResult resume(final Checkpoint checkpoint, final DifferentialEvolutionProblem problem, final DifferentialEvolutionSettings settings) {
+        if (settings.getPoolReplacement() != PoolReplacement.IMMEDIATELY) {
+            throw new IllegalArgumentException("poolReplacement");
+        }
+
+        DifferentialEvolutionEngine engine = createEngine();
+
+        // pick up where we left off.
+        DifferentialEvolutionResult result = engine.resume(checkpoint, problem, settings);
+
+        return result;
+    }
+
+    /**
+     * Step through the optimization of the specified problem, one generation
+     * at a time.
+     * <p>
+     * Parents still in flight at the end of a generation carry on running on
+     * the executor until the next generation is asked for, or the iterator is
+     * closed.
+     * 
+     * @see com.chupacadabra.evolution.SteppableDifferentialEvolutionOptimizer#generations(com.chupacadabra.evolution.DifferentialEvolutionProblem,
+     *      com.chupacadabra.evolution.DifferentialEvolutionSettings)
+     */
+    @Override
+    public GenerationIterator generations(final DifferentialEvolutionProblem problem, final DifferentialEvolutionSettings settings) {
+        if (settings.getPoolReplacement() != PoolReplacement.IMMEDIATELY) {
+            throw new IllegalArgumentException("poolReplacement");
+        }
+
+        DifferentialEvolutionEngine engine = createEngine();
+
+        // the parents run on the executor; we just wait for them.
+        return engine.getGenerations(problem, settings, Runnable::run);
+    }
+
+    /**
+     * Create an engine.
+     * 
+     * @return The engine.
+     */
+    private DifferentialEvolutionEngine createEngine() {
+        // build up an engine.
+        PoolLockCreation lockCreation = PoolLock::parallel;
+        Initialization initialization = new ExecutorInitialization(executor);
+        Iteration iteration = new SteadyStateIteration(executor, concurrency);
+        ChildGeneration childGeneration = new SerialChildGeneration();
+        DifferentialEvolutionEngine engine = new DifferentialEvolutionEngine(lockCreation, initialization, iteration, childGeneration);
+
+        return engine;
+    }
+
+}
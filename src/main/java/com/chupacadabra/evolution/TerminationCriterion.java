@@ -37,4 +37,22 @@ public interface TerminationCriterion {
      */
     public boolean isMet(DifferentialEvolutionState state);
 
+    /**
+     * Should this criterion also be checked as each candidate is accepted,
+     * rather than only between generations?
+     * <p>
+     * Such criteria can stop a generation that is already running: the
+     * outstanding children of that generation are abandoned and their parents
+     * carried over, so the pool stays complete. They will be checked
+     * frequently and from several threads at once, so they must be cheap and
+     * safe for use by multiple threads. The default implementation returns
+     * <code>false</code>.
+     * 
+     * @return <code>true</code> to check after each candidate; and
+     *         <code>false</code> to check only between generations.
+     */
+    public default boolean isCheckedPerCandidate() {
+        return false;
+    }
+
 }
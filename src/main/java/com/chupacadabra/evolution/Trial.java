@@ -0,0 +1,89 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution;
+
+/**
+ * A trial parameter vector handed out by a {@linkplain DifferentialEvolutionSession
+ * session}, awaiting external measurement.
+ */
+public final class Trial {
+
+    /**
+     * The generation in which the trial was created.
+     */
+    private final int generation;
+
+    /**
+     * The index of the candidate that this trial competes for.
+     */
+    private final int index;
+
+    /**
+     * The parameter vector.
+     */
+    private final double[] parameters;
+
+    /**
+     * Constructor.
+     * 
+     * @param generation The generation in which the trial was created.
+     * @param index The index of the candidate that this trial competes for.
+     * @param parameters The parameters.
+     */
+    public Trial(final int generation, final int index, final double[] parameters) {
+        this.generation = generation;
+        this.index = index;
+        this.parameters = parameters.clone();
+    }
+
+    /**
+     * Get the generation in which the trial was created.
+     * <p>
+     * Generation 0 is the initialization of the pool.
+     * 
+     * @return The generation.
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Get the index of the candidate that this trial competes for.
+     * 
+     * @return The index.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Get the parameter vector.
+     * 
+     * @return The parameters.
+     */
+    public double[] getParameters() {
+        return parameters.clone();
+    }
+
+}
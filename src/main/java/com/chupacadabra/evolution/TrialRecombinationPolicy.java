@@ -37,4 +37,14 @@ public final class TrialRecombinationPolicy implements RecombinationPolicy {
         return trial;
     }
 
+    /**
+     * @see com.chupacadabra.evolution.RecombinationPolicy#recombine(com.chupacadabra.evolution.DifferentialEvolutionState,
+     *      com.chupacadabra.evolution.RandomSource, double[], double[], double[])
+     */
+    @Override
+    public void recombine(final DifferentialEvolutionState state, final RandomSource randomSource, final double[] parent, final double[] trial,
+            final double[] child) {
+        System.arraycopy(trial, 0, child, 0, child.length);
+    }
+
 }
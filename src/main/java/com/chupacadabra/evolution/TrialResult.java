@@ -0,0 +1,158 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution;
+
+/**
+ * The externally measured result of a {@linkplain Trial trial}.
+ */
+public final class TrialResult {
+
+    /**
+     * Create a result for a feasible trial.
+     * 
+     * @param trial The trial.
+     * @param fitness The fitness.
+     * @return A feasible result.
+     */
+    public static TrialResult feasible(final Trial trial, final double fitness) {
+        return new TrialResult(trial, FeasibilityType.FEASIBLE, fitness, 0.0);
+    }
+
+    /**
+     * Create a result for a violating trial.
+     * 
+     * @param trial The trial.
+     * @param fitness The fitness.
+     * @param violation The violation.
+     * @return A violating result.
+     */
+    public static TrialResult violating(final Trial trial, final double fitness, final double violation) {
+        return new TrialResult(trial, FeasibilityType.VIOLATING, fitness, violation);
+    }
+
+    /**
+     * Create a result for an infeasible trial.
+     * 
+     * @param trial The trial.
+     * @return An infeasible result.
+     */
+    public static TrialResult infeasible(final Trial trial) {
+        return new TrialResult(trial, FeasibilityType.INFEASIBLE, Double.NaN, Double.NaN);
+    }
+
+    /**
+     * The trial.
+     */
+    private final Trial trial;
+
+    /**
+     * The feasibility classification.
+     */
+    private final FeasibilityType feasibility;
+
+    /**
+     * The fitness measure.
+     */
+    private final double fitness;
+
+    /**
+     * The violation measure.
+     */
+    private final double violation;
+
+    /**
+     * Constructor.
+     * 
+     * @param trial The trial.
+     * @param feasibility The feasibility classification.
+     * @param fitness The fitness.
+     * @param violation The violation.
+     */
+    private TrialResult(final Trial trial, final FeasibilityType feasibility, final double fitness, final double violation) {
+        if (trial == null) {
+            throw new NullPointerException("trial");
+        }
+
+        this.trial = trial;
+        this.feasibility = feasibility;
+        this.fitness = fitness;
+        this.violation = violation;
+    }
+
+    /**
+     * Get the trial.
+     * 
+     * @return The trial.
+     */
+    public Trial getTrial() {
+        return trial;
+    }
+
+    /**
+     * Get the feasibility classification.
+     * 
+     * @return The feasibility.
+     */
+    public FeasibilityType getFeasibilityType() {
+        return feasibility;
+    }
+
+    /**
+     * Get the fitness measure.
+     * 
+     * @return The fitness; or {@link Double#NaN} if the trial is infeasible.
+     */
+    public double getFitness() {
+        return fitness;
+    }
+
+    /**
+     * Get the violation measure.
+     * 
+     * @return The violation; 0 if the trial is feasible; or
+     *         {@link Double#NaN} if the trial is infeasible.
+     */
+    public double getViolation() {
+        return violation;
+    }
+
+    /**
+     * Convert this result to a candidate.
+     * 
+     * @return The candidate; or <code>null</code> if the trial is infeasible.
+     */
+    public Candidate toCandidate() {
+        switch (feasibility) {
+            case FEASIBLE:
+                return Candidate.feasible(trial.getParameters(), fitness);
+            case VIOLATING:
+                return Candidate.violating(trial.getParameters(), fitness, violation);
+            case INFEASIBLE:
+                return null;
+            default:
+                throw new IllegalArgumentException("feasibility");
+        }
+    }
+
+}
@@ -31,6 +31,10 @@ public interface ViolationFunction {
 
     /**
      * Get the violation measure of the specified candidate.
+     * <p>
+     * The candidate may be a scratch vector that the optimizer reuses once
+     * this method returns, so implementations must neither modify nor retain
+     * it.
      * 
      * @param candidate The candidate.
      * @return The violation.
@@ -0,0 +1,358 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.checkpoint;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalLong;
+
+import com.chupacadabra.evolution.Candidate;
+
+/**
+ * A snapshot of an optimization between generations, from which it can be
+ * resumed.
+ * <p>
+ * A checkpoint holds the current pool, the generation at which to resume, the
+ * time taken so far and - if the optimization draws from a
+ * {@linkplain com.chupacadabra.evolution.CounterRandomSource counter-based
+ * random source} - the random seed. The optimizers only ever draw from
+ * substreams of the random source, and the substreams of a counter-based
+ * source are pure functions of the seed and their coordinates, so the seed is
+ * all the random state there is: resuming with the same problem and settings
+ * then behaves exactly as if the optimization had never stopped. Other
+ * random sources keep their state to themselves, so an optimization using one
+ * will resume correctly but not identically.
+ * <p>
+ * Checkpoints are written in a compact binary format, rather than by Java
+ * serialization: a header, followed by the fitness, violation and parameters
+ * of each candidate as raw doubles. All values are big-endian.
+ * <p>
+ * Instances of this class are immutable.
+ */
+public final class Checkpoint {
+
+    /**
+     * Magic number at the start of every checkpoint: <code>DECP</code>.
+     */
+    private static final int MAGIC = 0x44454350;
+
+    /**
+     * The format version.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * Flag for a feasible candidate.
+     */
+    private static final byte FEASIBLE = 0;
+
+    /**
+     * Flag for a violating candidate.
+     */
+    private static final byte VIOLATING = 1;
+
+    /**
+     * The most values allocated for a header-sized array before the values
+     * actually turn up.
+     */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * The dimension.
+     */
+    private final int dimension;
+
+    /**
+     * The generation at which to resume.
+     */
+    private final int generation;
+
+    /**
+     * The time taken so far, in nanoseconds.
+     */
+    private final long timeTakenInNanos;
+
+    /**
+     * The random seed, if known.
+     */
+    private final OptionalLong randomSeed;
+
+    /**
+     * The pool.
+     */
+    private final Candidate[] candidates;
+
+    /**
+     * Constructor.
+     * 
+     * @param dimension The dimension.
+     * @param generation The generation at which to resume.
+     * @param timeTakenInNanos The time taken so far, in nanoseconds.
+     * @param randomSeed The seed of the counter-based random source; or empty
+     *        if the random state is not known.
+     * @param candidates The pool; this array is taken over, not copied.
+     */
+    public Checkpoint(final int dimension, final int generation, final long timeTakenInNanos, final OptionalLong randomSeed, final Candidate[] candidates) {
+        this.dimension = dimension;
+        this.generation = generation;
+        this.timeTakenInNanos = timeTakenInNanos;
+        this.randomSeed = randomSeed;
+        this.candidates = candidates;
+    }
+
+    /**
+     * Get the dimension.
+     * 
+     * @return The dimension.
+     */
+    public int getDimension() {
+        return dimension;
+    }
+
+    /**
+     * Get the generation at which the optimization resumes.
+     * 
+     * @return The generation.
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Get the time taken so far.
+     * 
+     * @return The time taken, in nanoseconds.
+     */
+    public long getTimeTakenInNanos() {
+        return timeTakenInNanos;
+    }
+
+    /**
+     * Get the seed of the counter-based random source.
+     * 
+     * @return The seed; or empty if the random state is not known.
+     */
+    public OptionalLong getRandomSeed() {
+        return randomSeed;
+    }
+
+    /**
+     * Get the size of the pool.
+     * 
+     * @return The size.
+     */
+    public int getCandidatePoolSize() {
+        return candidates.length;
+    }
+
+    /**
+     * Get the candidate at the specified index.
+     * 
+     * @param index The index.
+     * @return The candidate.
+     */
+    public Candidate getCandidate(final int index) {
+        return candidates[index];
+    }
+
+    /**
+     * Write this checkpoint to the specified stream.
+     * <p>
+     * The stream is flushed, but not closed.
+     * 
+     * @param outputStream The stream.
+     * @throws IOException If the write fails.
+     */
+    public void write(final OutputStream outputStream) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputStream));
+
+        // header.
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(dimension);
+        out.writeInt(candidates.length);
+        out.writeInt(generation);
+        out.writeLong(timeTakenInNanos);
+        out.writeBoolean(randomSeed.isPresent());
+        out.writeLong(randomSeed.orElse(0));
+
+        // and the pool.
+        double[] parameters = new double[dimension];
+        for (Candidate candidate : candidates) {
+            out.writeByte(candidate.isViolating() ? VIOLATING : FEASIBLE);
+            out.writeDouble(candidate.getFitness());
+            if (candidate.isViolating()) {
+                out.writeDouble(candidate.getViolation());
+            }
+
+            candidate.copyParameters(parameters);
+            for (int index = 0; index < dimension; index++) {
+                out.writeDouble(parameters[index]);
+            }
+        }
+
+        out.flush();
+    }
+
+    /**
+     * Write this checkpoint to the specified file.
+     * <p>
+     * The checkpoint is written to a temporary file alongside, which then
+     * replaces the file. Thus the file always holds a complete checkpoint,
+     * even if the process is killed part way through writing.
+     * 
+     * @param path The file.
+     * @throws IOException If the write fails.
+     */
+    public void write(final Path path) throws IOException {
+        Path absolutePath = path.toAbsolutePath();
+        Path temporaryPath = Files.createTempFile(absolutePath.getParent(), absolutePath.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(temporaryPath)) {
+                write(outputStream);
+            }
+
+            try {
+                Files.move(temporaryPath, absolutePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (final AtomicMoveNotSupportedException amnse) {
+                // the best we can do on this file system.
+                Files.move(temporaryPath, absolutePath, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporaryPath);
+        }
+    }
+
+    /**
+     * Read a checkpoint from the specified stream.
+     * <p>
+     * The stream is not closed.
+     * 
+     * @param inputStream The stream.
+     * @return The checkpoint.
+     * @throws IOException If the read fails, or the stream does not hold a
+     *         checkpoint.
+     */
+    public static Checkpoint read(final InputStream inputStream) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(inputStream));
+
+        // header.
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a checkpoint");
+        }
+
+        int version = in.readInt();
+        if (version != VERSION) {
+            String message = String.format("Unsupported checkpoint version %1$s", version);
+            throw new IOException(message);
+        }
+
+        int dimension = in.readInt();
+        int size = in.readInt();
+        int generation = in.readInt();
+        long timeTakenInNanos = in.readLong();
+        boolean hasRandomSeed = in.readBoolean();
+        long seed = in.readLong();
+        OptionalLong randomSeed = hasRandomSeed ? OptionalLong.of(seed) : OptionalLong.empty();
+
+        if ((dimension <= 0) || (size <= 0)) {
+            throw new IOException("Corrupt checkpoint header");
+        }
+
+        // and the pool; a corrupt header must not make us allocate more
+        // than the stream actually holds, so grow as the candidates come.
+        List<Candidate> candidates = new ArrayList<Candidate>(Math.min(size, INITIAL_CAPACITY));
+        for (int cindex = 0; cindex < size; cindex++) {
+            byte flag = in.readByte();
+            double fitness = in.readDouble();
+            double violation = (flag == VIOLATING) ? in.readDouble() : 0;
+            double[] parameters = readParameters(in, dimension);
+
+            switch (flag) {
+                case FEASIBLE:
+                    candidates.add(Candidate.feasible(parameters, fitness));
+                    break;
+                case VIOLATING:
+                    candidates.add(Candidate.violating(parameters, fitness, violation));
+                    break;
+                default:
+                    throw new IOException("Corrupt checkpoint candidate");
+            }
+        }
+
+        return new Checkpoint(dimension, generation, timeTakenInNanos, randomSeed, candidates.toArray(new Candidate[size]));
+    }
+
+    /**
+     * Read the parameters of a candidate.
+     * <p>
+     * The parameters are only allocated as they are read, so a truncated
+     * stream fails with an {@link java.io.EOFException} rather than running
+     * out of memory.
+     * 
+     * @param in The stream.
+     * @param dimension The dimension.
+     * @return The parameters.
+     * @throws IOException If the read fails.
+     */
+    private static double[] readParameters(final DataInputStream in, final int dimension) throws IOException {
+        double[] parameters = new double[Math.min(dimension, INITIAL_CAPACITY)];
+        for (int index = 0; index < dimension; index++) {
+            if (index == parameters.length) {
+                parameters = Arrays.copyOf(parameters, (int) Math.min(dimension, 2L * parameters.length));
+            }
+
+            parameters[index] = in.readDouble();
+        }
+
+        return parameters;
+    }
+
+    /**
+     * Read a checkpoint from the specified file.
+     * 
+     * @param path The file.
+     * @return The checkpoint.
+     * @throws IOException If the read fails, or the file does not hold a
+     *         checkpoint.
+     */
+    public static Checkpoint read(final Path path) throws IOException {
+        try (InputStream inputStream = Files.newInputStream(path)) {
+            return read(inputStream);
+        }
+    }
+
+}
@@ -0,0 +1,113 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.checkpoint;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Checkpointing hook.
+ * <p>
+ * Between generations, the optimizers ask the checkpointer of their
+ * {@linkplain com.chupacadabra.evolution.DifferentialEvolutionSettings#getCheckpointer()
+ * settings} whether a checkpoint is due and, if so, hand it a
+ * {@linkplain Checkpoint checkpoint} to save. An optimization can later be
+ * {@linkplain com.chupacadabra.evolution.DifferentialEvolutionOptimizer#resume(Checkpoint, com.chupacadabra.evolution.DifferentialEvolutionProblem, com.chupacadabra.evolution.DifferentialEvolutionSettings)
+ * resumed} from any saved checkpoint.
+ * <p>
+ * Checkpointing is opt-in: by default the settings use a
+ * {@linkplain #noOp() no-op checkpointer}, for which the optimizers don't even
+ * build checkpoints.
+ */
+public interface Checkpointer {
+
+    /**
+     * Get the no-op checkpointer.
+     * 
+     * @return A checkpointer that saves nothing.
+     */
+    public static Checkpointer noOp() {
+        return NoOpCheckpointer.getInstance();
+    }
+
+    /**
+     * Get a checkpointer that writes a checkpoint to the specified file every
+     * <code>interval</code> generations, replacing the previous one.
+     * 
+     * @param path The file.
+     * @param interval The number of generations between checkpoints.
+     * @return A checkpointer.
+     * @throws IllegalArgumentException If <code>interval</code> is not
+     *         strictly positive.
+     */
+    public static Checkpointer toFile(final Path path, final int interval) {
+        return new FileCheckpointer(path, interval);
+    }
+
+    /**
+     * Is this checkpointer saving?
+     * <p>
+     * If not, the optimizers skip checkpointing altogether.
+     * 
+     * @return <code>true</code> if saving; and <code>false</code> otherwise.
+     */
+    public default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Is a checkpoint due before the specified generation?
+     * 
+     * @param generation The generation about to be run.
+     * @return <code>true</code> if a checkpoint is due; and <code>false</code>
+     *         otherwise.
+     */
+    public boolean isDue(int generation);
+
+    /**
+     * Save the specified checkpoint.
+     * 
+     * @param checkpoint The checkpoint.
+     * @throws IOException If the checkpoint could not be saved.
+     */
+    public void save(Checkpoint checkpoint) throws IOException;
+
+    /**
+     * Report that the specified checkpoint could not be saved.
+     * <p>
+     * A failed save does not stop the optimization; the next checkpoint that
+     * falls due is simply tried again. By default, the failure is logged as a
+     * warning.
+     * 
+     * @param checkpoint The checkpoint.
+     * @param exception The reason it could not be saved.
+     */
+    public default void saveFailed(final Checkpoint checkpoint, final IOException exception) {
+        String message = String.format("Could not save the checkpoint for generation %1$s", checkpoint.getGeneration());
+        Logger.getLogger(Checkpointer.class.getName()).log(Level.WARNING, message, exception);
+    }
+
+}
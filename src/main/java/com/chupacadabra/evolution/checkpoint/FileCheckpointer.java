@@ -0,0 +1,81 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.checkpoint;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Checkpointer that periodically replaces a checkpoint file.
+ */
+final class FileCheckpointer implements Checkpointer {
+
+    /**
+     * The file.
+     */
+    private final Path path;
+
+    /**
+     * The number of generations between checkpoints.
+     */
+    private final int interval;
+
+    /**
+     * Constructor.
+     * 
+     * @param path The file.
+     * @param interval The number of generations between checkpoints.
+     * @throws IllegalArgumentException If <code>interval</code> is not
+     *         strictly positive.
+     */
+    FileCheckpointer(final Path path, final int interval) {
+        if (path == null) {
+            throw new NullPointerException("path");
+        }
+
+        if (interval <= 0) {
+            throw new IllegalArgumentException("interval must be positive");
+        }
+
+        this.path = path;
+        this.interval = interval;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.checkpoint.Checkpointer#isDue(int)
+     */
+    @Override
+    public boolean isDue(final int generation) {
+        return (generation % interval) == 0;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.checkpoint.Checkpointer#save(com.chupacadabra.evolution.checkpoint.Checkpoint)
+     */
+    @Override
+    public void save(final Checkpoint checkpoint) throws IOException {
+        checkpoint.write(path);
+    }
+
+}
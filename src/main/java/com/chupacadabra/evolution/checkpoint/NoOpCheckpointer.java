@@ -0,0 +1,74 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.checkpoint;
+
+/**
+ * No-op checkpointer.
+ */
+final class NoOpCheckpointer implements Checkpointer {
+
+    /**
+     * Singleton instance.
+     */
+    private static final NoOpCheckpointer INSTANCE = new NoOpCheckpointer();
+
+    /**
+     * Get the singleton instance.
+     * 
+     * @return The singleton instance.
+     */
+    static NoOpCheckpointer getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Constructor.
+     */
+    private NoOpCheckpointer() {
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.checkpoint.Checkpointer#isEnabled()
+     */
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.checkpoint.Checkpointer#isDue(int)
+     */
+    @Override
+    public boolean isDue(final int generation) {
+        return false;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.checkpoint.Checkpointer#save(com.chupacadabra.evolution.checkpoint.Checkpoint)
+     */
+    @Override
+    public void save(final Checkpoint checkpoint) {
+    }
+
+}
@@ -0,0 +1,301 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.chupacadabra.evolution.Candidate;
+import com.chupacadabra.evolution.MigrationTopology;
+import com.chupacadabra.evolution.RandomSource;
+import com.chupacadabra.evolution.pool.WritableCandidatePool;
+import com.chupacadabra.evolution.util.CandidateFitnessComparator;
+
+/**
+ * The shared state of a set of islands, each of which runs its own engine.
+ * <p>
+ * Every so often, each island publishes its best candidates and takes in the
+ * candidates most recently published by the islands it is connected to, as
+ * determined by the {@linkplain MigrationTopology topology}. Publishing is a
+ * single volatile write, so islands never wait for one another: an island
+ * simply takes whatever its neighbours published last, if anything.
+ */
+public final class Archipelago {
+
+    /**
+     * The candidates most recently published by each island.
+     */
+    private final AtomicReferenceArray<List<Candidate>> emigrants;
+
+    /**
+     * The migration topology.
+     */
+    private final MigrationTopology topology;
+
+    /**
+     * The number of generations between migrations.
+     */
+    private final int interval;
+
+    /**
+     * The number of candidates each island publishes.
+     */
+    private final int migrantCount;
+
+    /**
+     * Constructor.
+     * 
+     * @param islandCount The number of islands.
+     * @param topology The migration topology.
+     * @param interval The number of generations between migrations.
+     * @param migrantCount The number of candidates each island publishes.
+     */
+    public Archipelago(final int islandCount, final MigrationTopology topology, final int interval, final int migrantCount) {
+        this.emigrants = new AtomicReferenceArray<>(islandCount);
+        this.topology = topology;
+        this.interval = interval;
+        this.migrantCount = migrantCount;
+    }
+
+    /**
+     * Decorate the specified iteration strategy so that the specified island
+     * migrates at the configured interval.
+     * 
+     * @param island The island.
+     * @param iteration The iteration strategy of the island.
+     * @return The decorated iteration strategy.
+     */
+    public Iteration createIteration(final int island, final Iteration iteration) {
+        return new MigratingIteration(island, iteration);
+    }
+
+    /**
+     * Migrate to and from the specified island.
+     * 
+     * @param island The island.
+     * @param receiver The engine of the island.
+     */
+    private void migrate(final int island, final DifferentialEvolutionReceiver receiver) {
+        receiver.getPoolLock().lock(PoolType.NEXT, LockType.WRITE);
+        try {
+            WritableCandidatePool pool = receiver.getNextPool();
+
+            // publish our best, and then take in the best of our neighbours.
+            emigrants.set(island, getBestCandidates(pool));
+
+            List<Candidate> immigrants = new ArrayList<Candidate>();
+            RandomSource randomSource = receiver.getSettings().getRandomSource().substream(receiver.getGeneration(), island, RandomSource.MIGRATION_STREAM);
+            for (int source : getSources(island, randomSource)) {
+                List<Candidate> published = emigrants.get(source);
+                if (published != null) {
+                    immigrants.addAll(published);
+                }
+            }
+
+            Collections.sort(immigrants, new CandidateFitnessComparator());
+            for (Candidate immigrant : immigrants) {
+                settle(pool, immigrant);
+            }
+        } finally {
+            receiver.getPoolLock().unlock(PoolType.NEXT, LockType.WRITE);
+        }
+    }
+
+    /**
+     * Get the islands from which the specified island takes its immigrants.
+     * 
+     * @param island The island.
+     * @param randomSource A source of randomness.
+     * @return The source islands.
+     */
+    private int[] getSources(final int island, final RandomSource randomSource) {
+        int islandCount = emigrants.length();
+        if (islandCount == 1) {
+            return new int[0];
+        }
+
+        switch (topology) {
+            case RING:
+                return new int[] { (island + islandCount - 1) % islandCount };
+            case STAR:
+                if (island != 0) {
+                    return new int[] { 0 };
+                }
+
+                int[] spokes = new int[islandCount - 1];
+                for (int index = 1; index < islandCount; index++) {
+                    spokes[index - 1] = index;
+                }
+
+                return spokes;
+            case RANDOM:
+                // pick any island but this one.
+                int source = randomSource.nextInt(islandCount - 1);
+                return new int[] { (source < island) ? source : (source + 1) };
+            default:
+                throw new IllegalArgumentException("topology");
+        }
+    }
+
+    /**
+     * Get the best feasible candidates of the specified pool.
+     * 
+     * @param pool The pool.
+     * @return The best candidates, best first.
+     */
+    private List<Candidate> getBestCandidates(final WritableCandidatePool pool) {
+        List<Candidate> feasible = new ArrayList<Candidate>();
+        for (int index = 0; index < pool.getSize(); index++) {
+            Candidate candidate = pool.getCandidate(index);
+            if (candidate.isFeasible()) {
+                feasible.add(candidate);
+            }
+        }
+
+        Collections.sort(feasible, new CandidateFitnessComparator());
+        List<Candidate> best = feasible.subList(0, Math.min(migrantCount, feasible.size()));
+
+        return Collections.unmodifiableList(new ArrayList<Candidate>(best));
+    }
+
+    /**
+     * Let the specified immigrant replace the worst candidate of the pool, if
+     * it is any better and not already present.
+     * 
+     * @param pool The pool.
+     * @param immigrant The immigrant.
+     */
+    private static void settle(final WritableCandidatePool pool, final Candidate immigrant) {
+        // find the worst candidate: violating candidates are worse than any
+        // feasible candidate, and then the less fit the worse.
+        int worstIndex = 0;
+        Candidate worst = pool.getCandidate(0);
+
+        for (int index = 0; index < pool.getSize(); index++) {
+            Candidate candidate = pool.getCandidate(index);
+            if (isSame(candidate, immigrant)) {
+                // a neighbour that hasn't improved keeps sending us the same
+                // candidate; don't let it take over the pool.
+                return;
+            }
+
+            if (isWorse(candidate, worst)) {
+                worstIndex = index;
+                worst = candidate;
+            }
+        }
+
+        if (isWorse(worst, immigrant)) {
+            pool.setCandidate(worstIndex, immigrant);
+        }
+    }
+
+    /**
+     * Are the specified candidates the same?
+     * 
+     * @param candidate The first candidate.
+     * @param other The second candidate.
+     * @return <code>true</code> if so; and <code>false</code> otherwise.
+     */
+    private static boolean isSame(final Candidate candidate, final Candidate other) {
+        if (candidate == other) {
+            return true;
+        }
+
+        // only bother comparing parameters if the fitness matches.
+        return (candidate.getFitness() == other.getFitness()) && Arrays.equals(candidate.getParameters(), other.getParameters());
+    }
+
+    /**
+     * Is the first candidate worse than the second?
+     * 
+     * @param candidate The first candidate.
+     * @param other The second candidate.
+     * @return <code>true</code> if so; and <code>false</code> otherwise.
+     */
+    private static boolean isWorse(final Candidate candidate, final Candidate other) {
+        if (candidate.isFeasible() != other.isFeasible()) {
+            return other.isFeasible();
+        }
+
+        if (!candidate.isFeasible() && (candidate.getViolation() != other.getViolation())) {
+            return (candidate.getViolation() > other.getViolation());
+        }
+
+        return (candidate.getFitness() > other.getFitness());
+    }
+
+    /**
+     * Iteration strategy decorator that migrates at the configured interval.
+     */
+    private final class MigratingIteration implements Iteration {
+
+        /**
+         * The island.
+         */
+        private final int island;
+
+        /**
+         * The decorated strategy.
+         */
+        private final Iteration iteration;
+
+        /**
+         * Constructor.
+         * 
+         * @param island The island.
+         * @param iteration The decorated strategy.
+         */
+        private MigratingIteration(final int island, final Iteration iteration) {
+            this.island = island;
+            this.iteration = iteration;
+        }
+
+        /**
+         * @see com.chupacadabra.evolution.engine.Iteration#iterate(com.chupacadabra.evolution.engine.DifferentialEvolutionReceiver,
+         *      com.chupacadabra.evolution.engine.ChildGeneration)
+         */
+        @Override
+        public void iterate(final DifferentialEvolutionReceiver receiver, final ChildGeneration childGeneration) {
+            iteration.iterate(receiver, childGeneration);
+
+            if ((receiver.getGeneration() % interval) == 0) {
+                migrate(island, receiver);
+            }
+        }
+
+        /**
+         * @see com.chupacadabra.evolution.engine.Iteration#finish(com.chupacadabra.evolution.engine.DifferentialEvolutionReceiver)
+         */
+        @Override
+        public void finish(final DifferentialEvolutionReceiver receiver) {
+            iteration.finish(receiver);
+        }
+
+    }
+
+}
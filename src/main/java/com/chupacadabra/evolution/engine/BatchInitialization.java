@@ -0,0 +1,113 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2015 Fran Lattanzio
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.chupacadabra.evolution.engine;
+
+import java.util.Arrays;
+
+import com.chupacadabra.evolution.BatchFitnessFunction;
+import com.chupacadabra.evolution.Candidate;
+
+/**
+ * Batch initialization.
+ * <p>
+ * The pool is initialized in chunks. Feasible parameters are generated for
+ * each index in a chunk and then measured with a single call to the problem's
+ * {@linkplain BatchFitnessFunction batch fitness function}.
+ */
+public final class BatchInitialization implements Initialization {
+
+    /**
+     * The maximum number of candidates per chunk.
+     */
+    private final int batchSize;
+
+    /**
+     * Constructor.
+     * 
+     * @param batchSize The maximum number of candidates per chunk.
+     * @throws IllegalArgumentException If <code>batchSize</code> is not
+     *         strictly positive.
+     */
+    public BatchInitialization(final int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.engine.Initialization#initialize(com.chupacadabra.evolution.engine.DifferentialEvolutionReceiver)
+     */
+    @Override
+    public void initialize(final DifferentialEvolutionReceiver receiver) {
+        int size = receiver.getSettings().getCandidatePoolSize();
+        for (int start = 0; start < size; start += batchSize) {
+            int end = start + Math.min(batchSize, size - start);
+            initialize(receiver, start, end);
+        }
+    }
+
+    /**
+     * Initialize the specified chunk of the pool.
+     * 
+     * @param receiver The receiver.
+     * @param start The first index, inclusive.
+     * @param end The last index, exclusive.
+     */
+    private void initialize(final DifferentialEvolutionReceiver receiver, final int start, final int end) {
+        // ready-made seeds need no measuring.
+        Candidate[] candidates = new Candidate[end - start];
+        int[] indices = new int[end - start];
+        double[][] parameters = new double[end - start][];
+        int length = 0;
+        for (int index = start; index < end; index++) {
+            InitializeIndexAction initializeCommand = new InitializeIndexAction(receiver, index);
+            candidates[index - start] = initializeCommand.getSeedCandidate();
+            if (candidates[index - start] == null) {
+                indices[length] = index;
+                parameters[length] = initializeCommand.generateFeasibleParameters();
+                length += 1;
+            }
+        }
+
+        if (length > 0) {
+            double[][] batch = Arrays.copyOf(parameters, length);
+            double[] fitness = ChildBatch.getFitness(receiver.getProblem(), batch);
+            for (int jindex = 0; jindex < length; jindex++) {
+                candidates[indices[jindex] - start] = Candidate.feasible(batch[jindex], fitness[jindex]);
+            }
+        }
+
+        receiver.getPoolLock().lock(PoolType.CURRENT, LockType.WRITE);
+        try {
+            for (int index = start; index < end; index++) {
+                receiver.getCurrentPool().setCandidate(index, candidates[index - start]);
+            }
+        } finally {
+            receiver.getPoolLock().unlock(PoolType.CURRENT, LockType.WRITE);
+        }
+    }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2015 Fran Lattanzio
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.chupacadabra.evolution.engine;
+
+import com.chupacadabra.evolution.BatchFitnessFunction;
+import com.chupacadabra.evolution.Candidate;
+import com.chupacadabra.evolution.PoolReplacement;
+
+/**
+ * Batch iteration.
+ * <p>
+ * The pool is processed in chunks of parents. All the children of a chunk are
+ * generated up front and then measured with a single call to the problem's
+ * {@linkplain BatchFitnessFunction batch fitness function}, after which
+ * selection is carried out for each parent in the chunk. Consequently, the
+ * supplied child generation strategy is not used.
+ * <p>
+ * Since the children of a chunk are generated before any of them are
+ * selected, candidates replaced {@linkplain PoolReplacement#IMMEDIATELY
+ * immediately} only become visible to differentiation in subsequent chunks.
+ */
+public final class BatchIteration implements Iteration {
+
+    /**
+     * The maximum number of parents per chunk.
+     */
+    private final int batchSize;
+
+    /**
+     * Constructor.
+     * 
+     * @param batchSize The maximum number of parents per chunk.
+     * @throws IllegalArgumentException If <code>batchSize</code> is not
+     *         strictly positive.
+     */
+    public BatchIteration(final int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.engine.Iteration#iterate(com.chupacadabra.evolution.engine.DifferentialEvolutionReceiver,
+     *      com.chupacadabra.evolution.engine.ChildGeneration)
+     */
+    @Override
+    public void iterate(final DifferentialEvolutionReceiver receiver, final ChildGeneration childGeneration) {
+        int size = receiver.getSettings().getCandidatePoolSize();
+        for (int start = 0; start < size; start += batchSize) {
+            int end = start + Math.min(batchSize, size - start);
+            iterate(receiver, start, end);
+        }
+    }
+
+    /**
+     * Iterate the specified chunk of parents.
+     * 
+     * @param receiver The receiver.
+     * @param start The first parent index, inclusive.
+     * @param end The last parent index, exclusive.
+     */
+    private void iterate(final DifferentialEvolutionReceiver receiver, final int start, final int end) {
+        int count = receiver.getSettings().getChildrenPerCandidate();
+        Candidate[] parents = new Candidate[end - start];
+        ChildBatch batch = new ChildBatch(receiver, start, end);
+
+        // generate every child of the chunk.
+        for (int index = start; index < end; index++) {
+            Candidate parent = receiver.getCurrentPool().getCandidate(index);
+            parents[index - start] = parent;
+
+            if (receiver.isTerminating()) {
+                // the optimization is stopping; the parent carries over.
+                continue;
+            }
+
+            for (int jindex = 0; jindex < count; jindex++) {
+                GenerateChildTask childTask = new GenerateChildTask(receiver, index, parent, jindex);
+                batch.add(index, childTask.generateChildParameters());
+            }
+        }
+
+        // measure them all at once.
+        batch.measure();
+
+        // and now run the standard iteration command, handing it the measured
+        // children.
+        for (int index = start; index < end; index++) {
+            IterateIndexAction iterateCommand = new IterateIndexAction(receiver, index, parents[index - start], batch);
+            iterateCommand.run();
+        }
+    }
+
+}
@@ -0,0 +1,204 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2015 Fran Lattanzio
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.chupacadabra.evolution.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.chupacadabra.evolution.BatchFitnessFunction;
+import com.chupacadabra.evolution.Candidate;
+import com.chupacadabra.evolution.DifferentialEvolutionProblem;
+import com.chupacadabra.evolution.FeasibilityType;
+import com.chupacadabra.evolution.ViolationFunction;
+import com.chupacadabra.evolution.metrics.Metrics;
+import com.chupacadabra.evolution.metrics.Phase;
+
+/**
+ * A batch of children awaiting fitness measurement.
+ * <p>
+ * Children of the parents in <code>[start, end)</code> are added as they are
+ * generated; infeasible children are discarded immediately. Once the batch is
+ * complete, the remaining children are measured in a single call to the batch
+ * fitness function. The batch then acts as a child generation strategy that
+ * simply hands back the measured children of each parent.
+ */
+final class ChildBatch implements ChildGeneration {
+
+    /**
+     * Measure the specified parameters using the problem's batch fitness
+     * function.
+     * 
+     * @param problem The problem.
+     * @param parameters The parameters.
+     * @return The fitness of each parameter vector.
+     * @throws IllegalStateException If the batch fitness function does not
+     *         return exactly one fitness per parameter vector.
+     */
+    static double[] getFitness(final DifferentialEvolutionProblem problem, final double[][] parameters) {
+        BatchFitnessFunction batchFitnessFunction = problem.getBatchFitnessFunction();
+        double[] fitness = batchFitnessFunction.getFitness(parameters);
+
+        if (fitness.length != parameters.length) {
+            String message = String.format("Batch fitness function returned %1$s values for %2$s candidates", fitness.length, parameters.length);
+            throw new IllegalStateException(message);
+        }
+
+        return fitness;
+    }
+
+    /**
+     * The receiver.
+     */
+    private final DifferentialEvolutionReceiver receiver;
+
+    /**
+     * The first parent index.
+     */
+    private final int start;
+
+    /**
+     * The pending child parameters.
+     */
+    private final double[][] parameters;
+
+    /**
+     * The feasibility of each pending child.
+     */
+    private final FeasibilityType[] feasibilities;
+
+    /**
+     * The parent index of each pending child.
+     */
+    private final int[] indices;
+
+    /**
+     * The number of pending children.
+     */
+    private int length;
+
+    /**
+     * The measured children of each parent.
+     */
+    private final List<List<Candidate>> children;
+
+    /**
+     * Constructor.
+     * 
+     * @param receiver The receiver.
+     * @param start The first parent index, inclusive.
+     * @param end The last parent index, exclusive.
+     */
+    ChildBatch(final DifferentialEvolutionReceiver receiver, final int start, final int end) {
+        this.receiver = receiver;
+        this.start = start;
+
+        int count = end - start;
+        int capacity = count * receiver.getSettings().getChildrenPerCandidate();
+        this.parameters = new double[capacity][];
+        this.feasibilities = new FeasibilityType[capacity];
+        this.indices = new int[capacity];
+
+        this.children = new ArrayList<List<Candidate>>(count);
+        for (int index = 0; index < count; index++) {
+            children.add(new ArrayList<Candidate>());
+        }
+    }
+
+    /**
+     * Add a child of the specified parent to this batch.
+     * 
+     * @param index The parent index.
+     * @param child The child parameters.
+     */
+    void add(final int index, final double[] child) {
+        // classify the child parameters.
+        Metrics metrics = receiver.getSettings().getMetrics();
+        long time = PhaseTiming.start(metrics);
+        FeasibilityType feasibility = receiver.getProblem().getFeasibilityFunction().getFeasibilityType(child);
+        PhaseTiming.lap(metrics, Phase.FEASIBILITY, time);
+
+        if (feasibility == FeasibilityType.INFEASIBLE) {
+            // we can short-circuit fitness calculation.
+            metrics.recordInfeasibleChild();
+            return;
+        }
+
+        parameters[length] = child;
+        feasibilities[length] = feasibility;
+        indices[length] = index;
+        length += 1;
+    }
+
+    /**
+     * Measure all pending children.
+     */
+    void measure() {
+        if (length == 0) {
+            // every child was infeasible.
+            return;
+        }
+
+        Metrics metrics = receiver.getSettings().getMetrics();
+        long time = PhaseTiming.start(metrics);
+        DifferentialEvolutionProblem problem = receiver.getProblem();
+        double[][] batch = Arrays.copyOf(parameters, length);
+        double[] fitness = getFitness(problem, batch);
+        PhaseTiming.lap(metrics, Phase.FITNESS, time);
+
+        for (int index = 0; index < length; index++) {
+            Candidate child;
+            switch (feasibilities[index]) {
+                case FEASIBLE:
+                    child = Candidate.feasible(batch[index], fitness[index]);
+                    break;
+                case VIOLATING:
+                    // in this case we also have to measure the violation.
+                    long violationTime = PhaseTiming.start(metrics);
+                    ViolationFunction violationFunction = problem.getViolationFunction();
+                    double violation = violationFunction.getViolation(batch[index]);
+                    PhaseTiming.lap(metrics, Phase.VIOLATION, violationTime);
+
+                    child = Candidate.violating(batch[index], fitness[index], violation);
+                    break;
+                case INFEASIBLE:
+                default:
+                    // impossible.
+                    throw new InternalError();
+            }
+
+            children.get(indices[index] - start).add(child);
+        }
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.engine.ChildGeneration#generate(com.chupacadabra.evolution.engine.DifferentialEvolutionReceiver,
+     *      int, com.chupacadabra.evolution.Candidate)
+     */
+    @Override
+    public List<Candidate> generate(final DifferentialEvolutionReceiver receiver, final int index, final Candidate parent) {
+        return children.get(index - start);
+    }
+
+}
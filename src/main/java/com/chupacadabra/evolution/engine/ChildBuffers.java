@@ -0,0 +1,139 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2015 Fran Lattanzio
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.chupacadabra.evolution.engine;
+
+import com.chupacadabra.evolution.RandomSource;
+
+/**
+ * Scratch buffers used while generating a child.
+ * <p>
+ * The engine keeps one set of buffers per thread and reuses it across children
+ * and generations, so that differentiation and recombination do not allocate.
+ * The buffers also keep the random substream of the last child, to be re-keyed
+ * for the next.
+ * Buffers are handed out by
+ * {@link DifferentialEvolutionReceiver#acquireChildBuffers()}.
+ */
+public final class ChildBuffers {
+
+    /**
+     * Parent parameters.
+     */
+    private final double[] parent;
+
+    /**
+     * Trial parameters.
+     */
+    private final double[] trial;
+
+    /**
+     * Child parameters.
+     */
+    private final double[] child;
+
+    /**
+     * The random substream of the last child; or <code>null</code>.
+     */
+    private RandomSource randomSource;
+
+    /**
+     * Are these buffers currently in use?
+     */
+    private boolean acquired;
+
+    /**
+     * Constructor.
+     * 
+     * @param dimension The problem dimension.
+     */
+    ChildBuffers(final int dimension) {
+        this.parent = new double[dimension];
+        this.trial = new double[dimension];
+        this.child = new double[dimension];
+    }
+
+    /**
+     * Get the parent parameter buffer.
+     * 
+     * @return The parent buffer.
+     */
+    public double[] getParent() {
+        return parent;
+    }
+
+    /**
+     * Get the trial parameter buffer.
+     * 
+     * @return The trial buffer.
+     */
+    public double[] getTrial() {
+        return trial;
+    }
+
+    /**
+     * Get the child parameter buffer.
+     * 
+     * @return The child buffer.
+     */
+    public double[] getChild() {
+        return child;
+    }
+
+    /**
+     * Get the random substream of the last child.
+     * 
+     * @return The substream; or <code>null</code> if there is none yet.
+     */
+    RandomSource getRandomSource() {
+        return randomSource;
+    }
+
+    /**
+     * Set the random substream of the current child.
+     * 
+     * @param randomSource The value.
+     */
+    void setRandomSource(final RandomSource randomSource) {
+        this.randomSource = randomSource;
+    }
+
+    /**
+     * Are these buffers currently in use?
+     * 
+     * @return <code>true</code> if in use; and <code>false</code> otherwise.
+     */
+    boolean isAcquired() {
+        return acquired;
+    }
+
+    /**
+     * Mark these buffers as in use or not.
+     * 
+     * @param acquired The value.
+     */
+    void setAcquired(final boolean acquired) {
+        this.acquired = acquired;
+    }
+
+}
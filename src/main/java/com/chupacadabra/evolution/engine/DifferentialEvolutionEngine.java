@@ -23,19 +23,29 @@
  */
 package com.chupacadabra.evolution.engine;
 
+import java.io.IOException;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
 import com.chupacadabra.evolution.Candidate;
+import com.chupacadabra.evolution.CounterRandomSource;
 import com.chupacadabra.evolution.DifferentialEvolutionProblem;
 import com.chupacadabra.evolution.DifferentialEvolutionResult;
 import com.chupacadabra.evolution.DifferentialEvolutionSettings;
 import com.chupacadabra.evolution.ExceptionEncountered;
-import com.chupacadabra.evolution.MaximumGenerationReached;
+import com.chupacadabra.evolution.GenerationIterator;
+import com.chupacadabra.evolution.RandomSource;
 import com.chupacadabra.evolution.SimpleDifferentialEvolutionResult;
 import com.chupacadabra.evolution.TerminationCriterion;
-import com.chupacadabra.evolution.TerminationCriterionMet;
 import com.chupacadabra.evolution.TerminationReason;
-import com.chupacadabra.evolution.pool.ArrayCandidatePool;
+import com.chupacadabra.evolution.checkpoint.Checkpoint;
+import com.chupacadabra.evolution.checkpoint.Checkpointer;
+import com.chupacadabra.evolution.listener.GenerationSnapshot;
+import com.chupacadabra.evolution.metrics.Metrics;
 import com.chupacadabra.evolution.pool.WritableCandidatePool;
 import com.chupacadabra.evolution.util.TimeLength;
 
@@ -79,6 +89,12 @@ public final class DifferentialEvolutionEngine implements DifferentialEvolutionR
      */
     private DifferentialEvolutionSettings settings;
 
+    /**
+     * The checkpoint from which to resume; or <code>null</code> to start
+     * afresh.
+     */
+    private Checkpoint checkpoint;
+
     // updated.
 
     /**
@@ -109,6 +125,32 @@ public final class DifferentialEvolutionEngine implements DifferentialEvolutionR
      */
     private volatile PoolLock poolLock;
 
+    /**
+     * Per-thread child scratch buffers.
+     */
+    private volatile ThreadLocal<ChildBuffers> childBuffers;
+
+    /**
+     * The termination criteria to check as each candidate is accepted.
+     */
+    private volatile List<TerminationCriterion> perCandidateCriteria;
+
+    /**
+     * The reason for terminating part way through a generation; or
+     * <code>null</code>.
+     */
+    private final AtomicReference<TerminationReason> midGenerationTerminationReason;
+
+    /**
+     * The number of parents replaced so far in the current generation.
+     */
+    private final LongAdder replacements;
+
+    /**
+     * Are we building a snapshot of each generation?
+     */
+    private volatile boolean snapshotting;
+
     /**
      * Constructor.
      * 
@@ -124,6 +166,8 @@ public final class DifferentialEvolutionEngine implements DifferentialEvolutionR
         this.initialization = initialization;
         this.iteration = iteration;
         this.childGeneration = childGeneration;
+        this.midGenerationTerminationReason = new AtomicReference<TerminationReason>();
+        this.replacements = new LongAdder();
     }
 
     /**
@@ -134,73 +178,408 @@ public final class DifferentialEvolutionEngine implements DifferentialEvolutionR
      * @return The result.
      */
     public DifferentialEvolutionResult getResult(final DifferentialEvolutionProblem problem, final DifferentialEvolutionSettings settings) {
+        return getResult(problem, settings, null);
+    }
+
+    /**
+     * Resume optimizing the specified problem from a checkpoint.
+     * <p>
+     * If the checkpoint records the seed of a counter-based random source,
+     * the optimization resumes with that source, regardless of the random
+     * source of the settings.
+     * 
+     * @param checkpoint The checkpoint.
+     * @param problem The problem.
+     * @param settings The settings.
+     * @return The result.
+     * @throws IllegalArgumentException If the checkpoint does not match the
+     *         dimension of the problem or the pool size of the settings.
+     */
+    public DifferentialEvolutionResult resume(final Checkpoint checkpoint, final DifferentialEvolutionProblem problem,
+            final DifferentialEvolutionSettings settings) {
+        checkCheckpoint(checkpoint, problem, settings);
+
+        return getResult(problem, getResumeSettings(checkpoint, settings), checkpoint);
+    }
+
+    /**
+     * Check that a checkpoint matches the specified problem and settings.
+     * 
+     * @param checkpoint The checkpoint.
+     * @param problem The problem.
+     * @param settings The settings.
+     * @throws IllegalArgumentException If the checkpoint does not match the
+     *         dimension of the problem or the pool size of the settings.
+     */
+    private static void checkCheckpoint(final Checkpoint checkpoint, final DifferentialEvolutionProblem problem,
+            final DifferentialEvolutionSettings settings) {
+        if (checkpoint.getDimension() != problem.getDimension()) {
+            throw new IllegalArgumentException("checkpoint dimension does not match problem");
+        }
+
+        if (checkpoint.getCandidatePoolSize() != settings.getCandidatePoolSize()) {
+            throw new IllegalArgumentException("checkpoint pool size does not match settings");
+        }
+    }
+
+    /**
+     * Get the settings with which to resume from a checkpoint.
+     * 
+     * @param checkpoint The checkpoint.
+     * @param settings The settings.
+     * @return The settings, with the random source of the checkpoint if it
+     *         has one.
+     */
+    private static DifferentialEvolutionSettings getResumeSettings(final Checkpoint checkpoint, final DifferentialEvolutionSettings settings) {
+        OptionalLong randomSeed = checkpoint.getRandomSeed();
+        if (!randomSeed.isPresent()) {
+            // nothing to restore.
+            return settings;
+        }
+
+        RandomSource randomSource = settings.getRandomSource();
+        if ((randomSource instanceof CounterRandomSource) && (((CounterRandomSource) randomSource).getSeed() == randomSeed.getAsLong())) {
+            // already in the right state.
+            return settings;
+        }
+
+        DifferentialEvolutionSettings resumeSettings = new DifferentialEvolutionSettings(settings);
+        resumeSettings.setRandomSource(new CounterRandomSource(randomSeed.getAsLong()));
+
+        return resumeSettings;
+    }
+
+    /**
+     * Get the result for the specified problem, using the settings, and
+     * possibly resuming from a checkpoint.
+     * 
+     * @param problem The problem.
+     * @param settings The settings.
+     * @param checkpoint The checkpoint; or <code>null</code>.
+     * @return The result.
+     */
+    private DifferentialEvolutionResult getResult(final DifferentialEvolutionProblem problem, final DifferentialEvolutionSettings settings,
+            final Checkpoint checkpoint) {
         this.problem = problem;
         this.settings = settings;
+        this.checkpoint = checkpoint;
 
         try {
             DifferentialEvolutionResult result = optimizeCore();
 
             return result;
         } catch (final RuntimeException re) {
-            // centralized exception handling.
-            switch (settings.getExceptionBehavior()) {
-                case TERMINATE:
-                    return createResult(new ExceptionEncountered(re));
-                case PROPOGATE:
-                default:
-                    throw new RuntimeException(re);
-            }
+            return createResult(getTerminationReason(re));
+        }
+    }
+
+    /**
+     * Handle an exception thrown by the optimization, as the exception
+     * behavior of the settings dictates.
+     * 
+     * @param re The exception.
+     * @return The termination reason, if the optimization should terminate.
+     * @throws RuntimeException Wrapping the exception, if it should be
+     *         propagated.
+     */
+    TerminationReason getTerminationReason(final RuntimeException re) {
+        // centralized exception handling.
+        switch (settings.getExceptionBehavior()) {
+            case TERMINATE:
+                return new ExceptionEncountered(re);
+            case PROPOGATE:
+            default:
+                throw new RuntimeException(re);
         }
     }
 
+    /**
+     * Get the generations of the specified problem, one at a time, using the
+     * settings.
+     * <p>
+     * Nothing is computed until the first generation is asked for.
+     * 
+     * @param problem The problem.
+     * @param settings The settings.
+     * @param stepExecutor The executor that runs each step; it must run the
+     *        step to completion before returning.
+     * @return The generations.
+     */
+    public GenerationIterator getGenerations(final DifferentialEvolutionProblem problem, final DifferentialEvolutionSettings settings,
+            final Executor stepExecutor) {
+        return new EngineGenerationIterator(this, problem, settings, stepExecutor);
+    }
+
     /**
      * Core optimization method.
      * 
      * @return The result.
      */
     private DifferentialEvolutionResult optimizeCore() {
+        start(false);
+
+        TerminationReason terminationReason = iterateUntilTermination();
+
+        // let the iteration strategy settle any outstanding work.
+        finish();
+
+        return createResult(terminationReason);
+    }
+
+    /**
+     * Start stepping through the optimization of the specified problem, using
+     * the settings.
+     * 
+     * @param problem The problem.
+     * @param settings The settings.
+     * @return The snapshot of the initial generation.
+     */
+    GenerationSnapshot startStepping(final DifferentialEvolutionProblem problem, final DifferentialEvolutionSettings settings) {
+        this.problem = problem;
+        this.settings = settings;
+        this.checkpoint = null;
+
+        return start(true);
+    }
+
+    /**
+     * Start optimizing: set everything up, and then initialize the current
+     * pool, or restore it from the checkpoint.
+     * 
+     * @param stepping Are we stepping through the optimization?
+     * @return The snapshot of the initial generation; or <code>null</code> if
+     *         nobody wants one.
+     */
+    private GenerationSnapshot start(final boolean stepping) {
+        if (setUp(stepping)) {
+            // picked up where we left off.
+            return null;
+        }
+
+        // initialize the current pool.
+        initialization.initialize(this);
+
+        return completeGeneration();
+    }
+
+    /**
+     * Open an optimization of the specified problem, using the settings, that
+     * is driven from outside: set everything up, but leave the current pool
+     * empty for the caller to initialize, unless there is a checkpoint from
+     * which to restore it.
+     * 
+     * @param problem The problem.
+     * @param settings The settings.
+     * @param checkpoint The checkpoint; or <code>null</code> to start afresh.
+     * @return <code>true</code> if the pool was restored from the checkpoint;
+     *         and <code>false</code> if it must be initialized.
+     * @throws IllegalArgumentException If the checkpoint does not match the
+     *         dimension of the problem or the pool size of the settings.
+     */
+    boolean open(final DifferentialEvolutionProblem problem, final DifferentialEvolutionSettings settings, final Checkpoint checkpoint) {
+        this.problem = problem;
+        this.settings = settings;
+        this.checkpoint = checkpoint;
+
+        if (checkpoint != null) {
+            checkCheckpoint(checkpoint, problem, settings);
+            this.settings = getResumeSettings(checkpoint, settings);
+        }
+
+        return setUp(false);
+    }
+
+    /**
+     * Set everything up, and create the current pool, restoring it from the
+     * checkpoint if there is one.
+     * 
+     * @param stepping Are we stepping through the optimization?
+     * @return <code>true</code> if the pool was restored from the checkpoint;
+     *         and <code>false</code> if it must be initialized.
+     */
+    private boolean setUp(final boolean stepping) {
         // and... we're off!
         startTimeInNanos = System.nanoTime();
         currentGeneration = 0;
 
-        // build suitable pool lock.
+        // build suitable pool lock, timing it if need be.
+        Metrics metrics = settings.getMetrics();
         poolLock = poolLockCreation.create(settings);
+        if (metrics.isEnabled()) {
+            poolLock = new TimedPoolLock(poolLock, metrics);
+        }
 
-        // initialize the current pool.
-        currentPool = createPool();
-        initialization.initialize(this);
-        currentGeneration += 1;
+        // and scratch space for each worker.
+        int dimension = problem.getDimension();
+        childBuffers = ThreadLocal.withInitial(() -> new ChildBuffers(dimension));
+
+        // pick out the criteria that can stop a generation part way through.
+        perCandidateCriteria = GenerationControl.getPerCandidateCriteria(problem);
+        midGenerationTerminationReason.set(null);
+        replacements.reset();
+        snapshotting = stepping || settings.getGenerationListener().isEnabled();
+
+        currentPool = GenerationControl.createPool(settings, getDimension());
+        if (checkpoint != null) {
+            // pick up where we left off.
+            restore();
+            return true;
+        }
 
+        return false;
+    }
+
+    /**
+     * Iterate until we hit a termination condition.
+     * 
+     * @return The termination reason.
+     */
+    private TerminationReason iterateUntilTermination() {
         while (true) {
-            // check for termination (convergence, etc.).
-            for (TerminationCriterion criterion : problem.getTerminationCriteria()) {
-                if (criterion.isMet(this)) {
-                    return createResult(new TerminationCriterionMet(criterion));
-                }
+            TerminationReason terminationReason = getTerminationReason();
+            if (terminationReason != null) {
+                return terminationReason;
             }
 
-            if (currentGeneration >= getMaximumGeneration()) {
-                return createResult(new MaximumGenerationReached(getMaximumGeneration()));
-            }
+            iterateOnce();
+        }
+    }
 
-            // perform one iteration.
-            nextPool = createNextPool();
-            iteration.iterate(this, childGeneration);
-            currentPool = nextPool;
-            currentGeneration += 1;
+    /**
+     * Check for termination before the next generation.
+     * 
+     * @return The termination reason; or <code>null</code> if we should carry
+     *         on.
+     */
+    TerminationReason getTerminationReason() {
+        // the previous generation may have been cut short.
+        TerminationReason terminationReason = midGenerationTerminationReason.get();
+        if (terminationReason != null) {
+            return terminationReason;
         }
+
+        return GenerationControl.getTerminationReason(this);
+    }
+
+    /**
+     * Perform one iteration.
+     * 
+     * @return The snapshot of the generation; or <code>null</code> if nobody
+     *         wants one.
+     */
+    GenerationSnapshot iterateOnce() {
+        beginGeneration();
+        iteration.iterate(this, childGeneration);
+
+        return endGeneration();
+    }
+
+    /**
+     * Begin the next generation, creating the pool into which it goes.
+     */
+    void beginGeneration() {
+        nextPool = GenerationControl.createNextPool(this);
+    }
+
+    /**
+     * End the current generation, which is complete, making the next pool
+     * current.
+     * 
+     * @return The snapshot of the generation; or <code>null</code> if nobody
+     *         wants one.
+     */
+    GenerationSnapshot endGeneration() {
+        currentPool = nextPool;
+
+        return completeGeneration();
     }
 
     /**
-     * Create a virgin pool.
+     * Finish the optimization, letting the iteration strategy settle any
+     * outstanding work.
+     */
+    void finish() {
+        iteration.finish(this);
+    }
+
+    /**
+     * Wrap up the current generation, which is complete, and move on to the
+     * next.
      * 
-     * @return A new pool.
+     * @return The snapshot of the generation; or <code>null</code> if nobody
+     *         wants one.
+     */
+    GenerationSnapshot completeGeneration() {
+        settings.getMetrics().generationCompleted(currentGeneration);
+
+        GenerationSnapshot snapshot = null;
+        if (snapshotting) {
+            snapshot = GenerationReporting.createSnapshot(this, (int) replacements.sumThenReset());
+            GenerationReporting.generationCompleted(this, snapshot);
+        }
+
+        currentGeneration += 1;
+        saveCheckpointIfDue();
+
+        return snapshot;
+    }
+
+    /**
+     * Restore the current pool, generation and time taken from the checkpoint.
+     */
+    private void restore() {
+        startTimeInNanos -= checkpoint.getTimeTakenInNanos();
+        currentGeneration = checkpoint.getGeneration();
+
+        int size = checkpoint.getCandidatePoolSize();
+        for (int index = 0; index < size; index++) {
+            currentPool.setCandidate(index, checkpoint.getCandidate(index));
+        }
+    }
+
+    /**
+     * Save a checkpoint of the current pool, if one is due.
+     * <p>
+     * A checkpoint that cannot be saved is reported to the checkpointer, and
+     * the optimization carries on regardless.
      */
-    private WritableCandidatePool createPool() {
+    private void saveCheckpointIfDue() {
+        Checkpointer checkpointer = settings.getCheckpointer();
+        if (!checkpointer.isEnabled() || !checkpointer.isDue(currentGeneration)) {
+            return;
+        }
+
+        Checkpoint checkpoint = createCheckpoint();
+        try {
+            checkpointer.save(checkpoint);
+        } catch (final IOException ioe) {
+            checkpointer.saveFailed(checkpoint, ioe);
+        }
+    }
+
+    /**
+     * Create a checkpoint of the current pool.
+     * 
+     * @return The checkpoint.
+     */
+    private Checkpoint createCheckpoint() {
         int size = settings.getCandidatePoolSize();
-        ArrayCandidatePool pool = new ArrayCandidatePool(size);
+        Candidate[] candidates = new Candidate[size];
+
+        // some iteration strategies leave work in flight between generations.
+        poolLock.read(PoolType.CURRENT, () -> {
+            for (int index = 0; index < size; index++) {
+                candidates[index] = currentPool.getCandidate(index);
+            }
+        });
 
-        return pool;
+        RandomSource randomSource = settings.getRandomSource();
+        OptionalLong randomSeed = OptionalLong.empty();
+        if (randomSource instanceof CounterRandomSource) {
+            randomSeed = OptionalLong.of(((CounterRandomSource) randomSource).getSeed());
+        }
+
+        return new Checkpoint(getDimension(), currentGeneration, getTimeTaken().getValue(TimeUnit.NANOSECONDS), randomSeed, candidates);
     }
 
     /**
@@ -210,7 +589,7 @@ public final class DifferentialEvolutionEngine implements DifferentialEvolutionR
      * @param terminationReason The termination reason.
      * @return A result.
      */
-    private DifferentialEvolutionResult createResult(final TerminationReason terminationReason) {
+    DifferentialEvolutionResult createResult(final TerminationReason terminationReason) {
         Candidate bestCandidate = getBestCandidate();
         TimeLength timeTaken = getTimeTaken();
 
@@ -222,22 +601,6 @@ public final class DifferentialEvolutionEngine implements DifferentialEvolutionR
         return result;
     }
 
-    /**
-     * Create the next pool.
-     * 
-     * @return The next pool.
-     */
-    private WritableCandidatePool createNextPool() {
-        switch (settings.getPoolReplacement()) {
-            case AFTER:
-                return createPool();
-            case IMMEDIATELY:
-                return currentPool;
-            default:
-                throw new IllegalArgumentException("poolReplacement");
-        }
-    }
-
     /**
      * @see com.chupacadabra.evolution.engine.DifferentialEvolutionReceiver#getCurrentPool()
      */
@@ -278,6 +641,67 @@ public final class DifferentialEvolutionEngine implements DifferentialEvolutionR
         return poolLock;
     }
 
+    /**
+     * @see com.chupacadabra.evolution.engine.DifferentialEvolutionReceiver#acquireChildBuffers()
+     */
+    @Override
+    public ChildBuffers acquireChildBuffers() {
+        ChildBuffers buffers = childBuffers.get();
+        if (buffers.isAcquired()) {
+            // the buffers of this thread are already in use, e.g. because a
+            // user function joined a fork-join task and this worker stole
+            // another child while waiting. Hand out private buffers instead.
+            buffers = new ChildBuffers(getDimension());
+        }
+
+        buffers.setAcquired(true);
+
+        return buffers;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.engine.DifferentialEvolutionReceiver#releaseChildBuffers(com.chupacadabra.evolution.engine.ChildBuffers)
+     */
+    @Override
+    public void releaseChildBuffers(final ChildBuffers buffers) {
+        buffers.setAcquired(false);
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.engine.DifferentialEvolutionReceiver#candidateAccepted(int)
+     */
+    @Override
+    public void candidateAccepted(final int index) {
+        if (isTerminating()) {
+            // no need to look again.
+            return;
+        }
+
+        TerminationReason terminationReason = GenerationControl.getTerminationReason(this, perCandidateCriteria);
+        if (terminationReason != null) {
+            // first one wins.
+            midGenerationTerminationReason.compareAndSet(null, terminationReason);
+        }
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.engine.DifferentialEvolutionReceiver#parentReplaced(int)
+     */
+    @Override
+    public void parentReplaced(final int index) {
+        if (snapshotting) {
+            replacements.increment();
+        }
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.engine.DifferentialEvolutionReceiver#isTerminating()
+     */
+    @Override
+    public boolean isTerminating() {
+        return midGenerationTerminationReason.get() != null;
+    }
+
     // implementation of the state interface.
 
     /**
@@ -293,8 +717,15 @@ public final class DifferentialEvolutionEngine implements DifferentialEvolutionR
      */
     @Override
     public Candidate getBestCandidate() {
-        // we actually don't need to lock here!
-        return currentPool.getBestCandidate();
+        return GenerationControl.getBestCandidate(this);
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.DifferentialEvolutionState#getBestFitness()
+     */
+    @Override
+    public double getBestFitness() {
+        return GenerationControl.getBestFitness(this);
     }
 
     /**
@@ -68,4 +68,57 @@ public interface DifferentialEvolutionReceiver extends DifferentialEvolutionStat
      */
     public PoolLock getPoolLock();
 
+    /**
+     * Acquire scratch buffers for generating a child in the calling thread.
+     * <p>
+     * The buffers must be {@linkplain #releaseChildBuffers(ChildBuffers)
+     * released} once the child has been generated.
+     * 
+     * @return The buffers.
+     */
+    public ChildBuffers acquireChildBuffers();
+
+    /**
+     * Release the specified scratch buffers.
+     * 
+     * @param buffers The buffers.
+     */
+    public void releaseChildBuffers(ChildBuffers buffers);
+
+    /**
+     * Note that a candidate has been accepted into the next pool.
+     * <p>
+     * This gives the receiver a chance to check its termination criteria in
+     * the middle of a generation. The default implementation does nothing.
+     * 
+     * @param index The index of the candidate.
+     */
+    public default void candidateAccepted(final int index) {
+    }
+
+    /**
+     * Note that a parent has been replaced by one of its children.
+     * <p>
+     * This lets the receiver work out the acceptance rate of each generation.
+     * The default implementation does nothing.
+     * 
+     * @param index The index of the parent.
+     */
+    public default void parentReplaced(final int index) {
+    }
+
+    /**
+     * Is the optimization terminating part way through a generation?
+     * <p>
+     * Once this returns <code>true</code>, any children not yet generated
+     * should be abandoned, leaving their parents to carry over. The default
+     * implementation returns <code>false</code>.
+     * 
+     * @return <code>true</code> if terminating; and <code>false</code>
+     *         otherwise.
+     */
+    public default boolean isTerminating() {
+        return false;
+    }
+
 }
\ No newline at end of file
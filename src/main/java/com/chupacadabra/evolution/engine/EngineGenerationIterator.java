@@ -0,0 +1,188 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.engine;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.Executor;
+
+import com.chupacadabra.evolution.DifferentialEvolutionProblem;
+import com.chupacadabra.evolution.DifferentialEvolutionResult;
+import com.chupacadabra.evolution.DifferentialEvolutionSettings;
+import com.chupacadabra.evolution.ExceptionEncountered;
+import com.chupacadabra.evolution.GenerationIterator;
+import com.chupacadabra.evolution.TerminationReason;
+import com.chupacadabra.evolution.listener.GenerationSnapshot;
+
+/**
+ * Steps an engine through an optimization, one generation per call to
+ * {@link #next()}.
+ */
+final class EngineGenerationIterator implements GenerationIterator {
+
+    /**
+     * The engine.
+     */
+    private final DifferentialEvolutionEngine engine;
+
+    /**
+     * The problem.
+     */
+    private final DifferentialEvolutionProblem problem;
+
+    /**
+     * The settings.
+     */
+    private final DifferentialEvolutionSettings settings;
+
+    /**
+     * The executor that runs each step.
+     */
+    private final Executor stepExecutor;
+
+    /**
+     * Have we run the initialization yet?
+     */
+    private boolean started;
+
+    /**
+     * Have we checked for termination since the last generation?
+     */
+    private boolean checked;
+
+    /**
+     * Have we been closed?
+     */
+    private boolean closed;
+
+    /**
+     * The termination reason; or <code>null</code> if not yet terminated.
+     */
+    private TerminationReason terminationReason;
+
+    /**
+     * The snapshot of the last step.
+     */
+    private GenerationSnapshot snapshot;
+
+    /**
+     * Constructor.
+     * 
+     * @param engine The engine.
+     * @param problem The problem.
+     * @param settings The settings.
+     * @param stepExecutor The executor that runs each step; it must run the
+     *        step to completion before returning.
+     */
+    EngineGenerationIterator(final DifferentialEvolutionEngine engine, final DifferentialEvolutionProblem problem,
+            final DifferentialEvolutionSettings settings, final Executor stepExecutor) {
+        // store the magic.
+        this.engine = engine;
+        this.problem = problem;
+        this.settings = settings;
+        this.stepExecutor = stepExecutor;
+    }
+
+    /**
+     * @see java.util.Iterator#hasNext()
+     */
+    @Override
+    public boolean hasNext() {
+        if (closed || (terminationReason != null)) {
+            return false;
+        }
+
+        if (!started || checked) {
+            // the initialization always runs.
+            return true;
+        }
+
+        checked = true;
+        TerminationReason reason = engine.getTerminationReason();
+        if (reason == null) {
+            return true;
+        }
+
+        // let the iteration strategy settle any outstanding work.
+        terminationReason = reason;
+        stepExecutor.execute(engine::finish);
+
+        return false;
+    }
+
+    /**
+     * @see java.util.Iterator#next()
+     */
+    @Override
+    public GenerationSnapshot next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        try {
+            if (started) {
+                stepExecutor.execute(() -> snapshot = engine.iterateOnce());
+            } else {
+                started = true;
+                stepExecutor.execute(() -> snapshot = engine.startStepping(problem, settings));
+            }
+        } catch (final RuntimeException re) {
+            // there's nothing sensible to return, so always propagate. the
+            // iteration strategies have already settled their work.
+            terminationReason = new ExceptionEncountered(re);
+            throw re;
+        }
+
+        checked = false;
+
+        return snapshot;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.GenerationIterator#getResult()
+     */
+    @Override
+    public DifferentialEvolutionResult getResult() {
+        if (!started) {
+            throw new IllegalStateException("not started");
+        }
+
+        return engine.createResult(terminationReason);
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.GenerationIterator#close()
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        if (started && (terminationReason == null)) {
+            stepExecutor.execute(engine::finish);
+        }
+    }
+
+}
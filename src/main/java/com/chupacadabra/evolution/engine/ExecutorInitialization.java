@@ -0,0 +1,83 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.engine;
+
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+
+/**
+ * Initialization on an executor.
+ * <p>
+ * Each index of the pool is initialized in a separate task; this method returns
+ * once all of them have completed.
+ */
+public final class ExecutorInitialization implements Initialization {
+
+    /**
+     * The executor.
+     */
+    private final Executor executor;
+
+    /**
+     * Constructor.
+     * 
+     * @param executor The executor on which to initialize each index.
+     */
+    public ExecutorInitialization(final Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.engine.Initialization#initialize(com.chupacadabra.evolution.engine.DifferentialEvolutionReceiver)
+     */
+    @Override
+    public void initialize(final DifferentialEvolutionReceiver receiver) {
+        CompletionService<Void> completionService = new ExecutorCompletionService<>(executor);
+        int size = receiver.getSettings().getCandidatePoolSize();
+
+        for (int index = 0; index < size; index++) {
+            InitializeIndexAction initializeCommand = new InitializeIndexAction(receiver, index);
+            completionService.submit(initializeCommand, null);
+        }
+
+        // wait for all of them, remembering the first failure.
+        RuntimeException failure = null;
+        for (int index = 0; index < size; index++) {
+            try {
+                ManagedCompletion.take(completionService).get();
+            } catch (final InterruptedException | ExecutionException e) {
+                if (failure == null) {
+                    failure = new RuntimeException(e);
+                }
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+}
@@ -23,44 +23,49 @@
  */
 package com.chupacadabra.evolution.engine;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinTask;
 
 import com.chupacadabra.evolution.Candidate;
-import com.chupacadabra.evolution.ForkJoinDifferentialEvolutionOptimizerConfiguration;
 
 /**
  * Fork-join based child generation.
+ * <p>
+ * Each child is generated in its own task, which knows its child number. This
+ * way, the children draw from the same
+ * {@linkplain com.chupacadabra.evolution.RandomSource#substream(int, int, int)
+ * random streams} as they would serially, and come back in the same order.
  */
 public final class ForkJoinChildGeneration implements ChildGeneration {
 
-    /**
-     * The configuration.
-     */
-    private final ForkJoinDifferentialEvolutionOptimizerConfiguration configuration;
-
-    /**
-     * Constructor.
-     * 
-     * @param configuration The configuration.
-     */
-    public ForkJoinChildGeneration(ForkJoinDifferentialEvolutionOptimizerConfiguration configuration) {
-        this.configuration = configuration;
-    }
-
     /**
      * @see com.chupacadabra.evolution.engine.ChildGeneration#generate(com.chupacadabra.evolution.engine.DifferentialEvolutionReceiver,
      *      int, com.chupacadabra.evolution.Candidate)
      */
     @Override
     public List<Candidate> generate(final DifferentialEvolutionReceiver receiver, final int index, final Candidate parent) {
-        // construct a core fork-join task.
         int count = receiver.getSettings().getChildrenPerCandidate();
-        ForkJoinChildGenerationRecursiveTask task = new ForkJoinChildGenerationRecursiveTask(configuration, receiver, 0, count, index, parent);
 
-        // and execute it, knowing that we're already inside a fork-join pool.
-        List<Candidate> candidates = task.invoke();
+        // construct a task for each child.
+        List<GenerateChildRecursiveTask> tasks = new ArrayList<GenerateChildRecursiveTask>(count);
+        for (int jindex = 0; jindex < count; jindex++) {
+            tasks.add(new GenerateChildRecursiveTask(receiver, index, parent, jindex));
+        }
+
+        // and execute them, knowing that we're already inside a fork-join
+        // pool.
+        ForkJoinTask.invokeAll(tasks);
+
+        List<Candidate> children = new ArrayList<Candidate>(count);
+        for (GenerateChildRecursiveTask task : tasks) {
+            Candidate child = task.join();
+            if (child != null) {
+                children.add(child);
+            }
+        }
 
-        return candidates;
+        return children;
     }
 
 }
@@ -52,17 +52,24 @@ public class GenerateChildRecursiveTask extends RecursiveTask<Candidate> {
      */
     private final Candidate parent;
 
+    /**
+     * The child number.
+     */
+    private final int child;
+
     /**
      * Constructor.
      * 
      * @param optimizer The command receiver.
      * @param index The index.
      * @param parent The parent.
+     * @param child The child number.
      */
-    public GenerateChildRecursiveTask(final DifferentialEvolutionReceiver optimizer, final int index, final Candidate parent) {
+    public GenerateChildRecursiveTask(final DifferentialEvolutionReceiver optimizer, final int index, final Candidate parent, final int child) {
         this.optimizer = optimizer;
         this.index = index;
         this.parent = parent;
+        this.child = child;
     }
 
     /**
@@ -70,7 +77,7 @@ public class GenerateChildRecursiveTask extends RecursiveTask<Candidate> {
      */
     @Override
     protected Candidate compute() {
-        GenerateChildTask task = new GenerateChildTask(optimizer, index, parent);
+        GenerateChildTask task = new GenerateChildTask(optimizer, index, parent, child);
         Candidate child = task.call();
 
         return child;
@@ -35,6 +35,8 @@ import com.chupacadabra.evolution.FitnessFunction;
 import com.chupacadabra.evolution.RandomSource;
 import com.chupacadabra.evolution.RecombinationPolicy;
 import com.chupacadabra.evolution.ViolationFunction;
+import com.chupacadabra.evolution.metrics.Metrics;
+import com.chupacadabra.evolution.metrics.Phase;
 import com.chupacadabra.evolution.pool.CandidatePool;
 
 /**
@@ -57,17 +59,31 @@ public final class GenerateChildTask implements Callable<Candidate> {
      */
     private final Candidate parent;
 
+    /**
+     * The generation.
+     */
+    private final int generation;
+
+    /**
+     * The random stream of this child.
+     */
+    private final int stream;
+
     /**
      * Constructor.
      * 
      * @param optimizer The receiver.
      * @param index The parent index.
      * @param parent The parent candidate.
+     * @param child The number of the child of the parent, used to select the
+     *        {@linkplain RandomSource#substream(int, int, int) random stream}.
      */
-    public GenerateChildTask(final DifferentialEvolutionReceiver optimizer, final int index, final Candidate parent) {
+    public GenerateChildTask(final DifferentialEvolutionReceiver optimizer, final int index, final Candidate parent, final int child) {
         this.optimizer = optimizer;
         this.index = index;
         this.parent = parent;
+        this.generation = optimizer.getGeneration();
+        this.stream = child;
     }
 
     /**
@@ -75,68 +91,124 @@ public final class GenerateChildTask implements Callable<Candidate> {
      */
     @Override
     public Candidate call() {
-        // grab parent and trial parameters.
-        double[] parentParameters = parent.getParameters();
-        double[] trialParameters = generateTrial();
+        if (optimizer.isTerminating()) {
+            // the optimization is stopping, so abandon this child.
+            return null;
+        }
 
-        // perform recombination to get child parameters.
-        DifferentialEvolutionSettings settings = optimizer.getSettings();
-        RandomSource randomSource = settings.getRandomSource();
-        RecombinationPolicy recombinationPolicy = settings.getRecombinationPolicy();
-        double[] child = recombinationPolicy.recombine(optimizer, randomSource, parentParameters, trialParameters);
+        ChildBuffers buffers = optimizer.acquireChildBuffers();
+        try {
+            double[] child = buffers.getChild();
+            generateChildParameters(buffers, child);
+
+            // classify the child parameters.
+            Metrics metrics = optimizer.getSettings().getMetrics();
+            long time = PhaseTiming.start(metrics);
+            DifferentialEvolutionProblem problem = optimizer.getProblem();
+            FeasibilityFunction feasibilityFunction = problem.getFeasibilityFunction();
+            FeasibilityType feasibility = feasibilityFunction.getFeasibilityType(child);
+            time = PhaseTiming.lap(metrics, Phase.FEASIBILITY, time);
+
+            if (feasibility == FeasibilityType.INFEASIBLE) {
+                // we can short-circuit fitness calculation.
+                metrics.recordInfeasibleChild();
+                return null;
+            }
+
+            // measure fitness of child parameters.
+            FitnessFunction fitnessFunction = problem.getFitnessFunction();
+            double childFitness = fitnessFunction.getFitness(child);
+            time = PhaseTiming.lap(metrics, Phase.FITNESS, time);
+
+            // note that the candidate takes its own copy of the child buffer.
+            switch (feasibility) {
+                case FEASIBLE:
+                    return Candidate.feasible(child, childFitness);
+                case VIOLATING:
+                    // in this case we also have to measure the violation.
+                    ViolationFunction violationFunction = problem.getViolationFunction();
+                    double violation = violationFunction.getViolation(child);
+                    PhaseTiming.lap(metrics, Phase.VIOLATION, time);
+
+                    return Candidate.violating(child, childFitness, violation);
+                case INFEASIBLE:
+                default:
+                    // impossible.
+                    throw new InternalError();
+            }
+        } finally {
+            optimizer.releaseChildBuffers(buffers);
+        }
+    }
 
-        // classify the child parameters.
-        DifferentialEvolutionProblem problem = optimizer.getProblem();
-        FeasibilityFunction feasibilityFunction = problem.getFeasibilityFunction();
-        FeasibilityType feasibility = feasibilityFunction.getFeasibilityType(child);
+    /**
+     * Generate child parameters using differentiation and recombination.
+     * <p>
+     * The child parameters are neither classified nor measured; this allows
+     * callers to defer fitness measurement, <i>e.g.</i> to evaluate several
+     * children at once.
+     * 
+     * @return Child parameters.
+     */
+    public double[] generateChildParameters() {
+        ChildBuffers buffers = optimizer.acquireChildBuffers();
+        try {
+            double[] child = new double[optimizer.getDimension()];
+            generateChildParameters(buffers, child);
 
-        if (feasibility == FeasibilityType.INFEASIBLE) {
-            // we can short-circuit fitness calculation.
-            return null;
+            return child;
+        } finally {
+            optimizer.releaseChildBuffers(buffers);
         }
+    }
 
-        // measure fitness of child parameters.
-        FitnessFunction fitnessFunction = problem.getFitnessFunction();
-        double childFitness = fitnessFunction.getFitness(child);
-
-        switch (feasibility) {
-            case FEASIBLE:
-                return Candidate.feasible(child, childFitness);
-            case VIOLATING:
-                // in this case we also have to measure the violation.
-                ViolationFunction violationFunction = problem.getViolationFunction();
-                double violation = violationFunction.getViolation(child);
-
-                return Candidate.violating(child, childFitness, violation);
-            case INFEASIBLE:
-            default:
-                // impossible.
-                throw new InternalError();
-        }
+    /**
+     * Generate child parameters into the specified vector.
+     * 
+     * @param buffers Scratch buffers for the parent and trial parameters.
+     * @param child The vector in which to store the child parameters.
+     */
+    private void generateChildParameters(final ChildBuffers buffers, final double[] child) {
+        DifferentialEvolutionSettings settings = optimizer.getSettings();
+        Metrics metrics = settings.getMetrics();
+        long time = PhaseTiming.start(metrics);
+
+        // re-key the substream of the last child these buffers were used for.
+        RandomSource randomSource = settings.getRandomSource().substream(generation, index, stream, buffers.getRandomSource());
+        buffers.setRandomSource(randomSource);
+
+        // grab parent and trial parameters.
+        double[] parentParameters = buffers.getParent();
+        parent.copyParameters(parentParameters);
+
+        double[] trialParameters = buffers.getTrial();
+        generateTrial(randomSource, trialParameters);
+        time = PhaseTiming.lap(metrics, Phase.DIFFERENTIATION, time);
+
+        // perform recombination to get child parameters.
+        RecombinationPolicy recombinationPolicy = settings.getRecombinationPolicy();
+        recombinationPolicy.recombine(optimizer, randomSource, parentParameters, trialParameters, child);
+        PhaseTiming.lap(metrics, Phase.RECOMBINATION, time);
     }
 
     /**
      * Generate trial parameters using differentiation.
      * 
-     * @return Trial parameters.
+     * @param randomSource The source of randomness for this child.
+     * @param trialParameters The vector in which to store the trial
+     *        parameters.
      */
-    private double[] generateTrial() {
+    private void generateTrial(final RandomSource randomSource, final double[] trialParameters) {
         DifferentialEvolutionSettings settings = optimizer.getSettings();
-        RandomSource randomSource = settings.getRandomSource();
         DifferentiationPolicy diffentiationPolicy = settings.getDifferentiationPolicy();
         CandidatePool currentPool = optimizer.getCurrentPool();
 
         // read-lock the pool while we differentiate. This way, the
         // differentiation policy can make several calls to the pool knowing
-        // that the state won't change.
-        optimizer.getPoolLock().lock(PoolType.CURRENT, LockType.READ);
-        try {
-            double[] trialParameters = diffentiationPolicy.differentiate(optimizer, randomSource, index, currentPool);
-
-            return trialParameters;
-        } finally {
-            optimizer.getPoolLock().unlock(PoolType.CURRENT, LockType.READ);
-        }
+        // that the state won't change. an optimistic lock instead repeats the
+        // differentiation if a writer got in the way.
+        optimizer.getPoolLock().read(PoolType.CURRENT,
+                () -> diffentiationPolicy.differentiate(optimizer, randomSource, index, currentPool, trialParameters));
     }
 
 }
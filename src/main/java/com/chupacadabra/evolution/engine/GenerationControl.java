@@ -0,0 +1,233 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.chupacadabra.evolution.Candidate;
+import com.chupacadabra.evolution.DifferentialEvolutionProblem;
+import com.chupacadabra.evolution.DifferentialEvolutionSettings;
+import com.chupacadabra.evolution.MaximumGenerationReached;
+import com.chupacadabra.evolution.PoolLocking;
+import com.chupacadabra.evolution.TerminationCriterion;
+import com.chupacadabra.evolution.TerminationCriterionMet;
+import com.chupacadabra.evolution.TerminationReason;
+import com.chupacadabra.evolution.pool.ArrayCandidatePool;
+import com.chupacadabra.evolution.pool.AtomicCandidatePool;
+import com.chupacadabra.evolution.pool.CandidatePool;
+import com.chupacadabra.evolution.pool.FlatCandidatePool;
+import com.chupacadabra.evolution.pool.WritableCandidatePool;
+
+/**
+ * Generation control utility class.
+ * <p>
+ * Pool creation and termination checks shared by the
+ * {@linkplain DifferentialEvolutionEngine core engine} and the
+ * {@linkplain SessionEngine session engine}.
+ * <p>
+ * This class is stateless - and hence safe for use by multiple threads - and
+ * cannot be instantiated.
+ */
+final class GenerationControl {
+
+    /**
+     * Create a virgin pool.
+     * 
+     * @param settings The settings.
+     * @param dimension The dimension of the problem.
+     * @return A new pool.
+     */
+    static WritableCandidatePool createPool(final DifferentialEvolutionSettings settings, final int dimension) {
+        int size = settings.getCandidatePoolSize();
+
+        if (settings.getPoolLocking() == PoolLocking.ATOMIC) {
+            return new AtomicCandidatePool(size);
+        }
+
+        switch (settings.getPoolStorage()) {
+            case CANDIDATES:
+                return new ArrayCandidatePool(size);
+            case FLAT:
+                return new FlatCandidatePool(size, dimension);
+            default:
+                throw new IllegalArgumentException("poolStorage");
+        }
+    }
+
+    /**
+     * Create the next pool.
+     * 
+     * @param receiver The receiver.
+     * @return The next pool.
+     */
+    static WritableCandidatePool createNextPool(final DifferentialEvolutionReceiver receiver) {
+        switch (receiver.getSettings().getPoolReplacement()) {
+            case AFTER:
+                return createPool(receiver.getSettings(), receiver.getDimension());
+            case IMMEDIATELY:
+                return receiver.getCurrentPool();
+            default:
+                throw new IllegalArgumentException("poolReplacement");
+        }
+    }
+
+    /**
+     * Check for termination between generations.
+     * 
+     * @param receiver The receiver.
+     * @return The termination reason; or <code>null</code> if we should carry
+     *         on.
+     */
+    static TerminationReason getTerminationReason(final DifferentialEvolutionReceiver receiver) {
+        // check for termination (convergence, etc.).
+        TerminationReason terminationReason = getTerminationReason(receiver, receiver.getProblem().getTerminationCriteria());
+        if (terminationReason != null) {
+            return terminationReason;
+        }
+
+        int maximumGeneration = receiver.getMaximumGeneration();
+        if (receiver.getGeneration() >= maximumGeneration) {
+            return new MaximumGenerationReached(maximumGeneration);
+        }
+
+        return null;
+    }
+
+    /**
+     * Check the specified criteria for termination.
+     * 
+     * @param receiver The receiver.
+     * @param criteria The criteria.
+     * @return The termination reason of the first criterion met; or
+     *         <code>null</code> if none is.
+     */
+    static TerminationReason getTerminationReason(final DifferentialEvolutionReceiver receiver, final List<TerminationCriterion> criteria) {
+        for (TerminationCriterion criterion : criteria) {
+            if (criterion.isMet(receiver)) {
+                return new TerminationCriterionMet(criterion);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Get the termination criteria that should be checked as each candidate
+     * is accepted.
+     * 
+     * @param problem The problem.
+     * @return The criteria.
+     */
+    static List<TerminationCriterion> getPerCandidateCriteria(final DifferentialEvolutionProblem problem) {
+        List<TerminationCriterion> criteria = new ArrayList<TerminationCriterion>();
+        for (TerminationCriterion criterion : problem.getTerminationCriteria()) {
+            if (criterion.isCheckedPerCandidate()) {
+                criteria.add(criterion);
+            }
+        }
+
+        return criteria;
+    }
+
+    /**
+     * Get the fitness of the best candidate found so far.
+     * <p>
+     * With {@linkplain com.chupacadabra.evolution.PoolReplacement#AFTER
+     * inter-generational} replacement, candidates accepted during a generation
+     * only land in the next pool, so it is consulted as well until the pools
+     * are swapped. No lock is taken: a candidate is only ever replaced by a
+     * better one, so a racing read sees at worst a slightly stale fitness.
+     * 
+     * @param receiver The receiver.
+     * @return The best fitness; or {@link Double#POSITIVE_INFINITY} if there
+     *         is no candidate yet.
+     */
+    static double getBestFitness(final DifferentialEvolutionReceiver receiver) {
+        double bestFitness = getBestFitness(receiver.getCurrentPool());
+
+        CandidatePool nextPool = receiver.getNextPool();
+        if ((nextPool == null) || (nextPool == receiver.getCurrentPool())) {
+            // between generations, or replacing immediately.
+            return bestFitness;
+        }
+
+        return Math.min(bestFitness, getBestFitness(nextPool));
+    }
+
+    /**
+     * Get the best candidate found so far.
+     * <p>
+     * The pools are compared as for {@link #getBestFitness(DifferentialEvolutionReceiver)};
+     * only the best candidate of the better pool is then read, under its lock,
+     * since it may be replaced while we read it.
+     * 
+     * @param receiver The receiver.
+     * @return The best candidate; or <code>null</code> if there is none yet.
+     */
+    static Candidate getBestCandidate(final DifferentialEvolutionReceiver receiver) {
+        CandidatePool currentPool = receiver.getCurrentPool();
+        CandidatePool nextPool = receiver.getNextPool();
+
+        PoolType poolType = PoolType.CURRENT;
+        CandidatePool pool = currentPool;
+        if ((nextPool != null) && (nextPool != currentPool) && (getBestFitness(nextPool) < getBestFitness(currentPool))) {
+            poolType = PoolType.NEXT;
+            pool = nextPool;
+        }
+
+        if (pool == null) {
+            return null;
+        }
+
+        CandidatePool bestPool = pool;
+        return receiver.getPoolLock().read(poolType, () -> {
+            int index = bestPool.getBestCandidateIndex();
+            return (index < 0) ? null : bestPool.getCandidate(index);
+        });
+    }
+
+    /**
+     * Get the fitness of the best candidate of the specified pool.
+     * 
+     * @param pool The pool; possibly <code>null</code>.
+     * @return The best fitness; or {@link Double#POSITIVE_INFINITY} if the
+     *         pool is missing or empty.
+     */
+    private static double getBestFitness(final CandidatePool pool) {
+        if (pool == null) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        int index = pool.getBestCandidateIndex();
+        return (index < 0) ? Double.POSITIVE_INFINITY : pool.getFitness(index);
+    }
+
+    /**
+     * Constructor.
+     */
+    private GenerationControl() {
+    }
+
+}
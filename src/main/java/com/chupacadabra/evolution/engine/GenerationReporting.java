@@ -0,0 +1,102 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.engine;
+
+import com.chupacadabra.evolution.listener.GenerationListener;
+import com.chupacadabra.evolution.listener.GenerationSnapshot;
+import com.chupacadabra.evolution.pool.CandidatePool;
+
+/**
+ * Generation reporting utility class.
+ * <p>
+ * This class is stateless - and hence safe for use by multiple threads - and
+ * cannot be instantiated.
+ */
+final class GenerationReporting {
+
+    /**
+     * Report the current generation, which has just completed, to the
+     * generation listener of the settings.
+     * <p>
+     * Nothing is built unless the listener is
+     * {@linkplain GenerationListener#isEnabled() enabled}.
+     * 
+     * @param receiver The receiver.
+     * @param replacements The number of parents replaced in the generation.
+     */
+    static void generationCompleted(final DifferentialEvolutionReceiver receiver, final int replacements) {
+        GenerationListener listener = receiver.getSettings().getGenerationListener();
+        if (!listener.isEnabled()) {
+            return;
+        }
+
+        listener.generationCompleted(createSnapshot(receiver, replacements));
+    }
+
+    /**
+     * Report a snapshot of the current generation, which has just completed,
+     * to the generation listener of the settings, if it is enabled.
+     * 
+     * @param receiver The receiver.
+     * @param snapshot The snapshot.
+     */
+    static void generationCompleted(final DifferentialEvolutionReceiver receiver, final GenerationSnapshot snapshot) {
+        GenerationListener listener = receiver.getSettings().getGenerationListener();
+        if (listener.isEnabled()) {
+            listener.generationCompleted(snapshot);
+        }
+    }
+
+    /**
+     * Create a snapshot of the current generation, which has just completed.
+     * 
+     * @param receiver The receiver.
+     * @param replacements The number of parents replaced in the generation.
+     * @return The snapshot.
+     */
+    static GenerationSnapshot createSnapshot(final DifferentialEvolutionReceiver receiver, final int replacements) {
+        return new GenerationSnapshot(receiver.getGeneration(), receiver.getTimeTaken(), getPool(receiver), replacements);
+    }
+
+    /**
+     * Get a stable, read-only view of the current pool.
+     * <p>
+     * Listeners only ever see a snapshot, never the live pool, which they
+     * could otherwise write to.
+     * 
+     * @param receiver The receiver.
+     * @return The pool.
+     */
+    private static CandidatePool getPool(final DifferentialEvolutionReceiver receiver) {
+        // some iteration strategies leave work in flight between generations.
+        return receiver.getPoolLock().read(PoolType.CURRENT, () -> receiver.getCurrentPool().snapshot());
+    }
+
+    /**
+     * Constructor.
+     */
+    private GenerationReporting() {
+    }
+
+}
@@ -30,9 +30,13 @@ import com.chupacadabra.evolution.FeasibilityType;
 import com.chupacadabra.evolution.FitnessFunction;
 import com.chupacadabra.evolution.RandomParametersFunction;
 import com.chupacadabra.evolution.RandomSource;
+import com.chupacadabra.evolution.SeedPopulation;
 
 /**
  * Core initialization action.
+ * <p>
+ * If the problem's {@linkplain SeedPopulation seed population} has a seed for
+ * the index, that seed is used in place of a random sample.
  */
 public final class InitializeIndexAction implements Runnable {
 
@@ -46,15 +50,64 @@ public final class InitializeIndexAction implements Runnable {
      */
     private final int index;
 
+    /**
+     * The random stream number.
+     */
+    private final int stream;
+
+    /**
+     * The parameters of the seed for the index; or <code>null</code> if there
+     * is no seed.
+     */
+    private final double[] seedParameters;
+
+    /**
+     * The ready-made seed candidate for the index; or <code>null</code> if
+     * there is no seed, or it has yet to be measured.
+     */
+    private final Candidate seedCandidate;
+
     /**
      * Constructor.
      * 
      * @param optimizer The optimizer.
      * @param index The index.
+     * @throws IllegalArgumentException If the seed for the index does not
+     *         match the dimension of the problem.
      */
     public InitializeIndexAction(final DifferentialEvolutionReceiver optimizer, final int index) {
+        this(optimizer, index, 0);
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param optimizer The optimizer.
+     * @param index The index.
+     * @param stream The number of the
+     *        {@linkplain RandomSource#substream(int, int, int) random stream} to
+     *        draw from.
+     * @throws IllegalArgumentException If the seed for the index does not
+     *         match the dimension of the problem.
+     */
+    public InitializeIndexAction(final DifferentialEvolutionReceiver optimizer, final int index, final int stream) {
         this.optimizer = optimizer;
         this.index = index;
+        this.stream = stream;
+
+        // look up the seed for this index, if there is one.
+        SeedPopulation seedPopulation = optimizer.getProblem().getSeedPopulation();
+        if (index < seedPopulation.size()) {
+            seedParameters = seedPopulation.getParameters(index);
+            if (seedParameters.length != optimizer.getDimension()) {
+                throw new IllegalArgumentException("seed dimension does not match problem");
+            }
+
+            seedCandidate = seedPopulation.getCandidate(index);
+        } else {
+            seedParameters = null;
+            seedCandidate = null;
+        }
     }
 
     /**
@@ -62,8 +115,12 @@ public final class InitializeIndexAction implements Runnable {
      */
     @Override
     public void run() {
-        // generate a feasible candidate.
-        Candidate candidate = generateFeasibleCandidate();
+        // use a ready-made seed if we have one; otherwise generate a feasible
+        // candidate.
+        Candidate candidate = seedCandidate;
+        if (candidate == null) {
+            candidate = generateFeasibleCandidate();
+        }
 
         optimizer.getPoolLock().lock(PoolType.CURRENT, LockType.WRITE);
         try {
@@ -80,14 +137,49 @@ public final class InitializeIndexAction implements Runnable {
      * @return A feasible candidate.
      */
     private Candidate generateFeasibleCandidate() {
+        double[] parameters = generateFeasibleParameters();
+
+        // measure the fitness of the feasible vector.
+        FitnessFunction fitnessFunction = optimizer.getProblem().getFitnessFunction();
+        double fitness = fitnessFunction.getFitness(parameters);
+        Candidate candidate = Candidate.feasible(parameters, fitness);
+
+        return candidate;
+    }
+
+    /**
+     * Get the ready-made seed candidate for this index.
+     * 
+     * @return The candidate; or <code>null</code> if there is no seed for this
+     *         index, or it has yet to be measured.
+     */
+    Candidate getSeedCandidate() {
+        return seedCandidate;
+    }
+
+    /**
+     * Generate a set of feasible parameters.
+     * <p>
+     * The parameters of the seed for this index are used if they are feasible;
+     * otherwise they are sampled at random. The parameters are not measured;
+     * this allows callers to defer fitness measurement, <i>e.g.</i> to
+     * evaluate several candidates at once.
+     * 
+     * @return Feasible parameters.
+     */
+    double[] generateFeasibleParameters() {
         // extract problem functions.
         DifferentialEvolutionProblem problem = optimizer.getProblem();
-        FitnessFunction fitnessFunction = problem.getFitnessFunction();
         RandomParametersFunction randomParametersFunction = problem.getRandomParametersFunction();
         FeasibilityFunction feasibilityFunction = problem.getFeasibilityFunction();
 
-        // and get the random source from the settings.
-        RandomSource randomSource = optimizer.getSettings().getRandomSource();
+        // try the seed first.
+        if ((seedParameters != null) && (feasibilityFunction.getFeasibilityType(seedParameters) == FeasibilityType.FEASIBLE)) {
+            return seedParameters.clone();
+        }
+
+        // and get the random source for this index from the settings.
+        RandomSource randomSource = optimizer.getSettings().getRandomSource().substream(optimizer.getGeneration(), index, stream);
 
         // we should probably think about having some kind of maximum iteration
         // count... A poorly implemented random parameter function (or a
@@ -101,12 +193,8 @@ public final class InitializeIndexAction implements Runnable {
 
             switch (feasibility) {
                 case FEASIBLE:
-                    // we found a feasible vector. Measure the fitness and
-                    // return it.
-                    double fitness = fitnessFunction.getFitness(randomParameters);
-                    Candidate candidate = Candidate.feasible(randomParameters, fitness);
-
-                    return candidate;
+                    // we found a feasible vector.
+                    return randomParameters;
                 case INFEASIBLE:
                 case VIOLATING:
                     continue generating;
@@ -31,6 +31,8 @@ import com.chupacadabra.evolution.DifferentialEvolutionSettings;
 import com.chupacadabra.evolution.DiversityPolicy;
 import com.chupacadabra.evolution.RandomSource;
 import com.chupacadabra.evolution.SelectionPolicy;
+import com.chupacadabra.evolution.metrics.Metrics;
+import com.chupacadabra.evolution.metrics.Phase;
 
 /**
  * Core iteration implementation.
@@ -95,29 +97,50 @@ public final class IterateIndexAction implements Runnable {
         List<Candidate> children = childGeneration.generate(optimizer, index, parent);
 
         if (children.isEmpty()) {
-            // all children we infeasible. Set the parent in the next pool.
+            // all children we infeasible (or abandoned). Set the parent in the
+            // next pool.
             setNextCandidate(parent);
+            optimizer.candidateAccepted(index);
             return;
         }
 
+        Metrics metrics = optimizer.getSettings().getMetrics();
+        long time = PhaseTiming.start(metrics);
+        Candidate nextCandidate = selectNextCandidate(children);
+        PhaseTiming.lap(metrics, Phase.SELECTION, time);
+
+        if (nextCandidate != parent) {
+            metrics.recordReplacement();
+            optimizer.parentReplaced(index);
+        }
+
+        setNextCandidate(nextCandidate);
+        optimizer.candidateAccepted(index);
+    }
+
+    /**
+     * Select the next candidate from the parent and its children.
+     * 
+     * @param children The children; must not be empty.
+     * @return The next candidate.
+     */
+    private Candidate selectNextCandidate(final List<Candidate> children) {
         DifferentialEvolutionSettings settings = optimizer.getSettings();
 
         // first, determine the best child.
         SelectionPolicy selectionPolicy = settings.getSelectionPolicy();
-        RandomSource randomSource = settings.getRandomSource();
+        RandomSource randomSource = settings.getRandomSource().substream(optimizer.getGeneration(), index, RandomSource.SELECTION_STREAM);
         Candidate bestChild = selectionPolicy.select(optimizer, randomSource, children);
 
         if (isParentBestCandidate()) {
             // in this case, the child can only replace the parent if it is
             // feasible and has better fitness.
             if (bestChild.isFeasible() && (bestChild.getFitness() < parent.getFitness())) {
-                setNextCandidate(bestChild);
-            } else {
-                setNextCandidate(parent);
+                return bestChild;
             }
 
             // we're done with this case
-            return;
+            return parent;
         }
 
         // check diversity policy to see if we should compare based only on
@@ -130,17 +153,14 @@ public final class IterateIndexAction implements Runnable {
             // in this case, we only check the fitness, regardless of the
             // selection policy.
             if (bestChild.getFitness() < parent.getFitness()) {
-                setNextCandidate(bestChild);
-            } else {
-                setNextCandidate(parent);
+                return bestChild;
             }
 
-            return;
+            return parent;
         }
 
         // otherwise apply the selection policy to get the next candidate.
-        Candidate bestCandidate = selectionPolicy.select(optimizer, randomSource, parent, bestChild);
-        setNextCandidate(bestCandidate);
+        return selectionPolicy.select(optimizer, randomSource, parent, bestChild);
     }
 
     /**
@@ -150,12 +170,9 @@ public final class IterateIndexAction implements Runnable {
      *         <code>false</code> otherwise.
      */
     private boolean isParentBestCandidate() {
-        optimizer.getPoolLock().lock(PoolType.CURRENT, LockType.READ);
-        try {
-            return (optimizer.getCurrentPool().getBestCandidateIndex() == index);
-        } finally {
-            optimizer.getPoolLock().unlock(PoolType.CURRENT, LockType.READ);
-        }
+        int bestIndex = optimizer.getPoolLock().read(PoolType.CURRENT,
+                () -> optimizer.getCurrentPool().getBestCandidateIndex());
+        return (bestIndex == index);
     }
 
     /**
@@ -82,12 +82,7 @@ public final class IterateIndexRecursiveAction extends RecursiveAction {
      * @return The parent.
      */
     private Candidate getParent() {
-        optimizer.getPoolLock().lock(PoolType.CURRENT, LockType.READ);
-        try {
-            return optimizer.getCurrentPool().getCandidate(index);
-        } finally {
-            optimizer.getPoolLock().unlock(PoolType.CURRENT, LockType.READ);
-        }
+        return optimizer.getPoolLock().read(PoolType.CURRENT, () -> optimizer.getCurrentPool().getCandidate(index));
     }
 
 }
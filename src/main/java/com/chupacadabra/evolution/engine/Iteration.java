@@ -36,4 +36,16 @@ public interface Iteration {
      */
     public void iterate(DifferentialEvolutionReceiver receiver, ChildGeneration childGeneration);
 
+    /**
+     * Finish iterating, once the optimization has terminated.
+     * <p>
+     * Strategies that leave work outstanding between iterations must wait for
+     * it here, so that the pool is stable by the time the result is built. The
+     * default implementation does nothing.
+     * 
+     * @param receiver The receiver.
+     */
+    public default void finish(final DifferentialEvolutionReceiver receiver) {
+    }
+
 }
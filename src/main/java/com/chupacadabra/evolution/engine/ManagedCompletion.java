@@ -0,0 +1,116 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.engine;
+
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Managed completion utility class.
+ * <p>
+ * Waiting on a completion service blocks the calling thread. If that thread is
+ * a worker of a fork-join pool - the common pool, say - and the tasks it waits
+ * for run in the same pool, the pool might otherwise have no worker left to
+ * run them. Waiting through here
+ * lets the pool make up for the blocked worker with a spare one.
+ * <p>
+ * This class is stateless - and hence safe for use by multiple threads - and
+ * cannot be instantiated.
+ */
+final class ManagedCompletion {
+
+    /**
+     * Wait for the next task of the specified completion service to complete.
+     * 
+     * @param completionService The completion service.
+     * @return The completed task.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    static <T> Future<T> take(final CompletionService<T> completionService) throws InterruptedException {
+        Taker<T> taker = new Taker<T>(completionService);
+        ForkJoinPool.managedBlock(taker);
+
+        return taker.task;
+    }
+
+    /**
+     * Blocker that takes the next completed task.
+     * 
+     * @param <T> The result type of the tasks.
+     */
+    private static final class Taker<T> implements ForkJoinPool.ManagedBlocker {
+
+        /**
+         * The completion service.
+         */
+        private final CompletionService<T> completionService;
+
+        /**
+         * The completed task; or <code>null</code> if none has been taken yet.
+         */
+        private Future<T> task;
+
+        /**
+         * Constructor.
+         * 
+         * @param completionService The completion service.
+         */
+        private Taker(final CompletionService<T> completionService) {
+            this.completionService = completionService;
+        }
+
+        /**
+         * @see java.util.concurrent.ForkJoinPool.ManagedBlocker#block()
+         */
+        @Override
+        public boolean block() throws InterruptedException {
+            if (task == null) {
+                task = completionService.take();
+            }
+
+            return true;
+        }
+
+        /**
+         * @see java.util.concurrent.ForkJoinPool.ManagedBlocker#isReleasable()
+         */
+        @Override
+        public boolean isReleasable() {
+            if (task == null) {
+                task = completionService.poll();
+            }
+
+            return (task != null);
+        }
+
+    }
+
+    /**
+     * Constructor.
+     */
+    private ManagedCompletion() {
+    }
+
+}
@@ -0,0 +1,166 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.engine;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+/**
+ * Stamped pool lock with optimistic reads.
+ * <p>
+ * Locking and unlocking go through the read and write views of the stamped
+ * locks, but {@link #read(PoolType, Supplier)} first runs the reader under an
+ * optimistic stamp. Only if the stamp fails to validate, because a writer
+ * replaced a candidate in the meantime, is the reader run again under a real
+ * read lock. Readers therefore never write to the lock's state on the
+ * uncontended path.
+ */
+final class OptimisticPoolLock implements PoolLock {
+
+    /**
+     * The current pool lock.
+     */
+    private final StampedLock currentPoolLock;
+
+    /**
+     * The next pool lock.
+     */
+    private final StampedLock nextPoolLock;
+
+    /**
+     * Constructor.
+     * 
+     * @param currentPoolLock Current pool lock.
+     * @param nextPoolLock Next pool lock.
+     */
+    OptimisticPoolLock(final StampedLock currentPoolLock, final StampedLock nextPoolLock) {
+        super();
+        this.currentPoolLock = currentPoolLock;
+        this.nextPoolLock = nextPoolLock;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.engine.PoolLock#lock(com.chupacadabra.evolution.engine.PoolType,
+     *      com.chupacadabra.evolution.engine.LockType)
+     */
+    @Override
+    public void lock(final PoolType poolType, final LockType lockType) {
+        Lock lock = getLock(poolType, lockType);
+        lock.lock();
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.engine.PoolLock#unlock(com.chupacadabra.evolution.engine.PoolType,
+     *      com.chupacadabra.evolution.engine.LockType)
+     */
+    @Override
+    public void unlock(final PoolType poolType, final LockType lockType) {
+        Lock lock = getLock(poolType, lockType);
+        lock.unlock();
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.engine.PoolLock#read(com.chupacadabra.evolution.engine.PoolType,
+     *      java.lang.Runnable)
+     */
+    @Override
+    public void read(final PoolType poolType, final Runnable reader) {
+        read(poolType, () -> {
+            reader.run();
+            return null;
+        });
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.engine.PoolLock#read(com.chupacadabra.evolution.engine.PoolType,
+     *      java.util.function.Supplier)
+     */
+    @Override
+    public <T> T read(final PoolType poolType, final Supplier<T> reader) {
+        StampedLock lock = getLock(poolType);
+
+        // try the read without locking at all.
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                T value = reader.get();
+                if (lock.validate(stamp)) {
+                    return value;
+                }
+            } catch (final RuntimeException e) {
+                // a torn read may fail in odd ways; only believe the failure
+                // if nothing was written while we were reading.
+                if (lock.validate(stamp)) {
+                    throw e;
+                }
+            }
+        }
+
+        // a writer got in the way, so read again under the lock.
+        stamp = lock.readLock();
+        try {
+            return reader.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Get the desired lock.
+     * 
+     * @param poolType The pool type.
+     * @param lockType The lock type.
+     * @return The lock.
+     */
+    private Lock getLock(final PoolType poolType, final LockType lockType) {
+        StampedLock stampedLock = getLock(poolType);
+        switch (lockType) {
+            case READ:
+                return stampedLock.asReadLock();
+            case WRITE:
+                return stampedLock.asWriteLock();
+            default:
+                throw new IllegalArgumentException("lockType");
+        }
+    }
+
+    /**
+     * Get the lock for the specified pool type.
+     * 
+     * @param poolType The pool type.
+     * @return The desired lock.
+     */
+    private StampedLock getLock(final PoolType poolType) {
+        switch (poolType) {
+            case CURRENT:
+                return currentPoolLock;
+            case NEXT:
+                return nextPoolLock;
+            default:
+                throw new IllegalArgumentException("poolType");
+        }
+    }
+
+}
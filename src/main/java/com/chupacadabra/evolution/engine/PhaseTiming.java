@@ -0,0 +1,77 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.engine;
+
+import com.chupacadabra.evolution.metrics.Metrics;
+import com.chupacadabra.evolution.metrics.Phase;
+
+/**
+ * Phase timing utility class.
+ * <p>
+ * Timing is threaded through the engine as a plain <code>long</code>, so that
+ * nothing is allocated and the clock isn't read at all unless the metrics are
+ * {@linkplain Metrics#isEnabled() enabled}.
+ * <p>
+ * This class is stateless - and hence safe for use by multiple threads - and
+ * cannot be instantiated.
+ */
+final class PhaseTiming {
+
+    /**
+     * Start timing.
+     * 
+     * @param metrics The metrics.
+     * @return The start time, in nanoseconds.
+     */
+    static long start(final Metrics metrics) {
+        return metrics.isEnabled() ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Record the time since the specified start against a phase.
+     * 
+     * @param metrics The metrics.
+     * @param phase The phase.
+     * @param start The start time, in nanoseconds.
+     * @return The current time, in nanoseconds, from which to time the next
+     *         phase.
+     */
+    static long lap(final Metrics metrics, final Phase phase, final long start) {
+        if (!metrics.isEnabled()) {
+            return 0L;
+        }
+
+        long now = System.nanoTime();
+        metrics.recordTime(phase, now - start);
+
+        return now;
+    }
+
+    /**
+     * Constructor.
+     */
+    private PhaseTiming() {
+    }
+
+}
@@ -26,8 +26,10 @@ package com.chupacadabra.evolution.engine;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
 
 import com.chupacadabra.evolution.DifferentialEvolutionSettings;
+import com.chupacadabra.evolution.PoolReplacement;
 
 /**
  * Pool lock.
@@ -44,6 +46,72 @@ public interface PoolLock {
         return new NoOpPoolLock();
     }
 
+    /**
+     * Create a lock-free pool lock for inter-generational pool replacement.
+     * <p>
+     * With {@linkplain PoolReplacement#AFTER inter-generational} replacement,
+     * the current pool is read-only for the duration of a generation, and each
+     * index of the next pool is written by exactly one task, so no locking is
+     * required at all. The pools track their best candidate with a lock-free
+     * reduction, and the next pool is safely published to the tasks of the
+     * following generation when the engine swaps pools at the generation
+     * boundary.
+     * 
+     * @param settings The settings.
+     * @return A lock-free pool lock.
+     * @throws IllegalArgumentException If the settings do not specify
+     *         inter-generational replacement.
+     */
+    public static PoolLock lockFree(final DifferentialEvolutionSettings settings) {
+        if (settings.getPoolReplacement() != PoolReplacement.AFTER) {
+            throw new IllegalArgumentException("poolReplacement");
+        }
+
+        return new NoOpPoolLock();
+    }
+
+    /**
+     * Create the cheapest pool lock that is safe for parallel optimization
+     * with the replacement policy of the settings.
+     * 
+     * @param settings The settings.
+     * @return A suitable pool lock.
+     */
+    public static PoolLock parallel(final DifferentialEvolutionSettings settings) {
+        switch (settings.getPoolReplacement()) {
+            case AFTER:
+                return lockFree(settings);
+            case IMMEDIATELY:
+                return immediate(settings);
+            default:
+                throw new IllegalArgumentException("poolReplacement");
+        }
+    }
+
+    /**
+     * Create the pool lock selected by the
+     * {@linkplain DifferentialEvolutionSettings#getPoolLocking() pool locking}
+     * setting.
+     * 
+     * @param settings The settings.
+     * @return A suitable pool lock.
+     */
+    static PoolLock immediate(final DifferentialEvolutionSettings settings) {
+        switch (settings.getPoolLocking()) {
+            case READ_WRITE:
+                return reentrant(settings);
+            case STAMPED:
+                return stamped(settings);
+            case OPTIMISTIC:
+                return optimistic(settings);
+            case ATOMIC:
+                // the pool itself is safe for concurrent use.
+                return new NoOpPoolLock();
+            default:
+                throw new IllegalArgumentException("poolLocking");
+        }
+    }
+
     /**
      * Create a reentrant pool lock.
      * 
@@ -93,6 +161,35 @@ public interface PoolLock {
         return new ReadWritePoolLock(currentPoolLock, nextPoolLock);
     }
 
+    /**
+     * Create an optimistic pool lock.
+     * <p>
+     * Reads made through {@link #read(PoolType, Runnable)} and
+     * {@link #read(PoolType, Supplier)} run under an optimistic
+     * {@linkplain StampedLock stamp} and are only repeated under a real read
+     * lock if a writer intervened.
+     * 
+     * @param settings The settings.
+     * @return A suitable pool lock.
+     */
+    public static PoolLock optimistic(final DifferentialEvolutionSettings settings) {
+        StampedLock currentPoolLock = new StampedLock();
+        StampedLock nextPoolLock;
+
+        switch (settings.getPoolReplacement()) {
+            case AFTER:
+                nextPoolLock = new StampedLock();
+                break;
+            case IMMEDIATELY:
+                nextPoolLock = currentPoolLock;
+                break;
+            default:
+                throw new IllegalArgumentException("poolReplacement");
+        }
+
+        return new OptimisticPoolLock(currentPoolLock, nextPoolLock);
+    }
+
     /**
      * Acquire the specified lock.
      * 
@@ -109,4 +206,42 @@ public interface PoolLock {
      */
     public void unlock(PoolType poolType, LockType lockType);
 
+    /**
+     * Read the specified pool.
+     * <p>
+     * The reader may be run more than once if the lock reads optimistically,
+     * so it must only have effects that a later run overwrites.
+     * 
+     * @param poolType The pool type.
+     * @param reader The reader.
+     */
+    public default void read(final PoolType poolType, final Runnable reader) {
+        lock(poolType, LockType.READ);
+        try {
+            reader.run();
+        } finally {
+            unlock(poolType, LockType.READ);
+        }
+    }
+
+    /**
+     * Read a value from the specified pool.
+     * <p>
+     * The reader may be run more than once if the lock reads optimistically,
+     * so it must be free of side effects.
+     * 
+     * @param <T> The value type.
+     * @param poolType The pool type.
+     * @param reader The reader.
+     * @return The value read.
+     */
+    public default <T> T read(final PoolType poolType, final Supplier<T> reader) {
+        lock(poolType, LockType.READ);
+        try {
+            return reader.get();
+        } finally {
+            unlock(poolType, LockType.READ);
+        }
+    }
+
 }
@@ -43,7 +43,7 @@ public final class SerialChildGeneration implements ChildGeneration {
         int count = receiver.getSettings().getChildrenPerCandidate();
 
         for (int jindex = 0; jindex < count; jindex++) {
-            GenerateChildTask childTask = new GenerateChildTask(receiver, index, parent);
+            GenerateChildTask childTask = new GenerateChildTask(receiver, index, parent, jindex);
             Candidate child = childTask.call();
             if (child != null) {
                 children.add(child);
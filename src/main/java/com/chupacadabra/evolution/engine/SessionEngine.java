@@ -0,0 +1,482 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import com.chupacadabra.evolution.Candidate;
+import com.chupacadabra.evolution.DifferentialEvolutionProblem;
+import com.chupacadabra.evolution.DifferentialEvolutionResult;
+import com.chupacadabra.evolution.DifferentialEvolutionSession;
+import com.chupacadabra.evolution.DifferentialEvolutionSettings;
+import com.chupacadabra.evolution.FeasibilityType;
+import com.chupacadabra.evolution.TerminationReason;
+import com.chupacadabra.evolution.Trial;
+import com.chupacadabra.evolution.TrialResult;
+import com.chupacadabra.evolution.checkpoint.Checkpoint;
+import com.chupacadabra.evolution.pool.WritableCandidatePool;
+import com.chupacadabra.evolution.util.TimeLength;
+
+/**
+ * Ask/tell session engine.
+ * <p>
+ * This class drives a {@linkplain DifferentialEvolutionEngine core engine},
+ * which keeps the pool and generation state, but turns its loop inside out:
+ * children are generated on request and selection for a parent is carried out
+ * once the results of all its children have been told. Generations are
+ * reported, checkpointed and checked for termination by the engine, exactly as
+ * for the optimizers.
+ */
+public final class SessionEngine implements DifferentialEvolutionSession {
+
+    /**
+     * The engine.
+     */
+    private final DifferentialEvolutionEngine engine;
+
+    /**
+     * The settings.
+     */
+    private final DifferentialEvolutionSettings settings;
+
+    /**
+     * Are we still initializing the current pool?
+     */
+    private boolean initializing;
+
+    /**
+     * The result; or <code>null</code> if not yet terminated.
+     */
+    private DifferentialEvolutionResult result;
+
+    /**
+     * The number of trials handed out for each index in this generation.
+     */
+    private final int[] asked;
+
+    /**
+     * The number of trials generated for each index in this generation.
+     * <p>
+     * Unlike the number asked, this never goes down, so that regenerated
+     * trials draw from a fresh random stream.
+     */
+    private final int[] generated;
+
+    /**
+     * The number of results received for each index in this generation.
+     */
+    private final int[] told;
+
+    /**
+     * The lowest index for which trials may still need to be handed out in
+     * this generation.
+     */
+    private int pendingIndex;
+
+    /**
+     * The children received for each index in this generation.
+     */
+    private final List<List<Candidate>> children;
+
+    /**
+     * Hands selection the children received for an index.
+     */
+    private final ChildGeneration childGeneration;
+
+    /**
+     * The number of indices completed in this generation.
+     */
+    private int completed;
+
+    /**
+     * The outstanding trials.
+     */
+    private final Set<Trial> outstanding;
+
+    /**
+     * Constructor.
+     * 
+     * @param problem The problem.
+     * @param settings The settings.
+     */
+    public SessionEngine(final DifferentialEvolutionProblem problem, final DifferentialEvolutionSettings settings) {
+        this(null, problem, settings);
+    }
+
+    /**
+     * Constructor.
+     * <p>
+     * If the checkpoint records the seed of a counter-based random source,
+     * the session resumes with that source, regardless of the random source
+     * of the settings.
+     * 
+     * @param checkpoint The checkpoint from which to resume; or
+     *        <code>null</code> to start afresh.
+     * @param problem The problem.
+     * @param settings The settings.
+     * @throws IllegalArgumentException If the checkpoint does not match the
+     *         dimension of the problem or the pool size of the settings.
+     */
+    public SessionEngine(final Checkpoint checkpoint, final DifferentialEvolutionProblem problem, final DifferentialEvolutionSettings settings) {
+        int size = settings.getCandidatePoolSize();
+        this.asked = new int[size];
+        this.generated = new int[size];
+        this.told = new int[size];
+        this.children = new ArrayList<>(size);
+        for (int index = 0; index < size; index++) {
+            children.add(new ArrayList<>());
+        }
+
+        this.childGeneration = (receiver, index, parent) -> children.get(index);
+        this.outstanding = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        // trials are handed out by ask and selected by tell, so the engine
+        // never initializes or iterates by itself.
+        this.engine = new DifferentialEvolutionEngine(PoolLock::noOp, receiver -> {
+        }, (receiver, generation) -> {
+        }, childGeneration);
+
+        // and... we're off!
+        boolean restored = engine.open(problem, settings, checkpoint);
+        this.settings = engine.getSettings();
+        if (restored) {
+            beginGeneration();
+        } else {
+            initializing = true;
+        }
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.DifferentialEvolutionSession#ask(int)
+     */
+    @Override
+    public List<Trial> ask(final int count) {
+        List<Trial> trials = new ArrayList<>();
+
+        try {
+            while ((result == null) && (trials.size() < count)) {
+                int index = getPendingIndex();
+                if (index < 0) {
+                    // everything in this generation is outstanding.
+                    break;
+                }
+
+                trials.add(createTrial(index));
+            }
+        } catch (final RuntimeException re) {
+            terminate(engine.getTerminationReason(re));
+        }
+
+        return trials;
+    }
+
+    /**
+     * Create the next trial for the specified index.
+     * 
+     * @param index The index.
+     * @return The trial.
+     */
+    private Trial createTrial(final int index) {
+        int stream = generated[index];
+
+        double[] parameters;
+        if (initializing) {
+            InitializeIndexAction initializeCommand = new InitializeIndexAction(engine, index, stream);
+            parameters = initializeCommand.generateFeasibleParameters();
+        } else {
+            Candidate parent = engine.getCurrentPool().getCandidate(index);
+            GenerateChildTask childTask = new GenerateChildTask(engine, index, parent, stream);
+            parameters = childTask.generateChildParameters();
+        }
+
+        asked[index] += 1;
+        generated[index] += 1;
+
+        Trial trial = new Trial(engine.getGeneration(), index, parameters);
+        outstanding.add(trial);
+
+        return trial;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.DifferentialEvolutionSession#tell(java.util.Collection)
+     */
+    @Override
+    public void tell(final Collection<TrialResult> results) {
+        // validate everything up front so that we never apply half a batch.
+        Set<Trial> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (TrialResult result : results) {
+            Trial trial = result.getTrial();
+            if (!outstanding.contains(trial) || !seen.add(trial)) {
+                throw new IllegalArgumentException("trial is not outstanding");
+            }
+        }
+
+        try {
+            for (TrialResult result : results) {
+                outstanding.remove(result.getTrial());
+
+                if (initializing) {
+                    tellInitial(result);
+                } else {
+                    tellChild(result);
+                }
+
+                if (engine.isTerminating()) {
+                    // the rest of the generation is abandoned.
+                    terminateEarly();
+                    return;
+                }
+
+                if (completed == settings.getCandidatePoolSize()) {
+                    advance();
+                    if (this.result != null) {
+                        return;
+                    }
+                }
+            }
+        } catch (final RuntimeException re) {
+            terminate(engine.getTerminationReason(re));
+        }
+    }
+
+    /**
+     * Process the result of an initial trial.
+     * 
+     * @param result The result.
+     */
+    private void tellInitial(final TrialResult result) {
+        int index = result.getTrial().getIndex();
+
+        if (result.getFeasibilityType() != FeasibilityType.FEASIBLE) {
+            // the initial pool must be feasible, so ask for this index again.
+            asked[index] -= 1;
+            pendingIndex = Math.min(pendingIndex, index);
+            return;
+        }
+
+        engine.getCurrentPool().setCandidate(index, result.toCandidate());
+        told[index] += 1;
+        completed += 1;
+    }
+
+    /**
+     * Process the result of a child trial.
+     * 
+     * @param result The result.
+     */
+    private void tellChild(final TrialResult result) {
+        int index = result.getTrial().getIndex();
+
+        Candidate child = result.toCandidate();
+        if (child != null) {
+            // infeasible children are simply discarded.
+            children.get(index).add(child);
+        }
+
+        told[index] += 1;
+
+        if (told[index] == settings.getChildrenPerCandidate()) {
+            // we have all the children, so we can carry out selection.
+            Candidate parent = engine.getCurrentPool().getCandidate(index);
+            IterateIndexAction iterateCommand = new IterateIndexAction(engine, index, parent, childGeneration);
+            iterateCommand.run();
+
+            completed += 1;
+        }
+    }
+
+    /**
+     * Get the next index for which we still need to hand out trials.
+     * <p>
+     * Indices below the pending index are all fully asked for, so the search
+     * picks up where it last left off.
+     * 
+     * @return The index; or -1 if there is none.
+     */
+    private int getPendingIndex() {
+        int required = initializing ? 1 : settings.getChildrenPerCandidate();
+
+        while ((pendingIndex < asked.length) && (asked[pendingIndex] >= required)) {
+            pendingIndex += 1;
+        }
+
+        return (pendingIndex < asked.length) ? pendingIndex : -1;
+    }
+
+    /**
+     * Advance to the next generation, having completed the current one.
+     */
+    private void advance() {
+        if (initializing) {
+            initializing = false;
+            engine.completeGeneration();
+        } else {
+            engine.endGeneration();
+        }
+
+        beginGeneration();
+    }
+
+    /**
+     * Begin the next generation, unless it is time to terminate.
+     */
+    private void beginGeneration() {
+        // check for termination (convergence, etc.).
+        TerminationReason terminationReason = engine.getTerminationReason();
+        if (terminationReason != null) {
+            terminate(terminationReason);
+            return;
+        }
+
+        // set up the next generation.
+        engine.beginGeneration();
+        Arrays.fill(asked, 0);
+        Arrays.fill(generated, 0);
+        Arrays.fill(told, 0);
+        for (List<Candidate> indexChildren : children) {
+            indexChildren.clear();
+        }
+
+        pendingIndex = 0;
+        completed = 0;
+    }
+
+    /**
+     * Terminate part way through the current generation.
+     */
+    private void terminateEarly() {
+        carryOver();
+        engine.endGeneration();
+
+        terminate(engine.getTerminationReason());
+    }
+
+    /**
+     * Carry the parents of every index not yet completed over into the next
+     * pool, so that it is complete despite the generation being cut short.
+     */
+    private void carryOver() {
+        WritableCandidatePool currentPool = engine.getCurrentPool();
+        WritableCandidatePool nextPool = engine.getNextPool();
+        if (nextPool == currentPool) {
+            // parents are replaced in place, so there is nothing to do.
+            return;
+        }
+
+        int required = settings.getChildrenPerCandidate();
+        for (int index = 0; index < told.length; index++) {
+            if (told[index] < required) {
+                nextPool.setCandidate(index, currentPool.getCandidate(index));
+            }
+        }
+    }
+
+    /**
+     * Terminate, for the specified reason.
+     * 
+     * @param terminationReason The termination reason.
+     */
+    private void terminate(final TerminationReason terminationReason) {
+        outstanding.clear();
+        result = engine.createResult(terminationReason);
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.DifferentialEvolutionSession#isTerminated()
+     */
+    @Override
+    public boolean isTerminated() {
+        return (result != null);
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.DifferentialEvolutionSession#getResult()
+     */
+    @Override
+    public DifferentialEvolutionResult getResult() {
+        if (result == null) {
+            throw new IllegalStateException("session has not terminated");
+        }
+
+        return result;
+    }
+
+    // implementation of the state interface.
+
+    /**
+     * @see com.chupacadabra.evolution.DifferentialEvolutionState#getDimension()
+     */
+    @Override
+    public int getDimension() {
+        return engine.getDimension();
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.DifferentialEvolutionState#getBestCandidate()
+     */
+    @Override
+    public Candidate getBestCandidate() {
+        return engine.getBestCandidate();
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.DifferentialEvolutionState#getBestFitness()
+     */
+    @Override
+    public double getBestFitness() {
+        return engine.getBestFitness();
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.DifferentialEvolutionState#getGeneration()
+     */
+    @Override
+    public int getGeneration() {
+        return engine.getGeneration();
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.DifferentialEvolutionState#getMaximumGeneration()
+     */
+    @Override
+    public int getMaximumGeneration() {
+        return engine.getMaximumGeneration();
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.DifferentialEvolutionState#getTimeTaken()
+     */
+    @Override
+    public TimeLength getTimeTaken() {
+        return (result == null) ? engine.getTimeTaken() : result.getTimeTaken();
+    }
+
+}
@@ -0,0 +1,277 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.engine;
+
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+
+import com.chupacadabra.evolution.Candidate;
+import com.chupacadabra.evolution.PoolReplacement;
+
+/**
+ * Steady-state iteration.
+ * <p>
+ * Rather than processing a generation and then waiting for every parent to be
+ * done, this strategy keeps a fixed number of parents in flight on an executor.
+ * As soon as a child has competed with its parent, the next parent is
+ * submitted, so a slow fitness evaluation only ever occupies a single worker.
+ * Each call to {@link #iterate(DifferentialEvolutionReceiver, ChildGeneration)}
+ * returns once as many parents as there are candidates in the pool have
+ * completed; parents that are still in flight at that point simply carry over
+ * into the next generation.
+ * <p>
+ * This strategy requires {@linkplain PoolReplacement#IMMEDIATELY immediate}
+ * pool replacement, since a parent may complete in a later generation than the
+ * one in which it was submitted. Instances are not reusable across
+ * optimizations.
+ */
+public final class SteadyStateIteration implements Iteration {
+
+    /**
+     * The completion service wrapping the executor.
+     */
+    private final CompletionService<Integer> completionService;
+
+    /**
+     * The maximum number of parents in flight.
+     */
+    private final int concurrency;
+
+    /**
+     * The task of each parent index currently in flight; or <code>null</code>
+     * for parents not in flight.
+     */
+    private Future<Integer>[] inFlight;
+
+    /**
+     * The number of parents currently in flight.
+     */
+    private int inFlightCount;
+
+    /**
+     * The next parent index to submit.
+     */
+    private int nextIndex;
+
+    /**
+     * Constructor.
+     * 
+     * @param executor The executor on which to run each parent.
+     * @param concurrency The maximum number of parents in flight.
+     * @throws IllegalArgumentException If <code>concurrency</code> is not
+     *         strictly positive.
+     */
+    public SteadyStateIteration(final Executor executor, final int concurrency) {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("concurrency must be positive");
+        }
+
+        this.completionService = new ExecutorCompletionService<>(executor);
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.engine.Iteration#iterate(com.chupacadabra.evolution.engine.DifferentialEvolutionReceiver,
+     *      com.chupacadabra.evolution.engine.ChildGeneration)
+     */
+    @Override
+    public void iterate(final DifferentialEvolutionReceiver receiver, final ChildGeneration childGeneration) {
+        if (receiver.getSettings().getPoolReplacement() != PoolReplacement.IMMEDIATELY) {
+            throw new IllegalArgumentException("poolReplacement");
+        }
+
+        int size = receiver.getSettings().getCandidatePoolSize();
+        if (inFlight == null) {
+            inFlight = createInFlight(size);
+        }
+
+        try {
+            for (int completed = 0; completed < size; completed++) {
+                // top up the executor, and then wait for any parent to finish.
+                if (receiver.isTerminating()) {
+                    // stop submitting; whatever is in flight is left for
+                    // finish.
+                    return;
+                }
+
+                submitParents(receiver, childGeneration);
+                awaitParent();
+            }
+        } catch (final RuntimeException re) {
+            // don't leave work running against the pool behind our backs.
+            awaitAllQuietly();
+            throw re;
+        }
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.engine.Iteration#finish(com.chupacadabra.evolution.engine.DifferentialEvolutionReceiver)
+     */
+    @Override
+    public void finish(final DifferentialEvolutionReceiver receiver) {
+        while (inFlightCount > 0) {
+            awaitParent();
+        }
+    }
+
+    /**
+     * Submit parents until we reach the desired concurrency or run out of
+     * parents that are not already in flight.
+     * 
+     * @param receiver The receiver.
+     * @param childGeneration The child generation sub-strategy.
+     */
+    private void submitParents(final DifferentialEvolutionReceiver receiver, final ChildGeneration childGeneration) {
+        int size = inFlight.length;
+
+        while (inFlightCount < concurrency) {
+            // find the next parent that isn't already in flight.
+            int index = -1;
+            for (int offset = 0; offset < size; offset++) {
+                int candidateIndex = (nextIndex + offset) % size;
+                if (inFlight[candidateIndex] == null) {
+                    index = candidateIndex;
+                    break;
+                }
+            }
+
+            if (index < 0) {
+                // every parent is in flight.
+                return;
+            }
+
+            nextIndex = (index + 1) % size;
+
+            Candidate parent = getParent(receiver, index);
+            IterateIndexAction iterateCommand = new IterateIndexAction(receiver, index, parent, childGeneration);
+            inFlight[index] = completionService.submit(iterateCommand, Integer.valueOf(index));
+            inFlightCount += 1;
+        }
+    }
+
+    /**
+     * Create the table of tasks in flight.
+     * 
+     * @param size The pool size.
+     * @return The table.
+     */
+    @SuppressWarnings("unchecked")
+    private static Future<Integer>[] createInFlight(final int size) {
+        return (Future<Integer>[]) new Future<?>[size];
+    }
+
+    /**
+     * Get the current candidate at the specified index.
+     * 
+     * @param receiver The receiver.
+     * @param index The index.
+     * @return The parent.
+     */
+    private static Candidate getParent(final DifferentialEvolutionReceiver receiver, final int index) {
+        return receiver.getPoolLock().read(PoolType.CURRENT, () -> receiver.getCurrentPool().getCandidate(index));
+    }
+
+    /**
+     * Wait for any parent in flight to finish.
+     * <p>
+     * The wait is managed, so that this strategy can itself be run by a worker
+     * of the fork-join pool on which its parents run.
+     */
+    private void awaitParent() {
+        Future<Integer> task;
+        try {
+            task = ManagedCompletion.take(completionService);
+        } catch (final InterruptedException ie) {
+            // nothing has finished, so every parent is still in flight.
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(ie);
+        }
+
+        // the task is done, so this never blocks.
+        try {
+            release(task.get().intValue());
+        } catch (final InterruptedException | ExecutionException e) {
+            // a failed task has no result, so look it up instead.
+            release(indexOf(task));
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Note that the parent at the specified index is no longer in flight.
+     * 
+     * @param index The index.
+     */
+    private void release(final int index) {
+        inFlight[index] = null;
+        inFlightCount -= 1;
+    }
+
+    /**
+     * Get the parent index of the specified task.
+     * 
+     * @param task The task, which must be in flight.
+     * @return The index.
+     */
+    private int indexOf(final Future<Integer> task) {
+        for (int index = 0; index < inFlight.length; index++) {
+            if (inFlight[index] == task) {
+                return index;
+            }
+        }
+
+        throw new IllegalStateException("task is not in flight");
+    }
+
+    /**
+     * Wait for all parents in flight to finish, ignoring any failures.
+     * <p>
+     * This waits even if the calling thread is interrupted, so that no work is
+     * left running against the pool behind our backs; the interrupt is
+     * restored afterwards.
+     */
+    private void awaitAllQuietly() {
+        boolean interrupted = false;
+        while (inFlightCount > 0) {
+            try {
+                awaitParent();
+            } catch (final RuntimeException re) {
+                // already failing; clear any interrupt so we can keep waiting.
+                interrupted |= Thread.interrupted();
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,158 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.engine;
+
+import java.util.function.Supplier;
+
+import com.chupacadabra.evolution.metrics.Metrics;
+
+/**
+ * Pool lock decorator that records lock wait time.
+ */
+final class TimedPoolLock implements PoolLock {
+
+    /**
+     * The decorated lock.
+     */
+    private final PoolLock poolLock;
+
+    /**
+     * The metrics.
+     */
+    private final Metrics metrics;
+
+    /**
+     * Constructor.
+     * 
+     * @param poolLock The lock to decorate.
+     * @param metrics The metrics.
+     */
+    TimedPoolLock(final PoolLock poolLock, final Metrics metrics) {
+        this.poolLock = poolLock;
+        this.metrics = metrics;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.engine.PoolLock#lock(com.chupacadabra.evolution.engine.PoolType,
+     *      com.chupacadabra.evolution.engine.LockType)
+     */
+    @Override
+    public void lock(final PoolType poolType, final LockType lockType) {
+        long start = System.nanoTime();
+        poolLock.lock(poolType, lockType);
+        metrics.recordLockWait(System.nanoTime() - start);
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.engine.PoolLock#unlock(com.chupacadabra.evolution.engine.PoolType,
+     *      com.chupacadabra.evolution.engine.LockType)
+     */
+    @Override
+    public void unlock(final PoolType poolType, final LockType lockType) {
+        poolLock.unlock(poolType, lockType);
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.engine.PoolLock#read(com.chupacadabra.evolution.engine.PoolType,
+     *      java.lang.Runnable)
+     */
+    @Override
+    public void read(final PoolType poolType, final Runnable reader) {
+        read(poolType, () -> {
+            reader.run();
+            return null;
+        });
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.engine.PoolLock#read(com.chupacadabra.evolution.engine.PoolType,
+     *      java.util.function.Supplier)
+     */
+    @Override
+    public <T> T read(final PoolType poolType, final Supplier<T> reader) {
+        // let the decorated lock read in its own way, optimistically or not.
+        TimedReader<T> timedReader = new TimedReader<>(reader);
+        T value = poolLock.read(poolType, timedReader);
+        metrics.recordLockWait(timedReader.getWaitNanos());
+
+        return value;
+    }
+
+    /**
+     * Reader that notes how long it took to get to its final run.
+     * <p>
+     * This counts the lock acquisition, and any optimistic reads that had to
+     * be thrown away, as waiting.
+     * 
+     * @param <T> The value type.
+     */
+    private static final class TimedReader<T> implements Supplier<T> {
+
+        /**
+         * The decorated reader.
+         */
+        private final Supplier<T> reader;
+
+        /**
+         * The time the read was requested, in nanoseconds.
+         */
+        private final long start;
+
+        /**
+         * The time the latest run began, in nanoseconds.
+         */
+        private long latest;
+
+        /**
+         * Constructor.
+         * 
+         * @param reader The reader to decorate.
+         */
+        private TimedReader(final Supplier<T> reader) {
+            this.reader = reader;
+            this.start = System.nanoTime();
+            this.latest = start;
+        }
+
+        /**
+         * @see java.util.function.Supplier#get()
+         */
+        @Override
+        public T get() {
+            latest = System.nanoTime();
+            return reader.get();
+        }
+
+        /**
+         * Get the time spent waiting for the final run.
+         * 
+         * @return The wait time, in nanoseconds.
+         */
+        private long getWaitNanos() {
+            return latest - start;
+        }
+
+    }
+
+}
@@ -0,0 +1,85 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.listener;
+
+/**
+ * Generation listener.
+ * <p>
+ * Once each generation is complete, the optimizers hand a
+ * {@linkplain GenerationSnapshot snapshot} of the pool to the listener of their
+ * {@linkplain com.chupacadabra.evolution.DifferentialEvolutionSettings#getGenerationListener()
+ * settings}. The listener is called from the thread driving the optimization,
+ * between generations, so the next generation waits for it to return; a
+ * listener that does anything slow should hand the snapshot off to another
+ * thread, which it is free to do.
+ * <p>
+ * Listening is opt-in: by default the settings use a {@linkplain #noOp() no-op
+ * listener}, for which the optimizers don't even build snapshots.
+ */
+@FunctionalInterface
+public interface GenerationListener {
+
+    /**
+     * Get the no-op listener.
+     * 
+     * @return A listener that ignores every generation.
+     */
+    public static GenerationListener noOp() {
+        return NoOpGenerationListener.getInstance();
+    }
+
+    /**
+     * Get a listener that passes each snapshot to every one of the specified
+     * listeners, in turn.
+     * 
+     * @param listeners The listeners.
+     * @return A listener.
+     * @throws NullPointerException If any listener is <code>null</code>.
+     */
+    public static GenerationListener all(final GenerationListener... listeners) {
+        return new CompositeGenerationListener(listeners);
+    }
+
+    /**
+     * Is this listener listening?
+     * <p>
+     * If not, the optimizers skip building snapshots altogether.
+     * 
+     * @return <code>true</code> if listening; and <code>false</code>
+     *         otherwise.
+     */
+    public default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Note that a generation is complete.
+     * <p>
+     * Generation 0 is the initialization of the pool.
+     * 
+     * @param snapshot The snapshot of the pool.
+     */
+    public void generationCompleted(GenerationSnapshot snapshot);
+
+}
@@ -0,0 +1,219 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.listener;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Publishes generation snapshots to any number of subscribers, each on an
+ * executor, without ever holding up the optimization.
+ * <p>
+ * Each subscriber has a mailbox that holds only the latest snapshot. Publishing
+ * a snapshot just swaps it into every mailbox and, if the subscriber isn't
+ * already busy, schedules delivery on the executor. A subscriber that falls
+ * behind therefore skips straight to the latest generation when it catches up:
+ * the snapshots in between are coalesced away, and
+ * {@linkplain #getDroppedCount(GenerationListener) counted}. Snapshots are
+ * delivered to any one subscriber in order, one at a time.
+ * <p>
+ * Subscribers can come and go at any time, from any thread. A subscriber that
+ * throws a runtime exception is unsubscribed.
+ * <p>
+ * Instances of this class are safe for use by multiple threads.
+ */
+public final class GenerationPublisher implements GenerationListener {
+
+    /**
+     * The executor on which to deliver snapshots.
+     */
+    private final Executor executor;
+
+    /**
+     * The subscriptions.
+     */
+    private final List<Subscription> subscriptions;
+
+    /**
+     * Constructor.
+     * 
+     * @param executor The executor on which to deliver snapshots.
+     * @throws NullPointerException If <code>executor</code> is
+     *         <code>null</code>.
+     */
+    public GenerationPublisher(final Executor executor) {
+        if (executor == null) {
+            throw new NullPointerException("executor");
+        }
+
+        this.executor = executor;
+        this.subscriptions = new CopyOnWriteArrayList<Subscription>();
+    }
+
+    /**
+     * Subscribe to the snapshots published from now on.
+     * 
+     * @param subscriber The subscriber.
+     * @throws NullPointerException If <code>subscriber</code> is
+     *         <code>null</code>.
+     */
+    public void subscribe(final GenerationListener subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("subscriber");
+        }
+
+        subscriptions.add(new Subscription(subscriber));
+    }
+
+    /**
+     * Unsubscribe.
+     * <p>
+     * A snapshot already being delivered to the subscriber is not interrupted.
+     * 
+     * @param subscriber The subscriber.
+     */
+    public void unsubscribe(final GenerationListener subscriber) {
+        subscriptions.removeIf(subscription -> subscription.subscriber == subscriber);
+    }
+
+    /**
+     * Get the number of snapshots the specified subscriber has missed because
+     * it fell behind.
+     * 
+     * @param subscriber The subscriber.
+     * @return The count; or 0 if not subscribed.
+     */
+    public long getDroppedCount(final GenerationListener subscriber) {
+        for (Subscription subscription : subscriptions) {
+            if (subscription.subscriber == subscriber) {
+                return subscription.dropped.get();
+            }
+        }
+
+        return 0;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.listener.GenerationListener#generationCompleted(com.chupacadabra.evolution.listener.GenerationSnapshot)
+     */
+    @Override
+    public void generationCompleted(final GenerationSnapshot snapshot) {
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(snapshot);
+        }
+    }
+
+    /**
+     * The mailbox of a single subscriber.
+     */
+    private final class Subscription implements Runnable {
+
+        /**
+         * The subscriber.
+         */
+        private final GenerationListener subscriber;
+
+        /**
+         * The latest snapshot not yet delivered; or <code>null</code>.
+         */
+        private final AtomicReference<GenerationSnapshot> latest;
+
+        /**
+         * Is delivery scheduled or running?
+         */
+        private final AtomicBoolean scheduled;
+
+        /**
+         * The number of snapshots coalesced away.
+         */
+        private final AtomicLong dropped;
+
+        /**
+         * Constructor.
+         * 
+         * @param subscriber The subscriber.
+         */
+        private Subscription(final GenerationListener subscriber) {
+            this.subscriber = subscriber;
+            this.latest = new AtomicReference<GenerationSnapshot>();
+            this.scheduled = new AtomicBoolean();
+            this.dropped = new AtomicLong();
+        }
+
+        /**
+         * Offer a snapshot, replacing any not yet delivered.
+         * 
+         * @param snapshot The snapshot.
+         */
+        private void offer(final GenerationSnapshot snapshot) {
+            if (latest.getAndSet(snapshot) != null) {
+                // the subscriber never saw the previous one.
+                dropped.incrementAndGet();
+            }
+
+            if (scheduled.compareAndSet(false, true)) {
+                executor.execute(this);
+            }
+        }
+
+        /**
+         * Deliver snapshots until the mailbox is empty.
+         * 
+         * @see java.lang.Runnable#run()
+         */
+        @Override
+        public void run() {
+            while (true) {
+                GenerationSnapshot snapshot = latest.getAndSet(null);
+                if (snapshot != null) {
+                    try {
+                        subscriber.generationCompleted(snapshot);
+                    } catch (final RuntimeException re) {
+                        // don't let a broken subscriber take up the
+                        // executor forever.
+                        subscriptions.remove(this);
+                        return;
+                    }
+
+                    continue;
+                }
+
+                scheduled.set(false);
+
+                // a snapshot may have arrived after we looked, but before we
+                // cleared the flag; if so, and nobody else has taken over,
+                // carry on.
+                if ((latest.get() == null) || !scheduled.compareAndSet(false, true)) {
+                    return;
+                }
+            }
+        }
+
+    }
+
+}
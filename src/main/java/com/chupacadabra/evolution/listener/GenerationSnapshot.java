@@ -0,0 +1,203 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.listener;
+
+import com.chupacadabra.evolution.Candidate;
+import com.chupacadabra.evolution.pool.CandidatePool;
+import com.chupacadabra.evolution.util.TimeLength;
+
+/**
+ * A snapshot of the pool at the end of a generation, along with a few summary
+ * statistics.
+ * <p>
+ * Snapshots never copy the candidates themselves. With
+ * {@linkplain com.chupacadabra.evolution.PoolReplacement#AFTER inter-generational}
+ * replacement, the pool is never written again once its generation is complete,
+ * so the snapshot simply shares it; with
+ * {@linkplain com.chupacadabra.evolution.PoolReplacement#IMMEDIATELY immediate}
+ * replacement, the pool carries on changing in the next generation, so the
+ * snapshot takes a read-only {@linkplain com.chupacadabra.evolution.pool.WritableCandidatePool#snapshot()
+ * snapshot} of it: a copy of the candidate references or, for the
+ * {@linkplain com.chupacadabra.evolution.pool.FlatCandidatePool flat} layout,
+ * a view that shares the pool's arrays and keeps only the rows replaced
+ * afterwards.
+ * <p>
+ * Instances of this class are immutable, and so can be freely handed off to
+ * other threads.
+ */
+public final class GenerationSnapshot {
+
+    /**
+     * The generation.
+     */
+    private final int generation;
+
+    /**
+     * The time taken up to the end of the generation.
+     */
+    private final TimeLength timeTaken;
+
+    /**
+     * The pool.
+     */
+    private final CandidatePool pool;
+
+    /**
+     * The best candidate; or <code>null</code>.
+     */
+    private final Candidate bestCandidate;
+
+    /**
+     * The mean fitness.
+     */
+    private final double meanFitness;
+
+    /**
+     * The fitness variance.
+     */
+    private final double fitnessVariance;
+
+    /**
+     * The fraction of parents replaced.
+     */
+    private final double acceptanceRate;
+
+    /**
+     * Constructor.
+     * 
+     * @param generation The generation.
+     * @param timeTaken The time taken up to the end of the generation.
+     * @param pool The pool; this must not change afterwards.
+     * @param replacements The number of parents replaced by one of their
+     *        children in the generation.
+     */
+    public GenerationSnapshot(final int generation, final TimeLength timeTaken, final CandidatePool pool, final int replacements) {
+        this.generation = generation;
+        this.timeTaken = timeTaken;
+        this.pool = pool;
+        this.bestCandidate = pool.getBestCandidate();
+        this.acceptanceRate = (double) replacements / pool.getSize();
+
+        // welford's method, which is stable even when the fitness has
+        // converged.
+        int size = pool.getSize();
+        double mean = 0;
+        double sum = 0;
+        for (int index = 0; index < size; index++) {
+            double fitness = pool.getFitness(index);
+            double delta = fitness - mean;
+            mean += delta / (index + 1);
+            sum += delta * (fitness - mean);
+        }
+
+        this.meanFitness = mean;
+        this.fitnessVariance = sum / size;
+    }
+
+    /**
+     * Get the generation.
+     * <p>
+     * Generation 0 is the initialization of the pool.
+     * 
+     * @return The generation.
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Get the time taken up to the end of the generation.
+     * 
+     * @return The time taken.
+     */
+    public TimeLength getTimeTaken() {
+        return timeTaken;
+    }
+
+    /**
+     * Get the pool as it stood at the end of the generation.
+     * <p>
+     * The pool is read-only, and does not change.
+     * 
+     * @return The pool.
+     */
+    public CandidatePool getPool() {
+        return pool;
+    }
+
+    /**
+     * Get the best (feasible) candidate.
+     * 
+     * @return The best candidate; or <code>null</code> if there is no feasible
+     *         candidate.
+     */
+    public Candidate getBestCandidate() {
+        return bestCandidate;
+    }
+
+    /**
+     * Get the mean fitness of every candidate in the pool.
+     * 
+     * @return The mean fitness.
+     */
+    public double getMeanFitness() {
+        return meanFitness;
+    }
+
+    /**
+     * Get the (population) variance of the fitness of every candidate in the
+     * pool.
+     * <p>
+     * A variance close to 0 is a sign that the pool has converged.
+     * 
+     * @return The fitness variance.
+     */
+    public double getFitnessVariance() {
+        return fitnessVariance;
+    }
+
+    /**
+     * Get the fraction of parents that were replaced by one of their children
+     * in the generation.
+     * <p>
+     * There are no parents in generation 0, so this is always 0 there. With
+     * steady-state iteration, the parents replaced are those completed over
+     * the generation.
+     * 
+     * @return The acceptance rate, between 0 and 1.
+     */
+    public double getAcceptanceRate() {
+        return acceptanceRate;
+    }
+
+    /**
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return "GenerationSnapshot [generation=" + generation + ", bestFitness=" + ((bestCandidate == null) ? "none" : bestCandidate.getFitness())
+                + ", meanFitness=" + meanFitness + ", fitnessVariance=" + fitnessVariance + ", acceptanceRate=" + acceptanceRate + "]";
+    }
+
+}
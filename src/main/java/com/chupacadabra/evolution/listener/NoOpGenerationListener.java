@@ -0,0 +1,66 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.listener;
+
+/**
+ * No-op generation listener.
+ */
+final class NoOpGenerationListener implements GenerationListener {
+
+    /**
+     * Singleton instance.
+     */
+    private static final NoOpGenerationListener INSTANCE = new NoOpGenerationListener();
+
+    /**
+     * Get the singleton instance.
+     * 
+     * @return The singleton instance.
+     */
+    static NoOpGenerationListener getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Constructor.
+     */
+    private NoOpGenerationListener() {
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.listener.GenerationListener#isEnabled()
+     */
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.listener.GenerationListener#generationCompleted(com.chupacadabra.evolution.listener.GenerationSnapshot)
+     */
+    @Override
+    public void generationCompleted(final GenerationSnapshot snapshot) {
+    }
+
+}
@@ -0,0 +1,150 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.metrics;
+
+import java.util.Arrays;
+
+/**
+ * The metrics recorded over one generation, or a run of generations.
+ * <p>
+ * Instances of this class are immutable.
+ */
+public final class GenerationMetrics {
+
+    /**
+     * The generation.
+     */
+    private final int generation;
+
+    /**
+     * Time in each phase, in nanoseconds, indexed by ordinal.
+     */
+    private final long[] phaseNanos;
+
+    /**
+     * Infeasible child count.
+     */
+    private final long infeasibleChildren;
+
+    /**
+     * Replacement count.
+     */
+    private final long replacements;
+
+    /**
+     * Lock wait time, in nanoseconds.
+     */
+    private final long lockWaitNanos;
+
+    /**
+     * Constructor.
+     * 
+     * @param generation The generation.
+     * @param phaseNanos Time in each phase, in nanoseconds, indexed by ordinal.
+     * @param infeasibleChildren Infeasible child count.
+     * @param replacements Replacement count.
+     * @param lockWaitNanos Lock wait time, in nanoseconds.
+     */
+    GenerationMetrics(final int generation, final long[] phaseNanos, final long infeasibleChildren, final long replacements, final long lockWaitNanos) {
+        this.generation = generation;
+        this.phaseNanos = phaseNanos;
+        this.infeasibleChildren = infeasibleChildren;
+        this.replacements = replacements;
+        this.lockWaitNanos = lockWaitNanos;
+    }
+
+    /**
+     * Get the generation.
+     * <p>
+     * For a total over a run of generations, this is the last generation.
+     * 
+     * @return The generation.
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Get the time spent in the specified phase, summed over every thread.
+     * 
+     * @param phase The phase.
+     * @return The time, in nanoseconds.
+     */
+    public long getNanos(final Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    /**
+     * Get the number of infeasible children.
+     * 
+     * @return The count.
+     */
+    public long getInfeasibleChildren() {
+        return infeasibleChildren;
+    }
+
+    /**
+     * Get the number of parents replaced by one of their children.
+     * 
+     * @return The count.
+     */
+    public long getReplacements() {
+        return replacements;
+    }
+
+    /**
+     * Get the time spent waiting for pool locks, summed over every thread.
+     * 
+     * @return The time, in nanoseconds.
+     */
+    public long getLockWaitNanos() {
+        return lockWaitNanos;
+    }
+
+    /**
+     * Add the specified metrics to these.
+     * 
+     * @param other The other metrics.
+     * @return The sum, labelled with the later generation.
+     */
+    GenerationMetrics plus(final GenerationMetrics other) {
+        long[] sum = new long[phaseNanos.length];
+        for (int index = 0; index < sum.length; index++) {
+            sum[index] = phaseNanos[index] + other.phaseNanos[index];
+        }
+
+        return new GenerationMetrics(Math.max(generation, other.generation), sum, infeasibleChildren + other.infeasibleChildren,
+                replacements + other.replacements, lockWaitNanos + other.lockWaitNanos);
+    }
+
+    /**
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return "GenerationMetrics [generation=" + generation + ", phaseNanos=" + Arrays.toString(phaseNanos) + ", infeasibleChildren="
+                + infeasibleChildren + ", replacements=" + replacements + ", lockWaitNanos=" + lockWaitNanos + "]";
+    }
+
+}
@@ -0,0 +1,112 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.metrics;
+
+/**
+ * Metrics hook.
+ * <p>
+ * The optimizers report the time spent in each {@linkplain Phase phase} of
+ * every child, together with a few counters, to the metrics of their
+ * {@linkplain com.chupacadabra.evolution.DifferentialEvolutionSettings#getMetrics()
+ * settings}. The parallel optimizers report from many threads at once, so
+ * implementations must be threadsafe.
+ * <p>
+ * Metrics are opt-in: by default the settings use {@linkplain #noOp() no-op
+ * metrics}, for which the optimizers don't even read the clock.
+ */
+public interface Metrics {
+
+    /**
+     * Get the no-op metrics.
+     * 
+     * @return Metrics that record nothing.
+     */
+    public static Metrics noOp() {
+        return NoOpMetrics.getInstance();
+    }
+
+    /**
+     * Are these metrics recording?
+     * <p>
+     * If not, the optimizers skip the timing altogether.
+     * 
+     * @return <code>true</code> if recording; and <code>false</code>
+     *         otherwise.
+     */
+    public default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Record time spent in the specified phase.
+     * 
+     * @param phase The phase.
+     * @param nanos The elapsed time, in nanoseconds.
+     */
+    public void recordTime(Phase phase, long nanos);
+
+    /**
+     * Record a child that was infeasible, and so never measured.
+     */
+    public void recordInfeasibleChild();
+
+    /**
+     * Record the replacement of a parent by one of its children.
+     */
+    public void recordReplacement();
+
+    /**
+     * Record time spent waiting to acquire a pool lock.
+     * 
+     * @param nanos The elapsed time, in nanoseconds.
+     */
+    public void recordLockWait(long nanos);
+
+    /**
+     * Get the metrics to which the specified island of an
+     * {@linkplain com.chupacadabra.evolution.IslandDifferentialEvolutionOptimizer
+     * island optimization} reports.
+     * <p>
+     * The islands don't keep in step, so their generations only make sense
+     * apart. The default implementation returns these metrics, so that every
+     * island reports to the same place.
+     * 
+     * @param island The island.
+     * @return The metrics of the island.
+     */
+    public default Metrics forIsland(final int island) {
+        return this;
+    }
+
+    /**
+     * Note that the specified generation is complete.
+     * <p>
+     * Generation 0 is the initialization of the pool.
+     * 
+     * @param generation The generation.
+     */
+    public default void generationCompleted(final int generation) {
+    }
+
+}
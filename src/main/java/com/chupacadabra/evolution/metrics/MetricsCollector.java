@@ -0,0 +1,192 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics that collect the phase timings and counters of every generation.
+ * <p>
+ * This class is threadsafe. Recording is cheap and contention-free, and the
+ * totals are rolled into a {@link GenerationMetrics} as each generation
+ * completes.
+ * <p>
+ * Each island of an island optimization reports to a collector of its own;
+ * see {@link #getIslands()}.
+ */
+public final class MetricsCollector implements Metrics {
+
+    /**
+     * Time in each phase of the generation in progress, indexed by ordinal.
+     */
+    private final LongAdder[] phaseNanos;
+
+    /**
+     * Infeasible children of the generation in progress.
+     */
+    private final LongAdder infeasibleChildren;
+
+    /**
+     * Replacements of the generation in progress.
+     */
+    private final LongAdder replacements;
+
+    /**
+     * Lock wait time of the generation in progress.
+     */
+    private final LongAdder lockWaitNanos;
+
+    /**
+     * The completed generations.
+     */
+    private final List<GenerationMetrics> generations;
+
+    /**
+     * The collector of each island.
+     */
+    private final ConcurrentMap<Integer, MetricsCollector> islands;
+
+    /**
+     * Constructor.
+     */
+    public MetricsCollector() {
+        Phase[] phases = Phase.values();
+        phaseNanos = new LongAdder[phases.length];
+        for (int index = 0; index < phases.length; index++) {
+            phaseNanos[index] = new LongAdder();
+        }
+
+        infeasibleChildren = new LongAdder();
+        replacements = new LongAdder();
+        lockWaitNanos = new LongAdder();
+        generations = new ArrayList<>();
+        islands = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.metrics.Metrics#recordTime(com.chupacadabra.evolution.metrics.Phase,
+     *      long)
+     */
+    @Override
+    public void recordTime(final Phase phase, final long nanos) {
+        phaseNanos[phase.ordinal()].add(nanos);
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.metrics.Metrics#recordInfeasibleChild()
+     */
+    @Override
+    public void recordInfeasibleChild() {
+        infeasibleChildren.increment();
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.metrics.Metrics#recordReplacement()
+     */
+    @Override
+    public void recordReplacement() {
+        replacements.increment();
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.metrics.Metrics#recordLockWait(long)
+     */
+    @Override
+    public void recordLockWait(final long nanos) {
+        lockWaitNanos.add(nanos);
+    }
+
+    /**
+     * Get a collector of its own for the specified island.
+     * 
+     * @see com.chupacadabra.evolution.metrics.Metrics#forIsland(int)
+     */
+    @Override
+    public MetricsCollector forIsland(final int island) {
+        return islands.computeIfAbsent(Integer.valueOf(island), key -> new MetricsCollector());
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.metrics.Metrics#generationCompleted(int)
+     */
+    @Override
+    public void generationCompleted(final int generation) {
+        long[] nanos = new long[phaseNanos.length];
+        for (int index = 0; index < nanos.length; index++) {
+            nanos[index] = phaseNanos[index].sumThenReset();
+        }
+
+        GenerationMetrics metrics = new GenerationMetrics(generation, nanos, infeasibleChildren.sumThenReset(), replacements.sumThenReset(),
+                lockWaitNanos.sumThenReset());
+
+        synchronized (generations) {
+            generations.add(metrics);
+        }
+    }
+
+    /**
+     * Get the metrics of each completed generation, in order of completion.
+     * 
+     * @return The metrics of each generation.
+     */
+    public List<GenerationMetrics> getGenerations() {
+        synchronized (generations) {
+            return Collections.unmodifiableList(new ArrayList<>(generations));
+        }
+    }
+
+    /**
+     * Get the collector of each island that has reported, by island.
+     * <p>
+     * The generations of the islands are not included in those of this
+     * collector.
+     * 
+     * @return The collectors of the islands.
+     */
+    public Map<Integer, MetricsCollector> getIslands() {
+        return Collections.unmodifiableMap(new TreeMap<>(islands));
+    }
+
+    /**
+     * Get the metrics summed over every completed generation.
+     * 
+     * @return The total metrics.
+     */
+    public GenerationMetrics getTotal() {
+        GenerationMetrics total = new GenerationMetrics(0, new long[phaseNanos.length], 0L, 0L, 0L);
+        for (GenerationMetrics generation : getGenerations()) {
+            total = total.plus(generation);
+        }
+
+        return total;
+    }
+
+}
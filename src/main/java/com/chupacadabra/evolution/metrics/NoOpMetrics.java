@@ -0,0 +1,88 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.metrics;
+
+/**
+ * No-op metrics.
+ */
+final class NoOpMetrics implements Metrics {
+
+    /**
+     * Singleton instance.
+     */
+    private static final NoOpMetrics INSTANCE = new NoOpMetrics();
+
+    /**
+     * Get the singleton instance.
+     * 
+     * @return The singleton instance.
+     */
+    static NoOpMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Constructor.
+     */
+    private NoOpMetrics() {
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.metrics.Metrics#isEnabled()
+     */
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.metrics.Metrics#recordTime(com.chupacadabra.evolution.metrics.Phase,
+     *      long)
+     */
+    @Override
+    public void recordTime(final Phase phase, final long nanos) {
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.metrics.Metrics#recordInfeasibleChild()
+     */
+    @Override
+    public void recordInfeasibleChild() {
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.metrics.Metrics#recordReplacement()
+     */
+    @Override
+    public void recordReplacement() {
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.metrics.Metrics#recordLockWait(long)
+     */
+    @Override
+    public void recordLockWait(final long nanos) {
+    }
+
+}
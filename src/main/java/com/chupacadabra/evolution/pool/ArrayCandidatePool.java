@@ -23,6 +23,8 @@
  */
 package com.chupacadabra.evolution.pool;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import com.chupacadabra.evolution.Candidate;
 
 /**
@@ -43,7 +45,7 @@ public final class ArrayCandidatePool implements WritableCandidatePool {
     /**
      * The best index.
      */
-    private int bestCandidateIndex;
+    private final AtomicInteger bestCandidateIndex;
 
     /**
      * Constructor.
@@ -52,7 +54,7 @@ public final class ArrayCandidatePool implements WritableCandidatePool {
      */
     public ArrayCandidatePool(final int size) {
         pool = new Candidate[size];
-        bestCandidateIndex = NO_BEST_CANDIDATE_INDEX;
+        bestCandidateIndex = new AtomicInteger(NO_BEST_CANDIDATE_INDEX);
     }
 
     /**
@@ -91,18 +93,55 @@ public final class ArrayCandidatePool implements WritableCandidatePool {
             return;
         }
 
-        if ((bestCandidateIndex == -1) || (candidate.getFitness() < pool[bestCandidateIndex].getFitness())) {
-            // we found a new best candidate
-            bestCandidateIndex = index;
+        updateBestCandidateIndex(index, candidate.getFitness());
+    }
+
+    /**
+     * Make the specified index the best one, if its candidate is better than
+     * the current best.
+     * <p>
+     * This is a lock-free reduction, so that several threads may set
+     * candidates at distinct indices concurrently. Ties go to the lowest index,
+     * so that the best candidate doesn't depend on the order in which the pool
+     * is filled.
+     * 
+     * @param index The index.
+     * @param candidateFitness The fitness of the candidate at the index.
+     */
+    private void updateBestCandidateIndex(final int index, final double candidateFitness) {
+        while (true) {
+            int bestIndex = bestCandidateIndex.get();
+
+            if (bestIndex != NO_BEST_CANDIDATE_INDEX) {
+                double bestFitness = pool[bestIndex].getFitness();
+                boolean better = (candidateFitness < bestFitness) || ((candidateFitness == bestFitness) && (index < bestIndex));
+                if (!better) {
+                    // the current best stands.
+                    return;
+                }
+            }
+
+            if (bestCandidateIndex.compareAndSet(bestIndex, index)) {
+                // we found a new best candidate
+                return;
+            }
         }
     }
 
+    /**
+     * @see com.chupacadabra.evolution.pool.WritableCandidatePool#snapshot()
+     */
+    @Override
+    public CandidatePool snapshot() {
+        return new CandidatePoolSnapshot(pool.clone(), bestCandidateIndex.get());
+    }
+
     /**
      * @see com.chupacadabra.evolution.pool.CandidatePool#getBestCandidateIndex()
      */
     @Override
     public int getBestCandidateIndex() {
-        return bestCandidateIndex;
+        return bestCandidateIndex.get();
     }
 
 }
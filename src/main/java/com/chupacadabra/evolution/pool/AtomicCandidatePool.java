@@ -0,0 +1,173 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.pool;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.chupacadabra.evolution.Candidate;
+
+/**
+ * Candidate pool backed by an atomic reference array.
+ * <p>
+ * Candidates are immutable, so each index can be read and replaced atomically
+ * on its own. Writing one index therefore never blocks reads of any other, and
+ * this pool can be shared by many threads with immediate replacement without
+ * any pool-wide lock. The best candidate is tracked with a lock-free
+ * reduction.
+ */
+public final class AtomicCandidatePool implements WritableCandidatePool {
+
+    /**
+     * Sentinel value to indicate no best candidate index has been set.
+     */
+    private static final int NO_BEST_CANDIDATE_INDEX = -1;
+
+    /**
+     * The pool.
+     */
+    private final AtomicReferenceArray<Candidate> pool;
+
+    /**
+     * The best index.
+     */
+    private final AtomicInteger bestCandidateIndex;
+
+    /**
+     * Constructor.
+     * 
+     * @param size The size.
+     */
+    public AtomicCandidatePool(final int size) {
+        pool = new AtomicReferenceArray<>(size);
+        bestCandidateIndex = new AtomicInteger(NO_BEST_CANDIDATE_INDEX);
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.pool.CandidatePool#getSize()
+     */
+    @Override
+    public int getSize() {
+        return pool.length();
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.pool.CandidatePool#getCandidate(int)
+     */
+    @Override
+    public Candidate getCandidate(final int index) {
+        if (index == NO_BEST_CANDIDATE_INDEX) {
+            return null;
+        }
+
+        return pool.get(index);
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.pool.WritableCandidatePool#setCandidate(int,
+     *      com.chupacadabra.evolution.Candidate)
+     */
+    @Override
+    public void setCandidate(final int index, final Candidate candidate) {
+        // store the candidate.
+        pool.set(index, candidate);
+
+        // see if this candidate is the best one yet.
+
+        if (candidate.isFeasible() == false) {
+            // the best candidate must of course be feasible!
+            return;
+        }
+
+        updateBestCandidateIndex(index, candidate.getFitness());
+    }
+
+    /**
+     * Make the specified index the best one, if its candidate is better than
+     * the current best.
+     * 
+     * @param index The index.
+     * @param candidateFitness The fitness of the candidate at the index.
+     */
+    private void updateBestCandidateIndex(final int index, final double candidateFitness) {
+        while (true) {
+            int bestIndex = bestCandidateIndex.get();
+
+            if (bestIndex != NO_BEST_CANDIDATE_INDEX) {
+                double bestFitness = pool.get(bestIndex).getFitness();
+                boolean better = (candidateFitness < bestFitness) || ((candidateFitness == bestFitness) && (index < bestIndex));
+                if (!better) {
+                    // the current best stands.
+                    return;
+                }
+            }
+
+            if (bestCandidateIndex.compareAndSet(bestIndex, index)) {
+                // we found a new best candidate
+                return;
+            }
+        }
+    }
+
+    /**
+     * Take a snapshot of this pool.
+     * <p>
+     * Candidates may be set while the snapshot is taken, since this pool is
+     * used without a pool-wide lock, so the best index is worked out from the
+     * copied candidates rather than read separately. Ties go to the lowest
+     * index, as they do in the pool.
+     * 
+     * @see com.chupacadabra.evolution.pool.WritableCandidatePool#snapshot()
+     */
+    @Override
+    public CandidatePool snapshot() {
+        int size = getSize();
+        Candidate[] candidates = new Candidate[size];
+        int bestIndex = NO_BEST_CANDIDATE_INDEX;
+
+        for (int index = 0; index < size; index++) {
+            Candidate candidate = pool.get(index);
+            candidates[index] = candidate;
+
+            if ((candidate == null) || (candidate.isFeasible() == false)) {
+                continue;
+            }
+
+            if ((bestIndex == NO_BEST_CANDIDATE_INDEX) || (candidate.getFitness() < candidates[bestIndex].getFitness())) {
+                bestIndex = index;
+            }
+        }
+
+        return new CandidatePoolSnapshot(candidates, bestIndex);
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.pool.CandidatePool#getBestCandidateIndex()
+     */
+    @Override
+    public int getBestCandidateIndex() {
+        return bestCandidateIndex.get();
+    }
+
+}
@@ -62,6 +62,61 @@ public interface CandidatePool {
         return getCandidate(getBestCandidateIndex());
     }
 
+    /**
+     * Get the fitness of the index<sup>th</sup> candidate.
+     * 
+     * @param index The index.
+     * @return The fitness.
+     */
+    public default double getFitness(final int index) {
+        return getCandidate(index).getFitness();
+    }
+
+    /**
+     * Get a copy of the parameters of the index<sup>th</sup> candidate.
+     * <p>
+     * The returned vector can be modified in place without affecting this
+     * pool.
+     * 
+     * @param index The index.
+     * @return The parameters.
+     */
+    public default double[] getParameters(final int index) {
+        return getCandidate(index).getParameters();
+    }
+
+    /**
+     * Copy the parameters of the index<sup>th</sup> candidate into the
+     * specified vector.
+     * 
+     * @param index The index.
+     * @param destination The vector into which to copy the parameters.
+     */
+    public default void copyParameters(final int index, final double[] destination) {
+        getCandidate(index).copyParameters(destination);
+    }
+
+    /**
+     * Add the weighted difference of two candidates' parameters to the
+     * specified vector, <i>i.e.</i> compute
+     * <code>vector += f * (x<sub>minuend</sub> - x<sub>subtrahend</sub>)</code>
+     * in-place.
+     * 
+     * @param f The weight.
+     * @param minuend The index of the first candidate.
+     * @param subtrahend The index of the second candidate.
+     * @param vector The vector in which to accumulate the result.
+     */
+    public default void addWeightedDifference(final double f, final int minuend, final int subtrahend, final double[] vector) {
+        Candidate x1 = getCandidate(minuend);
+        Candidate x2 = getCandidate(subtrahend);
+        int dimension = vector.length;
+
+        for (int jindex = 0; jindex < dimension; jindex++) {
+            vector[jindex] += f * (x1.getParameter(jindex) - x2.getParameter(jindex));
+        }
+    }
+
     /**
      * Randomly select <code>count</code> unique candidates, making sure to
      * exclude the candidates of indices <code>exclude</code>.
@@ -72,45 +127,49 @@ public interface CandidatePool {
      * @return Randomly selected candidates.
      */
     public default Candidate[] selectCandidates(final RandomSource randomSource, final int count, final int... exclude) {
-        int size = getSize();
-        if ((count + exclude.length) > size) {
-            String message = String.format("Cannot select more than %1$s candidates", size);
-            throw new IllegalArgumentException(message);
-        }
+        int[] selected = selectIndices(randomSource, count, exclude);
 
         Candidate[] candidates = new Candidate[count];
-        int[] selected = new int[count];
-        int selecting = 0;
-
-        selecting: while (true) {
-            if (selecting == count) {
-                break;
-            }
-
-            int randomIndex = randomSource.nextInt(size);
-            for (int index = 0; index < selecting; index++) {
-                if (randomIndex == selected[index]) {
-                    // already selected.
-                    continue selecting;
-                }
-            }
-
-            for (int index = 0; index < exclude.length; index++) {
-                if (randomIndex == exclude[index]) {
-                    // specifically excluded.
-                    continue selecting;
-                }
-            }
-
-            // we found a valid random next. Grab the candidate.
-            candidates[selecting] = getCandidate(randomIndex);
-
-            // and mark that we selected him.
-            selected[selecting] = randomIndex;
-            selecting += 1;
+        for (int index = 0; index < count; index++) {
+            candidates[index] = getCandidate(selected[index]);
         }
 
         return candidates;
     }
 
+    /**
+     * Randomly select the indices of <code>count</code> unique candidates,
+     * making sure to exclude the indices <code>exclude</code>.
+     * 
+     * @param randomSource The source of randomness to use.
+     * @param count The count.
+     * @param exclude The indices to exculde.
+     * @return Randomly selected candidate indices.
+     */
+    public default int[] selectIndices(final RandomSource randomSource, final int count, final int... exclude) {
+        int[] selected = new int[count];
+        sampleIndices(randomSource, count, selected, exclude);
+
+        return selected;
+    }
+
+    /**
+     * Randomly select the indices of <code>count</code> unique candidates,
+     * making sure to exclude the indices <code>exclude</code>, and store them
+     * in the first <code>count</code> elements of <code>selected</code>.
+     * <p>
+     * Unlike {@link #selectIndices(RandomSource, int, int...)}, this does not
+     * allocate, so callers can reuse the same vector for every child. The
+     * sampling draws exactly <code>count</code> random numbers, however many
+     * are asked for.
+     * 
+     * @param randomSource The source of randomness to use.
+     * @param count The count.
+     * @param selected The vector in which to store the selected indices.
+     * @param exclude The indices to exclude.
+     */
+    public default void sampleIndices(final RandomSource randomSource, final int count, final int[] selected, final int... exclude) {
+        IndexSampling.sample(randomSource, getSize(), count, selected, exclude);
+    }
+
 }
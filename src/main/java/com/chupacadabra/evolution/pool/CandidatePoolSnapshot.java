@@ -0,0 +1,86 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.pool;
+
+import com.chupacadabra.evolution.Candidate;
+
+/**
+ * An immutable snapshot of a candidate pool.
+ * <p>
+ * Candidates are immutable, so a snapshot only copies the references to them,
+ * not the candidates themselves.
+ */
+final class CandidatePoolSnapshot implements CandidatePool {
+
+    /**
+     * The candidates.
+     */
+    private final Candidate[] pool;
+
+    /**
+     * The best index.
+     */
+    private final int bestCandidateIndex;
+
+    /**
+     * Constructor.
+     * 
+     * @param pool The candidates; these must not be modified afterwards.
+     * @param bestCandidateIndex The best index.
+     */
+    CandidatePoolSnapshot(final Candidate[] pool, final int bestCandidateIndex) {
+        this.pool = pool;
+        this.bestCandidateIndex = bestCandidateIndex;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.pool.CandidatePool#getSize()
+     */
+    @Override
+    public int getSize() {
+        return pool.length;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.pool.CandidatePool#getCandidate(int)
+     */
+    @Override
+    public Candidate getCandidate(final int index) {
+        if (index < 0) {
+            // no best candidate.
+            return null;
+        }
+
+        return pool[index];
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.pool.CandidatePool#getBestCandidateIndex()
+     */
+    @Override
+    public int getBestCandidateIndex() {
+        return bestCandidateIndex;
+    }
+
+}
@@ -0,0 +1,484 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2015 Fran Lattanzio
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.chupacadabra.evolution.pool;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.StampedLock;
+
+import com.chupacadabra.evolution.Candidate;
+
+/**
+ * Structure-of-arrays candidate pool.
+ * <p>
+ * Rather than holding a separate {@link Candidate} (and hence a separately
+ * allocated parameter vector) per index, this pool stores the parameters of
+ * every candidate in a single contiguous array, with parallel arrays for the
+ * fitness and violation measures. This keeps the parameters of the whole pool
+ * together in memory, which markedly improves cache locality for the
+ * {@linkplain #addWeightedDifference(double, int, int, double[]) differential
+ * arithmetic} at large pool sizes and dimensions.
+ * <p>
+ * Candidates are materialized on demand by {@link #getCandidate(int)}, so
+ * callers should prefer the index-based accessors where possible.
+ * <p>
+ * {@linkplain #snapshot() Snapshots} share the arrays of this pool rather than
+ * copying them. Once a snapshot has been taken, a row that is about to be
+ * overwritten is first handed to the snapshot as a candidate, so only the rows
+ * that actually change are ever copied, and only while the snapshot is still
+ * referenced.
+ */
+public final class FlatCandidatePool implements WritableCandidatePool {
+
+    /**
+     * Sentinel value to indicate no best candidate index has been set.
+     */
+    private static final int NO_BEST_CANDIDATE_INDEX = -1;
+
+    /**
+     * Stand-in for a row that was empty when a snapshot was taken.
+     */
+    private static final Candidate EMPTY = Candidate.feasible(new double[0], 0);
+
+    /**
+     * The pool size.
+     */
+    private final int size;
+
+    /**
+     * The dimension.
+     */
+    private final int dimension;
+
+    /**
+     * The parameters of every candidate; the parameters of the
+     * i<sup>th</sup> candidate start at <code>i * dimension</code>.
+     */
+    private final double[] parameters;
+
+    /**
+     * The fitness of every candidate.
+     */
+    private final double[] fitness;
+
+    /**
+     * The violation of every candidate; only meaningful for violating
+     * candidates.
+     */
+    private final double[] violation;
+
+    /**
+     * Feasibility of every candidate.
+     */
+    private final boolean[] feasible;
+
+    /**
+     * Which indices have been set.
+     */
+    private final boolean[] occupied;
+
+    /**
+     * The best index.
+     */
+    private final AtomicInteger bestCandidateIndex;
+
+    /**
+     * Guards the rows against snapshots reading them while they are
+     * overwritten; only taken once a snapshot exists.
+     */
+    private final StampedLock rowLock;
+
+    /**
+     * The most recent snapshot; or <code>null</code> if none has been taken.
+     * <p>
+     * Each snapshot holds on to its successors, so once the most recent one
+     * has been collected, no snapshot is left to detach rows for.
+     */
+    private volatile WeakReference<Snapshot> latestSnapshot;
+
+    /**
+     * Constructor.
+     * 
+     * @param size The size.
+     * @param dimension The dimension of the candidates.
+     */
+    public FlatCandidatePool(final int size, final int dimension) {
+        this.size = size;
+        this.dimension = dimension;
+        this.parameters = new double[size * dimension];
+        this.fitness = new double[size];
+        this.violation = new double[size];
+        this.feasible = new boolean[size];
+        this.occupied = new boolean[size];
+        bestCandidateIndex = new AtomicInteger(NO_BEST_CANDIDATE_INDEX);
+        rowLock = new StampedLock();
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.pool.CandidatePool#getSize()
+     */
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.pool.CandidatePool#getCandidate(int)
+     */
+    @Override
+    public Candidate getCandidate(final int index) {
+        if ((index == NO_BEST_CANDIDATE_INDEX) || (occupied[index] == false)) {
+            return null;
+        }
+
+        double[] candidateParameters = getParameters(index);
+        if (feasible[index]) {
+            return Candidate.feasible(candidateParameters, fitness[index]);
+        }
+
+        return Candidate.violating(candidateParameters, fitness[index], violation[index]);
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.pool.CandidatePool#getFitness(int)
+     */
+    @Override
+    public double getFitness(final int index) {
+        return fitness[index];
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.pool.CandidatePool#getParameters(int)
+     */
+    @Override
+    public double[] getParameters(final int index) {
+        int from = index * dimension;
+        return Arrays.copyOfRange(parameters, from, from + dimension);
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.pool.CandidatePool#copyParameters(int,
+     *      double[])
+     */
+    @Override
+    public void copyParameters(final int index, final double[] destination) {
+        System.arraycopy(parameters, index * dimension, destination, 0, dimension);
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.pool.CandidatePool#addWeightedDifference(double,
+     *      int, int, double[])
+     */
+    @Override
+    public void addWeightedDifference(final double f, final int minuend, final int subtrahend, final double[] vector) {
+        int x1 = minuend * dimension;
+        int x2 = subtrahend * dimension;
+
+        for (int jindex = 0; jindex < dimension; jindex++) {
+            vector[jindex] += f * (parameters[x1 + jindex] - parameters[x2 + jindex]);
+        }
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.pool.WritableCandidatePool#setCandidate(int,
+     *      com.chupacadabra.evolution.Candidate)
+     */
+    @Override
+    public void setCandidate(final int index, final Candidate candidate) {
+        Snapshot snapshot = getLatestSnapshot();
+        if (snapshot == null) {
+            storeCandidate(index, candidate);
+            return;
+        }
+
+        // hand the row as it stands to the snapshot before overwriting it.
+        snapshot.detach(index);
+        long stamp = rowLock.writeLock();
+        try {
+            storeCandidate(index, candidate);
+        } finally {
+            rowLock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Store the candidate at the specified index.
+     * 
+     * @param index The index.
+     * @param candidate The candidate.
+     */
+    private void storeCandidate(final int index, final Candidate candidate) {
+        // store the candidate.
+        int offset = index * dimension;
+        for (int jindex = 0; jindex < dimension; jindex++) {
+            parameters[offset + jindex] = candidate.getParameter(jindex);
+        }
+
+        fitness[index] = candidate.getFitness();
+        feasible[index] = candidate.isFeasible();
+        violation[index] = candidate.isFeasible() ? 0 : candidate.getViolation();
+        occupied[index] = true;
+
+        // see if this candidate is the best one yet.
+        if (candidate.isFeasible() == false) {
+            // the best candidate must of course be feasible!
+            return;
+        }
+
+        updateBestCandidateIndex(index, candidate.getFitness());
+    }
+
+    /**
+     * Make the specified index the best one, if its candidate is better than
+     * the current best.
+     * <p>
+     * This is a lock-free reduction, so that several threads may set
+     * candidates at distinct indices concurrently. Ties go to the lowest index,
+     * so that the best candidate doesn't depend on the order in which the pool
+     * is filled.
+     * 
+     * @param index The index.
+     * @param candidateFitness The fitness of the candidate at the index.
+     */
+    private void updateBestCandidateIndex(final int index, final double candidateFitness) {
+        while (true) {
+            int bestIndex = bestCandidateIndex.get();
+
+            if (bestIndex != NO_BEST_CANDIDATE_INDEX) {
+                double bestFitness = fitness[bestIndex];
+                boolean better = (candidateFitness < bestFitness) || ((candidateFitness == bestFitness) && (index < bestIndex));
+                if (!better) {
+                    // the current best stands.
+                    return;
+                }
+            }
+
+            if (bestCandidateIndex.compareAndSet(bestIndex, index)) {
+                // we found a new best candidate
+                return;
+            }
+        }
+    }
+
+    /**
+     * Take a snapshot of this pool.
+     * <p>
+     * The snapshot shares the arrays of this pool, and nothing is copied up
+     * front. Instead, each row replaced afterwards is materialized for the
+     * snapshot just before it is overwritten, so the cost of a snapshot is
+     * proportional to the number of candidates that change while it is in
+     * use.
+     * 
+     * @see com.chupacadabra.evolution.pool.WritableCandidatePool#snapshot()
+     */
+    @Override
+    public CandidatePool snapshot() {
+        Snapshot snapshot = new Snapshot(this, getBestCandidateIndex());
+
+        // rows the previous snapshot has yet to detach are the same in both,
+        // so it can defer to this one for them.
+        Snapshot previousSnapshot = getLatestSnapshot();
+        if (previousSnapshot != null) {
+            previousSnapshot.successor = snapshot;
+        }
+
+        latestSnapshot = new WeakReference<Snapshot>(snapshot);
+
+        return snapshot;
+    }
+
+    /**
+     * Get the most recent snapshot, if it is still in use.
+     * 
+     * @return The snapshot; or <code>null</code> if there is none.
+     */
+    private Snapshot getLatestSnapshot() {
+        WeakReference<Snapshot> reference = latestSnapshot;
+        return (reference == null) ? null : reference.get();
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.pool.CandidatePool#getBestCandidateIndex()
+     */
+    @Override
+    public int getBestCandidateIndex() {
+        return bestCandidateIndex.get();
+    }
+
+    /**
+     * A read-only snapshot of a flat pool.
+     * <p>
+     * Rows that have not been replaced since the snapshot was taken are read
+     * straight from the pool, under an optimistic read of its row lock; rows
+     * that have been replaced are found among the detached candidates of this
+     * snapshot or, failing that, of a later snapshot.
+     */
+    private static final class Snapshot implements CandidatePool {
+
+        /**
+         * The pool.
+         */
+        private final FlatCandidatePool pool;
+
+        /**
+         * The best index.
+         */
+        private final int bestCandidateIndex;
+
+        /**
+         * The candidates of the rows replaced since this snapshot was taken;
+         * <code>null</code> for rows that have not been.
+         */
+        private final AtomicReferenceArray<Candidate> detachedCandidates;
+
+        /**
+         * The next snapshot of the pool; or <code>null</code> if there is none
+         * yet.
+         */
+        private volatile Snapshot successor;
+
+        /**
+         * Constructor.
+         * 
+         * @param pool The pool.
+         * @param bestCandidateIndex The best index.
+         */
+        Snapshot(final FlatCandidatePool pool, final int bestCandidateIndex) {
+            this.pool = pool;
+            this.bestCandidateIndex = bestCandidateIndex;
+            this.detachedCandidates = new AtomicReferenceArray<Candidate>(pool.size);
+        }
+
+        /**
+         * Keep the current candidate of the specified row, which is about to
+         * be overwritten, unless it has already been kept.
+         * 
+         * @param index The index.
+         */
+        void detach(final int index) {
+            if (detachedCandidates.get(index) != null) {
+                return;
+            }
+
+            Candidate candidate = pool.getCandidate(index);
+            detachedCandidates.set(index, (candidate == null) ? EMPTY : candidate);
+        }
+
+        /**
+         * Get the detached candidate of the specified row, if any snapshot
+         * from this one onwards has one.
+         * 
+         * @param index The index.
+         * @return The candidate; or <code>null</code> if the row is unchanged.
+         */
+        private Candidate getDetachedCandidate(final int index) {
+            for (Snapshot snapshot = this; snapshot != null; snapshot = snapshot.successor) {
+                Candidate candidate = snapshot.detachedCandidates.get(index);
+                if (candidate != null) {
+                    return candidate;
+                }
+            }
+
+            return null;
+        }
+
+        /**
+         * @see com.chupacadabra.evolution.pool.CandidatePool#getSize()
+         */
+        @Override
+        public int getSize() {
+            return pool.size;
+        }
+
+        /**
+         * @see com.chupacadabra.evolution.pool.CandidatePool#getCandidate(int)
+         */
+        @Override
+        public Candidate getCandidate(final int index) {
+            if (index == NO_BEST_CANDIDATE_INDEX) {
+                return null;
+            }
+
+            StampedLock rowLock = pool.rowLock;
+            long stamp = rowLock.tryOptimisticRead();
+            Candidate candidate = getDetachedCandidate(index);
+            if (candidate == null) {
+                candidate = pool.getCandidate(index);
+                if (!rowLock.validate(stamp)) {
+                    // a row was replaced as we read; read again under the lock.
+                    stamp = rowLock.readLock();
+                    try {
+                        candidate = getDetachedCandidate(index);
+                        if (candidate == null) {
+                            candidate = pool.getCandidate(index);
+                        }
+                    } finally {
+                        rowLock.unlockRead(stamp);
+                    }
+                }
+            }
+
+            return (candidate == EMPTY) ? null : candidate;
+        }
+
+        /**
+         * @see com.chupacadabra.evolution.pool.CandidatePool#getFitness(int)
+         */
+        @Override
+        public double getFitness(final int index) {
+            StampedLock rowLock = pool.rowLock;
+            long stamp = rowLock.tryOptimisticRead();
+            Candidate candidate = getDetachedCandidate(index);
+            if (candidate != null) {
+                return candidate.getFitness();
+            }
+
+            double fitness = pool.fitness[index];
+            if (rowLock.validate(stamp)) {
+                return fitness;
+            }
+
+            // a row was replaced as we read; read again under the lock.
+            stamp = rowLock.readLock();
+            try {
+                candidate = getDetachedCandidate(index);
+                return (candidate == null) ? pool.fitness[index] : candidate.getFitness();
+            } finally {
+                rowLock.unlockRead(stamp);
+            }
+        }
+
+        /**
+         * @see com.chupacadabra.evolution.pool.CandidatePool#getBestCandidateIndex()
+         */
+        @Override
+        public int getBestCandidateIndex() {
+            return bestCandidateIndex;
+        }
+
+    }
+
+}
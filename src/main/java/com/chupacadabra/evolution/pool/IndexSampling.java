@@ -0,0 +1,180 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.pool;
+
+import com.chupacadabra.evolution.RandomSource;
+
+/**
+ * Random index sampling utility class.
+ * <p>
+ * Samples are drawn with Floyd's method, keeping the selection in order by
+ * inserting each index with an array copy. That makes a sample cost
+ * <code>O(count<sup>2</sup>)</code>, which is fine for the handful of indices
+ * a differentiation policy asks for.
+ * <p>
+ * This class is stateless - and hence safe for use by multiple threads - and
+ * cannot be instantiated.
+ */
+final class IndexSampling {
+
+    /**
+     * Randomly select the indices of <code>count</code> unique candidates from
+     * a pool of the specified size, excluding the indices <code>exclude</code>,
+     * and store them in <code>selected</code>.
+     * <p>
+     * This uses Floyd's random permutation algorithm over the indices that
+     * remain once the excluded ones are taken out. It draws exactly
+     * <code>count</code> random numbers, never rejects a draw, and allocates
+     * nothing. Every ordered selection is equally likely.
+     * 
+     * @param randomSource The source of randomness to use.
+     * @param size The pool size.
+     * @param count The count.
+     * @param selected The vector in which to store the selected indices.
+     * @param exclude The indices to exclude.
+     */
+    static void sample(final RandomSource randomSource, final int size, final int count, final int[] selected, final int... exclude) {
+        // pick from the "virtual" indices that remain once the excluded ones
+        // are taken out. the same index may be excluded more than once, e.g.
+        // when the parent is the best candidate.
+        int remaining = size - countExcluded(size, exclude);
+        if (count > remaining) {
+            String message = String.format("Cannot select more than %1$s candidates", remaining);
+            throw new IllegalArgumentException(message);
+        }
+
+        for (int j = (remaining - count), length = 0; j < remaining; j++, length++) {
+            int t = randomSource.nextInt(j + 1);
+            int position = indexOf(selected, length, t);
+
+            if (position < 0) {
+                // t is new: it goes at the front.
+                System.arraycopy(selected, 0, selected, 1, length);
+                selected[0] = t;
+            } else {
+                // t is taken: j goes right after it.
+                int after = position + 1;
+                System.arraycopy(selected, after, selected, after + 1, length - after);
+                selected[after] = j;
+            }
+        }
+
+        // map the virtual indices back onto the pool.
+        for (int index = 0; index < count; index++) {
+            selected[index] = toPoolIndex(selected[index], size, exclude);
+        }
+    }
+
+    /**
+     * Get the position of the specified value among the first
+     * <code>length</code> elements of the vector.
+     * 
+     * @param vector The vector.
+     * @param length The number of elements to search.
+     * @param value The value.
+     * @return The position, or <code>-1</code> if not found.
+     */
+    private static int indexOf(final int[] vector, final int length, final int value) {
+        for (int index = 0; index < length; index++) {
+            if (vector[index] == value) {
+                return index;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Count the distinct excluded indices that are actually in the pool.
+     * 
+     * @param size The pool size.
+     * @param exclude The indices to exclude.
+     * @return The count.
+     */
+    private static int countExcluded(final int size, final int[] exclude) {
+        return countExcludedUpTo(size - 1, size, exclude);
+    }
+
+    /**
+     * Count the distinct excluded indices in the pool no greater than the
+     * specified index.
+     * 
+     * @param limit The index.
+     * @param size The pool size.
+     * @param exclude The indices to exclude.
+     * @return The count.
+     */
+    private static int countExcludedUpTo(final int limit, final int size, final int[] exclude) {
+        int excluded = 0;
+
+        counting: for (int index = 0; index < exclude.length; index++) {
+            int candidateIndex = exclude[index];
+            if ((candidateIndex < 0) || (candidateIndex >= size) || (candidateIndex > limit)) {
+                continue;
+            }
+
+            for (int other = 0; other < index; other++) {
+                if (exclude[other] == candidateIndex) {
+                    // already counted.
+                    continue counting;
+                }
+            }
+
+            excluded += 1;
+        }
+
+        return excluded;
+    }
+
+    /**
+     * Map a virtual index onto the pool, skipping over the excluded indices.
+     * <p>
+     * The pool index is the smallest fixed point of
+     * <code>p = v + (number of excluded indices &le; p)</code>.
+     * 
+     * @param virtualIndex The virtual index.
+     * @param size The pool size.
+     * @param exclude The indices to exclude.
+     * @return The pool index.
+     */
+    private static int toPoolIndex(final int virtualIndex, final int size, final int[] exclude) {
+        int poolIndex = virtualIndex;
+
+        while (true) {
+            int next = virtualIndex + countExcludedUpTo(poolIndex, size, exclude);
+            if (next == poolIndex) {
+                return poolIndex;
+            }
+
+            poolIndex = next;
+        }
+    }
+
+    /**
+     * Constructor.
+     */
+    private IndexSampling() {
+    }
+
+}
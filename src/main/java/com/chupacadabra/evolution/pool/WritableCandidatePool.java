@@ -32,10 +32,33 @@ public interface WritableCandidatePool extends CandidatePool {
 
     /**
      * Set the candidate at the specified index.
+     * <p>
+     * The pools provided with the framework allow candidates to be set at
+     * distinct indices concurrently, without any external locking.
      * 
      * @param index The index.
      * @param candidate The candidate.
      */
     public void setCandidate(int index, Candidate candidate);
 
+    /**
+     * Take an immutable snapshot of this pool.
+     * <p>
+     * The snapshot is unaffected by later changes to this pool. The default
+     * implementation copies the references to the candidates, but not the
+     * candidates themselves. Callers are responsible for making sure that no
+     * candidates are set while the snapshot is taken.
+     * 
+     * @return The snapshot.
+     */
+    public default CandidatePool snapshot() {
+        int size = getSize();
+        Candidate[] candidates = new Candidate[size];
+        for (int index = 0; index < size; index++) {
+            candidates[index] = getCandidate(index);
+        }
+
+        return new CandidatePoolSnapshot(candidates, getBestCandidateIndex());
+    }
+
 }
@@ -0,0 +1,141 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.chupacadabra.evolution.functions.SphereFunction;
+import com.chupacadabra.evolution.functions.TestFunction;
+import com.chupacadabra.evolution.functions.TestFunctionProblem;
+
+/**
+ * Tests for {@link BatchDifferentialEvolutionOptimizer}.
+ */
+public class BatchDifferentialEvolutionOptimizerTest {
+
+    /**
+     * The test function.
+     */
+    private static final TestFunction SPHERE = new SphereFunction(4);
+
+    /**
+     * The pool size.
+     */
+    private static final int SIZE = 20;
+
+    /**
+     * The number of parents per chunk.
+     */
+    private static final int BATCH_SIZE = 5;
+
+    /**
+     * The number of children per candidate.
+     */
+    private static final int CHILDREN = 2;
+
+    /**
+     * The batch optimizer should reach the optimum as the others do.
+     */
+    @Test
+    public void reachesTheOptimum() {
+        TestFunctionProblem problem = new TestFunctionProblem(SPHERE, 1e-6);
+        DifferentialEvolutionSettings settings = new DifferentialEvolutionSettings();
+        settings.setMaximumGeneration(2000);
+
+        DifferentialEvolutionResult result = new BatchDifferentialEvolutionOptimizer().optimize(problem, settings);
+
+        assertTrue(result.getTerminationReason() instanceof TerminationCriterionMet);
+        assertTrue(problem.getEvaluationsToTarget() != TestFunctionProblem.NOT_REACHED);
+    }
+
+    /**
+     * Every candidate should be measured by the batch fitness function, a chunk
+     * at a time, and never one by one.
+     */
+    @Test
+    public void measuresChunksAtOnce() {
+        List<Integer> batches = new ArrayList<Integer>();
+        DifferentialEvolutionProblem problem = createBatchProblem(batches);
+        DifferentialEvolutionSettings settings = new DifferentialEvolutionSettings();
+        settings.setCandidatePoolSize(SIZE);
+        settings.setChildrenPerCandidate(CHILDREN);
+        settings.setMaximumGeneration(10);
+
+        new BatchDifferentialEvolutionOptimizer(BATCH_SIZE).optimize(problem, settings);
+
+        // initialization measures a whole chunk of parents at once...
+        int chunks = SIZE / BATCH_SIZE;
+        for (int index = 0; index < chunks; index++) {
+            assertEquals(BATCH_SIZE, batches.get(index).intValue());
+        }
+
+        // ...and iteration every feasible child of a chunk.
+        assertTrue(batches.size() > chunks);
+        for (int index = chunks; index < batches.size(); index++) {
+            int batch = batches.get(index);
+            assertTrue(batch > 0);
+            assertTrue(batch <= (BATCH_SIZE * CHILDREN));
+        }
+    }
+
+    /**
+     * Create a problem over the sphere function whose batch fitness function
+     * records the size of each batch, and whose fitness function must not be
+     * used.
+     * 
+     * @param batches The list to which to add the size of each batch.
+     * @return The problem.
+     */
+    private static DifferentialEvolutionProblem createBatchProblem(final List<Integer> batches) {
+        TestFunctionProblem sphere = new TestFunctionProblem(SPHERE, Double.NEGATIVE_INFINITY);
+
+        SimpleDifferentialEvolutionProblem problem = new SimpleDifferentialEvolutionProblem();
+        problem.setDimension(sphere.getDimension());
+        problem.setRandomParametersFunction(sphere.getRandomParametersFunction());
+        problem.setFeasibilityFunction(sphere.getFeasibilityFunction());
+        problem.setFitnessFunction(parameters -> {
+            fail("measured one candidate at a time");
+            return 0.0;
+        });
+        problem.setBatchFitnessFunction(parameters -> {
+            batches.add(parameters.length);
+            double[] fitness = new double[parameters.length];
+            for (int index = 0; index < parameters.length; index++) {
+                fitness[index] = SPHERE.getFitness(parameters[index]);
+            }
+
+            return fitness;
+        });
+
+        return problem;
+    }
+
+}
@@ -0,0 +1,147 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.chupacadabra.evolution.functions.RastriginFunction;
+import com.chupacadabra.evolution.functions.TestFunctionProblem;
+
+/**
+ * Tests for {@link CounterRandomSource}.
+ */
+public class CounterRandomSourceTest {
+
+    /**
+     * A substream should be a pure function of the seed and its coordinates.
+     */
+    @Test
+    public void substreamsArePureFunctions() {
+        RandomSource first = new CounterRandomSource(42).substream(3, 5, 7);
+        RandomSource second = new CounterRandomSource(42).substream(3, 5, 7);
+
+        for (int index = 0; index < 1000; index++) {
+            assertEquals(first.nextInt(17), second.nextInt(17));
+            assertEquals(first.nextDouble(), second.nextDouble(), 0.0);
+            assertEquals(first.nextGaussian(), second.nextGaussian(), 0.0);
+        }
+    }
+
+    /**
+     * A reused substream, even one left part way through a Gaussian pair,
+     * should be as good as a new one once it is re-keyed.
+     */
+    @Test
+    public void reusedSubstreamsAreFresh() {
+        CounterRandomSource randomSource = new CounterRandomSource(42);
+        RandomSource reusable = randomSource.substream(1, 2, 3);
+        reusable.nextGaussian();
+
+        RandomSource reused = randomSource.substream(3, 5, 7, reusable);
+        RandomSource fresh = randomSource.substream(3, 5, 7);
+
+        assertSame(reusable, reused);
+        for (int index = 0; index < 1000; index++) {
+            assertEquals(fresh.nextGaussian(), reused.nextGaussian(), 0.0);
+            assertEquals(fresh.nextInt(17), reused.nextInt(17));
+        }
+    }
+
+    /**
+     * Neighbouring substreams should differ.
+     */
+    @Test
+    public void substreamsAreDistinct() {
+        CounterRandomSource randomSource = new CounterRandomSource(42);
+        double value = randomSource.substream(3, 5, 7).nextDouble();
+
+        assertTrue(value != randomSource.substream(4, 5, 7).nextDouble());
+        assertTrue(value != randomSource.substream(3, 6, 7).nextDouble());
+        assertTrue(value != randomSource.substream(3, 5, 8).nextDouble());
+        assertTrue(value != new CounterRandomSource(43).substream(3, 5, 7).nextDouble());
+    }
+
+    /**
+     * Draws from <code>nextInt</code> should stay in range.
+     */
+    @Test
+    public void nextIntIsInRange() {
+        RandomSource randomSource = new CounterRandomSource(42).substream(0, 0, 0);
+
+        for (int index = 0; index < 10000; index++) {
+            int value = randomSource.nextInt(13);
+            assertTrue((value >= 0) && (value < 13));
+        }
+    }
+
+    /**
+     * With inter-generational replacement, the parallel optimizers should give
+     * bit-identical results to the serial optimizer for a given seed.
+     */
+    @Test
+    public void parallelOptimizersMatchSerial() {
+        Candidate expected = optimize(new SerialDifferentialEvolutionOptimizer());
+
+        assertCandidateEquals(expected, optimize(new ForkJoinDifferentialEvolutionOptimizer()));
+        assertCandidateEquals(expected, optimize(new BatchDifferentialEvolutionOptimizer()));
+    }
+
+    /**
+     * Optimize a test problem with a seeded counter-based source.
+     * 
+     * @param optimizer The optimizer.
+     * @return The best candidate.
+     */
+    private static Candidate optimize(final DifferentialEvolutionOptimizer optimizer) {
+        DifferentialEvolutionSettings settings = new DifferentialEvolutionSettings();
+        settings.setPoolReplacement(PoolReplacement.AFTER);
+        settings.setRandomSource(new CounterRandomSource(42));
+        settings.setMaximumGeneration(50);
+
+        DifferentialEvolutionResult result = optimizer.optimize(new TestFunctionProblem(new RastriginFunction(5), -1.0), settings);
+
+        return result.getBestCandidate();
+    }
+
+    /**
+     * Assert that two candidates are bit-identical.
+     * 
+     * @param expected The expected candidate.
+     * @param actual The actual candidate.
+     */
+    private static void assertCandidateEquals(final Candidate expected, final Candidate actual) {
+        assertEquals(expected.getFitness(), actual.getFitness(), 0.0);
+        double[] expectedParameters = expected.getParameters();
+        double[] actualParameters = actual.getParameters();
+        assertEquals(expectedParameters.length, actualParameters.length);
+        for (int index = 0; index < expectedParameters.length; index++) {
+            assertEquals(expectedParameters[index], actualParameters[index], 0.0);
+        }
+    }
+
+}
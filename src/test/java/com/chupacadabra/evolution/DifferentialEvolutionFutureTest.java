@@ -0,0 +1,122 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.chupacadabra.evolution.functions.SphereFunction;
+import com.chupacadabra.evolution.functions.TestFunctionProblem;
+
+/**
+ * Tests for {@link DifferentialEvolutionFuture}.
+ */
+public class DifferentialEvolutionFutureTest {
+
+    /**
+     * Cancelling the future should stop the optimization part way through a
+     * generation, while the best candidate so far stays visible.
+     * 
+     * @throws InterruptedException If interrupted.
+     */
+    @Test
+    public void cancellingStopsTheOptimization() throws InterruptedException {
+        AtomicInteger evaluations = new AtomicInteger();
+        CountDownLatch running = new CountDownLatch(1);
+        TestFunctionProblem sphere = new TestFunctionProblem(new SphereFunction(5), -1.0);
+        SimpleDifferentialEvolutionProblem problem = new SimpleDifferentialEvolutionProblem();
+        problem.setDimension(5);
+        problem.setRandomParametersFunction(sphere.getRandomParametersFunction());
+        problem.setFitnessFunction(parameters -> {
+            if (evaluations.incrementAndGet() == 1000) {
+                running.countDown();
+            }
+
+            return sphere.getFitnessFunction().getFitness(parameters);
+        });
+
+        DifferentialEvolutionSettings settings = new DifferentialEvolutionSettings();
+        settings.setMaximumGeneration(Integer.MAX_VALUE);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            DifferentialEvolutionFuture future = new SerialDifferentialEvolutionOptimizer().optimizeAsync(problem, settings, executor);
+            assertTrue(running.await(10, TimeUnit.SECONDS));
+            assertNotNull(future.getBestCandidate());
+
+            assertTrue(future.cancel(false));
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+            // nothing carries on behind our back.
+            int seen = evaluations.get();
+            Thread.sleep(50);
+            assertEquals(seen, evaluations.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * By default, the optimization should be driven from a thread of its own
+     * rather than from a pool worker.
+     * 
+     * @throws Exception If the optimization fails.
+     */
+    @Test
+    public void defaultDriverIsNotAPoolWorker() throws Exception {
+        AtomicBoolean inPool = new AtomicBoolean();
+        TestFunctionProblem sphere = new TestFunctionProblem(new SphereFunction(5), -1.0);
+        SimpleDifferentialEvolutionProblem problem = new SimpleDifferentialEvolutionProblem();
+        problem.setDimension(5);
+        problem.setRandomParametersFunction(sphere.getRandomParametersFunction());
+        problem.setFitnessFunction(parameters -> {
+            if (Thread.currentThread() instanceof ForkJoinWorkerThread) {
+                inPool.set(true);
+            }
+
+            return sphere.getFitnessFunction().getFitness(parameters);
+        });
+
+        DifferentialEvolutionSettings settings = new DifferentialEvolutionSettings();
+        settings.setMaximumGeneration(10);
+
+        DifferentialEvolutionResult result = new SerialDifferentialEvolutionOptimizer().optimizeAsync(problem, settings).get(10, TimeUnit.SECONDS);
+        assertNotNull(result.getBestCandidate());
+        assertFalse(inPool.get());
+    }
+
+}
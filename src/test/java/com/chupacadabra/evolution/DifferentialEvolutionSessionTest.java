@@ -0,0 +1,186 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import com.chupacadabra.evolution.checkpoint.Checkpoint;
+import com.chupacadabra.evolution.checkpoint.Checkpointer;
+import com.chupacadabra.evolution.functions.SphereFunction;
+import com.chupacadabra.evolution.functions.TestFunction;
+import com.chupacadabra.evolution.functions.TestFunctionProblem;
+
+/**
+ * Tests for {@link DifferentialEvolutionSession}.
+ */
+public class DifferentialEvolutionSessionTest {
+
+    /**
+     * The dimension of the test problems.
+     */
+    private static final int DIMENSION = 4;
+
+    /**
+     * The test function.
+     */
+    private static final TestFunction SPHERE = new SphereFunction(DIMENSION);
+
+    /**
+     * A tolerance that is never reached, so runs stop only on the generation
+     * limit.
+     */
+    private static final double UNREACHABLE = Double.NEGATIVE_INFINITY;
+
+    /**
+     * The number of generations to run.
+     */
+    private static final int GENERATIONS = 30;
+
+    /**
+     * The generation at which the test checkpoint is taken.
+     */
+    private static final int CHECKPOINT_GENERATION = 10;
+
+    /**
+     * A session should run for the maximum number of generations, and
+     * converge on the way.
+     */
+    @Test
+    public void sessionConverges() {
+        DifferentialEvolutionSession session = DifferentialEvolutionSession.open(new TestFunctionProblem(SPHERE, UNREACHABLE), createSettings());
+        DifferentialEvolutionResult result = run(session);
+
+        assertTrue(result.getTerminationReason() instanceof MaximumGenerationReached);
+        assertEquals(GENERATIONS, session.getGeneration());
+        assertTrue(result.getBestCandidate().getFitness() < 1e-3);
+    }
+
+    /**
+     * A session resumed from a checkpoint should finish exactly as the
+     * uninterrupted session does.
+     */
+    @Test
+    public void resumeIsIdentical() {
+        AtomicReference<Checkpoint> saved = new AtomicReference<Checkpoint>();
+        DifferentialEvolutionSettings settings = createSettings();
+        settings.setCheckpointer(new Checkpointer() {
+
+            @Override
+            public boolean isDue(final int generation) {
+                return generation == CHECKPOINT_GENERATION;
+            }
+
+            @Override
+            public void save(final Checkpoint checkpoint) {
+                saved.set(checkpoint);
+            }
+
+        });
+
+        DifferentialEvolutionResult expected = run(DifferentialEvolutionSession.open(new TestFunctionProblem(SPHERE, UNREACHABLE), settings));
+        assertNotNull(saved.get());
+        assertEquals(CHECKPOINT_GENERATION, saved.get().getGeneration());
+
+        DifferentialEvolutionSession resumed = DifferentialEvolutionSession.resume(saved.get(), new TestFunctionProblem(SPHERE, UNREACHABLE), createSettings());
+        assertEquals(CHECKPOINT_GENERATION, resumed.getGeneration());
+
+        assertCandidateEquals(expected.getBestCandidate(), run(resumed).getBestCandidate());
+    }
+
+    /**
+     * An exception along the way should terminate the session if the settings
+     * say so.
+     */
+    @Test
+    public void exceptionTerminates() {
+        DifferentialEvolutionSettings settings = createSettings();
+        settings.setExceptionBehavior(ExceptionBehavior.TERMINATE);
+        settings.setGenerationListener(snapshot -> {
+            if (snapshot.getGeneration() == CHECKPOINT_GENERATION) {
+                throw new IllegalStateException("listener failed");
+            }
+        });
+
+        DifferentialEvolutionSession session = DifferentialEvolutionSession.open(new TestFunctionProblem(SPHERE, UNREACHABLE), settings);
+        DifferentialEvolutionResult result = run(session);
+
+        assertTrue(result.getTerminationReason() instanceof ExceptionEncountered);
+        assertTrue(session.ask(1).isEmpty());
+    }
+
+    /**
+     * Run a session to termination, measuring every trial on the sphere.
+     * 
+     * @param session The session.
+     * @return The result.
+     */
+    private static DifferentialEvolutionResult run(final DifferentialEvolutionSession session) {
+        while (!session.isTerminated()) {
+            List<TrialResult> results = new ArrayList<TrialResult>();
+            for (Trial trial : session.ask(7)) {
+                results.add(TrialResult.feasible(trial, SPHERE.getFitness(trial.getParameters())));
+            }
+
+            session.tell(results);
+        }
+
+        return session.getResult();
+    }
+
+    /**
+     * Create reproducible test settings.
+     * 
+     * @return The settings.
+     */
+    private static DifferentialEvolutionSettings createSettings() {
+        DifferentialEvolutionSettings settings = new DifferentialEvolutionSettings();
+        settings.setPoolReplacement(PoolReplacement.AFTER);
+        settings.setRandomSource(new CounterRandomSource(42));
+        settings.setMaximumGeneration(GENERATIONS);
+
+        return settings;
+    }
+
+    /**
+     * Assert that two candidates are bit-identical.
+     * 
+     * @param expected The expected candidate.
+     * @param actual The actual candidate.
+     */
+    private static void assertCandidateEquals(final Candidate expected, final Candidate actual) {
+        assertEquals(expected.getFitness(), actual.getFitness(), 0.0);
+        for (int jindex = 0; jindex < DIMENSION; jindex++) {
+            assertEquals(expected.getParameter(jindex), actual.getParameter(jindex), 0.0);
+        }
+    }
+
+}
@@ -0,0 +1,218 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.chupacadabra.evolution.pool.ArrayCandidatePool;
+import com.chupacadabra.evolution.pool.WritableCandidatePool;
+import com.chupacadabra.evolution.util.TimeLength;
+
+/**
+ * Tests for the differentiation policies.
+ */
+public class DifferentiationPolicyTest {
+
+    /**
+     * The dimension.
+     */
+    private static final int DIMENSION = 3;
+
+    /**
+     * The pool size.
+     */
+    private static final int SIZE = 20;
+
+    /**
+     * The weight.
+     */
+    private static final double WEIGHT = 0.5;
+
+    /**
+     * A weight policy that differentiates again on the same thread should not
+     * disturb the differentiation that called it.
+     */
+    @Test
+    public void weightPoliciesMayDifferentiateAgain() {
+        assertReentrant(weightPolicy -> new BestDifferentiationPolicy(2, weightPolicy));
+        assertReentrant(weightPolicy -> new RandomDifferentiationPolicy(2, weightPolicy));
+        assertReentrant(weightPolicy -> new CurrentToBestDifferentiationPolicy(2, weightPolicy, weightPolicy));
+        assertReentrant(weightPolicy -> new CurrentToRandomDifferentiationPolicy(2, weightPolicy, weightPolicy));
+        assertReentrant(weightPolicy -> new DirectionalDifferentiationPolicy(2, weightPolicy));
+        assertReentrant(weightPolicy -> new MultinomialDifferentiationPolicy(0.5, 2, weightPolicy, weightPolicy));
+    }
+
+    /**
+     * Assert that a policy built by the specified factory gives the same trial
+     * vector whether or not its weight policy differentiates again.
+     * 
+     * @param factory The policy factory.
+     */
+    private static void assertReentrant(final PolicyFactory factory) {
+        WritableCandidatePool pool = createPool();
+        DifferentialEvolutionState state = createState(pool);
+
+        double[] expected = new double[DIMENSION];
+        factory.create(new FixedWeightPolicy(WEIGHT)).differentiate(state, new JavaUtilRandomSource(7), 0, pool, expected);
+
+        ReentrantWeightPolicy weightPolicy = new ReentrantWeightPolicy(pool);
+        DifferentiationPolicy policy = factory.create(weightPolicy);
+        weightPolicy.policy = policy;
+
+        double[] actual = new double[DIMENSION];
+        policy.differentiate(state, new JavaUtilRandomSource(7), 0, pool, actual);
+
+        for (int index = 0; index < DIMENSION; index++) {
+            assertEquals(policy.getClass().getSimpleName(), expected[index], actual[index], 0.0);
+        }
+    }
+
+    /**
+     * Create a pool of random candidates.
+     * 
+     * @return The pool.
+     */
+    private static WritableCandidatePool createPool() {
+        RandomSource randomSource = new JavaUtilRandomSource(42);
+        WritableCandidatePool pool = new ArrayCandidatePool(SIZE);
+        for (int index = 0; index < SIZE; index++) {
+            double[] parameters = new double[DIMENSION];
+            for (int jindex = 0; jindex < DIMENSION; jindex++) {
+                parameters[jindex] = randomSource.nextDouble(-1.0, 1.0);
+            }
+
+            pool.setCandidate(index, Candidate.feasible(parameters, 1.0 + randomSource.nextDouble()));
+        }
+
+        return pool;
+    }
+
+    /**
+     * Create a state over the specified pool.
+     * 
+     * @param pool The pool.
+     * @return The state.
+     */
+    private static DifferentialEvolutionState createState(final WritableCandidatePool pool) {
+        return new DifferentialEvolutionState() {
+
+            @Override
+            public int getDimension() {
+                return DIMENSION;
+            }
+
+            @Override
+            public Candidate getBestCandidate() {
+                return pool.getBestCandidate();
+            }
+
+            @Override
+            public int getGeneration() {
+                return 1;
+            }
+
+            @Override
+            public int getMaximumGeneration() {
+                return 1;
+            }
+
+            @Override
+            public TimeLength getTimeTaken() {
+                return new TimeLength(0, TimeUnit.NANOSECONDS);
+            }
+
+        };
+    }
+
+    /**
+     * Factory of policies with a given weight policy.
+     */
+    @FunctionalInterface
+    private interface PolicyFactory {
+
+        /**
+         * Create a policy.
+         * 
+         * @param weightPolicy The weight policy.
+         * @return The policy.
+         */
+        DifferentiationPolicy create(WeightPolicy weightPolicy);
+
+    }
+
+    /**
+     * A fixed weight policy that differentiates another parent, from its own
+     * random source, every time it is asked for a weight.
+     */
+    private static final class ReentrantWeightPolicy implements WeightPolicy {
+
+        /**
+         * The pool.
+         */
+        private final WritableCandidatePool pool;
+
+        /**
+         * The policy to call back into.
+         */
+        private DifferentiationPolicy policy;
+
+        /**
+         * Are we already differentiating?
+         */
+        private boolean nested;
+
+        /**
+         * Constructor.
+         * 
+         * @param pool The pool.
+         */
+        private ReentrantWeightPolicy(final WritableCandidatePool pool) {
+            this.pool = pool;
+        }
+
+        /**
+         * @see com.chupacadabra.evolution.WeightPolicy#getWeight(com.chupacadabra.evolution.DifferentialEvolutionState,
+         *      com.chupacadabra.evolution.RandomSource)
+         */
+        @Override
+        public double getWeight(final DifferentialEvolutionState state, final RandomSource randomSource) {
+            if (!nested) {
+                nested = true;
+                try {
+                    policy.differentiate(state, new JavaUtilRandomSource(99), SIZE - 1, pool, new double[DIMENSION]);
+                } finally {
+                    nested = false;
+                }
+            }
+
+            return WEIGHT;
+        }
+
+    }
+
+}
@@ -0,0 +1,147 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.chupacadabra.evolution.functions.RastriginFunction;
+import com.chupacadabra.evolution.functions.SphereFunction;
+import com.chupacadabra.evolution.functions.TestFunctionProblem;
+
+/**
+ * Tests for {@link ForkJoinDifferentialEvolutionOptimizer}.
+ */
+public class ForkJoinDifferentialEvolutionOptimizerTest {
+
+    /**
+     * The number of worker threads.
+     */
+    private static final int THREADS = 4;
+
+    /**
+     * The fork-join pool.
+     */
+    private ForkJoinPool forkJoinPool;
+
+    /**
+     * Create the fork-join pool.
+     */
+    @Before
+    public void setUp() {
+        forkJoinPool = new ForkJoinPool(THREADS);
+    }
+
+    /**
+     * Shut down the fork-join pool.
+     * 
+     * @throws InterruptedException If interrupted.
+     */
+    @After
+    public void tearDown() throws InterruptedException {
+        forkJoinPool.shutdownNow();
+        forkJoinPool.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * With immediate replacement, every pool locking scheme should run to
+     * completion and converge, with every pool storage it allows.
+     */
+    @Test
+    public void optimizesUnderEveryPoolLocking() {
+        for (PoolStorage poolStorage : PoolStorage.values()) {
+            for (PoolLocking poolLocking : PoolLocking.values()) {
+                if ((poolLocking == PoolLocking.ATOMIC) && (poolStorage != PoolStorage.CANDIDATES)) {
+                    // atomic locking has its own storage.
+                    continue;
+                }
+
+                String name = poolStorage + "/" + poolLocking;
+                DifferentialEvolutionSettings settings = new DifferentialEvolutionSettings();
+                settings.setPoolReplacement(PoolReplacement.IMMEDIATELY);
+                settings.setPoolStorage(poolStorage);
+                settings.setPoolLocking(poolLocking);
+                settings.setMaximumGeneration(100);
+
+                DifferentialEvolutionResult result = createOptimizer().optimize(new TestFunctionProblem(new SphereFunction(4), -1.0), settings);
+
+                assertTrue(name, result.getTerminationReason() instanceof MaximumGenerationReached);
+                assertTrue(name, result.getBestCandidate().getFitness() < 1e-2);
+            }
+        }
+    }
+
+    /**
+     * With inter-generational replacement, the pools are used without any
+     * locking; the result should still be bit-identical to that of the serial
+     * optimizer, whatever the pool storage.
+     */
+    @Test
+    public void lockFreeMatchesSerial() {
+        for (PoolStorage poolStorage : PoolStorage.values()) {
+            Candidate expected = optimize(new SerialDifferentialEvolutionOptimizer(), poolStorage);
+            Candidate actual = optimize(createOptimizer(), poolStorage);
+
+            assertEquals(poolStorage.name(), expected.getFitness(), actual.getFitness(), 0.0);
+            for (int index = 0; index < expected.getParameters().length; index++) {
+                assertEquals(poolStorage.name(), expected.getParameter(index), actual.getParameter(index), 0.0);
+            }
+        }
+    }
+
+    /**
+     * Create the optimizer.
+     * 
+     * @return The optimizer.
+     */
+    private ForkJoinDifferentialEvolutionOptimizer createOptimizer() {
+        return new ForkJoinDifferentialEvolutionOptimizer(forkJoinPool, new ForkJoinDifferentialEvolutionOptimizerConfiguration());
+    }
+
+    /**
+     * Optimize a test problem with inter-generational replacement and a seeded
+     * counter-based source.
+     * 
+     * @param optimizer The optimizer.
+     * @param poolStorage The pool storage.
+     * @return The best candidate.
+     */
+    private static Candidate optimize(final DifferentialEvolutionOptimizer optimizer, final PoolStorage poolStorage) {
+        DifferentialEvolutionSettings settings = new DifferentialEvolutionSettings();
+        settings.setPoolReplacement(PoolReplacement.AFTER);
+        settings.setPoolStorage(poolStorage);
+        settings.setRandomSource(new CounterRandomSource(7));
+        settings.setMaximumGeneration(50);
+
+        return optimizer.optimize(new TestFunctionProblem(new RastriginFunction(5), -1.0), settings).getBestCandidate();
+    }
+
+}
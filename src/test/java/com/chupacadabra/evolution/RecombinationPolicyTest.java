@@ -0,0 +1,173 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.chupacadabra.evolution.util.TimeLength;
+
+/**
+ * Tests for the recombination policies that draw geometric run lengths.
+ */
+public class RecombinationPolicyTest {
+
+    /**
+     * The dimension.
+     */
+    private static final int DIMENSION = 40;
+
+    /**
+     * The number of children to breed.
+     */
+    private static final int CHILDREN = 50000;
+
+    /**
+     * The crossover.
+     */
+    private static final double CROSSOVER = 0.1;
+
+    /**
+     * A run length should have the mean of the geometric distribution.
+     */
+    @Test
+    public void runLengthIsGeometric() {
+        double probability = 0.75;
+        RandomSource randomSource = new JavaUtilRandomSource(1);
+
+        double sum = 0;
+        for (int index = 0; index < CHILDREN; index++) {
+            sum += GeometricRun.length(randomSource, probability);
+        }
+
+        assertEquals(probability / (1.0 - probability), sum / CHILDREN, 0.1);
+        assertEquals(0, GeometricRun.length(randomSource, 0.0));
+        assertEquals(Integer.MAX_VALUE, GeometricRun.length(randomSource, 1.0));
+    }
+
+    /**
+     * Skipping should take each parameter from the trial as often as the
+     * classic binomial recombination does.
+     */
+    @Test
+    public void skippingMatchesBinomial() {
+        double expected = (1.0 / DIMENSION) + ((1.0 - (1.0 / DIMENSION)) * CROSSOVER);
+
+        double[] classic = getCrossoverFrequencies(new BinomialRecombinationPolicy(new FixedCrossoverPolicy(CROSSOVER)));
+        double[] skipping = getCrossoverFrequencies(new SkippingBinomialRecombinationPolicy(new FixedCrossoverPolicy(CROSSOVER)));
+
+        for (int index = 0; index < DIMENSION; index++) {
+            assertEquals("classic " + index, expected, classic[index], 0.01);
+            assertEquals("skipping " + index, expected, skipping[index], 0.01);
+        }
+    }
+
+    /**
+     * The exponential run should take one parameter, and then continue for as
+     * long as successive draws fall under the crossover.
+     */
+    @Test
+    public void exponentialRunIsGeometric() {
+        double crossover = 0.5;
+        double[] frequencies = getCrossoverFrequencies(new ExponentialRecombinationPolicy(new FixedCrossoverPolicy(crossover)));
+
+        double length = 0;
+        for (int index = 0; index < DIMENSION; index++) {
+            length += frequencies[index];
+        }
+
+        assertEquals(1.0 + (crossover / (1.0 - crossover)), length, 0.05);
+    }
+
+    /**
+     * Get how often each parameter is taken from the trial by the specified
+     * policy.
+     * 
+     * @param policy The policy.
+     * @return The frequency of each parameter.
+     */
+    private static double[] getCrossoverFrequencies(final RecombinationPolicy policy) {
+        DifferentialEvolutionState state = createState();
+        RandomSource randomSource = new JavaUtilRandomSource(7);
+        double[] parent = new double[DIMENSION];
+        double[] trial = new double[DIMENSION];
+        double[] child = new double[DIMENSION];
+        Arrays.fill(trial, 1.0);
+
+        double[] frequencies = new double[DIMENSION];
+        for (int count = 0; count < CHILDREN; count++) {
+            policy.recombine(state, randomSource, parent, trial, child);
+            for (int index = 0; index < DIMENSION; index++) {
+                frequencies[index] += child[index];
+            }
+        }
+
+        for (int index = 0; index < DIMENSION; index++) {
+            frequencies[index] /= CHILDREN;
+        }
+
+        return frequencies;
+    }
+
+    /**
+     * Create a state of the test dimension.
+     * 
+     * @return The state.
+     */
+    private static DifferentialEvolutionState createState() {
+        return new DifferentialEvolutionState() {
+
+            @Override
+            public int getDimension() {
+                return DIMENSION;
+            }
+
+            @Override
+            public Candidate getBestCandidate() {
+                return null;
+            }
+
+            @Override
+            public int getGeneration() {
+                return 1;
+            }
+
+            @Override
+            public int getMaximumGeneration() {
+                return 1;
+            }
+
+            @Override
+            public TimeLength getTimeTaken() {
+                return new TimeLength(0, TimeUnit.NANOSECONDS);
+            }
+
+        };
+    }
+
+}
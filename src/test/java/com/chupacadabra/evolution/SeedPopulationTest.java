@@ -0,0 +1,146 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.chupacadabra.evolution.functions.SphereFunction;
+import com.chupacadabra.evolution.functions.TestFunction;
+import com.chupacadabra.evolution.functions.TestFunctionProblem;
+
+/**
+ * Tests for {@link SeedPopulation}.
+ */
+public class SeedPopulationTest {
+
+    /**
+     * The dimension of the test problems.
+     */
+    private static final int DIMENSION = 4;
+
+    /**
+     * The test function.
+     */
+    private static final TestFunction SPHERE = new SphereFunction(DIMENSION);
+
+    /**
+     * A tolerance that is never reached, so runs stop only on the generation
+     * limit.
+     */
+    private static final double UNREACHABLE = Double.NEGATIVE_INFINITY;
+
+    /**
+     * The pool size.
+     */
+    private static final int SIZE = 20;
+
+    /**
+     * The number of seeds.
+     */
+    private static final int SEEDS = 5;
+
+    /**
+     * The optimizers under test.
+     */
+    private static final DifferentialEvolutionOptimizer[] OPTIMIZERS = new DifferentialEvolutionOptimizer[] {
+            new SerialDifferentialEvolutionOptimizer(),
+            new BatchDifferentialEvolutionOptimizer(),
+            new ForkJoinDifferentialEvolutionOptimizer() };
+
+    /**
+     * Seeds that have already been measured should go straight into the pool,
+     * and only the remainder should be sampled and measured.
+     */
+    @Test
+    public void candidatesAreNotMeasuredAgain() {
+        for (DifferentialEvolutionOptimizer optimizer : OPTIMIZERS) {
+            String name = optimizer.getClass().getSimpleName();
+            SeedPopulation seedPopulation = new SeedPopulation();
+            for (int index = 0; index < SEEDS; index++) {
+                // better than anything the fitness function can produce.
+                seedPopulation.addCandidate(Candidate.feasible(new double[DIMENSION], -1.0));
+            }
+
+            AtomicInteger evaluations = new AtomicInteger();
+            DifferentialEvolutionProblem problem = new TestFunctionProblem(SPHERE.withFitness(parameters -> {
+                evaluations.incrementAndGet();
+                return SPHERE.getFitness(parameters);
+            }), UNREACHABLE, seedPopulation);
+
+            DifferentialEvolutionResult result = optimizer.optimize(problem, createSettings());
+
+            assertEquals(name, -1.0, result.getBestCandidate().getFitness(), 0.0);
+            assertEquals(name, SIZE - SEEDS, evaluations.get());
+        }
+    }
+
+    /**
+     * Bare parameters should be measured in place of a random sample.
+     */
+    @Test
+    public void parametersAreMeasured() {
+        double[] seed = new double[] { 0.5, -0.5, 0.25, -0.25 };
+
+        for (DifferentialEvolutionOptimizer optimizer : OPTIMIZERS) {
+            String name = optimizer.getClass().getSimpleName();
+            SeedPopulation seedPopulation = new SeedPopulation();
+            seedPopulation.addParameters(seed);
+
+            AtomicInteger evaluations = new AtomicInteger();
+            AtomicInteger seedEvaluations = new AtomicInteger();
+            DifferentialEvolutionProblem problem = new TestFunctionProblem(SPHERE.withFitness(parameters -> {
+                evaluations.incrementAndGet();
+                if (Arrays.equals(seed, parameters)) {
+                    seedEvaluations.incrementAndGet();
+                }
+
+                return SPHERE.getFitness(parameters);
+            }), UNREACHABLE, seedPopulation);
+
+            optimizer.optimize(problem, createSettings());
+
+            assertEquals(name, 1, seedEvaluations.get());
+            assertEquals(name, SIZE, evaluations.get());
+        }
+    }
+
+    /**
+     * Create settings that stop right after initialization.
+     * 
+     * @return The settings.
+     */
+    private static DifferentialEvolutionSettings createSettings() {
+        DifferentialEvolutionSettings settings = new DifferentialEvolutionSettings();
+        settings.setCandidatePoolSize(SIZE);
+        settings.setMaximumGeneration(1);
+
+        return settings;
+    }
+
+}
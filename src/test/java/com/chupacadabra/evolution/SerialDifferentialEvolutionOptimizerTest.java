@@ -0,0 +1,190 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.chupacadabra.evolution.functions.SphereFunction;
+import com.chupacadabra.evolution.functions.TestFunction;
+import com.chupacadabra.evolution.functions.TestFunctionProblem;
+import com.chupacadabra.evolution.listener.GenerationSnapshot;
+import com.chupacadabra.evolution.pool.WritableCandidatePool;
+
+/**
+ * Tests for {@link SerialDifferentialEvolutionOptimizer}.
+ */
+public class SerialDifferentialEvolutionOptimizerTest {
+
+    /**
+     * The dimension of the test problems.
+     */
+    private static final int DIMENSION = 4;
+
+    /**
+     * The test function.
+     */
+    private static final TestFunction SPHERE = new SphereFunction(DIMENSION);
+
+    /**
+     * The pool size.
+     */
+    private static final int SIZE = 20;
+
+    /**
+     * The number of children evaluated before the target is hit.
+     */
+    private static final int TARGET = 5;
+
+    /**
+     * A per-candidate criterion should stop the optimization as soon as the
+     * accepted candidate meets it, whichever way the pool is replaced.
+     */
+    @Test
+    public void perCandidateCriterionStopsMidGeneration() {
+        for (PoolReplacement poolReplacement : PoolReplacement.values()) {
+            AtomicInteger evaluations = new AtomicInteger();
+            DifferentialEvolutionProblem problem = new TestFunctionProblem(SPHERE.withFitness(parameters -> {
+                int evaluation = evaluations.incrementAndGet();
+                if (evaluation <= SIZE) {
+                    // the initial pool.
+                    return 1.0;
+                }
+
+                return (evaluation == (SIZE + TARGET)) ? 0.0 : 2.0;
+            }), 0.0);
+
+            DifferentialEvolutionSettings settings = new DifferentialEvolutionSettings();
+            settings.setPoolReplacement(poolReplacement);
+            settings.setCandidatePoolSize(SIZE);
+            settings.setChildrenPerCandidate(1);
+            settings.setMaximumGeneration(100);
+
+            DifferentialEvolutionResult result = new SerialDifferentialEvolutionOptimizer().optimize(problem, settings);
+
+            assertTrue(poolReplacement.name(), result.getTerminationReason() instanceof TerminationCriterionMet);
+            assertEquals(poolReplacement.name(), SIZE + TARGET, evaluations.get());
+            assertEquals(poolReplacement.name(), 0.0, result.getBestCandidate().getFitness(), 0.0);
+        }
+    }
+
+    /**
+     * Each generation should run only when it is asked for.
+     */
+    @Test
+    public void generationsRunOnDemand() {
+        AtomicInteger evaluations = new AtomicInteger();
+        DifferentialEvolutionProblem problem = new TestFunctionProblem(SPHERE.withFitness(parameters -> {
+            evaluations.incrementAndGet();
+            return 1.0 + parameters[0] * parameters[0];
+        }), 0.0);
+
+        DifferentialEvolutionSettings settings = new DifferentialEvolutionSettings();
+        settings.setCandidatePoolSize(SIZE);
+        settings.setChildrenPerCandidate(1);
+        settings.setMaximumGeneration(100);
+
+        try (GenerationIterator generations = new SerialDifferentialEvolutionOptimizer().generations(problem, settings)) {
+            assertEquals(0, evaluations.get());
+
+            GenerationSnapshot snapshot = generations.next();
+            assertEquals(0, snapshot.getGeneration());
+            assertEquals(SIZE, evaluations.get());
+
+            long count = generations.stream().limit(2).count();
+            assertEquals(2, count);
+
+            // infeasible children are not evaluated.
+            int evaluated = evaluations.get();
+            assertTrue(evaluated > SIZE);
+            assertTrue(evaluated <= 3 * SIZE);
+            assertFalse(generations.isTerminated());
+            assertEquals(evaluated, evaluations.get());
+        }
+    }
+
+    /**
+     * An exception thrown by a generation should propagate from the iterator
+     * as it is.
+     */
+    @Test
+    public void generationFailureIsRethrown() {
+        IllegalStateException failure = new IllegalStateException("failure");
+        AtomicInteger evaluations = new AtomicInteger();
+        DifferentialEvolutionProblem problem = new TestFunctionProblem(SPHERE.withFitness(parameters -> {
+            if (evaluations.incrementAndGet() > SIZE) {
+                throw failure;
+            }
+
+            return 1.0;
+        }), 0.0);
+
+        DifferentialEvolutionSettings settings = new DifferentialEvolutionSettings();
+        settings.setCandidatePoolSize(SIZE);
+
+        try (GenerationIterator generations = new SerialDifferentialEvolutionOptimizer().generations(problem, settings)) {
+            generations.next();
+            try {
+                generations.next();
+                fail("expected the failure to propagate");
+            } catch (final IllegalStateException ise) {
+                assertSame(failure, ise);
+            }
+
+            assertTrue(generations.isTerminated());
+            assertTrue(generations.getResult().getTerminationReason() instanceof ExceptionEncountered);
+        }
+    }
+
+    /**
+     * Listeners should only ever be handed a read-only snapshot of the pool,
+     * whichever way the pool is replaced.
+     */
+    @Test
+    public void listenersSeeReadOnlyPools() {
+        for (PoolReplacement poolReplacement : PoolReplacement.values()) {
+            AtomicInteger writablePools = new AtomicInteger();
+            DifferentialEvolutionSettings settings = new DifferentialEvolutionSettings();
+            settings.setPoolReplacement(poolReplacement);
+            settings.setMaximumGeneration(5);
+            settings.setGenerationListener(snapshot -> {
+                if (snapshot.getPool() instanceof WritableCandidatePool) {
+                    writablePools.incrementAndGet();
+                }
+            });
+
+            new SerialDifferentialEvolutionOptimizer().optimize(new TestFunctionProblem(SPHERE, -1.0), settings);
+
+            assertEquals(poolReplacement.toString(), 0, writablePools.get());
+        }
+    }
+
+}
@@ -0,0 +1,78 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link SplittableRandomSource}.
+ */
+public class SplittableRandomSourceTest {
+
+    /**
+     * A seeded source used by a single thread should be reproducible.
+     */
+    @Test
+    public void seededSourceIsReproducible() {
+        RandomSource first = new SplittableRandomSource(42);
+        RandomSource second = new SplittableRandomSource(42);
+
+        for (int index = 0; index < 1000; index++) {
+            assertEquals(first.nextInt(17), second.nextInt(17));
+            assertEquals(first.nextDouble(), second.nextDouble(), 0.0);
+            assertEquals(first.nextGaussian(), second.nextGaussian(), 0.0);
+        }
+    }
+
+    /**
+     * Each thread should draw from its own stream.
+     * 
+     * @throws InterruptedException If interrupted.
+     * @throws ExecutionException If a draw fails.
+     */
+    @Test
+    public void threadsDrawFromDifferentStreams() throws InterruptedException, ExecutionException {
+        RandomSource randomSource = new SplittableRandomSource(42);
+        double mine = randomSource.nextDouble();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Callable<Double> draw = randomSource::nextDouble;
+            Future<Double> theirs = executor.submit(draw);
+            assertTrue(mine != theirs.get().doubleValue());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,235 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.chupacadabra.evolution.functions.SphereFunction;
+import com.chupacadabra.evolution.functions.TestFunction;
+import com.chupacadabra.evolution.functions.TestFunctionProblem;
+
+/**
+ * Tests for {@link SteadyStateDifferentialEvolutionOptimizer}.
+ */
+public class SteadyStateDifferentialEvolutionOptimizerTest {
+
+    /**
+     * The dimension of the test problems.
+     */
+    private static final int DIMENSION = 4;
+
+    /**
+     * The test function.
+     */
+    private static final TestFunction SPHERE = new SphereFunction(DIMENSION);
+
+    /**
+     * A tolerance that is never reached, so runs stop only on the generation
+     * limit.
+     */
+    private static final double UNREACHABLE = Double.NEGATIVE_INFINITY;
+
+    /**
+     * The number of worker threads.
+     */
+    private static final int THREADS = 4;
+
+    /**
+     * The executor.
+     */
+    private ExecutorService executor;
+
+    /**
+     * Create the executor.
+     */
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    /**
+     * Shut down the executor.
+     * 
+     * @throws InterruptedException If interrupted.
+     */
+    @After
+    public void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Every pool locking scheme should run to completion and improve on a
+     * random guess.
+     */
+    @Test
+    public void optimizesUnderEveryPoolLocking() {
+        for (PoolLocking poolLocking : PoolLocking.values()) {
+            DifferentialEvolutionSettings settings = createSettings();
+            settings.setPoolLocking(poolLocking);
+
+            DifferentialEvolutionResult result = createOptimizer().optimize(new TestFunctionProblem(SPHERE, UNREACHABLE), settings);
+
+            assertTrue(poolLocking.name(), result.getTerminationReason() instanceof MaximumGenerationReached);
+            assertTrue(poolLocking.name(), result.getBestCandidate().getFitness() < 1.0);
+        }
+    }
+
+    /**
+     * A failing fitness evaluation should propagate, and no parent should still
+     * be running once the optimizer has returned.
+     * 
+     * @throws InterruptedException If interrupted.
+     */
+    @Test
+    public void failureStopsAllParents() throws InterruptedException {
+        AtomicInteger evaluations = new AtomicInteger();
+        IllegalStateException failure = new IllegalStateException("failure");
+        DifferentialEvolutionProblem problem = new TestFunctionProblem(SPHERE.withFitness(parameters -> {
+            if (evaluations.incrementAndGet() == 200) {
+                throw failure;
+            }
+
+            return SPHERE.getFitness(parameters);
+        }), UNREACHABLE);
+
+        try {
+            createOptimizer().optimize(problem, createSettings());
+            fail("expected the failure to propagate");
+        }
+        catch (final RuntimeException re) {
+            assertSame(failure, rootCause(re));
+        }
+
+        int seen = evaluations.get();
+        Thread.sleep(100);
+        assertEquals(seen, evaluations.get());
+    }
+
+    /**
+     * Interrupting the optimizing thread should stop the optimization and leave
+     * the thread interrupted.
+     */
+    @Test
+    public void interruptIsRestored() {
+        Thread optimizing = Thread.currentThread();
+        AtomicInteger evaluations = new AtomicInteger();
+        DifferentialEvolutionProblem problem = new TestFunctionProblem(SPHERE.withFitness(parameters -> {
+            if (evaluations.incrementAndGet() == 200) {
+                optimizing.interrupt();
+            }
+
+            return SPHERE.getFitness(parameters);
+        }), UNREACHABLE);
+        DifferentialEvolutionSettings settings = createSettings();
+        settings.setMaximumGeneration(Integer.MAX_VALUE);
+
+        try {
+            createOptimizer().optimize(problem, settings);
+            fail("expected the interrupt to stop the optimization");
+        }
+        catch (final RuntimeException re) {
+            assertTrue(rootCause(re) instanceof InterruptedException);
+        }
+        finally {
+            assertTrue(Thread.interrupted());
+        }
+    }
+
+    /**
+     * The optimization should be able to run in a worker of the very pool on
+     * which its parents run, even if that is the only worker.
+     * 
+     * @throws Exception If the optimization fails or doesn't finish.
+     */
+    @Test
+    public void runsInsideItsOwnPool() throws Exception {
+        ForkJoinPool forkJoinPool = new ForkJoinPool(1);
+        try {
+            SteadyStateDifferentialEvolutionOptimizer optimizer = new SteadyStateDifferentialEvolutionOptimizer(forkJoinPool, 1);
+            Future<DifferentialEvolutionResult> future = forkJoinPool.submit(() -> optimizer.optimize(new TestFunctionProblem(SPHERE, UNREACHABLE),
+                    createSettings()));
+
+            DifferentialEvolutionResult result = future.get(30, TimeUnit.SECONDS);
+            assertTrue(result.getTerminationReason() instanceof MaximumGenerationReached);
+        } finally {
+            forkJoinPool.shutdownNow();
+        }
+    }
+
+    /**
+     * Create the optimizer.
+     * 
+     * @return The optimizer.
+     */
+    private SteadyStateDifferentialEvolutionOptimizer createOptimizer() {
+        return new SteadyStateDifferentialEvolutionOptimizer(executor, THREADS);
+    }
+
+    /**
+     * Create settings for a short run.
+     * 
+     * @return The settings.
+     */
+    private static DifferentialEvolutionSettings createSettings() {
+        DifferentialEvolutionSettings settings = new DifferentialEvolutionSettings();
+        settings.setPoolReplacement(PoolReplacement.IMMEDIATELY);
+        settings.setCandidatePoolSize(20);
+        settings.setMaximumGeneration(100);
+
+        return settings;
+    }
+
+    /**
+     * Get the root cause of an exception.
+     * 
+     * @param throwable The exception.
+     * @return The root cause.
+     */
+    private static Throwable rootCause(final Throwable throwable) {
+        Throwable cause = throwable;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+
+        assertNotNull(cause);
+        return cause;
+    }
+
+}
@@ -0,0 +1,245 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.checkpoint;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import com.chupacadabra.evolution.Candidate;
+import com.chupacadabra.evolution.CounterRandomSource;
+import com.chupacadabra.evolution.DifferentialEvolutionResult;
+import com.chupacadabra.evolution.DifferentialEvolutionSettings;
+import com.chupacadabra.evolution.MaximumGenerationReached;
+import com.chupacadabra.evolution.SerialDifferentialEvolutionOptimizer;
+import com.chupacadabra.evolution.functions.SphereFunction;
+import com.chupacadabra.evolution.functions.TestFunction;
+import com.chupacadabra.evolution.functions.TestFunctionProblem;
+
+/**
+ * Tests for {@link Checkpoint}.
+ */
+public class CheckpointTest {
+
+    /**
+     * The dimension of the test problems.
+     */
+    private static final int DIMENSION = 4;
+
+    /**
+     * The test function.
+     */
+    private static final TestFunction SPHERE = new SphereFunction(DIMENSION);
+
+    /**
+     * A tolerance that is never reached, so runs stop only on the generation
+     * limit.
+     */
+    private static final double UNREACHABLE = Double.NEGATIVE_INFINITY;
+
+    /**
+     * The generation at which the test checkpoint is taken.
+     */
+    private static final int CHECKPOINT_GENERATION = 10;
+
+    /**
+     * A checkpoint should read back exactly as it was written.
+     * 
+     * @throws IOException If the round trip fails.
+     */
+    @Test
+    public void roundTrip() throws IOException {
+        Candidate[] candidates = new Candidate[] {
+                Candidate.feasible(new double[] { 1.0, -2.0, 3.5 }, 0.25),
+                Candidate.violating(new double[] { Double.MIN_VALUE, 0.0, -0.0 }, Double.POSITIVE_INFINITY, 7.0) };
+        Checkpoint checkpoint = new Checkpoint(3, 17, 123456789L, OptionalLong.of(42L), candidates);
+
+        Checkpoint copy = roundTrip(checkpoint);
+
+        assertEquals(3, copy.getDimension());
+        assertEquals(17, copy.getGeneration());
+        assertEquals(123456789L, copy.getTimeTakenInNanos());
+        assertEquals(OptionalLong.of(42L), copy.getRandomSeed());
+        assertEquals(candidates.length, copy.getCandidatePoolSize());
+        for (int cindex = 0; cindex < candidates.length; cindex++) {
+            Candidate expected = candidates[cindex];
+            Candidate actual = copy.getCandidate(cindex);
+            assertEquals(expected.isViolating(), actual.isViolating());
+            assertEquals(expected.getFitness(), actual.getFitness(), 0.0);
+            if (expected.isViolating()) {
+                assertEquals(expected.getViolation(), actual.getViolation(), 0.0);
+            }
+
+            for (int index = 0; index < 3; index++) {
+                assertEquals(Double.doubleToRawLongBits(expected.getParameter(index)), Double.doubleToRawLongBits(actual.getParameter(index)));
+            }
+        }
+
+        Checkpoint unseeded = roundTrip(new Checkpoint(3, 0, 0L, OptionalLong.empty(), candidates));
+        assertTrue(!unseeded.getRandomSeed().isPresent());
+    }
+
+    /**
+     * A header claiming a huge pool should fail on the missing data, not
+     * allocate the pool up front.
+     * 
+     * @throws IOException If the header cannot be written.
+     */
+    @Test
+    public void corruptHeaderIsRejected() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0x44454350);
+        out.writeInt(1);
+        out.writeInt(Integer.MAX_VALUE);
+        out.writeInt(Integer.MAX_VALUE);
+        out.writeInt(0);
+        out.writeLong(0L);
+        out.writeBoolean(false);
+        out.writeLong(0L);
+        out.writeByte(0);
+        out.writeDouble(1.0);
+        out.writeDouble(2.0);
+        out.flush();
+
+        try {
+            Checkpoint.read(new ByteArrayInputStream(bytes.toByteArray()));
+            fail("expected the truncated checkpoint to be rejected");
+        } catch (final IOException ioe) {
+            // expected.
+        }
+    }
+
+    /**
+     * With a counter-based random source, a resumed optimization should
+     * finish exactly where the uninterrupted one does.
+     */
+    @Test
+    public void resumeIsIdentical() {
+        AtomicReference<Checkpoint> saved = new AtomicReference<Checkpoint>();
+        DifferentialEvolutionSettings settings = createSettings();
+        settings.setCheckpointer(new Checkpointer() {
+
+            @Override
+            public boolean isDue(final int generation) {
+                return generation == CHECKPOINT_GENERATION;
+            }
+
+            @Override
+            public void save(final Checkpoint checkpoint) {
+                saved.set(checkpoint);
+            }
+
+        });
+
+        SerialDifferentialEvolutionOptimizer optimizer = new SerialDifferentialEvolutionOptimizer();
+        DifferentialEvolutionResult uninterrupted = optimizer.optimize(new TestFunctionProblem(SPHERE, UNREACHABLE), settings);
+
+        Checkpoint checkpoint = saved.get();
+        assertNotNull(checkpoint);
+        assertEquals(CHECKPOINT_GENERATION, checkpoint.getGeneration());
+
+        DifferentialEvolutionResult resumed = optimizer.resume(checkpoint, new TestFunctionProblem(SPHERE, UNREACHABLE), createSettings());
+
+        assertTrue(resumed.getTerminationReason() instanceof MaximumGenerationReached);
+        assertEquals(uninterrupted.getBestCandidate().getFitness(), resumed.getBestCandidate().getFitness(), 0.0);
+        for (int index = 0; index < DIMENSION; index++) {
+            assertEquals(uninterrupted.getBestCandidate().getParameter(index), resumed.getBestCandidate().getParameter(index), 0.0);
+        }
+    }
+
+    /**
+     * A checkpoint that cannot be saved should be reported, and the
+     * optimization should carry on.
+     */
+    @Test
+    public void failedSaveIsReported() {
+        List<Integer> failures = new ArrayList<Integer>();
+        DifferentialEvolutionSettings settings = createSettings();
+        settings.setCheckpointer(new Checkpointer() {
+
+            @Override
+            public boolean isDue(final int generation) {
+                return (generation % CHECKPOINT_GENERATION) == 0;
+            }
+
+            @Override
+            public void save(final Checkpoint checkpoint) throws IOException {
+                throw new IOException("disk full");
+            }
+
+            @Override
+            public void saveFailed(final Checkpoint checkpoint, final IOException exception) {
+                failures.add(checkpoint.getGeneration());
+            }
+
+        });
+
+        DifferentialEvolutionResult result = new SerialDifferentialEvolutionOptimizer().optimize(new TestFunctionProblem(SPHERE, UNREACHABLE), settings);
+
+        assertTrue(result.getTerminationReason() instanceof MaximumGenerationReached);
+        assertTrue(failures.size() > 1);
+    }
+
+    /**
+     * Write and read back the specified checkpoint.
+     * 
+     * @param checkpoint The checkpoint.
+     * @return The copy.
+     * @throws IOException If the round trip fails.
+     */
+    private static Checkpoint roundTrip(final Checkpoint checkpoint) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        checkpoint.write(bytes);
+
+        return Checkpoint.read(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+
+    /**
+     * Create seeded settings for a short run.
+     * 
+     * @return The settings.
+     */
+    private static DifferentialEvolutionSettings createSettings() {
+        DifferentialEvolutionSettings settings = new DifferentialEvolutionSettings();
+        settings.setRandomSource(new CounterRandomSource(42L));
+        settings.setCandidatePoolSize(20);
+        settings.setMaximumGeneration(30);
+
+        return settings;
+    }
+
+}
@@ -0,0 +1,139 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.engine;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.chupacadabra.evolution.CounterRandomSource;
+import com.chupacadabra.evolution.DifferentialEvolutionProblem;
+import com.chupacadabra.evolution.DifferentialEvolutionSettings;
+import com.chupacadabra.evolution.MigrationTopology;
+import com.chupacadabra.evolution.functions.SphereFunction;
+import com.chupacadabra.evolution.functions.TestFunction;
+import com.chupacadabra.evolution.functions.TestFunctionProblem;
+
+/**
+ * Tests for {@link Archipelago}.
+ * <p>
+ * The islands are run one after another, so that each island sees exactly
+ * what the islands before it published last. The first island to run measures
+ * a fitness shifted well below anything the others can reach, so a negative
+ * fitness on a later island can only have got there by migration.
+ */
+public class ArchipelagoTest {
+
+    /**
+     * The test function.
+     */
+    private static final TestFunction SPHERE = new SphereFunction(2);
+
+    /**
+     * A tolerance that is never reached, so runs stop only on the generation
+     * limit.
+     */
+    private static final double UNREACHABLE = Double.NEGATIVE_INFINITY;
+
+    /**
+     * The largest number of islands in any test.
+     */
+    private static final int ISLANDS = 3;
+
+    /**
+     * The number of generations between migrations.
+     */
+    private static final int INTERVAL = 5;
+
+    /**
+     * The shift applied to the fitness of the first island to run.
+     */
+    private static final double SHIFT = -100.0;
+
+    /**
+     * With two islands, every topology should connect each island to the
+     * other.
+     */
+    @Test
+    public void everyTopologyMigrates() {
+        for (MigrationTopology topology : MigrationTopology.values()) {
+            double[] best = run(new Archipelago(2, topology, INTERVAL, 1), 0, 1);
+
+            assertTrue(topology.name(), best[1] < 0.0);
+        }
+    }
+
+    /**
+     * In a star, the spokes should only receive from the hub, which has yet to
+     * publish anything.
+     */
+    @Test
+    public void spokesOnlyReceiveFromTheHub() {
+        double[] best = run(new Archipelago(ISLANDS, MigrationTopology.STAR, INTERVAL, 1), 1, 2);
+
+        assertTrue(best[2] >= 0.0);
+    }
+
+    /**
+     * In a ring, migrants should be passed on around the ring.
+     */
+    @Test
+    public void ringPassesMigrantsOn() {
+        double[] best = run(new Archipelago(ISLANDS, MigrationTopology.RING, INTERVAL, 1), 0, 1, 2);
+
+        assertTrue(best[1] < 0.0);
+        assertTrue(best[2] < 0.0);
+    }
+
+    /**
+     * Run the specified islands of the archipelago one after another.
+     * 
+     * @param archipelago The archipelago.
+     * @param islands The islands, in the order to run them; the first measures
+     *            a shifted fitness.
+     * @return The best fitness of each island; zero for those not run.
+     */
+    private static double[] run(final Archipelago archipelago, final int... islands) {
+        double[] best = new double[ISLANDS];
+        for (int index = 0; index < islands.length; index++) {
+            int island = islands[index];
+            DifferentialEvolutionSettings settings = new DifferentialEvolutionSettings();
+            settings.setRandomSource(new CounterRandomSource(island));
+            settings.setCandidatePoolSize(10);
+            settings.setMaximumGeneration(4 * INTERVAL);
+
+            Iteration iteration = archipelago.createIteration(island, new SerialIteration());
+            DifferentialEvolutionEngine engine = new DifferentialEvolutionEngine(PoolLock::noOp, new SerialInitialization(), iteration,
+                    new SerialChildGeneration());
+            double shift = (index == 0) ? SHIFT : 0.0;
+            DifferentialEvolutionProblem problem = new TestFunctionProblem(SPHERE.withFitness(parameters -> shift + SPHERE.getFitness(parameters)),
+                    UNREACHABLE);
+
+            best[island] = engine.getResult(problem, settings).getBestCandidate().getFitness();
+        }
+
+        return best;
+    }
+
+}
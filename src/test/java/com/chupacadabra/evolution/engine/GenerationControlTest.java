@@ -0,0 +1,92 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.engine;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import com.chupacadabra.evolution.DifferentialEvolutionSettings;
+import com.chupacadabra.evolution.PoolLocking;
+import com.chupacadabra.evolution.PoolStorage;
+import com.chupacadabra.evolution.pool.ArrayCandidatePool;
+import com.chupacadabra.evolution.pool.AtomicCandidatePool;
+import com.chupacadabra.evolution.pool.FlatCandidatePool;
+
+/**
+ * Tests for {@link GenerationControl}.
+ */
+public class GenerationControlTest {
+
+    /**
+     * Each pool locking scheme and pool storage should produce the pool that
+     * it asks for.
+     */
+    @Test
+    public void poolMatchesSettings() {
+        assertPoolType(PoolStorage.CANDIDATES, PoolLocking.READ_WRITE, ArrayCandidatePool.class);
+        assertPoolType(PoolStorage.CANDIDATES, PoolLocking.OPTIMISTIC, ArrayCandidatePool.class);
+        assertPoolType(PoolStorage.FLAT, PoolLocking.READ_WRITE, FlatCandidatePool.class);
+        assertPoolType(PoolStorage.FLAT, PoolLocking.OPTIMISTIC, FlatCandidatePool.class);
+        assertPoolType(PoolStorage.CANDIDATES, PoolLocking.ATOMIC, AtomicCandidatePool.class);
+    }
+
+    /**
+     * Atomic locking has its own storage, so it cannot be combined with flat
+     * storage.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void atomicLockingRejectsFlatStorage() {
+        DifferentialEvolutionSettings settings = new DifferentialEvolutionSettings();
+        settings.setPoolStorage(PoolStorage.FLAT);
+        settings.setPoolLocking(PoolLocking.ATOMIC);
+    }
+
+    /**
+     * Flat storage cannot be chosen once atomic locking has been.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void flatStorageRejectsAtomicLocking() {
+        DifferentialEvolutionSettings settings = new DifferentialEvolutionSettings();
+        settings.setPoolLocking(PoolLocking.ATOMIC);
+        settings.setPoolStorage(PoolStorage.FLAT);
+    }
+
+    /**
+     * Assert that the specified settings produce a pool of the specified
+     * type.
+     * 
+     * @param poolStorage The pool storage.
+     * @param poolLocking The pool locking.
+     * @param poolType The expected pool type.
+     */
+    private static void assertPoolType(final PoolStorage poolStorage, final PoolLocking poolLocking, final Class<?> poolType) {
+        DifferentialEvolutionSettings settings = new DifferentialEvolutionSettings();
+        settings.setPoolStorage(poolStorage);
+        settings.setPoolLocking(poolLocking);
+
+        assertEquals(poolStorage + "/" + poolLocking, poolType, GenerationControl.createPool(settings, 3).getClass());
+    }
+
+}
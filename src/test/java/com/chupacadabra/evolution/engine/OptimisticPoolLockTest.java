@@ -0,0 +1,173 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.chupacadabra.evolution.DifferentialEvolutionSettings;
+import com.chupacadabra.evolution.PoolLocking;
+import com.chupacadabra.evolution.PoolReplacement;
+
+/**
+ * Tests for {@link OptimisticPoolLock}.
+ */
+public class OptimisticPoolLockTest {
+
+    /**
+     * A read that a writer got in the way of should be repeated under the
+     * lock.
+     */
+    @Test
+    public void interruptedReadIsRepeated() {
+        PoolLock poolLock = createPoolLock();
+        AtomicInteger reads = new AtomicInteger();
+
+        int value = poolLock.read(PoolType.CURRENT, () -> {
+            if (reads.incrementAndGet() == 1) {
+                write(poolLock, () -> {
+                    // nothing to do; taking the lock is enough.
+                });
+            }
+
+            return reads.get();
+        });
+
+        assertEquals(2, reads.get());
+        assertEquals(2, value);
+    }
+
+    /**
+     * A failure of a read that a writer got in the way of should not be
+     * believed.
+     */
+    @Test
+    public void tornReadFailureIsRetried() {
+        PoolLock poolLock = createPoolLock();
+        AtomicInteger reads = new AtomicInteger();
+
+        int value = poolLock.read(PoolType.CURRENT, () -> {
+            if (reads.incrementAndGet() == 1) {
+                write(poolLock, () -> {
+                });
+                throw new ArrayIndexOutOfBoundsException();
+            }
+
+            return reads.get();
+        });
+
+        assertEquals(2, value);
+    }
+
+    /**
+     * A failure of an uninterrupted read should propagate as it is.
+     */
+    @Test
+    public void validFailurePropagates() {
+        PoolLock poolLock = createPoolLock();
+        IllegalStateException failure = new IllegalStateException("failure");
+        AtomicInteger reads = new AtomicInteger();
+
+        try {
+            poolLock.read(PoolType.CURRENT, () -> {
+                reads.incrementAndGet();
+                throw failure;
+            });
+            fail("expected the failure to propagate");
+        } catch (final IllegalStateException ise) {
+            assertSame(failure, ise);
+        }
+
+        assertEquals(1, reads.get());
+    }
+
+    /**
+     * Readers should never see a half-finished write.
+     * 
+     * @throws InterruptedException If interrupted.
+     */
+    @Test
+    public void readsAreConsistentUnderConcurrentWrites() throws InterruptedException {
+        PoolLock poolLock = createPoolLock();
+        int[] values = new int[2];
+        AtomicBoolean done = new AtomicBoolean();
+
+        Thread writer = new Thread(() -> {
+            for (int round = 1; !done.get(); round++) {
+                int value = round;
+                write(poolLock, () -> {
+                    values[0] = value;
+                    values[1] = value;
+                });
+            }
+        });
+        writer.start();
+
+        try {
+            for (int attempt = 0; attempt < 1000000; attempt++) {
+                long difference = poolLock.read(PoolType.CURRENT, () -> (long) values[0] - values[1]);
+                assertEquals(0L, difference);
+            }
+        } finally {
+            done.set(true);
+            writer.join();
+        }
+    }
+
+    /**
+     * Run the specified writer under the write lock of the next pool, which is
+     * also that of the current pool with immediate replacement.
+     * 
+     * @param poolLock The pool lock.
+     * @param writer The writer.
+     */
+    private static void write(final PoolLock poolLock, final Runnable writer) {
+        poolLock.lock(PoolType.NEXT, LockType.WRITE);
+        try {
+            writer.run();
+        } finally {
+            poolLock.unlock(PoolType.NEXT, LockType.WRITE);
+        }
+    }
+
+    /**
+     * Create an optimistic pool lock for immediate replacement.
+     * 
+     * @return The pool lock.
+     */
+    private static PoolLock createPoolLock() {
+        DifferentialEvolutionSettings settings = new DifferentialEvolutionSettings();
+        settings.setPoolReplacement(PoolReplacement.IMMEDIATELY);
+        settings.setPoolLocking(PoolLocking.OPTIMISTIC);
+
+        return PoolLock.optimistic(settings);
+    }
+
+}
@@ -0,0 +1,68 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.functions;
+
+/**
+ * The Ackley function.
+ * <p>
+ * A nearly flat outer region with a deep hole at the origin, riddled with
+ * local optima.
+ */
+public final class AckleyFunction extends HypercubeFunction {
+
+    /**
+     * Constructor.
+     * 
+     * @param dimension The dimension.
+     */
+    public AckleyFunction(final int dimension) {
+        super(dimension, -32.768d, 32.768d);
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.functions.TestFunction#getName()
+     */
+    @Override
+    public String getName() {
+        return "ackley";
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.FitnessFunction#getFitness(double[])
+     */
+    @Override
+    public double getFitness(final double[] p) {
+        double squares = 0;
+        double cosines = 0;
+        for (int index = 0; index < p.length; index++) {
+            double x = p[index];
+            squares += x * x;
+            cosines += Math.cos(2.0d * Math.PI * x);
+        }
+
+        double n = p.length;
+        return (-20.0d * Math.exp(-0.2d * Math.sqrt(squares / n))) - Math.exp(cosines / n) + 20.0d + Math.E;
+    }
+
+}
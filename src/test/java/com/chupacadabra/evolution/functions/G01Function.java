@@ -0,0 +1,111 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.functions;
+
+/**
+ * Problem G01 of the classic constrained benchmark set: a quadratic objective
+ * in 13 parameters under nine linear constraints.
+ * <p>
+ * The optimum, <code>-15</code>, lies at
+ * <code>x = (1, 1, 1, 1, 1, 1, 1, 1, 1, 3, 3, 3, 1)</code>, where six of the
+ * constraints are active.
+ */
+public final class G01Function implements ConstrainedTestFunction {
+
+    /**
+     * @see com.chupacadabra.evolution.functions.TestFunction#getName()
+     */
+    @Override
+    public String getName() {
+        return "g01";
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.functions.TestFunction#getDimension()
+     */
+    @Override
+    public int getDimension() {
+        return 13;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.functions.TestFunction#getLowerBound(int)
+     */
+    @Override
+    public double getLowerBound(final int index) {
+        return 0;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.functions.TestFunction#getUpperBound(int)
+     */
+    @Override
+    public double getUpperBound(final int index) {
+        return ((index >= 9) && (index <= 11)) ? 100 : 1;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.functions.TestFunction#getOptimum()
+     */
+    @Override
+    public double getOptimum() {
+        return -15;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.FitnessFunction#getFitness(double[])
+     */
+    @Override
+    public double getFitness(final double[] x) {
+        double sum = 0;
+        for (int index = 0; index < 4; index++) {
+            sum += (5 * x[index]) - (5 * x[index] * x[index]);
+        }
+        for (int index = 4; index < 13; index++) {
+            sum -= x[index];
+        }
+
+        return sum;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.ViolationFunction#getViolation(double[])
+     */
+    @Override
+    public double getViolation(final double[] x) {
+        double violation = 0;
+        violation += Math.max(0, (2 * x[0]) + (2 * x[1]) + x[9] + x[10] - 10);
+        violation += Math.max(0, (2 * x[0]) + (2 * x[2]) + x[9] + x[11] - 10);
+        violation += Math.max(0, (2 * x[1]) + (2 * x[2]) + x[10] + x[11] - 10);
+        violation += Math.max(0, (-8 * x[0]) + x[9]);
+        violation += Math.max(0, (-8 * x[1]) + x[10]);
+        violation += Math.max(0, (-8 * x[2]) + x[11]);
+        violation += Math.max(0, (-2 * x[3]) - x[4] + x[9]);
+        violation += Math.max(0, (-2 * x[5]) - x[6] + x[10]);
+        violation += Math.max(0, (-2 * x[7]) - x[8] + x[11]);
+
+        return violation;
+    }
+
+}
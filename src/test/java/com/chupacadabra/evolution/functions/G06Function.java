@@ -0,0 +1,103 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.functions;
+
+/**
+ * Problem G06 of the classic constrained benchmark set: a cubic objective in
+ * two parameters, whose feasible region is a thin crescent between two
+ * circles.
+ * <p>
+ * The optimum, approximately <code>-6961.81388</code>, lies at
+ * <code>x = (14.095, 0.84296)</code>, where both constraints are active.
+ */
+public final class G06Function implements ConstrainedTestFunction {
+
+    /**
+     * @see com.chupacadabra.evolution.functions.TestFunction#getName()
+     */
+    @Override
+    public String getName() {
+        return "g06";
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.functions.TestFunction#getDimension()
+     */
+    @Override
+    public int getDimension() {
+        return 2;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.functions.TestFunction#getLowerBound(int)
+     */
+    @Override
+    public double getLowerBound(final int index) {
+        return (index == 0) ? 13 : 0;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.functions.TestFunction#getUpperBound(int)
+     */
+    @Override
+    public double getUpperBound(final int index) {
+        return 100;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.functions.TestFunction#getOptimum()
+     */
+    @Override
+    public double getOptimum() {
+        return -6961.81387558015d;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.FitnessFunction#getFitness(double[])
+     */
+    @Override
+    public double getFitness(final double[] x) {
+        double a = x[0] - 10;
+        double b = x[1] - 20;
+
+        return (a * a * a) + (b * b * b);
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.ViolationFunction#getViolation(double[])
+     */
+    @Override
+    public double getViolation(final double[] x) {
+        double a = x[0] - 5;
+        double b = x[0] - 6;
+        double c = x[1] - 5;
+
+        double violation = 0;
+        violation += Math.max(0, 100 - (a * a) - (c * c));
+        violation += Math.max(0, (b * b) + (c * c) - 82.81d);
+
+        return violation;
+    }
+
+}
@@ -0,0 +1,101 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.functions;
+
+/**
+ * Problem G08 of the classic constrained benchmark set: a highly multimodal
+ * objective in two parameters under two nonlinear constraints.
+ * <p>
+ * The original problem is a maximization; it is negated here. The optimum,
+ * approximately <code>-0.0958250415</code>, lies at
+ * <code>x = (1.2279713, 4.2453733)</code>.
+ */
+public final class G08Function implements ConstrainedTestFunction {
+
+    /**
+     * @see com.chupacadabra.evolution.functions.TestFunction#getName()
+     */
+    @Override
+    public String getName() {
+        return "g08";
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.functions.TestFunction#getDimension()
+     */
+    @Override
+    public int getDimension() {
+        return 2;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.functions.TestFunction#getLowerBound(int)
+     */
+    @Override
+    public double getLowerBound(final int index) {
+        return 0;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.functions.TestFunction#getUpperBound(int)
+     */
+    @Override
+    public double getUpperBound(final int index) {
+        return 10;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.functions.TestFunction#getOptimum()
+     */
+    @Override
+    public double getOptimum() {
+        return -0.0958250414180359d;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.FitnessFunction#getFitness(double[])
+     */
+    @Override
+    public double getFitness(final double[] x) {
+        double a = Math.sin(2 * Math.PI * x[0]);
+        double b = Math.sin(2 * Math.PI * x[1]);
+
+        return -(a * a * a * b) / (x[0] * x[0] * x[0] * (x[0] + x[1]));
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.ViolationFunction#getViolation(double[])
+     */
+    @Override
+    public double getViolation(final double[] x) {
+        double a = x[1] - 4;
+
+        double violation = 0;
+        violation += Math.max(0, (x[0] * x[0]) - x[1] + 1);
+        violation += Math.max(0, 1 - x[0] + (a * a));
+
+        return violation;
+    }
+
+}
@@ -0,0 +1,68 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.functions;
+
+/**
+ * The Griewank function,
+ * <code>1 + &sum; x<sub>i</sub><sup>2</sup>/4000 - &prod; cos(x<sub>i</sub>/&radic;i)</code>.
+ * <p>
+ * Non-separable, with many widespread local optima; the global optimum is at
+ * the origin.
+ */
+public final class GriewankFunction extends HypercubeFunction {
+
+    /**
+     * Constructor.
+     * 
+     * @param dimension The dimension.
+     */
+    public GriewankFunction(final int dimension) {
+        super(dimension, -600d, 600d);
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.functions.TestFunction#getName()
+     */
+    @Override
+    public String getName() {
+        return "griewank";
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.FitnessFunction#getFitness(double[])
+     */
+    @Override
+    public double getFitness(final double[] p) {
+        double sum = 0;
+        double product = 1;
+        for (int index = 0; index < p.length; index++) {
+            double x = p[index];
+            sum += x * x;
+            product *= Math.cos(x / Math.sqrt(index + 1));
+        }
+
+        return 1.0d + (sum / 4000.0d) - product;
+    }
+
+}
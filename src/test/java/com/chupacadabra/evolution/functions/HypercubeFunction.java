@@ -0,0 +1,84 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.functions;
+
+/**
+ * Base class for test functions on a hypercube
+ * <code>[lowerBound, upperBound]<sup>dimension</sup></code>.
+ */
+abstract class HypercubeFunction implements TestFunction {
+
+    /**
+     * The dimension.
+     */
+    private final int dimension;
+
+    /**
+     * The lower bound of every parameter.
+     */
+    private final double lowerBound;
+
+    /**
+     * The upper bound of every parameter.
+     */
+    private final double upperBound;
+
+    /**
+     * Constructor.
+     * 
+     * @param dimension The dimension.
+     * @param lowerBound The lower bound of every parameter.
+     * @param upperBound The upper bound of every parameter.
+     */
+    HypercubeFunction(final int dimension, final double lowerBound, final double upperBound) {
+        this.dimension = dimension;
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.functions.TestFunction#getDimension()
+     */
+    @Override
+    public final int getDimension() {
+        return dimension;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.functions.TestFunction#getLowerBound(int)
+     */
+    @Override
+    public final double getLowerBound(final int index) {
+        return lowerBound;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.functions.TestFunction#getUpperBound(int)
+     */
+    @Override
+    public final double getUpperBound(final int index) {
+        return upperBound;
+    }
+
+}
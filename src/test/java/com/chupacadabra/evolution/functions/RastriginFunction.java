@@ -0,0 +1,66 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.functions;
+
+/**
+ * The Rastrigin function,
+ * <code>10n + &sum; (x<sub>i</sub><sup>2</sup> - 10 cos(2&pi;x<sub>i</sub>))</code>.
+ * <p>
+ * Highly multimodal, with a regular grid of local optima; the global optimum
+ * is at the origin.
+ */
+public final class RastriginFunction extends HypercubeFunction {
+
+    /**
+     * Constructor.
+     * 
+     * @param dimension The dimension.
+     */
+    public RastriginFunction(final int dimension) {
+        super(dimension, -5.12d, 5.12d);
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.functions.TestFunction#getName()
+     */
+    @Override
+    public String getName() {
+        return "rastrigin";
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.FitnessFunction#getFitness(double[])
+     */
+    @Override
+    public double getFitness(final double[] p) {
+        double sum = 10.0d * p.length;
+        for (int index = 0; index < p.length; index++) {
+            double x = p[index];
+            sum += (x * x) - (10.0d * Math.cos(2.0d * Math.PI * x));
+        }
+
+        return sum;
+    }
+
+}
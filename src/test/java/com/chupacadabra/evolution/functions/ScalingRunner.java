@@ -0,0 +1,185 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.functions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import com.chupacadabra.evolution.Candidate;
+import com.chupacadabra.evolution.CounterRandomSource;
+import com.chupacadabra.evolution.DifferentialEvolutionOptimizer;
+import com.chupacadabra.evolution.DifferentialEvolutionResult;
+import com.chupacadabra.evolution.DifferentialEvolutionSettings;
+import com.chupacadabra.evolution.ForkJoinDifferentialEvolutionOptimizer;
+import com.chupacadabra.evolution.ForkJoinDifferentialEvolutionOptimizerConfiguration;
+import com.chupacadabra.evolution.SerialDifferentialEvolutionOptimizer;
+
+/**
+ * Runs the test function suite across dimensions and thread counts, and
+ * prints, as CSV, the fitness evaluations and wall-clock time each run took to
+ * reach its target.
+ * <p>
+ * Usage: <code>ScalingRunner [maximumDimension [maximumThreads]]</code>. The
+ * dimensions run from 10 up to the maximum (default 1000); the thread counts
+ * are the powers of two up to the maximum (default: the number of available
+ * processors), plus the maximum itself. One thread means the serial
+ * optimizer; more means the fork-join optimizer on a pool of that size. The
+ * constrained problems have a fixed dimension and are run once per thread
+ * count.
+ */
+public class ScalingRunner {
+
+    /**
+     * The dimensions to try.
+     */
+    private static final int[] DIMENSIONS = { 10, 30, 100, 300, 1000 };
+
+    /**
+     * The largest dimension at which to try rotated functions; the rotation
+     * makes each evaluation quadratic in the dimension.
+     */
+    private static final int MAXIMUM_ROTATED_DIMENSION = 100;
+
+    /**
+     * The fitness evaluation budget, per dimension.
+     */
+    private static final int EVALUATIONS_PER_DIMENSION = 10000;
+
+    /**
+     * How close to the optimum counts as reaching it.
+     */
+    private static final double TOLERANCE = 1e-4d;
+
+    /**
+     * The seed for every run.
+     */
+    private static final long SEED = 1;
+
+    public static void main(String[] args) throws Exception {
+        int maximumDimension = (args.length > 0) ? Integer.parseInt(args[0]) : 1000;
+        int maximumThreads = (args.length > 1) ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        System.out.println("function,dimension,threads,reached,evaluationsToTarget,evaluations,millis,bestFitness");
+
+        for (int threads : getThreadCounts(maximumThreads)) {
+            ForkJoinPool forkJoinPool = (threads > 1) ? new ForkJoinPool(threads) : null;
+            DifferentialEvolutionOptimizer optimizer = (forkJoinPool == null)
+                    ? new SerialDifferentialEvolutionOptimizer()
+                    : new ForkJoinDifferentialEvolutionOptimizer(forkJoinPool, new ForkJoinDifferentialEvolutionOptimizerConfiguration());
+
+            for (int dimension : DIMENSIONS) {
+                if (dimension > maximumDimension) {
+                    break;
+                }
+
+                for (TestFunction function : getFunctions(dimension)) {
+                    run(optimizer, function, threads);
+                }
+            }
+
+            run(optimizer, new G01Function(), threads);
+            run(optimizer, new G06Function(), threads);
+            run(optimizer, new G08Function(), threads);
+
+            if (forkJoinPool != null) {
+                forkJoinPool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Get the thread counts to try.
+     * 
+     * @param maximumThreads The maximum thread count.
+     * @return The thread counts.
+     */
+    static List<Integer> getThreadCounts(final int maximumThreads) {
+        List<Integer> threadCounts = new ArrayList<>();
+        for (int threads = 1; threads < maximumThreads; threads *= 2) {
+            threadCounts.add(threads);
+        }
+        threadCounts.add(maximumThreads);
+
+        return threadCounts;
+    }
+
+    /**
+     * Get the unconstrained functions to try at the specified dimension.
+     * 
+     * @param dimension The dimension.
+     * @return The functions.
+     */
+    static List<TestFunction> getFunctions(final int dimension) {
+        List<TestFunction> functions = new ArrayList<>();
+        functions.add(new SphereFunction(dimension));
+        functions.add(new RastriginFunction(dimension));
+        functions.add(new AckleyFunction(dimension));
+        functions.add(new GriewankFunction(dimension));
+        functions.add(new SchwefelFunction(dimension));
+
+        if (dimension <= MAXIMUM_ROTATED_DIMENSION) {
+            functions.add(new ShiftedRotatedFunction(new SphereFunction(dimension), SEED));
+            functions.add(new ShiftedRotatedFunction(new RastriginFunction(dimension), SEED));
+        }
+
+        return functions;
+    }
+
+    /**
+     * Run the optimizer on a function, and print a line of results.
+     * 
+     * @param optimizer The optimizer.
+     * @param function The function.
+     * @param threads The thread count, for the record.
+     */
+    static void run(final DifferentialEvolutionOptimizer optimizer, final TestFunction function, final int threads) {
+        int dimension = function.getDimension();
+        TestFunctionProblem problem = new TestFunctionProblem(function, TOLERANCE);
+
+        // a pool that grows with the dimension, within reason.
+        int candidatePoolSize = Math.max(20, Math.min(10 * dimension, 200));
+        long budget = (long)EVALUATIONS_PER_DIMENSION * dimension;
+
+        DifferentialEvolutionSettings settings = new DifferentialEvolutionSettings();
+        settings.setCandidatePoolSize(candidatePoolSize);
+        settings.setChildrenPerCandidate(1);
+        settings.setMaximumGeneration((int)Math.min(Integer.MAX_VALUE, budget / candidatePoolSize));
+        settings.setRandomSource(new CounterRandomSource(SEED));
+
+        long start = System.nanoTime();
+        DifferentialEvolutionResult result = optimizer.optimize(problem, settings);
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        Candidate best = result.getBestCandidate();
+        long evaluationsToTarget = problem.getEvaluationsToTarget();
+        boolean reached = (evaluationsToTarget != TestFunctionProblem.NOT_REACHED);
+
+        System.out.println(function.getName() + "," + dimension + "," + threads + "," + reached + ","
+                + (reached ? Long.toString(evaluationsToTarget) : "") + "," + problem.getEvaluations() + "," + millis
+                + "," + ((best == null) ? "" : Double.toString(best.getFitness())));
+    }
+
+}
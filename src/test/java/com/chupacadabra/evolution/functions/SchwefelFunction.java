@@ -0,0 +1,66 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.functions;
+
+/**
+ * The Schwefel function (2.26),
+ * <code>418.9829n - &sum; x<sub>i</sub> sin(&radic;|x<sub>i</sub>|)</code>.
+ * <p>
+ * Deceptive: the global optimum, near <code>x<sub>i</sub> = 420.9687</code>,
+ * is far from the next best local optima.
+ */
+public final class SchwefelFunction extends HypercubeFunction {
+
+    /**
+     * Constructor.
+     * 
+     * @param dimension The dimension.
+     */
+    public SchwefelFunction(final int dimension) {
+        super(dimension, -500d, 500d);
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.functions.TestFunction#getName()
+     */
+    @Override
+    public String getName() {
+        return "schwefel";
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.FitnessFunction#getFitness(double[])
+     */
+    @Override
+    public double getFitness(final double[] p) {
+        double sum = 418.982887272433799807913601398d * p.length;
+        for (int index = 0; index < p.length; index++) {
+            double x = p[index];
+            sum -= x * Math.sin(Math.sqrt(Math.abs(x)));
+        }
+
+        return sum;
+    }
+
+}
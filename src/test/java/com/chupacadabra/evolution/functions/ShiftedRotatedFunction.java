@@ -0,0 +1,201 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.functions;
+
+import java.util.Random;
+
+/**
+ * A test function with its optimum shifted and its coordinates rotated, which
+ * defeats optimizers that exploit separability or a centred optimum.
+ * <p>
+ * Measures <code>f(M(x - o))</code>, where <code>o</code> is a random shift
+ * vector and <code>M</code> is a random orthogonal matrix, both drawn from a
+ * seed so that runs are repeatable. The shifted and rotated point is staged in
+ * a per-thread buffer, so measuring fitness does not allocate.
+ */
+public final class ShiftedRotatedFunction implements TestFunction {
+
+    /**
+     * The underlying function.
+     */
+    private final TestFunction function;
+
+    /**
+     * The shift vector, <code>o</code>.
+     */
+    private final double[] shift;
+
+    /**
+     * The rotation matrix, <code>M</code>, stored row-major.
+     */
+    private final double[] rotation;
+
+    /**
+     * Scratch space for the shifted point.
+     */
+    private final ThreadLocal<double[]> shifted;
+
+    /**
+     * Scratch space for the rotated point.
+     */
+    private final ThreadLocal<double[]> rotated;
+
+    /**
+     * Constructor.
+     * <p>
+     * The shift is drawn from the central 80% of each parameter range, so the
+     * optimum stays inside the domain.
+     * 
+     * @param function The function to shift and rotate.
+     * @param seed The seed for the shift and rotation.
+     */
+    public ShiftedRotatedFunction(final TestFunction function, final long seed) {
+        this.function = function;
+
+        int dimension = function.getDimension();
+        Random random = new Random(seed);
+
+        shift = new double[dimension];
+        for (int index = 0; index < dimension; index++) {
+            double lower = function.getLowerBound(index);
+            double upper = function.getUpperBound(index);
+            double middle = (lower + upper) / 2.0d;
+            shift[index] = middle + ((random.nextDouble() - 0.5d) * 0.8d * (upper - lower));
+        }
+
+        rotation = createRotation(dimension, random);
+        shifted = ThreadLocal.withInitial(() -> new double[dimension]);
+        rotated = ThreadLocal.withInitial(() -> new double[dimension]);
+    }
+
+    /**
+     * Create a random orthogonal matrix by orthonormalizing Gaussian rows.
+     * 
+     * @param dimension The dimension.
+     * @param random The random source.
+     * @return The matrix, row-major.
+     */
+    private static double[] createRotation(final int dimension, final Random random) {
+        double[] matrix = new double[dimension * dimension];
+
+        for (int row = 0; row < dimension; row++) {
+            int offset = row * dimension;
+
+            // a random direction...
+            for (int column = 0; column < dimension; column++) {
+                matrix[offset + column] = random.nextGaussian();
+            }
+
+            // ...minus its projection onto each earlier row...
+            for (int earlier = 0; earlier < row; earlier++) {
+                int earlierOffset = earlier * dimension;
+                double dot = 0;
+                for (int column = 0; column < dimension; column++) {
+                    dot += matrix[offset + column] * matrix[earlierOffset + column];
+                }
+                for (int column = 0; column < dimension; column++) {
+                    matrix[offset + column] -= dot * matrix[earlierOffset + column];
+                }
+            }
+
+            // ...normalized.
+            double norm = 0;
+            for (int column = 0; column < dimension; column++) {
+                norm += matrix[offset + column] * matrix[offset + column];
+            }
+            norm = Math.sqrt(norm);
+            for (int column = 0; column < dimension; column++) {
+                matrix[offset + column] /= norm;
+            }
+        }
+
+        return matrix;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.functions.TestFunction#getName()
+     */
+    @Override
+    public String getName() {
+        return "shifted-rotated-" + function.getName();
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.functions.TestFunction#getDimension()
+     */
+    @Override
+    public int getDimension() {
+        return function.getDimension();
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.functions.TestFunction#getLowerBound(int)
+     */
+    @Override
+    public double getLowerBound(final int index) {
+        return function.getLowerBound(index);
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.functions.TestFunction#getUpperBound(int)
+     */
+    @Override
+    public double getUpperBound(final int index) {
+        return function.getUpperBound(index);
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.functions.TestFunction#getOptimum()
+     */
+    @Override
+    public double getOptimum() {
+        return function.getOptimum();
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.FitnessFunction#getFitness(double[])
+     */
+    @Override
+    public double getFitness(final double[] parameters) {
+        int dimension = shift.length;
+        double[] x = shifted.get();
+        double[] y = rotated.get();
+
+        for (int index = 0; index < dimension; index++) {
+            x[index] = parameters[index] - shift[index];
+        }
+
+        for (int row = 0; row < dimension; row++) {
+            int offset = row * dimension;
+            double sum = 0;
+            for (int column = 0; column < dimension; column++) {
+                sum += rotation[offset + column] * x[column];
+            }
+            y[row] = sum;
+        }
+
+        return function.getFitness(y);
+    }
+
+}
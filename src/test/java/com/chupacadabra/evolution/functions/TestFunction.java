@@ -0,0 +1,121 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.functions;
+
+import com.chupacadabra.evolution.FitnessFunction;
+
+/**
+ * A test function on a box-shaped domain, with a known optimum.
+ * <p>
+ * Implementations do not allocate when measuring fitness, and are safe for
+ * use by multiple threads.
+ */
+public interface TestFunction extends FitnessFunction {
+
+    /**
+     * Get a short name for this function.
+     * 
+     * @return The name.
+     */
+    public String getName();
+
+    /**
+     * Get the dimension.
+     * 
+     * @return The dimension.
+     */
+    public int getDimension();
+
+    /**
+     * Get the lower bound of the index<sup>th</sup> parameter.
+     * 
+     * @param index The parameter index.
+     * @return The lower bound.
+     */
+    public double getLowerBound(int index);
+
+    /**
+     * Get the upper bound of the index<sup>th</sup> parameter.
+     * 
+     * @param index The parameter index.
+     * @return The upper bound.
+     */
+    public double getUpperBound(int index);
+
+    /**
+     * Get the fitness of the global optimum.
+     * 
+     * @return The optimal fitness.
+     */
+    public default double getOptimum() {
+        return 0;
+    }
+
+    /**
+     * Get this function with its fitness measured by the specified function,
+     * <i>e.g.</i> one which wraps this function to count or interrupt its
+     * evaluations. The name, domain and optimum are unchanged.
+     *
+     * @param fitnessFunction The fitness function.
+     * @return The function.
+     */
+    public default TestFunction withFitness(final FitnessFunction fitnessFunction) {
+        TestFunction function = this;
+
+        return new TestFunction() {
+
+            @Override
+            public String getName() {
+                return function.getName();
+            }
+
+            @Override
+            public int getDimension() {
+                return function.getDimension();
+            }
+
+            @Override
+            public double getLowerBound(final int index) {
+                return function.getLowerBound(index);
+            }
+
+            @Override
+            public double getUpperBound(final int index) {
+                return function.getUpperBound(index);
+            }
+
+            @Override
+            public double getOptimum() {
+                return function.getOptimum();
+            }
+
+            @Override
+            public double getFitness(final double[] parameters) {
+                return fitnessFunction.getFitness(parameters);
+            }
+
+        };
+    }
+
+}
@@ -0,0 +1,270 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.functions;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.chupacadabra.evolution.DifferentialEvolutionProblem;
+import com.chupacadabra.evolution.DifferentialEvolutionState;
+import com.chupacadabra.evolution.FeasibilityFunction;
+import com.chupacadabra.evolution.FeasibilityType;
+import com.chupacadabra.evolution.FitnessFunction;
+import com.chupacadabra.evolution.NOrthotopeRandomParametersFunction;
+import com.chupacadabra.evolution.RandomParametersFunction;
+import com.chupacadabra.evolution.SeedPopulation;
+import com.chupacadabra.evolution.TerminationCriterion;
+import com.chupacadabra.evolution.ViolationFunction;
+import com.chupacadabra.evolution.ZeroViolationFunction;
+
+/**
+ * A problem over a {@link TestFunction}, which counts fitness evaluations and
+ * terminates once the best candidate comes within a tolerance of the optimum.
+ * Parameters outside the function's domain are infeasible.
+ * <p>
+ * An instance is good for a single run: the evaluation count and the point at
+ * which the target was reached are not reset.
+ */
+public final class TestFunctionProblem implements DifferentialEvolutionProblem {
+
+    /**
+     * Sentinel value to indicate the target has not been reached.
+     */
+    public static final long NOT_REACHED = -1;
+
+    /**
+     * The function.
+     */
+    private final TestFunction function;
+
+    /**
+     * The target fitness.
+     */
+    private final double target;
+
+    /**
+     * The number of fitness evaluations so far.
+     */
+    private final LongAdder evaluations;
+
+    /**
+     * The counting fitness function.
+     */
+    private final FitnessFunction fitnessFunction;
+
+    /**
+     * The seed population.
+     */
+    private final SeedPopulation seedPopulation;
+
+    /**
+     * The number of evaluations when the target was first seen to be reached.
+     */
+    private volatile long evaluationsToTarget;
+
+    /**
+     * Constructor.
+     * 
+     * @param function The function.
+     * @param tolerance The tolerance above the optimum that counts as reaching
+     *            the target.
+     */
+    public TestFunctionProblem(final TestFunction function, final double tolerance) {
+        this(function, tolerance, new SeedPopulation());
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param function The function.
+     * @param tolerance The tolerance above the optimum that counts as reaching
+     *            the target.
+     * @param seedPopulation The seed population.
+     */
+    public TestFunctionProblem(final TestFunction function, final double tolerance, final SeedPopulation seedPopulation) {
+        this.function = function;
+        this.seedPopulation = seedPopulation;
+        this.target = function.getOptimum() + tolerance;
+        this.evaluations = new LongAdder();
+        this.fitnessFunction = parameters -> {
+            evaluations.increment();
+            return function.getFitness(parameters);
+        };
+        this.evaluationsToTarget = NOT_REACHED;
+    }
+
+    /**
+     * Get the function.
+     * 
+     * @return The function.
+     */
+    public TestFunction getFunction() {
+        return function;
+    }
+
+    /**
+     * Get the number of fitness evaluations so far.
+     * 
+     * @return The number of evaluations.
+     */
+    public long getEvaluations() {
+        return evaluations.sum();
+    }
+
+    /**
+     * Get the number of fitness evaluations made by the time the target was
+     * first seen to be reached.
+     * 
+     * @return The number of evaluations, or {@link #NOT_REACHED}.
+     */
+    public long getEvaluationsToTarget() {
+        return evaluationsToTarget;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.DifferentialEvolutionProblem#getDimension()
+     */
+    @Override
+    public int getDimension() {
+        return function.getDimension();
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.DifferentialEvolutionProblem#getRandomParametersFunction()
+     */
+    @Override
+    public RandomParametersFunction getRandomParametersFunction() {
+        int dimension = function.getDimension();
+        NOrthotopeRandomParametersFunction nOrthotope = new NOrthotopeRandomParametersFunction(dimension);
+        for (int index = 0; index < dimension; index++) {
+            nOrthotope.setParameterRange(index, function.getLowerBound(index), function.getUpperBound(index));
+        }
+
+        return nOrthotope;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.DifferentialEvolutionProblem#getFitnessFunction()
+     */
+    @Override
+    public FitnessFunction getFitnessFunction() {
+        return fitnessFunction;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.DifferentialEvolutionProblem#getFeasibilityFunction()
+     */
+    @Override
+    public FeasibilityFunction getFeasibilityFunction() {
+        return this::getFeasibilityType;
+    }
+
+    /**
+     * Classify the specified parameters.
+     * <p>
+     * Parameters outside the domain are infeasible; several of the functions
+     * are unbounded below outside it.
+     * 
+     * @param parameters The parameters.
+     * @return The feasibility type.
+     */
+    private FeasibilityType getFeasibilityType(final double[] parameters) {
+        for (int index = 0; index < parameters.length; index++) {
+            double parameter = parameters[index];
+            if ((parameter < function.getLowerBound(index)) || (parameter > function.getUpperBound(index))) {
+                return FeasibilityType.INFEASIBLE;
+            }
+        }
+
+        if (function instanceof ConstrainedTestFunction) {
+            return ((ConstrainedTestFunction)function).getFeasibilityType(parameters);
+        }
+
+        return FeasibilityType.FEASIBLE;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.DifferentialEvolutionProblem#getViolationFunction()
+     */
+    @Override
+    public ViolationFunction getViolationFunction() {
+        if (function instanceof ConstrainedTestFunction) {
+            return (ConstrainedTestFunction)function;
+        }
+
+        return ZeroViolationFunction.getInstance();
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.DifferentialEvolutionProblem#getSeedPopulation()
+     */
+    @Override
+    public SeedPopulation getSeedPopulation() {
+        return seedPopulation;
+    }
+
+    /**
+     * @see com.chupacadabra.evolution.DifferentialEvolutionProblem#getTerminationCriteria()
+     */
+    @Override
+    public List<TerminationCriterion> getTerminationCriteria() {
+        return Collections.singletonList(new TerminationCriterion() {
+
+            @Override
+            public boolean isMet(final DifferentialEvolutionState state) {
+                return isTargetReached(state);
+            }
+
+            @Override
+            public boolean isCheckedPerCandidate() {
+                return true;
+            }
+
+        });
+    }
+
+    /**
+     * Determine whether the target has been reached.
+     * <p>
+     * This is checked as each candidate is accepted, so the evaluation count is
+     * taken as near as possible to the evaluation that reached the target.
+     * 
+     * @param state The state.
+     * @return <code>true</code> if the target has been reached.
+     */
+    private boolean isTargetReached(final DifferentialEvolutionState state) {
+        // infinite until there is a feasible candidate.
+        if (state.getBestFitness() > target) {
+            return false;
+        }
+
+        if (evaluationsToTarget == NOT_REACHED) {
+            evaluationsToTarget = evaluations.sum();
+        }
+
+        return true;
+    }
+
+}
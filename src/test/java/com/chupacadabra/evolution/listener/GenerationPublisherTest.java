@@ -0,0 +1,139 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.listener;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.chupacadabra.evolution.Candidate;
+import com.chupacadabra.evolution.pool.ArrayCandidatePool;
+import com.chupacadabra.evolution.pool.WritableCandidatePool;
+import com.chupacadabra.evolution.util.TimeLength;
+
+/**
+ * Tests for {@link GenerationPublisher}.
+ */
+public class GenerationPublisherTest {
+
+    /**
+     * The number of snapshots to publish.
+     */
+    private static final int SNAPSHOTS = 5;
+
+    /**
+     * A subscriber that keeps up should see every snapshot, in order.
+     */
+    @Test
+    public void deliversEverySnapshotInOrder() {
+        GenerationPublisher publisher = new GenerationPublisher(Runnable::run);
+        List<Integer> received = new ArrayList<Integer>();
+        GenerationListener subscriber = snapshot -> received.add(snapshot.getGeneration());
+        publisher.subscribe(subscriber);
+
+        for (int generation = 0; generation < SNAPSHOTS; generation++) {
+            publisher.generationCompleted(createSnapshot(generation));
+        }
+
+        assertEquals(SNAPSHOTS, received.size());
+        for (int generation = 0; generation < SNAPSHOTS; generation++) {
+            assertEquals(generation, received.get(generation).intValue());
+        }
+
+        assertEquals(0, publisher.getDroppedCount(subscriber));
+    }
+
+    /**
+     * A subscriber that falls behind should skip straight to the latest
+     * snapshot, and the publisher should schedule it only once meanwhile.
+     */
+    @Test
+    public void coalescesWhenBehind() {
+        Queue<Runnable> scheduled = new ArrayDeque<Runnable>();
+        GenerationPublisher publisher = new GenerationPublisher(scheduled::add);
+        List<Integer> received = new ArrayList<Integer>();
+        GenerationListener subscriber = snapshot -> received.add(snapshot.getGeneration());
+        publisher.subscribe(subscriber);
+
+        for (int generation = 0; generation < SNAPSHOTS; generation++) {
+            publisher.generationCompleted(createSnapshot(generation));
+        }
+
+        assertEquals(1, scheduled.size());
+        scheduled.poll().run();
+
+        assertEquals(1, received.size());
+        assertEquals(SNAPSHOTS - 1, received.get(0).intValue());
+        assertEquals(SNAPSHOTS - 1, publisher.getDroppedCount(subscriber));
+
+        // once caught up, the next snapshot is scheduled afresh.
+        publisher.generationCompleted(createSnapshot(SNAPSHOTS));
+        assertEquals(1, scheduled.size());
+    }
+
+    /**
+     * A subscriber that throws should be unsubscribed, without affecting the
+     * others.
+     */
+    @Test
+    public void brokenSubscriberIsUnsubscribed() {
+        GenerationPublisher publisher = new GenerationPublisher(Runnable::run);
+        List<Integer> broken = new ArrayList<Integer>();
+        List<Integer> received = new ArrayList<Integer>();
+        publisher.subscribe(snapshot -> {
+            broken.add(snapshot.getGeneration());
+            throw new IllegalStateException("broken");
+        });
+        publisher.subscribe(snapshot -> received.add(snapshot.getGeneration()));
+
+        for (int generation = 0; generation < SNAPSHOTS; generation++) {
+            publisher.generationCompleted(createSnapshot(generation));
+        }
+
+        assertEquals(1, broken.size());
+        assertEquals(SNAPSHOTS, received.size());
+        assertTrue(received.contains(SNAPSHOTS - 1));
+    }
+
+    /**
+     * Create a snapshot of a single candidate pool.
+     * 
+     * @param generation The generation.
+     * @return The snapshot.
+     */
+    private static GenerationSnapshot createSnapshot(final int generation) {
+        WritableCandidatePool pool = new ArrayCandidatePool(1);
+        pool.setCandidate(0, Candidate.feasible(new double[] { 0.0 }, 1.0));
+
+        return new GenerationSnapshot(generation, new TimeLength(0, TimeUnit.NANOSECONDS), pool, 0);
+    }
+
+}
@@ -0,0 +1,142 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+import com.chupacadabra.evolution.DifferentialEvolutionSettings;
+import com.chupacadabra.evolution.IslandDifferentialEvolutionOptimizer;
+import com.chupacadabra.evolution.IslandDifferentialEvolutionOptimizerConfiguration;
+import com.chupacadabra.evolution.SerialDifferentialEvolutionOptimizer;
+import com.chupacadabra.evolution.functions.SphereFunction;
+import com.chupacadabra.evolution.functions.TestFunction;
+import com.chupacadabra.evolution.functions.TestFunctionProblem;
+
+/**
+ * Tests for {@link MetricsCollector}.
+ */
+public class MetricsCollectorTest {
+
+    /**
+     * The test function.
+     */
+    private static final TestFunction SPHERE = new SphereFunction(4);
+
+    /**
+     * A tolerance that is never reached, so runs stop only on the generation
+     * limit.
+     */
+    private static final double UNREACHABLE = Double.NEGATIVE_INFINITY;
+
+    /**
+     * The pool size.
+     */
+    private static final int SIZE = 20;
+
+    /**
+     * The number of generations.
+     */
+    private static final int GENERATIONS = 10;
+
+    /**
+     * Metrics should be rolled up once per generation, and the counters should
+     * account for every fitness evaluation.
+     */
+    @Test
+    public void everyGenerationIsRecorded() {
+        TestFunctionProblem problem = new TestFunctionProblem(SPHERE, UNREACHABLE);
+        MetricsCollector metrics = new MetricsCollector();
+        DifferentialEvolutionSettings settings = createSettings(metrics);
+
+        new SerialDifferentialEvolutionOptimizer().optimize(problem, settings);
+
+        List<GenerationMetrics> generations = metrics.getGenerations();
+        assertEquals(GENERATIONS, generations.size());
+        for (int index = 0; index < GENERATIONS; index++) {
+            assertEquals(index, generations.get(index).getGeneration());
+        }
+
+        // the pool is measured once, and then every feasible child.
+        GenerationMetrics total = metrics.getTotal();
+        long children = (long)(GENERATIONS - 1) * SIZE * settings.getChildrenPerCandidate();
+        assertEquals(SIZE + children - total.getInfeasibleChildren(), problem.getEvaluations());
+        assertTrue(total.getReplacements() > 0);
+        assertTrue(total.getNanos(Phase.FITNESS) > 0);
+    }
+
+    /**
+     * Each island should report to metrics of its own.
+     */
+    @Test
+    public void islandsReportSeparately() {
+        IslandDifferentialEvolutionOptimizerConfiguration configuration = new IslandDifferentialEvolutionOptimizerConfiguration();
+        MetricsCollector metrics = new MetricsCollector();
+        ForkJoinPool forkJoinPool = new ForkJoinPool(2);
+        try {
+            new IslandDifferentialEvolutionOptimizer(forkJoinPool, configuration).optimize(new TestFunctionProblem(SPHERE, UNREACHABLE),
+                    createSettings(metrics));
+        } finally {
+            forkJoinPool.shutdown();
+        }
+
+        assertEquals(configuration.getIslandCount(), metrics.getIslands().size());
+        for (MetricsCollector island : metrics.getIslands().values()) {
+            assertEquals(GENERATIONS, island.getGenerations().size());
+        }
+
+        assertTrue(metrics.getGenerations().isEmpty());
+    }
+
+    /**
+     * Metrics should be off unless asked for.
+     */
+    @Test
+    public void disabledByDefault() {
+        assertFalse(new DifferentialEvolutionSettings().getMetrics().isEnabled());
+        assertTrue(new MetricsCollector().isEnabled());
+    }
+
+    /**
+     * Create settings for a short run that report to the specified metrics.
+     * 
+     * @param metrics The metrics.
+     * @return The settings.
+     */
+    private static DifferentialEvolutionSettings createSettings(final Metrics metrics) {
+        DifferentialEvolutionSettings settings = new DifferentialEvolutionSettings();
+        settings.setCandidatePoolSize(SIZE);
+        settings.setMaximumGeneration(GENERATIONS);
+        settings.setMetrics(metrics);
+
+        return settings;
+    }
+
+}
@@ -0,0 +1,111 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.pool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+import com.chupacadabra.evolution.Candidate;
+
+/**
+ * Tests for {@link AtomicCandidatePool}.
+ */
+public class AtomicCandidatePoolTest {
+
+    /**
+     * The pool size.
+     */
+    private static final int SIZE = 16;
+
+    /**
+     * A snapshot taken while candidates are being set should have a best
+     * candidate that really is the best of its own candidates.
+     * 
+     * @throws InterruptedException If interrupted.
+     */
+    @Test
+    public void snapshotBestMatchesItsCandidates() throws InterruptedException {
+        AtomicCandidatePool pool = new AtomicCandidatePool(SIZE);
+        for (int index = 0; index < SIZE; index++) {
+            pool.setCandidate(index, candidate(SIZE));
+        }
+
+        AtomicBoolean done = new AtomicBoolean();
+        Thread writer = new Thread(() -> {
+            for (int round = SIZE; !done.get(); round--) {
+                for (int index = SIZE - 1; index >= 0; index--) {
+                    pool.setCandidate(index, candidate(round - (double) index / SIZE));
+                }
+            }
+        });
+        writer.start();
+
+        try {
+            for (int attempt = 0; attempt < 20000; attempt++) {
+                CandidatePool snapshot = pool.snapshot();
+                assertFalse(snapshot instanceof WritableCandidatePool);
+
+                Candidate best = snapshot.getBestCandidate();
+                for (int index = 0; index < SIZE; index++) {
+                    Candidate candidate = snapshot.getCandidate(index);
+                    assertTrue(best.getFitness() <= candidate.getFitness());
+                    if (candidate.getFitness() == best.getFitness()) {
+                        assertTrue(snapshot.getBestCandidateIndex() <= index);
+                    }
+                }
+            }
+        } finally {
+            done.set(true);
+            writer.join();
+        }
+    }
+
+    /**
+     * A snapshot of an empty pool has no best candidate.
+     */
+    @Test
+    public void emptySnapshotHasNoBest() {
+        CandidatePool snapshot = new AtomicCandidatePool(SIZE).snapshot();
+
+        assertEquals(-1, snapshot.getBestCandidateIndex());
+        assertNull(snapshot.getBestCandidate());
+    }
+
+    /**
+     * Create a feasible candidate with the specified fitness.
+     * 
+     * @param fitness The fitness.
+     * @return The candidate.
+     */
+    private static Candidate candidate(final double fitness) {
+        return Candidate.feasible(new double[] { fitness }, fitness);
+    }
+
+}
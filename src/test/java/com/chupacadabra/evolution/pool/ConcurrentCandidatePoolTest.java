@@ -0,0 +1,174 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.pool;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.chupacadabra.evolution.Candidate;
+
+/**
+ * Tests that the pools may be written at distinct indices concurrently, as
+ * the optimizers do without locking.
+ */
+public class ConcurrentCandidatePoolTest {
+
+    /**
+     * The number of writer threads.
+     */
+    private static final int THREADS = 4;
+
+    /**
+     * The pool size.
+     */
+    private static final int SIZE = 256;
+
+    /**
+     * The dimension.
+     */
+    private static final int DIMENSION = 2;
+
+    /**
+     * The number of pools filled for each pool type.
+     */
+    private static final int TRIALS = 200;
+
+    /**
+     * The executor.
+     */
+    private ExecutorService executor;
+
+    /**
+     * Create the executor.
+     */
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    /**
+     * Shut down the executor.
+     * 
+     * @throws InterruptedException If interrupted.
+     */
+    @After
+    public void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * The array pool's best index should be exact.
+     * 
+     * @throws Exception If a writer fails.
+     */
+    @Test
+    public void arrayPoolTracksBest() throws Exception {
+        assertBestTracked(() -> new ArrayCandidatePool(SIZE));
+    }
+
+    /**
+     * The flat pool's best index should be exact.
+     * 
+     * @throws Exception If a writer fails.
+     */
+    @Test
+    public void flatPoolTracksBest() throws Exception {
+        assertBestTracked(() -> new FlatCandidatePool(SIZE, DIMENSION));
+    }
+
+    /**
+     * The atomic pool's best index should be exact.
+     * 
+     * @throws Exception If a writer fails.
+     */
+    @Test
+    public void atomicPoolTracksBest() throws Exception {
+        assertBestTracked(() -> new AtomicCandidatePool(SIZE));
+    }
+
+    /**
+     * Fill pools from several threads at once, and check that the best index
+     * is always that of the fittest feasible candidate, ties going to the
+     * lowest index.
+     * 
+     * @param poolFactory Creates an empty pool.
+     * @throws Exception If a writer fails.
+     */
+    private void assertBestTracked(final Supplier<WritableCandidatePool> poolFactory) throws Exception {
+        Random random = new Random(42);
+
+        for (int trial = 0; trial < TRIALS; trial++) {
+            // few distinct values, so that there are plenty of ties.
+            Candidate[] candidates = new Candidate[SIZE];
+            int expected = -1;
+            for (int index = 0; index < SIZE; index++) {
+                double fitness = random.nextInt(20);
+                double[] parameters = new double[] { fitness, index };
+                candidates[index] = random.nextBoolean() ? Candidate.feasible(parameters, fitness) : Candidate.violating(parameters, -1.0, 1.0);
+
+                if (candidates[index].isFeasible() && ((expected < 0) || (fitness < candidates[expected].getFitness()))) {
+                    expected = index;
+                }
+            }
+
+            WritableCandidatePool pool = poolFactory.get();
+            List<Future<Void>> futures = new ArrayList<Future<Void>>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                int first = thread;
+                Callable<Void> writer = () -> {
+                    for (int index = first; index < SIZE; index += THREADS) {
+                        pool.setCandidate(index, candidates[index]);
+                    }
+
+                    return null;
+                };
+                futures.add(executor.submit(writer));
+            }
+
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+
+            assertEquals(expected, pool.getBestCandidateIndex());
+            for (int index = 0; index < SIZE; index++) {
+                assertEquals(candidates[index].getParameter(1), pool.getCandidate(index).getParameter(1), 0.0);
+            }
+        }
+    }
+
+}
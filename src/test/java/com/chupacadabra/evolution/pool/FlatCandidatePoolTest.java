@@ -0,0 +1,205 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.pool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import com.chupacadabra.evolution.Candidate;
+
+/**
+ * Tests for {@link FlatCandidatePool}.
+ */
+public class FlatCandidatePoolTest {
+
+    /**
+     * The pool size.
+     */
+    private static final int SIZE = 8;
+
+    /**
+     * The dimension.
+     */
+    private static final int DIMENSION = 3;
+
+    /**
+     * A snapshot should be read-only, and unaffected by later changes to the
+     * pool, including across several snapshots.
+     */
+    @Test
+    public void snapshotsAreUnaffectedByLaterChanges() {
+        FlatCandidatePool pool = createPool();
+
+        CandidatePool first = pool.snapshot();
+        pool.setCandidate(2, candidate(-1.0));
+        CandidatePool second = pool.snapshot();
+        pool.setCandidate(2, candidate(-2.0));
+        pool.setCandidate(5, candidate(-3.0));
+
+        assertFalse(first instanceof WritableCandidatePool);
+
+        assertPool(first, new double[] { 0, 1, 2, 3, 4, 5, 6, 7 }, 0);
+        assertPool(second, new double[] { 0, 1, -1, 3, 4, 5, 6, 7 }, 2);
+        assertPool(pool, new double[] { 0, 1, -2, 3, 4, -3, 6, 7 }, 5);
+    }
+
+    /**
+     * A snapshot of a pool that is still being filled should not see the
+     * candidates set afterwards.
+     */
+    @Test
+    public void emptyRowsStayEmpty() {
+        FlatCandidatePool pool = new FlatCandidatePool(SIZE, DIMENSION);
+        pool.setCandidate(0, candidate(1.0));
+
+        CandidatePool snapshot = pool.snapshot();
+        pool.setCandidate(1, candidate(0.5));
+
+        assertNull(snapshot.getCandidate(1));
+        assertEquals(0, snapshot.getBestCandidateIndex());
+        assertEquals(1.0, snapshot.getBestCandidate().getFitness(), 0.0);
+    }
+
+    /**
+     * The pool should not keep a snapshot alive once nobody else refers to
+     * it, so that later writes stop detaching rows for it.
+     * 
+     * @throws InterruptedException If interrupted.
+     */
+    @Test
+    public void droppedSnapshotsAreCollected() throws InterruptedException {
+        FlatCandidatePool pool = createPool();
+        WeakReference<CandidatePool> snapshot = new WeakReference<CandidatePool>(pool.snapshot());
+
+        for (int attempt = 0; (attempt < 100) && (snapshot.get() != null); attempt++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertNull(snapshot.get());
+
+        pool.setCandidate(2, candidate(-1.0));
+        assertPool(pool, new double[] { 0, 1, -1, 3, 4, 5, 6, 7 }, 2);
+    }
+
+    /**
+     * A snapshot read while the pool is being written should never see a
+     * replaced or torn row.
+     * 
+     * @throws InterruptedException If interrupted.
+     */
+    @Test
+    public void concurrentReadsAreConsistent() throws InterruptedException {
+        FlatCandidatePool pool = createPool();
+        CandidatePool snapshot = pool.snapshot();
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<String> failure = new AtomicReference<String>();
+
+        Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                for (int index = 0; index < SIZE; index++) {
+                    Candidate candidate = snapshot.getCandidate(index);
+                    for (int jindex = 0; jindex < DIMENSION; jindex++) {
+                        if (candidate.getParameter(jindex) != index) {
+                            failure.compareAndSet(null, "row " + index + " was " + candidate);
+                        }
+                    }
+
+                    if (snapshot.getFitness(index) != index) {
+                        failure.compareAndSet(null, "fitness " + index + " was " + snapshot.getFitness(index));
+                    }
+                }
+            }
+        });
+        reader.start();
+
+        for (int round = 1; round <= 2000; round++) {
+            for (int index = 0; index < SIZE; index++) {
+                pool.setCandidate(index, candidate(-round));
+            }
+        }
+
+        done.set(true);
+        reader.join();
+        assertNull(failure.get(), failure.get());
+    }
+
+    /**
+     * Assert the fitness and parameters of every candidate in the pool.
+     * 
+     * @param pool The pool.
+     * @param fitness The expected fitness of each candidate, which is also the
+     *        value of each of its parameters.
+     * @param bestCandidateIndex The expected best index.
+     */
+    private static void assertPool(final CandidatePool pool, final double[] fitness, final int bestCandidateIndex) {
+        assertEquals(bestCandidateIndex, pool.getBestCandidateIndex());
+        for (int index = 0; index < SIZE; index++) {
+            assertEquals(fitness[index], pool.getFitness(index), 0.0);
+            assertEquals(fitness[index], pool.getCandidate(index).getFitness(), 0.0);
+            for (int jindex = 0; jindex < DIMENSION; jindex++) {
+                assertEquals(fitness[index], pool.getCandidate(index).getParameter(jindex), 0.0);
+            }
+        }
+    }
+
+    /**
+     * Create a full pool in which the fitness and parameters of each candidate
+     * are its index.
+     * 
+     * @return The pool.
+     */
+    private static FlatCandidatePool createPool() {
+        FlatCandidatePool pool = new FlatCandidatePool(SIZE, DIMENSION);
+        for (int index = 0; index < SIZE; index++) {
+            pool.setCandidate(index, candidate(index));
+        }
+
+        return pool;
+    }
+
+    /**
+     * Create a candidate whose fitness and parameters are all the specified
+     * value.
+     * 
+     * @param value The value.
+     * @return The candidate.
+     */
+    private static Candidate candidate(final double value) {
+        double[] parameters = new double[DIMENSION];
+        for (int jindex = 0; jindex < DIMENSION; jindex++) {
+            parameters[jindex] = value;
+        }
+
+        return Candidate.feasible(parameters, value);
+    }
+
+}
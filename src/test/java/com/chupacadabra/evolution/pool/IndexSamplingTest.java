@@ -0,0 +1,103 @@
+/*  
+ * $Id$  
+ *   
+ * Copyright (c) 2015 Fran Lattanzio  
+ *   
+ * Permission is hereby granted, free of charge, to any person obtaining a copy 
+ * of this software and associated documentation files (the "Software"), to deal  
+ * in the Software without restriction, including without limitation the rights  
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell  
+ * copies of the Software, and to permit persons to whom the Software is  
+ * furnished to do so, subject to the following conditions:  
+ *   
+ * The above copyright notice and this permission notice shall be included in  
+ * all copies or substantial portions of the Software.  
+ *   
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR  
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,  
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE  
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER  
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  
+ * SOFTWARE.  
+ */
+package com.chupacadabra.evolution.pool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import com.chupacadabra.evolution.JavaUtilRandomSource;
+import com.chupacadabra.evolution.RandomSource;
+
+/**
+ * Tests for {@link IndexSampling}.
+ */
+public class IndexSamplingTest {
+
+    /**
+     * The selected indices should be distinct, in the pool, and never
+     * excluded.
+     */
+    @Test
+    public void selectsDistinctIndicesOutsideTheExclusions() {
+        RandomSource randomSource = new JavaUtilRandomSource(42);
+        int size = 10;
+        int[] selected = new int[7];
+
+        for (int trial = 0; trial < 1000; trial++) {
+            IndexSampling.sample(randomSource, size, 7, selected, 3, 8, 5);
+
+            boolean[] seen = new boolean[size];
+            for (int index = 0; index < 7; index++) {
+                int poolIndex = selected[index];
+                assertTrue((poolIndex >= 0) && (poolIndex < size));
+                assertTrue((poolIndex != 3) && (poolIndex != 8) && (poolIndex != 5));
+                assertTrue(!seen[poolIndex]);
+                seen[poolIndex] = true;
+            }
+        }
+    }
+
+    /**
+     * An index excluded twice, e.g. a parent that is also the best candidate,
+     * should only count once.
+     */
+    @Test
+    public void duplicateExclusionsCountOnce() {
+        int[] selected = new int[3];
+        IndexSampling.sample(new JavaUtilRandomSource(42), 4, 3, selected, 2, 2);
+
+        int sum = selected[0] + selected[1] + selected[2];
+        assertEquals(0 + 1 + 3, sum);
+    }
+
+    /**
+     * Exclusions outside the pool, such as a missing best index, should be
+     * ignored.
+     */
+    @Test
+    public void exclusionsOutsideThePoolAreIgnored() {
+        int[] selected = new int[4];
+        IndexSampling.sample(new JavaUtilRandomSource(42), 4, 4, selected, -1, 4);
+
+        int sum = selected[0] + selected[1] + selected[2] + selected[3];
+        assertEquals(0 + 1 + 2 + 3, sum);
+    }
+
+    /**
+     * Asking for more indices than remain should fail.
+     */
+    @Test
+    public void tooManyIndicesAreRejected() {
+        try {
+            IndexSampling.sample(new JavaUtilRandomSource(42), 4, 3, new int[3], 1, 2);
+            fail("expected the selection to be rejected");
+        } catch (final IllegalArgumentException iae) {
+            // expected.
+        }
+    }
+
+}